@@ -36,7 +36,11 @@
 
 package org.jfree.chart;
 
+import java.awt.Graphics2D;
 import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.jfree.chart.event.CancellationToken;
 
 /**
  * Special rendering hints that can be used internally by JFreeChart or by
@@ -62,6 +66,64 @@ public final class ChartHints {
      * The key for a hint that ends an element.
      */
     public static final Key KEY_END_ELEMENT = new ChartHints.Key(1);
+
+    /**
+     * The key for a hint that restricts drawing to a single layer of the
+     * chart.  The value should be a {@link ChartLayer}, or {@code null} to
+     * draw all layers.
+     */
+    public static final Key KEY_CHART_LAYER = new ChartHints.Key(2);
+
+    /**
+     * The key for a hint that supplies the token used to cancel drawing.  
+     * The value should be a 
+     * {@link org.jfree.chart.event.CancellationToken}.
+     */
+    public static final Key KEY_CANCELLATION_TOKEN = new ChartHints.Key(3);
+
+    /**
+     * The key for a hint that supplies the executor that runs the progress
+     * notifications and plot state updates (such as the crosshair values) 
+     * made while a chart is drawn.  The value should be an 
+     * {@link Executor}.  When the chart is drawn on a worker thread, an
+     * executor that runs tasks on the event dispatch thread keeps the 
+     * listeners and the chart model on that thread.  Without the hint the
+     * tasks run immediately on the drawing thread.
+     *
+     * @see #execute(Graphics2D, Runnable)
+     */
+    public static final Key KEY_UPDATE_EXECUTOR = new ChartHints.Key(4);
+
+    /**
+     * The key for a hint that supplies a map in which the plots keep the
+     * snapshots of their concurrent datasets, keyed by the source dataset.
+     * The value should be a {@link Map} that compares keys by identity 
+     * (such as an {@link java.util.IdentityHashMap}), initially empty and
+     * shared by all the drawing passes of one frame, so that when a chart
+     * is drawn once per {@link ChartLayer} each layer shows the same data
+     * and the same auto-ranged axes.  Without the hint each drawing pass
+     * takes its own snapshots.
+     */
+    public static final Key KEY_DATASET_SNAPSHOTS = new ChartHints.Key(5);
+
+    /**
+     * Runs a progress notification or plot state update made while drawing
+     * on the graphics device, using the executor in the 
+     * {@link #KEY_UPDATE_EXECUTOR} hint or, if there is no such hint, on the
+     * current thread.
+     *
+     * @param g2  the graphics device ({@code null} not permitted).
+     * @param task  the task ({@code null} not permitted).
+     */
+    public static void execute(Graphics2D g2, Runnable task) {
+        Object executor = g2.getRenderingHint(KEY_UPDATE_EXECUTOR);
+        if (executor instanceof Executor) {
+            ((Executor) executor).execute(task);
+        }
+        else {
+            task.run();
+        }
+    }
     
     /**
      * A key for rendering hints that can be used with JFreeChart (in 
@@ -94,6 +156,14 @@ public final class ChartHints {
                             || val instanceof Map;
                 case 1:
                     return val == null || val instanceof Object;
+                case 2:
+                    return val == null || val instanceof ChartLayer;
+                case 3:
+                    return val == null || val instanceof CancellationToken;
+                case 4:
+                    return val == null || val instanceof Executor;
+                case 5:
+                    return val == null || val instanceof Map;
                 default:
                     throw new RuntimeException("Not possible!");
             }
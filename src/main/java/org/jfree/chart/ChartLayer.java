@@ -0,0 +1,79 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------
+ * ChartLayer.java
+ * ---------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart;
+
+import java.awt.Graphics2D;
+
+/**
+ * The layers that a chart can be drawn in, one at a time, so that a client 
+ * (such as {@link org.jfree.chart.swing.ChartPanel}) can cache each layer 
+ * in its own image and redraw only the layers affected by a change.  The
+ * layer to draw is selected by setting the {@link ChartHints#KEY_CHART_LAYER}
+ * rendering hint, if the hint is not set the whole chart is drawn.  
+ * <P>
+ * Layered drawing is supported by {@link org.jfree.chart.plot.XYPlot} (and
+ * the combined XY plots), other plots ignore the hint and draw everything.
+ */
+public enum ChartLayer {
+
+    /** 
+     * The chart background, titles, legend, plot background, axes, 
+     * gridlines and background markers and annotations.
+     */
+    BACKGROUND,
+
+    /** The data items, crosshairs and the "no data" message. */
+    DATA,
+
+    /** The foreground markers and annotations, and the plot outline. */
+    OVERLAY;
+
+    /**
+     * Returns {@code true} if the specified layer should be drawn on the 
+     * graphics device, based on the {@link ChartHints#KEY_CHART_LAYER} hint.
+     *
+     * @param g2  the graphics device ({@code null} not permitted).
+     * @param layer  the layer ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    public static boolean isDrawn(Graphics2D g2, ChartLayer layer) {
+        Object hint = g2.getRenderingHint(ChartHints.KEY_CHART_LAYER);
+        return hint == null || hint == layer;
+    }
+
+}
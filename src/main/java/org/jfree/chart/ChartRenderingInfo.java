@@ -147,6 +147,36 @@ public class ChartRenderingInfo implements Cloneable, Serializable {
         this.entities = entities;
     }
 
+    /**
+     * Returns {@code true} if the entity collection is lazy, in which case
+     * renderers add entities that generate their tool tip and URL text only
+     * when it is requested.
+     *
+     * @return A boolean.
+     *
+     * @see #setLazyEntities(boolean)
+     */
+    public boolean isLazyEntities() {
+        return this.entities != null && this.entities.isLazy();
+    }
+
+    /**
+     * Sets the flag that controls whether renderers add entities that 
+     * generate their tool tip and URL text only when it is requested (by
+     * calling {@link EntityCollection#setLazy(boolean)} on the entity 
+     * collection).  If there is no entity collection this method does 
+     * nothing.
+     *
+     * @param lazy  the new flag value.
+     *
+     * @see #isLazyEntities()
+     */
+    public void setLazyEntities(boolean lazy) {
+        if (this.entities != null) {
+            this.entities.setLazy(lazy);
+        }
+    }
+
     /**
      * Clears the information recorded by this object.
      */
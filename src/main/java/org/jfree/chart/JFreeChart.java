@@ -79,6 +79,7 @@ import org.jfree.chart.block.LengthConstraintType;
 import org.jfree.chart.block.RectangleConstraint;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.entity.JFreeChartEntity;
+import org.jfree.chart.event.CancellationToken;
 import org.jfree.chart.event.ChartChangeEvent;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.event.ChartProgressEvent;
@@ -1013,6 +1014,15 @@ public class JFreeChart implements Drawable, TitleChangeListener,
      * printer).
      * <P>
      * This method is the focus of the entire JFreeChart library.
+     * <P>
+     * The drawing can be cancelled (from any thread) using the 
+     * {@link CancellationToken} supplied in the 
+     * {@link ChartHints#KEY_CANCELLATION_TOKEN} rendering hint or, if there
+     * is no such hint, in the {@link ChartProgressEventType#DRAWING_STARTED}
+     * event.  A cancelled drawing is incomplete and is reported with a 
+     * {@link ChartProgressEventType#DRAWING_CANCELLED} event.  The progress
+     * events are sent using the executor in the 
+     * {@link ChartHints#KEY_UPDATE_EXECUTOR} hint, if there is one.
      *
      * @param g2  the graphics device.
      * @param chartArea  the area within which the chart should be drawn.
@@ -1023,8 +1033,15 @@ public class JFreeChart implements Drawable, TitleChangeListener,
     public void draw(Graphics2D g2, Rectangle2D chartArea, Point2D anchor,
              ChartRenderingInfo info) {
 
-        notifyListeners(new ChartProgressEvent(this, this,
-                ChartProgressEventType.DRAWING_STARTED, 0));
+        CancellationToken token = CancellationToken.fromHints(g2);
+        boolean ownToken = (token == null);
+        if (ownToken) {
+            token = new CancellationToken();
+            g2.setRenderingHint(ChartHints.KEY_CANCELLATION_TOKEN, token);
+        }
+        ChartProgressEvent started = new ChartProgressEvent(this, this,
+                ChartProgressEventType.DRAWING_STARTED, 0, token);
+        ChartHints.execute(g2, () -> notifyListeners(started));
         
         if (this.elementHinting) {
             Map<String, String> m = new HashMap<>();
@@ -1035,6 +1052,7 @@ public class JFreeChart implements Drawable, TitleChangeListener,
             g2.setRenderingHint(ChartHints.KEY_BEGIN_ELEMENT, m);            
         }
         
+        boolean background = ChartLayer.isDrawn(g2, ChartLayer.BACKGROUND);
         EntityCollection entities = null;
         // record the chart area, if info is requested...
         if (info != null) {
@@ -1042,7 +1060,7 @@ public class JFreeChart implements Drawable, TitleChangeListener,
             info.setChartArea(chartArea);
             entities = info.getEntityCollection();
         }
-        if (entities != null) {
+        if (entities != null && background) {
             entities.add(new JFreeChartEntity((Rectangle2D) chartArea.clone(),
                     this));
         }
@@ -1054,12 +1072,12 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         g2.addRenderingHints(this.renderingHints);
 
         // draw the chart background...
-        if (this.backgroundPaint != null) {
+        if (this.backgroundPaint != null && background) {
             g2.setPaint(this.backgroundPaint);
             g2.fill(chartArea);
         }
 
-        if (this.backgroundImage != null) {
+        if (this.backgroundImage != null && background) {
             Composite originalComposite = g2.getComposite();
             g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
                     this.backgroundImageAlpha));
@@ -1073,7 +1091,7 @@ public class JFreeChart implements Drawable, TitleChangeListener,
             g2.setComposite(originalComposite);
         }
 
-        if (isBorderVisible()) {
+        if (isBorderVisible() && background) {
             Paint paint = getBorderPaint();
             Stroke stroke = getBorderStroke();
             if (paint != null && stroke != null) {
@@ -1117,14 +1135,21 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         if (info != null) {
             plotInfo = info.getPlotInfo();
         }
-        this.plot.draw(g2, plotArea, anchor, null, plotInfo);
+        if (!token.isCancelled()) {
+            this.plot.draw(g2, plotArea, anchor, null, plotInfo);
+        }
         g2.setClip(savedClip);
         if (this.elementHinting) {         
             g2.setRenderingHint(ChartHints.KEY_END_ELEMENT, Boolean.TRUE);            
         }
+        if (ownToken) {
+            g2.setRenderingHint(ChartHints.KEY_CANCELLATION_TOKEN, null);
+        }
 
-        notifyListeners(new ChartProgressEvent(this, this,
-                ChartProgressEventType.DRAWING_FINISHED, 100));
+        ChartProgressEvent ended = new ChartProgressEvent(this, this,
+                token.isCancelled() ? ChartProgressEventType.DRAWING_CANCELLED
+                : ChartProgressEventType.DRAWING_FINISHED, 100, token);
+        ChartHints.execute(g2, () -> notifyListeners(ended));
     }
 
     /**
@@ -1215,7 +1240,6 @@ public class JFreeChart implements Drawable, TitleChangeListener,
                 Size2D size = t.arrange(g2, constraint);
                 titleArea = createAlignedRectangle2D(size, area,
                         t.getHorizontalAlignment(), VerticalAlignment.TOP);
-                retValue = t.draw(g2, titleArea, p);
                 area.setRect(area.getX(), Math.min(area.getY() + size.height,
                         area.getMaxY()), area.getWidth(), Math.max(area.getHeight()
                         - size.height, 0));
@@ -1225,7 +1249,6 @@ public class JFreeChart implements Drawable, TitleChangeListener,
                 Size2D size = t.arrange(g2, constraint);
                 titleArea = createAlignedRectangle2D(size, area,
                         t.getHorizontalAlignment(), VerticalAlignment.BOTTOM);
-                retValue = t.draw(g2, titleArea, p);
                 area.setRect(area.getX(), area.getY(), area.getWidth(),
                         area.getHeight() - size.height);
                 break;
@@ -1234,7 +1257,6 @@ public class JFreeChart implements Drawable, TitleChangeListener,
                 Size2D size = t.arrange(g2, constraint);
                 titleArea = createAlignedRectangle2D(size, area,
                         HorizontalAlignment.RIGHT, t.getVerticalAlignment());
-                retValue = t.draw(g2, titleArea, p);
                 area.setRect(area.getX(), area.getY(), area.getWidth()
                         - size.width, area.getHeight());
                 break;
@@ -1243,7 +1265,6 @@ public class JFreeChart implements Drawable, TitleChangeListener,
                 Size2D size = t.arrange(g2, constraint);
                 titleArea = createAlignedRectangle2D(size, area,
                         HorizontalAlignment.LEFT, t.getVerticalAlignment());
-                retValue = t.draw(g2, titleArea, p);
                 area.setRect(area.getX() + size.width, area.getY(), area.getWidth()
                         - size.width, area.getHeight());
                 break;
@@ -1252,6 +1273,11 @@ public class JFreeChart implements Drawable, TitleChangeListener,
                 throw new RuntimeException("Unrecognised title position.");
             }
         }
+        // when only the data or overlay layer is being drawn, the title is
+        // arranged (to find the remaining area) but not drawn
+        if (ChartLayer.isDrawn(g2, ChartLayer.BACKGROUND)) {
+            retValue = t.draw(g2, titleArea, p);
+        }
         EntityCollection result = null;
         if (retValue instanceof EntityBlockResult) {
             EntityBlockResult ebr = (EntityBlockResult) retValue;
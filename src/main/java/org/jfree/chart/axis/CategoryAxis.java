@@ -61,9 +61,8 @@ import org.jfree.chart.event.AxisChangeEvent;
 import org.jfree.chart.plot.CategoryPlot;
 import org.jfree.chart.plot.Plot;
 import org.jfree.chart.plot.PlotRenderingInfo;
-import org.jfree.chart.text.G2TextMeasurer;
 import org.jfree.chart.text.TextBlock;
-import org.jfree.chart.text.TextUtils;
+import org.jfree.chart.text.TextMeasurementCache;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.api.RectangleInsets;
 import org.jfree.chart.block.Size2D;
@@ -1184,9 +1183,10 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
      */
     protected TextBlock createLabel(Comparable category, float width,
             RectangleEdge edge, Graphics2D g2) {
-        TextBlock label = TextUtils.createTextBlock(category.toString(),
+        TextBlock label = TextMeasurementCache.getSharedInstance()
+                .createTextBlock(category.toString(),
                 getTickLabelFont(category), getTickLabelPaint(category), width,
-                this.maximumCategoryLabelLines, new G2TextMeasurer(g2));
+                this.maximumCategoryLabelLines, g2);
         return label;
     }
 
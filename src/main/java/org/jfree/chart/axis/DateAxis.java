@@ -45,7 +45,6 @@
 package org.jfree.chart.axis;
 
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.font.FontRenderContext;
 import java.awt.font.LineMetrics;
@@ -68,6 +67,7 @@ import org.jfree.chart.plot.ValueAxisPlot;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.api.RectangleInsets;
 import org.jfree.chart.text.TextAnchor;
+import org.jfree.chart.text.TextMeasurementCache;
 import org.jfree.chart.internal.Args;
 import org.jfree.data.Range;
 import org.jfree.data.time.Month;
@@ -1327,9 +1327,10 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 lowerStr = unit.dateToString(lower);
                 upperStr = unit.dateToString(upper);
             }
-            FontMetrics fm = g2.getFontMetrics(tickLabelFont);
-            double w1 = fm.stringWidth(lowerStr);
-            double w2 = fm.stringWidth(upperStr);
+            TextMeasurementCache cache 
+                    = TextMeasurementCache.getSharedInstance();
+            double w1 = cache.getStringWidth(lowerStr, tickLabelFont, g2);
+            double w2 = cache.getStringWidth(upperStr, tickLabelFont, g2);
             result += Math.max(w1, w2);
         }
 
@@ -1379,9 +1380,10 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 lowerStr = unit.dateToString(lower);
                 upperStr = unit.dateToString(upper);
             }
-            FontMetrics fm = g2.getFontMetrics(tickLabelFont);
-            double w1 = fm.stringWidth(lowerStr);
-            double w2 = fm.stringWidth(upperStr);
+            TextMeasurementCache cache 
+                    = TextMeasurementCache.getSharedInstance();
+            double w1 = cache.getStringWidth(lowerStr, tickLabelFont, g2);
+            double w2 = cache.getStringWidth(upperStr, tickLabelFont, g2);
             result += Math.max(w1, w2);
         }
 
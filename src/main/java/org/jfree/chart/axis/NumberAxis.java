@@ -38,7 +38,6 @@
 package org.jfree.chart.axis;
 
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.font.FontRenderContext;
 import java.awt.font.LineMetrics;
@@ -57,6 +56,7 @@ import org.jfree.chart.plot.ValueAxisPlot;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.api.RectangleInsets;
 import org.jfree.chart.text.TextAnchor;
+import org.jfree.chart.text.TextMeasurementCache;
 import org.jfree.chart.internal.Args;
 import org.jfree.data.Range;
 import org.jfree.data.RangeType;
@@ -718,7 +718,7 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
         }
         else {
             // look at lower and upper bounds...
-            FontMetrics fm = g2.getFontMetrics(getTickLabelFont());
+            Font tickLabelFont = getTickLabelFont();
             Range range = getRange();
             double lower = range.getLowerBound();
             double upper = range.getUpperBound();
@@ -732,8 +732,10 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
                 lowerStr = unit.valueToString(lower);
                 upperStr = unit.valueToString(upper);
             }
-            double w1 = fm.stringWidth(lowerStr);
-            double w2 = fm.stringWidth(upperStr);
+            TextMeasurementCache cache 
+                    = TextMeasurementCache.getSharedInstance();
+            double w1 = cache.getStringWidth(lowerStr, tickLabelFont, g2);
+            double w2 = cache.getStringWidth(upperStr, tickLabelFont, g2);
             result += Math.max(w1, w2);
         }
 
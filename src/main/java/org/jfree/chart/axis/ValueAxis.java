@@ -47,6 +47,7 @@ import org.jfree.chart.event.AxisChangeEvent;
 import org.jfree.chart.internal.Args;
 import org.jfree.chart.internal.SerialUtils;
 import org.jfree.chart.plot.Plot;
+import org.jfree.chart.text.TextMeasurementCache;
 import org.jfree.chart.text.TextUtils;
 import org.jfree.chart.util.AttrStringUtils;
 import org.jfree.data.Range;
@@ -765,7 +766,6 @@ public abstract class ValueAxis extends Axis
         g2.setFont(font);
         double maxHeight = 0.0;
         if (vertical) {
-            FontMetrics fm = g2.getFontMetrics(font);
             for (Object o : ticks) {
                 Tick tick = (Tick) o;
                 Rectangle2D labelBounds = null;
@@ -776,8 +776,8 @@ public abstract class ValueAxis extends Axis
                                 lt.getAttributedLabel(), g2);
                     }
                 } else if (tick.getText() != null) {
-                    labelBounds = TextUtils.getTextBounds(
-                            tick.getText(), g2, fm);
+                    labelBounds = TextMeasurementCache.getSharedInstance()
+                            .getTextBounds(tick.getText(), font, g2);
                 }
                 if (labelBounds != null && labelBounds.getWidth()
                         + insets.getTop() + insets.getBottom() > maxHeight) {
@@ -813,7 +813,6 @@ public abstract class ValueAxis extends Axis
         Font font = getTickLabelFont();
         double maxWidth = 0.0;
         if (!vertical) {
-            FontMetrics fm = g2.getFontMetrics(font);
             for (Object o : ticks) {
                 Tick tick = (Tick) o;
                 Rectangle2D labelBounds = null;
@@ -824,8 +823,8 @@ public abstract class ValueAxis extends Axis
                                 lt.getAttributedLabel(), g2);
                     }
                 } else if (tick.getText() != null) {
-                    labelBounds = TextUtils.getTextBounds(tick.getText(),
-                            g2, fm);
+                    labelBounds = TextMeasurementCache.getSharedInstance()
+                            .getTextBounds(tick.getText(), font, g2);
                 }
                 if (labelBounds != null
                         && labelBounds.getWidth() + insets.getLeft()
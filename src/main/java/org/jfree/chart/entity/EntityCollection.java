@@ -104,4 +104,31 @@ public interface EntityCollection {
      */
     Iterator<ChartEntity> iterator();
 
+    /**
+     * Returns {@code true} if renderers may add entities that generate their
+     * tool tip and URL text only when it is first requested, rather than 
+     * while the chart is being drawn.  The default implementation returns
+     * {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see LazyXYItemEntity
+     * @see LazyCategoryItemEntity
+     */
+    default boolean isLazy() {
+        return false;
+    }
+
+    /**
+     * Sets the flag that controls whether renderers may add entities that 
+     * generate their tool tip and URL text only when it is first requested.
+     * The flag is a hint, the default implementation ignores it (so that 
+     * {@link #isLazy()} continues to return {@code false}).
+     *
+     * @param lazy  the new flag value.
+     */
+    default void setLazy(boolean lazy) {
+        // lazy entities are not supported, ignore the hint
+    }
+
 }
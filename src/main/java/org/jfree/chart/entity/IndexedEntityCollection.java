@@ -0,0 +1,514 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * IndexedEntityCollection.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.entity;
+
+import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+
+/**
+ * An {@link EntityCollection} that builds a spatial index so that 
+ * {@link #getEntity(double, double)} only tests the few entities close to
+ * the specified point, instead of every entity in the collection.  This
+ * makes tool tips and mouse clicks responsive for charts with very many 
+ * entities (for example, a scatter plot with hundreds of thousands of 
+ * items).
+ * <P>
+ * The index is a uniform grid over the bounds of the entities, built on the
+ * first query after the entities are added (so adding entities, one at a 
+ * time or in bulk, costs no more than it does in a
+ * {@link StandardEntityCollection}).  Entities added after the index is
+ * built are tested individually until there are enough of them to justify
+ * rebuilding the index.  The results are the same as for a 
+ * {@code StandardEntityCollection}: the entity returned for a point is the
+ * last one added that contains the point.
+ */
+public class IndexedEntityCollection implements EntityCollection,
+        Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 1L;
+
+    /** The target average number of entities per grid cell. */
+    private static final int ENTITIES_PER_CELL = 4;
+
+    /** The maximum number of rows or columns in the grid. */
+    private static final int MAX_GRID_SIZE = 2048;
+
+    /**
+     * Entities that would be added to more than this number of cells are 
+     * kept in a separate list that is checked for every query.
+     */
+    private static final int MAX_CELLS_PER_ENTITY = 64;
+
+    /** Storage for the entities. */
+    private List<ChartEntity> entities;
+
+    /**
+     * A flag that controls whether renderers may add entities that generate
+     * their tool tip and URL text on demand.
+     */
+    private boolean lazy;
+
+    /** The index (null until the first query). */
+    private transient GridIndex index;
+
+    /**
+     * Constructs a new entity collection (initially empty).
+     */
+    public IndexedEntityCollection() {
+        this.entities = new ArrayList<>();
+    }
+
+    /**
+     * Returns the number of entities in the collection.
+     *
+     * @return The entity count.
+     */
+    @Override
+    public int getEntityCount() {
+        return this.entities.size();
+    }
+
+    /**
+     * Returns a chart entity from the collection.
+     *
+     * @param index  the entity index.
+     *
+     * @return The entity.
+     *
+     * @see #add(ChartEntity)
+     */
+    @Override
+    public ChartEntity getEntity(int index) {
+        return this.entities.get(index);
+    }
+
+    /**
+     * Clears all the entities from the collection.
+     */
+    @Override
+    public void clear() {
+        this.entities.clear();
+        this.index = null;
+    }
+
+    /**
+     * Adds an entity to the collection.
+     *
+     * @param entity  the entity ({@code null} not permitted).
+     */
+    @Override
+    public void add(ChartEntity entity) {
+        Args.nullNotPermitted(entity, "entity");
+        this.entities.add(entity);
+    }
+
+    /**
+     * Adds all the entities from the specified collection.  The index is not
+     * updated until the next query.
+     *
+     * @param collection  the collection of entities ({@code null} not
+     *     permitted).
+     */
+    @Override
+    public void addAll(EntityCollection collection) {
+        Args.nullNotPermitted(collection, "collection");
+        this.entities.addAll(collection.getEntities());
+    }
+
+    /**
+     * Returns the flag that controls whether renderers may add entities that
+     * generate their tool tip and URL text only when it is first requested.
+     * The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setLazy(boolean)
+     */
+    @Override
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    /**
+     * Sets the flag that controls whether renderers may add entities that
+     * generate their tool tip and URL text only when it is first requested.
+     *
+     * @param lazy  the new flag value.
+     *
+     * @see #isLazy()
+     */
+    @Override
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * Returns the last entity in the list with an area that encloses the
+     * specified coordinates, or {@code null} if there is no such entity.
+     *
+     * @param x  the x coordinate.
+     * @param y  the y coordinate.
+     *
+     * @return The entity (possibly {@code null}).
+     */
+    @Override
+    public ChartEntity getEntity(double x, double y) {
+        int count = this.entities.size();
+        if (this.index == null 
+                || count - this.index.size > this.index.size / 8 + 64) {
+            this.index = new GridIndex(this.entities);
+        }
+        // entities added since the index was built are checked first...
+        for (int i = count - 1; i >= this.index.size; i--) {
+            ChartEntity entity = this.entities.get(i);
+            if (entity.getArea().contains(x, y)) {
+                return entity;
+            }
+        }
+        // ...then the entities in the cell and the large entities, in 
+        // reverse order
+        int[] cell = this.index.getCell(x, y);
+        int[] large = this.index.large;
+        int i = cell.length - 1;
+        int j = large.length - 1;
+        while (i >= 0 || j >= 0) {
+            int e;
+            if (j < 0 || (i >= 0 && cell[i] > large[j])) {
+                e = cell[i--];
+            }
+            else {
+                e = large[j--];
+            }
+            ChartEntity entity = this.entities.get(e);
+            if (entity.getArea().contains(x, y)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the entities in an unmodifiable collection.
+     *
+     * @return The entities.
+     */
+    @Override
+    public Collection<ChartEntity> getEntities() {
+        return Collections.unmodifiableCollection(this.entities);
+    }
+
+    /**
+     * Returns an iterator for the entities in the collection (the iterator 
+     * does not support removal).
+     *
+     * @return An iterator.
+     */
+    @Override
+    public Iterator<ChartEntity> iterator() {
+        return Collections.unmodifiableList(this.entities).iterator();
+    }
+
+    /**
+     * Tests this object for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof IndexedEntityCollection) {
+            IndexedEntityCollection that = (IndexedEntityCollection) obj;
+            if (this.lazy != that.lazy) {
+                return false;
+            }
+            return Objects.equals(this.entities, that.entities);
+        }
+        return false;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 29 * hash + Objects.hashCode(this.entities);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this entity collection.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if the object cannot be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        IndexedEntityCollection clone
+                = (IndexedEntityCollection) super.clone();
+        clone.entities = new ArrayList<>(this.entities.size());
+        for (ChartEntity entity : this.entities) {
+            clone.entities.add((ChartEntity) entity.clone());
+        }
+        clone.index = null;
+        return clone;
+    }
+
+    /**
+     * A uniform grid over the bounds of the entities.  Each cell records the
+     * indices (in ascending order) of the entities with bounds that overlap
+     * the cell.
+     */
+    private static class GridIndex {
+
+        /** An empty cell. */
+        private static final int[] EMPTY = new int[0];
+
+        /** The number of entities covered by the index. */
+        final int size;
+
+        /** The indices of entities that are checked for every query. */
+        int[] large;
+
+        /** The x-coordinate of the left edge of the grid. */
+        private double x0;
+
+        /** The y-coordinate of the top edge of the grid. */
+        private double y0;
+
+        /** The cell width. */
+        private double cellWidth;
+
+        /** The cell height. */
+        private double cellHeight;
+
+        /** The number of columns. */
+        private int columns;
+
+        /** The number of rows. */
+        private int rows;
+
+        /** The entity indices for each cell (row by row). */
+        private int[][] cells;
+
+        /**
+         * Builds the index for the specified entities.
+         *
+         * @param entities  the entities.
+         */
+        GridIndex(List<ChartEntity> entities) {
+            int n = entities.size();
+            this.size = n;
+            double[] bounds = new double[4 * n];
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                Rectangle2D r = entities.get(i).getArea().getBounds2D();
+                bounds[4 * i] = r.getMinX();
+                bounds[4 * i + 1] = r.getMinY();
+                bounds[4 * i + 2] = r.getMaxX();
+                bounds[4 * i + 3] = r.getMaxY();
+                if (r.getMinX() <= r.getMaxX() && r.getMinY() <= r.getMaxY()) {
+                    minX = Math.min(minX, r.getMinX());
+                    minY = Math.min(minY, r.getMinY());
+                    maxX = Math.max(maxX, r.getMaxX());
+                    maxY = Math.max(maxY, r.getMaxY());
+                }
+            }
+            if (minX > maxX) {
+                // no usable bounds, so every entity is checked
+                this.columns = 0;
+                this.rows = 0;
+                this.large = range(n);
+                return;
+            }
+            double w = Math.max(maxX - minX, 1.0);
+            double h = Math.max(maxY - minY, 1.0);
+            double cellCount = Math.max(1.0, (double) n / ENTITIES_PER_CELL);
+            double cellSize = Math.sqrt(w * h / cellCount);
+            this.columns = (int) Math.max(1, Math.min(MAX_GRID_SIZE, 
+                    Math.ceil(w / cellSize)));
+            this.rows = (int) Math.max(1, Math.min(MAX_GRID_SIZE, 
+                    Math.ceil(h / cellSize)));
+            this.x0 = minX;
+            this.y0 = minY;
+            this.cellWidth = w / this.columns;
+            this.cellHeight = h / this.rows;
+
+            // count the entities in each cell, then fill the cells
+            int[] counts = new int[this.columns * this.rows];
+            int largeCount = 0;
+            for (int pass = 0; pass < 2; pass++) {
+                int[] large = (pass == 1) ? new int[largeCount] : null;
+                int k = 0;
+                for (int i = 0; i < n; i++) {
+                    int c0 = column(bounds[4 * i]);
+                    int r0 = row(bounds[4 * i + 1]);
+                    int c1 = column(bounds[4 * i + 2]);
+                    int r1 = row(bounds[4 * i + 3]);
+                    if (c0 < 0 || r0 < 0 || c1 < 0 || r1 < 0 
+                            || (long) (c1 - c0 + 1) * (r1 - r0 + 1) 
+                            > MAX_CELLS_PER_ENTITY) {
+                        if (pass == 0) {
+                            largeCount++;
+                        }
+                        else {
+                            large[k++] = i;
+                        }
+                        continue;
+                    }
+                    for (int r = r0; r <= r1; r++) {
+                        for (int c = c0; c <= c1; c++) {
+                            int cell = r * this.columns + c;
+                            if (pass == 0) {
+                                counts[cell]++;
+                            }
+                            else {
+                                this.cells[cell][--counts[cell]] = i;
+                            }
+                        }
+                    }
+                }
+                if (pass == 0) {
+                    this.cells = new int[counts.length][];
+                    for (int cell = 0; cell < counts.length; cell++) {
+                        this.cells[cell] = counts[cell] > 0 
+                                ? new int[counts[cell]] : EMPTY;
+                    }
+                }
+                else {
+                    this.large = large;
+                }
+            }
+            // the cells were filled from the end, so reverse them
+            for (int[] cell : this.cells) {
+                for (int a = 0, b = cell.length - 1; a < b; a++, b--) {
+                    int t = cell[a];
+                    cell[a] = cell[b];
+                    cell[b] = t;
+                }
+            }
+        }
+
+        /**
+         * Returns the column containing an x-coordinate (clamped to the 
+         * grid), or {@code -1} if the coordinate is not a number.
+         *
+         * @param x  the x-coordinate.
+         *
+         * @return The column index.
+         */
+        private int column(double x) {
+            if (Double.isNaN(x)) {
+                return -1;
+            }
+            int c = (int) Math.floor((x - this.x0) / this.cellWidth);
+            return Math.max(0, Math.min(this.columns - 1, c));
+        }
+
+        /**
+         * Returns the row containing a y-coordinate (clamped to the grid), or
+         * {@code -1} if the coordinate is not a number.
+         *
+         * @param y  the y-coordinate.
+         *
+         * @return The row index.
+         */
+        private int row(double y) {
+            if (Double.isNaN(y)) {
+                return -1;
+            }
+            int r = (int) Math.floor((y - this.y0) / this.cellHeight);
+            return Math.max(0, Math.min(this.rows - 1, r));
+        }
+
+        /**
+         * Returns the indices of the entities that may contain the specified
+         * point (in addition to the large entities).
+         *
+         * @param x  the x-coordinate.
+         * @param y  the y-coordinate.
+         *
+         * @return The entity indices in ascending order.
+         */
+        int[] getCell(double x, double y) {
+            if (this.columns == 0 || x < this.x0 || y < this.y0 
+                    || x > this.x0 + this.columns * this.cellWidth
+                    || y > this.y0 + this.rows * this.cellHeight) {
+                return EMPTY;
+            }
+            return this.cells[row(y) * this.columns + column(x)];
+        }
+
+        /**
+         * Returns an array containing the values {@code 0} to 
+         * {@code n - 1}.
+         *
+         * @param n  the array length.
+         *
+         * @return The array.
+         */
+        private static int[] range(int n) {
+            int[] result = new int[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = i;
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * LazyCategoryItemEntity.java
+ * ---------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.entity;
+
+import java.awt.Shape;
+import java.io.ObjectStreamException;
+
+import org.jfree.chart.labels.CategoryToolTipGenerator;
+import org.jfree.chart.urls.CategoryURLGenerator;
+import org.jfree.data.category.CategoryDataset;
+
+/**
+ * A {@link CategoryItemEntity} that records the generators for its tool tip
+ * and URL text, and calls them only when the text is first requested.
+ * Renderers create entities of this type when the entity collection is lazy
+ * (see {@link EntityCollection#isLazy()}).  The text is generated from the
+ * dataset as it is when the text is first requested, and an instance is
+ * serialized as a plain {@code CategoryItemEntity}.
+ *
+ * @param <R> the row key type.
+ * @param <C> the column key type.
+ */
+public class LazyCategoryItemEntity<R extends Comparable<R>, 
+        C extends Comparable<C>> extends CategoryItemEntity<R, C> {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 1L;
+
+    /** The row index. */
+    private final int row;
+
+    /** The column index. */
+    private final int column;
+
+    /** The tool tip generator ({@code null} once the text is generated). */
+    private transient CategoryToolTipGenerator toolTipGenerator;
+
+    /** The URL generator ({@code null} once the text is generated). */
+    private transient CategoryURLGenerator urlGenerator;
+
+    /**
+     * Creates a new entity.
+     *
+     * @param area  the area ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     * @param toolTipGenerator  the tool tip generator ({@code null} 
+     *     permitted).
+     * @param urlGenerator  the URL generator ({@code null} permitted).
+     */
+    public LazyCategoryItemEntity(Shape area, CategoryDataset<R, C> dataset,
+            int row, int column, CategoryToolTipGenerator toolTipGenerator,
+            CategoryURLGenerator urlGenerator) {
+        super(area, null, null, dataset, dataset.getRowKey(row), 
+                dataset.getColumnKey(column));
+        this.row = row;
+        this.column = column;
+        this.toolTipGenerator = toolTipGenerator;
+        this.urlGenerator = urlGenerator;
+    }
+
+    /**
+     * Returns the tool tip text for the entity, generating it on the first
+     * call.
+     *
+     * @return The tool tip text (possibly {@code null}).
+     */
+    @Override
+    public String getToolTipText() {
+        if (this.toolTipGenerator != null) {
+            CategoryToolTipGenerator generator = this.toolTipGenerator;
+            this.toolTipGenerator = null;
+            super.setToolTipText(generator.generateToolTip(getDataset(), 
+                    this.row, this.column));
+        }
+        return super.getToolTipText();
+    }
+
+    /**
+     * Sets the tool tip text (replacing any text that would be generated).
+     *
+     * @param text  the text ({@code null} permitted).
+     */
+    @Override
+    public void setToolTipText(String text) {
+        this.toolTipGenerator = null;
+        super.setToolTipText(text);
+    }
+
+    /**
+     * Returns the URL text for the entity, generating it on the first call.
+     *
+     * @return The URL text (possibly {@code null}).
+     */
+    @Override
+    public String getURLText() {
+        if (this.urlGenerator != null) {
+            CategoryURLGenerator generator = this.urlGenerator;
+            this.urlGenerator = null;
+            super.setURLText(generator.generateURL(getDataset(), this.row, 
+                    this.column));
+        }
+        return super.getURLText();
+    }
+
+    /**
+     * Sets the URL text (replacing any text that would be generated).
+     *
+     * @param text  the text ({@code null} permitted).
+     */
+    @Override
+    public void setURLText(String text) {
+        this.urlGenerator = null;
+        super.setURLText(text);
+    }
+
+    /**
+     * Replaces this entity with a plain {@link CategoryItemEntity} (with the
+     * text generated) for serialization.
+     *
+     * @return The replacement entity.
+     *
+     * @throws ObjectStreamException not thrown by this method.
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CategoryItemEntity<>(getArea(), getToolTipText(), 
+                getURLText(), getDataset(), getRowKey(), getColumnKey());
+    }
+
+}
@@ -59,6 +59,12 @@ public class StandardEntityCollection implements EntityCollection,
     /** Storage for the entities. */
     private List<ChartEntity> entities;
 
+    /**
+     * A flag that controls whether renderers may add entities that generate
+     * their tool tip and URL text on demand.
+     */
+    private boolean lazy;
+
     /**
      * Constructs a new entity collection (initially empty).
      */
@@ -120,6 +126,37 @@ public class StandardEntityCollection implements EntityCollection,
         this.entities.addAll(collection.getEntities());
     }
 
+    /**
+     * Returns the flag that controls whether renderers may add entities that
+     * generate their tool tip and URL text only when it is first requested.
+     * The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setLazy(boolean)
+     */
+    @Override
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    /**
+     * Sets the flag that controls whether renderers may add entities that
+     * generate their tool tip and URL text only when it is first requested.
+     * This saves time and memory when there are many entities and only a few
+     * are ever inspected (for example, to display tool tips), but the text 
+     * reflects the dataset at the time it is requested so the entities
+     * should be discarded when the chart changes.
+     *
+     * @param lazy  the new flag value.
+     *
+     * @see #isLazy()
+     */
+    @Override
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
     /**
      * Returns the last entity in the list with an area that encloses the
      * specified coordinates, or {@code null} if there is no such entity.
@@ -175,6 +212,9 @@ public class StandardEntityCollection implements EntityCollection,
         }
         if (obj instanceof StandardEntityCollection) {
             StandardEntityCollection that = (StandardEntityCollection) obj;
+            if (this.lazy != that.lazy) {
+                return false;
+            }
             return Objects.equals(this.entities, that.entities);
         }
         return false;
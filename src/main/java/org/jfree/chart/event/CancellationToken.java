@@ -0,0 +1,97 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * CancellationToken.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.event;
+
+import java.awt.Graphics2D;
+
+import org.jfree.chart.ChartHints;
+
+/**
+ * A token that is used to cancel the drawing of a chart.  The token for a 
+ * drawing is available from the {@link ChartProgressEvent} that is sent 
+ * when drawing starts, or can be supplied by the caller by setting the 
+ * {@link ChartHints#KEY_CANCELLATION_TOKEN} rendering hint before calling
+ * {@link org.jfree.chart.JFreeChart#draw}.  The token can be cancelled from
+ * any thread, the plots check it while rendering their data items and stop
+ * as soon as they see it is cancelled, and the chart reports a 
+ * {@link ChartProgressEventType#DRAWING_CANCELLED} event (instead of
+ * {@link ChartProgressEventType#DRAWING_FINISHED}) so that the partly drawn
+ * output can be discarded.
+ */
+public class CancellationToken {
+
+    /** A flag that indicates whether the token has been cancelled. */
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a new token (not cancelled).
+     */
+    public CancellationToken() {
+        this.cancelled = false;
+    }
+
+    /**
+     * Cancels the drawing that this token belongs to.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Returns {@code true} if the token has been cancelled.
+     *
+     * @return A boolean.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Returns the token set as the {@link ChartHints#KEY_CANCELLATION_TOKEN}
+     * hint on a graphics device, or {@code null} if there is no token.
+     *
+     * @param g2  the graphics device ({@code null} not permitted).
+     *
+     * @return The token (possibly {@code null}).
+     */
+    public static CancellationToken fromHints(Graphics2D g2) {
+        Object hint = g2.getRenderingHint(ChartHints.KEY_CANCELLATION_TOKEN);
+        return hint instanceof CancellationToken 
+                ? (CancellationToken) hint : null;
+    }
+
+}
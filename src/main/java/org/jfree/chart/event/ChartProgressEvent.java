@@ -53,6 +53,9 @@ public class ChartProgressEvent extends java.util.EventObject {
     /** The chart that generated the event. */
     private JFreeChart chart;
 
+    /** The token that can cancel the drawing ({@code null} permitted). */
+    private CancellationToken cancellationToken;
+
     /**
      * Creates a new chart change event.
      *
@@ -71,6 +74,24 @@ public class ChartProgressEvent extends java.util.EventObject {
         this.percent = percent;
     }
 
+    /**
+     * Creates a new chart progress event with a token that listeners can use
+     * to cancel the drawing.
+     *
+     * @param source  the source of the event.
+     * @param chart  the chart that generated the event.
+     * @param type  the type of event ({@code null} not permitted).
+     * @param percent  the percentage of completion.
+     * @param cancellationToken  the token that cancels the drawing 
+     *     ({@code null} permitted).
+     */
+    public ChartProgressEvent(Object source, JFreeChart chart, 
+            ChartProgressEventType type, int percent, 
+            CancellationToken cancellationToken) {
+        this(source, chart, type, percent);
+        this.cancellationToken = cancellationToken;
+    }
+
     /**
      * Returns the chart that generated the change event.
      *
@@ -126,4 +147,15 @@ public class ChartProgressEvent extends java.util.EventObject {
         this.percent = percent;
     }
 
+    /**
+     * Returns the token that can be used to cancel the drawing (a listener 
+     * that receives the {@link ChartProgressEventType#DRAWING_STARTED} event
+     * can keep the token and cancel it later, from any thread).
+     *
+     * @return The token (possibly {@code null}).
+     */
+    public CancellationToken getCancellationToken() {
+        return this.cancellationToken;
+    }
+
 }
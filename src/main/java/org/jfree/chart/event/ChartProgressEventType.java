@@ -45,5 +45,8 @@ public enum ChartProgressEventType {
     DRAWING_STARTED, 
     
     /** Drawing finished. */
-    DRAWING_FINISHED
+    DRAWING_FINISHED,
+
+    /** Drawing was cancelled before it finished. */
+    DRAWING_CANCELLED
 }
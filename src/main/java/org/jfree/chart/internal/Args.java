@@ -71,6 +71,19 @@ public class Args {
         }
     }
     
+    /**
+     * Throws an {@code IllegalArgumentException} if {@code value} is negative.
+     * 
+     * @param value  the value.
+     * @param name  the parameter name (for use in the exception message).
+     */
+    public static void requireNonNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Require '" + name + "' (" 
+                    + value + ") to be non-negative.");
+        }
+    }
+    
     /**
      * Throws an {@code IllegalArgumentException} if {@code value} is negative.
      * 
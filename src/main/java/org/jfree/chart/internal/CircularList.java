@@ -0,0 +1,310 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------
+ * CircularList.java
+ * -----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributors:     -;
+ */
+
+package org.jfree.chart.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A list backed by a circular array.  Items can be added or removed at
+ * either end of the list in constant time, which makes it suitable for the
+ * data items in a series that has a maximum item count or age (where the
+ * oldest item is removed each time a new item is appended).  Inserting or
+ * removing in the middle of the list moves the items on the shorter side
+ * of the index only.  Indexed access is constant time, so the list can be
+ * searched with {@code Collections.binarySearch()}.
+ *
+ * @param <E>  the element type.
+ */
+public class CircularList<E> extends AbstractList<E>
+        implements RandomAccess, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 5207429412530713402L;
+
+    /** The default initial capacity (must be a power of two). */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Storage for the elements (the length is always a power of two). */
+    private transient Object[] elements;
+
+    /** The storage index of the first element. */
+    private transient int head;
+
+    /** The number of elements in the list. */
+    private transient int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public CircularList() {
+        this.elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Creates a new list containing the elements of the specified
+     * collection, in the order they are returned by its iterator.
+     *
+     * @param c  the collection ({@code null} not permitted).
+     */
+    public CircularList(Collection<? extends E> c) {
+        Args.nullNotPermitted(c, "c");
+        this.elements = new Object[capacityFor(c.size())];
+        for (E e : c) {
+            this.elements[this.size++] = e;
+        }
+    }
+
+    /**
+     * Returns the smallest power of two that is greater than or equal to
+     * {@code n} (and at least the default capacity).
+     *
+     * @param n  the required capacity.
+     *
+     * @return The capacity.
+     */
+    private static int capacityFor(int n) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < n) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns the storage index for the element at the specified list index.
+     *
+     * @param index  the list index.
+     *
+     * @return The storage index.
+     */
+    private int slot(int index) {
+        return (this.head + index) & (this.elements.length - 1);
+    }
+
+    /**
+     * Doubles the capacity of the storage array if it is full.
+     */
+    private void ensureSpaceForOneMore() {
+        if (this.size == this.elements.length) {
+            Object[] grown = new Object[this.elements.length << 1];
+            copyTo(grown);
+            this.elements = grown;
+            this.head = 0;
+        }
+    }
+
+    /**
+     * Copies the elements, in list order, to the start of the target array.
+     *
+     * @param target  the target array.
+     */
+    private void copyTo(Object[] target) {
+        int firstPart = Math.min(this.size, this.elements.length - this.head);
+        System.arraycopy(this.elements, this.head, target, 0, firstPart);
+        System.arraycopy(this.elements, 0, target, firstPart,
+                this.size - firstPart);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, this.size);
+        return (E) this.elements[slot(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        Objects.checkIndex(index, this.size);
+        int s = slot(index);
+        E old = (E) this.elements[s];
+        this.elements[s] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E element) {
+        ensureSpaceForOneMore();
+        this.elements[slot(this.size)] = element;
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, this.size + 1);
+        ensureSpaceForOneMore();
+        int mask = this.elements.length - 1;
+        if (index < this.size / 2) {
+            // move the leading elements one step towards the front
+            this.head = (this.head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                this.elements[slot(i)] = this.elements[slot(i + 1)];
+            }
+        }
+        else {
+            // move the trailing elements one step towards the back
+            for (int i = this.size; i > index; i--) {
+                this.elements[slot(i)] = this.elements[slot(i - 1)];
+            }
+        }
+        this.elements[slot(index)] = element;
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = get(index);
+        if (index < this.size / 2) {
+            // move the leading elements one step towards the back
+            for (int i = index; i > 0; i--) {
+                this.elements[slot(i)] = this.elements[slot(i - 1)];
+            }
+            this.elements[this.head] = null;
+            this.head = slot(1);
+        }
+        else {
+            // move the trailing elements one step towards the front
+            for (int i = index; i < this.size - 1; i++) {
+                this.elements[slot(i)] = this.elements[slot(i + 1)];
+            }
+            this.elements[slot(this.size - 1)] = null;
+        }
+        this.size--;
+        this.modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the elements from {@code fromIndex} (inclusive) to
+     * {@code toIndex} (exclusive).  This is called by
+     * {@code subList(from, to).clear()} and runs in constant time per
+     * remaining element moved, so removing the first {@code n} elements
+     * only clears {@code n} slots.
+     *
+     * @param fromIndex  the index of the first element to remove.
+     * @param toIndex  the index after the last element to remove.
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, this.size);
+        int count = toIndex - fromIndex;
+        if (count == 0) {
+            return;
+        }
+        if (fromIndex < this.size - toIndex) {
+            // fewer elements before the range, move those to the back
+            for (int i = fromIndex - 1; i >= 0; i--) {
+                this.elements[slot(i + count)] = this.elements[slot(i)];
+            }
+            for (int i = 0; i < count; i++) {
+                this.elements[slot(i)] = null;
+            }
+            this.head = slot(count);
+        }
+        else {
+            for (int i = toIndex; i < this.size; i++) {
+                this.elements[slot(i - count)] = this.elements[slot(i)];
+            }
+            for (int i = this.size - count; i < this.size; i++) {
+                this.elements[slot(i)] = null;
+            }
+        }
+        this.size -= count;
+        this.modCount++;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.elements[slot(i)] = null;
+        }
+        this.head = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Writes the list to a stream (only the elements are written, not the
+     * unused capacity).
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(this.size);
+        for (int i = 0; i < this.size; i++) {
+            stream.writeObject(this.elements[slot(i)]);
+        }
+    }
+
+    /**
+     * Restores the list from a stream.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int count = stream.readInt();
+        this.elements = new Object[capacityFor(count)];
+        this.head = 0;
+        for (int i = 0; i < count; i++) {
+            this.elements[i] = stream.readObject();
+        }
+        this.size = count;
+    }
+
+}
@@ -0,0 +1,182 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------
+ * ListUtils.java
+ * --------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Utility methods for working with lists, used by the series classes to add
+ * batches of items.
+ */
+public class ListUtils {
+
+    /**
+     * Private constructor prevents object creation.
+     */
+    private ListUtils() {
+    }
+
+    /**
+     * Merges a batch of items into a list that is sorted into ascending 
+     * order.  The batch is sorted first (the sort is stable, and items in the
+     * batch are placed after any equal items already in the list, matching
+     * the order that adding the items one at a time would give).  When every
+     * item in the batch sorts after the last item in the list, the batch is
+     * simply appended, otherwise only the part of the list that sorts after 
+     * the first item in the batch is rebuilt, in a single merge pass.
+     *
+     * @param list  the sorted list ({@code null} not permitted).
+     * @param batch  the items to add ({@code null} not permitted, this list
+     *     is sorted in place).
+     * @param allowDuplicates  a flag that controls whether items that compare
+     *     as equal are permitted.
+     *
+     * @param <T>  the item type.
+     *
+     * @return The index of the first item in the list that has changed (the
+     *     original size of the list if the batch was appended), or {@code -1}
+     *     if {@code allowDuplicates} is {@code false} and the merge would 
+     *     create a duplicate (in which case the list is not modified).
+     */
+    public static <T extends Comparable<? super T>> int mergeSorted(
+            List<T> list, List<T> batch, boolean allowDuplicates) {
+        Args.nullNotPermitted(list, "list");
+        Args.nullNotPermitted(batch, "batch");
+        int n = list.size();
+        int m = batch.size();
+        if (m == 0) {
+            return n;
+        }
+        Collections.sort(batch);
+        if (!allowDuplicates && hasAdjacentDuplicates(batch)) {
+            return -1;
+        }
+        T firstNew = batch.get(0);
+        if (n == 0 || list.get(n - 1).compareTo(firstNew) <= 0) {
+            if (!allowDuplicates && n > 0 
+                    && list.get(n - 1).compareTo(firstNew) == 0) {
+                return -1;
+            }
+            list.addAll(batch);
+            return n;
+        }
+
+        // find the first item in the list that sorts after the first new item
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list.get(mid).compareTo(firstNew) <= 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        int first = low;
+        List<T> tail = list.subList(first, n);
+        List<T> merged = new ArrayList<>(tail.size() + m);
+        int i = 0;
+        int j = 0;
+        while (i < tail.size() && j < m) {
+            if (tail.get(i).compareTo(batch.get(j)) <= 0) {
+                merged.add(tail.get(i++));
+            }
+            else {
+                merged.add(batch.get(j++));
+            }
+        }
+        merged.addAll(tail.subList(i, tail.size()));
+        merged.addAll(batch.subList(j, m));
+        if (!allowDuplicates) {
+            if ((first > 0 && list.get(first - 1).compareTo(merged.get(0)) == 0)
+                    || hasAdjacentDuplicates(merged)) {
+                return -1;
+            }
+        }
+        tail.clear();
+        list.addAll(merged);
+        return first;
+    }
+
+    /**
+     * Returns {@code true} if any item in {@code batch} is equal (by 
+     * comparison) to another item in {@code batch} or to an item in 
+     * {@code list}.  Neither list is modified, and neither needs to be 
+     * sorted.
+     *
+     * @param list  the existing items ({@code null} not permitted).
+     * @param batch  the new items ({@code null} not permitted).
+     *
+     * @param <T>  the item type.
+     *
+     * @return A boolean.
+     */
+    public static <T extends Comparable<? super T>> boolean containsDuplicates(
+            List<T> list, List<T> batch) {
+        Args.nullNotPermitted(list, "list");
+        Args.nullNotPermitted(batch, "batch");
+        List<T> all = new ArrayList<>(list.size() + batch.size());
+        all.addAll(list);
+        all.addAll(batch);
+        Collections.sort(all);
+        return hasAdjacentDuplicates(all);
+    }
+
+    /**
+     * Returns {@code true} if any two adjacent items in a sorted list compare
+     * as equal.
+     *
+     * @param list  the list.
+     *
+     * @param <T>  the item type.
+     *
+     * @return A boolean.
+     */
+    private static <T extends Comparable<? super T>> boolean 
+            hasAdjacentDuplicates(List<T> list) {
+        for (int i = 1; i < list.size(); i++) {
+            if (list.get(i - 1).compareTo(list.get(i)) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
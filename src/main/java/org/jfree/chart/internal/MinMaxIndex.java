@@ -0,0 +1,339 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * MinMaxIndex.java
+ * ----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributors:     -;
+ */
+
+package org.jfree.chart.internal;
+
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+
+import org.jfree.data.Range;
+
+/**
+ * An index that finds the minimum and maximum of a block of values in a
+ * series in O(log n) time.  The values are grouped into fixed-size blocks
+ * and a segment tree records the minimum and maximum value of each block,
+ * so the index uses only a small fraction of the memory taken by the
+ * values themselves.  {@code Double.NaN} values are ignored.
+ * <P>
+ * The index reads the values through a function supplied by the owner
+ * (typically a series) and is kept up to date by calling
+ * {@link #itemAdded(int)}, {@link #itemsRemoved(int, int)},
+ * {@link #itemUpdated(int)} and {@link #invalidate()} after each change.
+ * Appending items, removing items from the front and updating items are
+ * handled incrementally, other changes cause the index to be rebuilt on the
+ * next query.  Nothing is built until the first query, so an owner that
+ * never queries the index pays almost nothing for it.
+ */
+public class MinMaxIndex {
+
+    /** The default number of values in a block, as a power of two. */
+    private static final int DEFAULT_BLOCK_SHIFT = 5;
+
+    /** The number of values in a block, as a power of two. */
+    private final int blockShift;
+
+    /** A function returning the value for an item index. */
+    private final IntToDoubleFunction values;
+
+    /** A function returning the current item count. */
+    private final IntSupplier itemCount;
+
+    /** Is the index up to date? */
+    private boolean valid;
+
+    /**
+     * The position of item 0 (positions increase by one per item, removing
+     * items from the front of the series just advances this value).
+     */
+    private int start;
+
+    /** The number of items covered by the index. */
+    private int size;
+
+    /** The number of leaf blocks in the tree (a power of two). */
+    private int capacity;
+
+    /** The minimum for each tree node (the leaves start at capacity). */
+    private double[] min;
+
+    /** The maximum for each tree node (the leaves start at capacity). */
+    private double[] max;
+
+    /**
+     * Creates a new index.
+     *
+     * @param values  a function returning the value for an item index
+     *     ({@code null} not permitted).
+     * @param itemCount  a function returning the current item count
+     *     ({@code null} not permitted).
+     */
+    public MinMaxIndex(IntToDoubleFunction values, IntSupplier itemCount) {
+        this(values, itemCount, DEFAULT_BLOCK_SHIFT);
+    }
+
+    /**
+     * Creates a new index with the specified block size.  Larger blocks 
+     * reduce the memory used by the index (64 to 128 bytes per block) but
+     * increase the number of values scanned at each end of a query.
+     *
+     * @param values  a function returning the value for an item index
+     *     ({@code null} not permitted).
+     * @param itemCount  a function returning the current item count
+     *     ({@code null} not permitted).
+     * @param blockShift  the number of values in a block, as a power of two
+     *     (in the range 0 to 20).
+     */
+    public MinMaxIndex(IntToDoubleFunction values, IntSupplier itemCount, 
+            int blockShift) {
+        Args.nullNotPermitted(values, "values");
+        Args.nullNotPermitted(itemCount, "itemCount");
+        Args.requireInRange(blockShift, "blockShift", 0, 20);
+        this.values = values;
+        this.itemCount = itemCount;
+        this.blockShift = blockShift;
+        this.valid = false;
+    }
+
+    /**
+     * Marks the index as out of date, it will be rebuilt on the next query.
+     */
+    public void invalidate() {
+        this.valid = false;
+        this.min = null;
+        this.max = null;
+    }
+
+    /**
+     * Updates the index after an item has been inserted at the specified
+     * index.  Appending an item takes O(log n) time, inserting before the
+     * last item invalidates the index.
+     *
+     * @param index  the index of the new item.
+     */
+    public void itemAdded(int index) {
+        if (!this.valid) {
+            return;
+        }
+        int pos = this.start + this.size;
+        if (index != this.size
+                || (pos >>> this.blockShift) >= this.capacity) {
+            invalidate();
+            return;
+        }
+        this.size++;
+        double v = this.values.applyAsDouble(index);
+        if (!Double.isNaN(v)) {
+            int node = this.capacity + (pos >>> this.blockShift);
+            while (node >= 1) {
+                this.min[node] = Math.min(this.min[node], v);
+                this.max[node] = Math.max(this.max[node], v);
+                node >>>= 1;
+            }
+        }
+    }
+
+    /**
+     * Updates the index after a block of items has been removed.  Removing
+     * items from the front takes O(log n) time per block of values affected,
+     * other removals invalidate the index.
+     *
+     * @param index  the index of the first item removed.
+     * @param count  the number of items removed.
+     */
+    public void itemsRemoved(int index, int count) {
+        if (!this.valid) {
+            return;
+        }
+        if (index != 0 || count > this.size) {
+            invalidate();
+            return;
+        }
+        int firstBlock = this.start >>> this.blockShift;
+        this.start += count;
+        this.size -= count;
+        int lastBlock = this.start >>> this.blockShift;
+        for (int b = firstBlock; b <= lastBlock && b < this.capacity; b++) {
+            refreshBlock(b);
+        }
+    }
+
+    /**
+     * Updates the index after the value for an item has changed.
+     *
+     * @param index  the item index.
+     */
+    public void itemUpdated(int index) {
+        if (this.valid) {
+            refreshBlock((this.start + index) >>> this.blockShift);
+        }
+    }
+
+    /**
+     * Returns the range of the (non-NaN) values for the items from
+     * {@code first} to {@code last} inclusive.
+     *
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     *
+     * @return The range (or {@code null} if there are no values).
+     */
+    public Range findRange(int first, int last) {
+        if (!this.valid) {
+            rebuild();
+        }
+        if (first < 0 || last >= this.size || first > last) {
+            throw new IndexOutOfBoundsException("Invalid item range " + first
+                    + " to " + last + " for " + this.size + " items.");
+        }
+        int firstBlock = (this.start + first) >>> this.blockShift;
+        int lastBlock = (this.start + last) >>> this.blockShift;
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        if (lastBlock - firstBlock < 2) {
+            for (int i = first; i <= last; i++) {
+                double v = this.values.applyAsDouble(i);
+                if (!Double.isNaN(v)) {
+                    lower = Math.min(lower, v);
+                    upper = Math.max(upper, v);
+                }
+            }
+        }
+        else {
+            // scan the partial blocks at each end...
+            int firstEnd = ((firstBlock + 1) << this.blockShift)
+                    - this.start;
+            int lastStart = (lastBlock << this.blockShift) - this.start;
+            for (int i = first; i < firstEnd; i++) {
+                double v = this.values.applyAsDouble(i);
+                if (!Double.isNaN(v)) {
+                    lower = Math.min(lower, v);
+                    upper = Math.max(upper, v);
+                }
+            }
+            for (int i = lastStart; i <= last; i++) {
+                double v = this.values.applyAsDouble(i);
+                if (!Double.isNaN(v)) {
+                    lower = Math.min(lower, v);
+                    upper = Math.max(upper, v);
+                }
+            }
+            // ...and use the tree for the full blocks in between
+            int lo = this.capacity + firstBlock + 1;
+            int hi = this.capacity + lastBlock - 1;
+            while (lo <= hi) {
+                if ((lo & 1) == 1) {
+                    lower = Math.min(lower, this.min[lo]);
+                    upper = Math.max(upper, this.max[lo]);
+                    lo++;
+                }
+                if ((hi & 1) == 0) {
+                    lower = Math.min(lower, this.min[hi]);
+                    upper = Math.max(upper, this.max[hi]);
+                    hi--;
+                }
+                lo >>>= 1;
+                hi >>>= 1;
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Rebuilds the index from the current values, leaving room for the
+     * series to double in size before another rebuild is needed.
+     */
+    private void rebuild() {
+        this.start = 0;
+        this.size = this.itemCount.getAsInt();
+        int blocks = Math.max(1, (this.size + (1 << this.blockShift) - 1)
+                >>> this.blockShift);
+        this.capacity = Integer.highestOneBit(blocks) << 2;
+        this.min = new double[2 * this.capacity];
+        this.max = new double[2 * this.capacity];
+        Arrays.fill(this.min, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.max, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < this.size; i++) {
+            double v = this.values.applyAsDouble(i);
+            if (!Double.isNaN(v)) {
+                int leaf = this.capacity + (i >>> this.blockShift);
+                this.min[leaf] = Math.min(this.min[leaf], v);
+                this.max[leaf] = Math.max(this.max[leaf], v);
+            }
+        }
+        for (int node = this.capacity - 1; node >= 1; node--) {
+            this.min[node] = Math.min(this.min[2 * node],
+                    this.min[2 * node + 1]);
+            this.max[node] = Math.max(this.max[2 * node],
+                    this.max[2 * node + 1]);
+        }
+        this.valid = true;
+    }
+
+    /**
+     * Recalculates the minimum and maximum for one block from the current
+     * values, then updates the ancestors of the block in the tree.
+     *
+     * @param block  the block index.
+     */
+    private void refreshBlock(int block) {
+        int first = Math.max(block << this.blockShift, this.start)
+                - this.start;
+        int last = Math.min((block + 1) << this.blockShift,
+                this.start + this.size) - this.start;
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        for (int i = first; i < last; i++) {
+            double v = this.values.applyAsDouble(i);
+            if (!Double.isNaN(v)) {
+                lower = Math.min(lower, v);
+                upper = Math.max(upper, v);
+            }
+        }
+        int node = this.capacity + block;
+        this.min[node] = lower;
+        this.max[node] = upper;
+        for (node >>>= 1; node >= 1; node >>>= 1) {
+            this.min[node] = Math.min(this.min[2 * node],
+                    this.min[2 * node + 1]);
+            this.max[node] = Math.max(this.max[2 * node],
+                    this.max[2 * node + 1]);
+        }
+    }
+
+}
@@ -0,0 +1,320 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * PointRaster.java
+ * ----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Draws large numbers of small rectangular points by counting the points 
+ * that cover each pixel of an area, then drawing the area as a single image
+ * (instead of one {@code fillRect()} call per point).  The points in the
+ * raster share one color, and a pixel covered by {@code n} points gets the 
+ * color that drawing {@code n} translucent points over each other would
+ * give (an {@link AlphaComposite} on the graphics device is applied to each
+ * point, as it would be for {@code fillRect()}).  Each point covers the pixels from {@code (int) x} to 
+ * {@code (int) x + pointWidth - 1} (and likewise for y), matching 
+ * {@code g2.fillRect((int) x, (int) y, pointWidth, pointHeight)}.
+ * <P>
+ * Optionally, points are added in parallel: first the pixel positions for
+ * a block of points are calculated on several threads, then each thread
+ * counts the points for one horizontal band (tile) of the raster.
+ */
+public class PointRaster {
+
+    /** The number of points processed at once when adding in parallel. */
+    private static final int BLOCK_SIZE = 1 << 18;
+
+    /** Marks a point that is not visible. */
+    private static final int HIDDEN = Integer.MIN_VALUE;
+
+    /** The x-coordinate of the first pixel column. */
+    private final int x0;
+
+    /** The y-coordinate of the first pixel row. */
+    private final int y0;
+
+    /** The number of pixel columns. */
+    private final int width;
+
+    /** The number of pixel rows. */
+    private final int height;
+
+    /** The width of a point in pixels. */
+    private final int pointWidth;
+
+    /** The height of a point in pixels. */
+    private final int pointHeight;
+
+    /** The number of points covering each pixel (row by row). */
+    private final int[] counts;
+
+    /** Has any point been added since the raster was last cleared? */
+    private boolean empty;
+
+    /**
+     * Creates a new raster covering the pixels that intersect the specified
+     * area.
+     *
+     * @param area  the area (in Java2D space, {@code null} not permitted).
+     * @param pointWidth  the point width in pixels (must be positive).
+     * @param pointHeight  the point height in pixels (must be positive).
+     */
+    public PointRaster(Rectangle2D area, int pointWidth, int pointHeight) {
+        Args.nullNotPermitted(area, "area");
+        Args.requireInRange(pointWidth, "pointWidth", 1, Integer.MAX_VALUE);
+        Args.requireInRange(pointHeight, "pointHeight", 1, Integer.MAX_VALUE);
+        this.x0 = (int) Math.floor(area.getMinX());
+        this.y0 = (int) Math.floor(area.getMinY());
+        this.width = Math.max(0, (int) Math.ceil(area.getMaxX()) - this.x0);
+        this.height = Math.max(0, (int) Math.ceil(area.getMaxY()) - this.y0);
+        this.pointWidth = pointWidth;
+        this.pointHeight = pointHeight;
+        this.counts = new int[this.width * this.height];
+        this.empty = true;
+    }
+
+    /**
+     * Returns {@code true} if no points have been added since the raster was
+     * created or last cleared.
+     *
+     * @return A boolean.
+     */
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    /**
+     * Returns the number of points covering a pixel.
+     *
+     * @param x  the x-coordinate of the pixel (in Java2D space).
+     * @param y  the y-coordinate of the pixel (in Java2D space).
+     *
+     * @return The count (zero for pixels outside the raster).
+     */
+    public int getCount(int x, int y) {
+        int col = x - this.x0;
+        int row = y - this.y0;
+        if (col < 0 || col >= this.width || row < 0 || row >= this.height) {
+            return 0;
+        }
+        return this.counts[row * this.width + col];
+    }
+
+    /**
+     * Adds a point.
+     *
+     * @param x  the x-coordinate (in Java2D space).
+     * @param y  the y-coordinate (in Java2D space).
+     */
+    public void add(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return;
+        }
+        fill(pixel(x, this.x0), pixel(y, this.y0), 0, this.height);
+        this.empty = false;
+    }
+
+    /**
+     * Adds points, optionally using several threads.
+     *
+     * @param count  the number of points.
+     * @param xs  a function returning the x-coordinate (in Java2D space) of
+     *     a point.
+     * @param ys  a function returning the y-coordinate (in Java2D space) of
+     *     a point.
+     * @param parallel  use several threads?  If {@code true}, the functions
+     *     must be safe for concurrent use.
+     */
+    public void addAll(int count, IntToDoubleFunction xs, 
+            IntToDoubleFunction ys, boolean parallel) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (!parallel || processors < 2 || count < BLOCK_SIZE / 4 
+                || this.height < 2) {
+            for (int i = 0; i < count; i++) {
+                add(xs.applyAsDouble(i), ys.applyAsDouble(i));
+            }
+            return;
+        }
+        int[] cols = new int[Math.min(count, BLOCK_SIZE)];
+        int[] rows = new int[cols.length];
+        int bands = Math.min(this.height, 4 * processors);
+        for (int start = 0; start < count; start += BLOCK_SIZE) {
+            int first = start;
+            int n = Math.min(BLOCK_SIZE, count - start);
+            IntStream.range(0, n).parallel().forEach(i -> {
+                double x = xs.applyAsDouble(first + i);
+                double y = ys.applyAsDouble(first + i);
+                if (Double.isNaN(x) || Double.isNaN(y)) {
+                    cols[i] = HIDDEN;
+                }
+                else {
+                    cols[i] = pixel(x, this.x0);
+                    rows[i] = pixel(y, this.y0);
+                }
+            });
+            IntStream.range(0, bands).parallel().forEach(band -> {
+                int rowFrom = (int) ((long) this.height * band / bands);
+                int rowTo = (int) ((long) this.height * (band + 1) / bands);
+                for (int i = 0; i < n; i++) {
+                    if (cols[i] != HIDDEN) {
+                        fill(cols[i], rows[i], rowFrom, rowTo);
+                    }
+                }
+            });
+        }
+        this.empty = false;
+    }
+
+    /**
+     * Returns the pixel index (relative to the raster origin) for a 
+     * coordinate, clamped to a range that cannot overflow.
+     *
+     * @param v  the coordinate (in Java2D space, not NaN).
+     * @param origin  the coordinate of the first pixel.
+     *
+     * @return The pixel index.
+     */
+    private static int pixel(double v, int origin) {
+        double p = Math.max(-1e9, Math.min(1e9, v));
+        return (int) p - origin;
+    }
+
+    /**
+     * Increments the counts for the pixels covered by a point, limited to
+     * the specified rows.
+     *
+     * @param col  the first pixel column for the point.
+     * @param row  the first pixel row for the point.
+     * @param rowFrom  the first row to update.
+     * @param rowTo  the row after the last row to update.
+     */
+    private void fill(int col, int row, int rowFrom, int rowTo) {
+        int r0 = Math.max(row, rowFrom);
+        int r1 = Math.min(row + this.pointHeight, rowTo);
+        int c0 = Math.max(col, 0);
+        int c1 = Math.min(col + this.pointWidth, this.width);
+        for (int r = r0; r < r1; r++) {
+            int offset = r * this.width;
+            for (int c = c0; c < c1; c++) {
+                this.counts[offset + c]++;
+            }
+        }
+    }
+
+    /**
+     * Draws the points (as a single image) and clears the raster.
+     *
+     * @param g2  the graphics device.
+     * @param color  the color of the points ({@code null} not permitted).
+     */
+    public void draw(Graphics2D g2, Color color) {
+        Args.nullNotPermitted(color, "color");
+        if (this.empty || this.counts.length == 0) {
+            return;
+        }
+        BufferedImage image = new BufferedImage(this.width, this.height, 
+                BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        // the argb value for each count (up to the count where the color
+        // becomes opaque)
+        int maxCount = 0;
+        for (int n : this.counts) {
+            maxCount = Math.max(maxCount, n);
+        }
+        int rgb = color.getRGB() & 0xFFFFFF;
+        double a = color.getAlpha() / 255.0;
+        // an alpha composite applies to each point, not to the image
+        Composite savedComposite = g2.getComposite();
+        if (savedComposite instanceof AlphaComposite) {
+            AlphaComposite ac = (AlphaComposite) savedComposite;
+            if (ac.getRule() == AlphaComposite.SRC_OVER) {
+                a = a * ac.getAlpha();
+                g2.setComposite(AlphaComposite.SrcOver);
+            }
+        }
+        int[] argb = new int[Math.min(maxCount, 4096) + 1];
+        for (int n = 1; n < argb.length; n++) {
+            int alpha = (int) Math.round(255 * (1.0 - Math.pow(1.0 - a, n)));
+            argb[n] = (alpha << 24) | rgb;
+        }
+        int last = argb.length - 1;
+        for (int i = 0; i < this.counts.length; i++) {
+            int n = this.counts[i];
+            if (n != 0) {
+                pixels[i] = argb[Math.min(n, last)];
+            }
+        }
+        Object saved = g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        // a hint can't be set to null, so if there was no interpolation hint
+        // all the hints are restored
+        RenderingHints savedHints = saved == null 
+                ? g2.getRenderingHints() : null;
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, 
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(image, this.x0, this.y0, null);
+        if (saved != null) {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, saved);
+        }
+        else {
+            g2.setRenderingHints(savedHints);
+        }
+        g2.setComposite(savedComposite);
+        clear();
+    }
+
+    /**
+     * Clears the raster.
+     */
+    public void clear() {
+        if (!this.empty) {
+            Arrays.fill(this.counts, 0);
+            this.empty = true;
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * RunningMean.java
+ * ----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+/**
+ * The mean of a window of values that is updated as values enter and leave
+ * the window, in constant time per value.  The result is the same as 
+ * summing the values in the window directly (apart from rounding): a 
+ * {@code Double.NaN} in the window makes the mean {@code Double.NaN}, as 
+ * do infinite values with opposite signs, and an infinite value otherwise
+ * makes the mean infinite.  The non-finite values are counted rather than
+ * added to the running sum, so that the sum recovers once they leave the 
+ * window.  The finite values are added to and subtracted from the sum with
+ * Neumaier's compensated summation, so that the rounding error does not 
+ * build up as values pass through the window (for example, small values 
+ * that follow a large value are not lost when the large value leaves the 
+ * window).
+ */
+public class RunningMean {
+
+    /** The number of values in the window. */
+    private int count;
+
+    /** The sum of the finite values in the window. */
+    private double sum;
+
+    /** The compensation for the rounding error in {@code sum}. */
+    private double compensation;
+
+    /** The number of {@code Double.NaN} values in the window. */
+    private int nanCount;
+
+    /** The number of positive infinite values in the window. */
+    private int positiveInfinityCount;
+
+    /** The number of negative infinite values in the window. */
+    private int negativeInfinityCount;
+
+    /**
+     * Creates a new (empty) window.
+     */
+    public RunningMean() {
+        clear();
+    }
+
+    /**
+     * Returns the number of values in the window.
+     *
+     * @return The count.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Adds a value to the window.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        this.count++;
+        if (Double.isNaN(value)) {
+            this.nanCount++;
+        }
+        else if (value == Double.POSITIVE_INFINITY) {
+            this.positiveInfinityCount++;
+        }
+        else if (value == Double.NEGATIVE_INFINITY) {
+            this.negativeInfinityCount++;
+        }
+        else {
+            accumulate(value);
+        }
+    }
+
+    /**
+     * Removes a value (that was previously added) from the window.
+     *
+     * @param value  the value.
+     */
+    public void remove(double value) {
+        this.count--;
+        if (Double.isNaN(value)) {
+            this.nanCount--;
+        }
+        else if (value == Double.POSITIVE_INFINITY) {
+            this.positiveInfinityCount--;
+        }
+        else if (value == Double.NEGATIVE_INFINITY) {
+            this.negativeInfinityCount--;
+        }
+        else {
+            accumulate(-value);
+        }
+        if (this.count == 0) {
+            // discard any rounding error that has built up
+            this.sum = 0.0;
+            this.compensation = 0.0;
+        }
+    }
+
+    /**
+     * Adds a finite value to the sum, keeping track of the rounding error 
+     * (Neumaier's variant of Kahan summation).
+     *
+     * @param value  the value.
+     */
+    private void accumulate(double value) {
+        double t = this.sum + value;
+        if (Math.abs(this.sum) >= Math.abs(value)) {
+            this.compensation += (this.sum - t) + value;
+        }
+        else {
+            this.compensation += (value - t) + this.sum;
+        }
+        this.sum = t;
+    }
+
+    /**
+     * Returns the mean of the values in the window.
+     *
+     * @return The mean ({@code Double.NaN} if the window is empty).
+     */
+    public double getMean() {
+        if (this.count == 0 || this.nanCount > 0) {
+            return Double.NaN;
+        }
+        if (this.positiveInfinityCount > 0) {
+            return this.negativeInfinityCount > 0 ? Double.NaN 
+                    : Double.POSITIVE_INFINITY;
+        }
+        if (this.negativeInfinityCount > 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return (this.sum + this.compensation) / this.count;
+    }
+
+    /**
+     * Removes all values from the window.
+     */
+    public void clear() {
+        this.count = 0;
+        this.sum = 0.0;
+        this.compensation = 0.0;
+        this.nanCount = 0;
+        this.positiveInfinityCount = 0;
+        this.negativeInfinityCount = 0;
+    }
+
+}
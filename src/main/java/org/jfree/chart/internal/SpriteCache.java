@@ -0,0 +1,437 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * SpriteCache.java
+ * ----------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A cache of small images ("sprites") of shapes, so that a renderer that 
+ * draws the same shape for many items can copy an image to the output 
+ * instead of filling and outlining the shape each time.  
+ * <P>
+ * A sprite is created for each combination of shape (compared by 
+ * identity), fill color, outline color, outline stroke, anti-aliasing and 
+ * stroke control hints and device scale.  The sprites are drawn at device 
+ * pixel positions, so each combination has up to 16 variants for shape 
+ * positions in steps of a quarter pixel.  Only {@code Color} paints and
+ * transforms without rotation or shear are supported, and sprites are not
+ * used for printers.  The least recently used sprites are dropped when the
+ * cache is full.
+ */
+public class SpriteCache {
+
+    /** The number of sub-pixel positions in each direction. */
+    private static final int STEPS = 4;
+
+    /** The maximum sprite size (in pixels) in either direction. */
+    private static final int MAX_SPRITE_SIZE = 128;
+
+    /** The sprites. */
+    private final Map<Key, Sprite> sprites;
+
+    /** The key for the last sprite drawn. */
+    private Key lastKey;
+
+    /** The last sprite drawn. */
+    private Sprite lastSprite;
+
+    /** A transform used when drawing the sprites. */
+    private final AffineTransform working;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize  the maximum number of shape/paint/stroke combinations
+     *     (must be &gt; 0).
+     */
+    public SpriteCache(int maxSize) {
+        Args.requireInRange(maxSize, "maxSize", 1, Integer.MAX_VALUE);
+        this.sprites = new LinkedHashMap<Key, Sprite>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Sprite> e) {
+                return size() > maxSize;
+            }
+        };
+        this.working = new AffineTransform();
+    }
+
+    /**
+     * Returns the number of shape/paint/stroke combinations in the cache.
+     *
+     * @return The size.
+     */
+    public synchronized int getSize() {
+        return this.sprites.size();
+    }
+
+    /**
+     * Removes all the sprites from the cache.
+     */
+    public synchronized void clear() {
+        this.sprites.clear();
+        this.lastKey = null;
+        this.lastSprite = null;
+    }
+
+    /**
+     * Draws a shape, translated to (x, y), using a cached sprite.  The 
+     * method returns {@code false}, without drawing anything, if the shape
+     * cannot be drawn with a sprite, in which case the caller should draw
+     * the shape itself.
+     *
+     * @param g2  the graphics target.
+     * @param shape  the shape ({@code null} not permitted).
+     * @param x  the x-translation for the shape.
+     * @param y  the y-translation for the shape.
+     * @param fillPaint  the fill paint ({@code null} for no fill).
+     * @param outlinePaint  the outline paint ({@code null} for no outline).
+     * @param outlineStroke  the outline stroke ({@code null} permitted if 
+     *     {@code outlinePaint} is {@code null}).
+     *
+     * @return A boolean indicating whether the shape was drawn.
+     */
+    public synchronized boolean draw(Graphics2D g2, Shape shape, double x, 
+            double y, Paint fillPaint, Paint outlinePaint, 
+            Stroke outlineStroke) {
+        if (!isSupported(fillPaint) || !isSupported(outlinePaint)
+                || outlinePaint != null && outlineStroke == null) {
+            return false;
+        }
+        AffineTransform t = g2.getTransform();
+        int unsupported = AffineTransform.TYPE_FLIP 
+                | AffineTransform.TYPE_MASK_ROTATION 
+                | AffineTransform.TYPE_GENERAL_TRANSFORM;
+        if ((t.getType() & unsupported) != 0) {
+            return false;
+        }
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc != null 
+                && gc.getDevice().getType() == GraphicsDevice.TYPE_PRINTER) {
+            return false;
+        }
+        double sx = t.getScaleX();
+        double sy = t.getScaleY();
+        Object aa = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        Object sc = g2.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
+        Sprite sprite;
+        if (this.lastKey != null && this.lastKey.matches(shape, fillPaint, 
+                outlinePaint, outlineStroke, aa, sc, sx, sy)) {
+            sprite = this.lastSprite;
+        }
+        else {
+            Key key = new Key(shape, fillPaint, outlinePaint, outlineStroke,
+                    aa, sc, sx, sy);
+            sprite = this.sprites.get(key);
+            if (sprite == null) {
+                sprite = new Sprite(key);
+                this.sprites.put(key, sprite);
+            }
+            this.lastKey = key;
+            this.lastSprite = sprite;
+        }
+        if (sprite.width > MAX_SPRITE_SIZE || sprite.height > MAX_SPRITE_SIZE) {
+            return false;
+        }
+
+        // find the device position and snap it to a quarter pixel
+        double dx = sx * x + t.getTranslateX();
+        double dy = sy * y + t.getTranslateY();
+        double ix = Math.floor(dx);
+        double iy = Math.floor(dy);
+        int qx = (int) Math.floor((dx - ix) * STEPS + 0.5);
+        int qy = (int) Math.floor((dy - iy) * STEPS + 0.5);
+        if (qx == STEPS) {
+            ix++;
+            qx = 0;
+        }
+        if (qy == STEPS) {
+            iy++;
+            qy = 0;
+        }
+        BufferedImage image = sprite.getImage(qx, qy);
+
+        // the image pixels map to whole device pixels
+        this.working.setTransform(1.0 / sx, 0.0, 0.0, 1.0 / sy,
+                (ix + sprite.minX - t.getTranslateX()) / sx,
+                (iy + sprite.minY - t.getTranslateY()) / sy);
+        g2.drawImage(image, this.working, null);
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if a paint can be used for a sprite.
+     *
+     * @param paint  the paint ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    private static boolean isSupported(Paint paint) {
+        return paint == null || paint instanceof Color;
+    }
+
+    /**
+     * The key for a sprite.
+     */
+    private static final class Key {
+
+        /** The shape (compared by identity). */
+        private final Shape shape;
+
+        /** The fill paint ({@code null} for no fill). */
+        private final Paint fillPaint;
+
+        /** The outline paint ({@code null} for no outline). */
+        private final Paint outlinePaint;
+
+        /** The outline stroke. */
+        private final Stroke outlineStroke;
+
+        /** The anti-aliasing hint. */
+        private final Object antialiasing;
+
+        /** The stroke control hint. */
+        private final Object strokeControl;
+
+        /** The x-scale of the device transform. */
+        private final double scaleX;
+
+        /** The y-scale of the device transform. */
+        private final double scaleY;
+
+        /**
+         * Creates a new key.
+         *
+         * @param shape  the shape.
+         * @param fillPaint  the fill paint.
+         * @param outlinePaint  the outline paint.
+         * @param outlineStroke  the outline stroke.
+         * @param antialiasing  the anti-aliasing hint.
+         * @param strokeControl  the stroke control hint.
+         * @param scaleX  the x-scale.
+         * @param scaleY  the y-scale.
+         */
+        Key(Shape shape, Paint fillPaint, Paint outlinePaint, 
+                Stroke outlineStroke, Object antialiasing, 
+                Object strokeControl, double scaleX, double scaleY) {
+            this.shape = shape;
+            this.fillPaint = fillPaint;
+            this.outlinePaint = outlinePaint;
+            this.outlineStroke = outlinePaint != null ? outlineStroke : null;
+            this.antialiasing = antialiasing;
+            this.strokeControl = strokeControl;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+
+        /**
+         * Returns {@code true} if this key matches the specified attributes.
+         *
+         * @param shape  the shape.
+         * @param fillPaint  the fill paint.
+         * @param outlinePaint  the outline paint.
+         * @param outlineStroke  the outline stroke.
+         * @param antialiasing  the anti-aliasing hint.
+         * @param strokeControl  the stroke control hint.
+         * @param scaleX  the x-scale.
+         * @param scaleY  the y-scale.
+         *
+         * @return A boolean.
+         */
+        boolean matches(Shape shape, Paint fillPaint, Paint outlinePaint, 
+                Stroke outlineStroke, Object antialiasing, 
+                Object strokeControl, double scaleX, double scaleY) {
+            return this.shape == shape 
+                    && Objects.equals(this.fillPaint, fillPaint)
+                    && Objects.equals(this.outlinePaint, outlinePaint)
+                    && (outlinePaint == null 
+                        || Objects.equals(this.outlineStroke, outlineStroke))
+                    && this.antialiasing == antialiasing
+                    && this.strokeControl == strokeControl
+                    && this.scaleX == scaleX && this.scaleY == scaleY;
+        }
+
+        /**
+         * Tests this key for equality with an arbitrary object.
+         *
+         * @param obj  the object ({@code null} permitted).
+         *
+         * @return A boolean.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return that.matches(this.shape, this.fillPaint, this.outlinePaint,
+                    this.outlineStroke, this.antialiasing, this.strokeControl,
+                    this.scaleX, this.scaleY);
+        }
+
+        /**
+         * Returns a hash code for this key.
+         *
+         * @return A hash code.
+         */
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(this.shape);
+            result = 31 * result + Objects.hashCode(this.fillPaint);
+            result = 31 * result + Objects.hashCode(this.outlinePaint);
+            result = 31 * result + Objects.hashCode(this.outlineStroke);
+            result = 31 * result + Objects.hashCode(this.antialiasing);
+            result = 31 * result + Objects.hashCode(this.strokeControl);
+            result = 31 * result + Double.hashCode(this.scaleX);
+            result = 31 * result + Double.hashCode(this.scaleY);
+            return result;
+        }
+
+    }
+
+    /**
+     * The images for one key, one for each sub-pixel position (created 
+     * when first needed).
+     */
+    private static final class Sprite {
+
+        /** The key. */
+        private final Key key;
+
+        /** 
+         * The x-offset (in device pixels) from the shape origin to the 
+         * left edge of the images. 
+         */
+        private final int minX;
+
+        /** 
+         * The y-offset (in device pixels) from the shape origin to the 
+         * top edge of the images. 
+         */
+        private final int minY;
+
+        /** The image width. */
+        private final int width;
+
+        /** The image height. */
+        private final int height;
+
+        /** The images, indexed by sub-pixel position. */
+        private final BufferedImage[] images;
+
+        /**
+         * Creates a new sprite.
+         *
+         * @param key  the key.
+         */
+        Sprite(Key key) {
+            this.key = key;
+            Rectangle2D bounds = key.shape.getBounds2D();
+            if (key.outlinePaint != null) {
+                bounds = key.outlineStroke.createStrokedShape(key.shape)
+                        .getBounds2D().createUnion(bounds);
+            }
+            // allow a pixel for anti-aliasing and one for the sub-pixel shift
+            this.minX = (int) Math.floor(bounds.getMinX() * key.scaleX) - 1;
+            this.minY = (int) Math.floor(bounds.getMinY() * key.scaleY) - 1;
+            this.width = (int) Math.ceil(bounds.getMaxX() * key.scaleX) 
+                    - this.minX + 2;
+            this.height = (int) Math.ceil(bounds.getMaxY() * key.scaleY) 
+                    - this.minY + 2;
+            this.images = new BufferedImage[STEPS * STEPS];
+        }
+
+        /**
+         * Returns the image for a sub-pixel position, creating it if 
+         * necessary.
+         *
+         * @param qx  the x-position, in quarter pixels.
+         * @param qy  the y-position, in quarter pixels.
+         *
+         * @return The image.
+         */
+        BufferedImage getImage(int qx, int qy) {
+            int index = qy * STEPS + qx;
+            BufferedImage image = this.images[index];
+            if (image == null) {
+                image = new BufferedImage(this.width, this.height, 
+                        BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D g2 = image.createGraphics();
+                if (this.key.antialiasing != null) {
+                    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
+                            this.key.antialiasing);
+                }
+                if (this.key.strokeControl != null) {
+                    g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, 
+                            this.key.strokeControl);
+                }
+                g2.translate(-this.minX + (double) qx / STEPS, 
+                        -this.minY + (double) qy / STEPS);
+                g2.scale(this.key.scaleX, this.key.scaleY);
+                if (this.key.fillPaint != null) {
+                    g2.setPaint(this.key.fillPaint);
+                    g2.fill(this.key.shape);
+                }
+                if (this.key.outlinePaint != null) {
+                    g2.setPaint(this.key.outlinePaint);
+                    g2.setStroke(this.key.outlineStroke);
+                    g2.draw(this.key.shape);
+                }
+                g2.dispose();
+                this.images[index] = image;
+            }
+            return image;
+        }
+
+    }
+
+}
@@ -87,6 +87,7 @@ import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.axis.ValueTick;
 import org.jfree.chart.event.AnnotationChangeEvent;
 import org.jfree.chart.event.AnnotationChangeListener;
+import org.jfree.chart.event.CancellationToken;
 import org.jfree.chart.event.ChartChangeEventType;
 import org.jfree.chart.event.PlotChangeEvent;
 import org.jfree.chart.event.RendererChangeEvent;
@@ -3612,7 +3613,10 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
 
     /**
      * Draws a representation of a dataset within the dataArea region using the
-     * appropriate renderer.
+     * appropriate renderer.  Rendering stops early (after the current column)
+     * if the {@link CancellationToken} in the 
+     * {@link org.jfree.chart.ChartHints#KEY_CANCELLATION_TOKEN} rendering 
+     * hint is cancelled.
      *
      * @param g2  the graphics device.
      * @param dataArea  the region in which the data is to be drawn.
@@ -3641,9 +3645,13 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
             int columnCount = currentDataset.getColumnCount();
             int rowCount = currentDataset.getRowCount();
             int passCount = renderer.getPassCount();
+            CancellationToken token = CancellationToken.fromHints(g2);
             for (int pass = 0; pass < passCount; pass++) {
                 if (this.columnRenderingOrder == SortOrder.ASCENDING) {
                     for (int column = 0; column < columnCount; column++) {
+                        if (token != null && token.isCancelled()) {
+                            return foundData;
+                        }
                         if (this.rowRenderingOrder == SortOrder.ASCENDING) {
                             for (int row = 0; row < rowCount; row++) {
                                 renderer.drawItem(g2, state, dataArea, this,
@@ -3662,6 +3670,9 @@ public class CategoryPlot<R extends Comparable<R>, C extends Comparable<C>>
                 }
                 else {
                     for (int column = columnCount - 1; column >= 0; column--) {
+                        if (token != null && token.isCancelled()) {
+                            return foundData;
+                        }
                         if (this.rowRenderingOrder == SortOrder.ASCENDING) {
                             for (int row = 0; row < rowCount; row++) {
                                 renderer.drawItem(g2, state, dataArea, this,
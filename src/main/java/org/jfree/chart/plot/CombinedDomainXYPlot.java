@@ -49,6 +49,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import org.jfree.chart.ChartElementVisitor;
+import org.jfree.chart.ChartLayer;
 
 import org.jfree.chart.legend.LegendItemCollection;
 import org.jfree.chart.axis.AxisSpace;
@@ -445,22 +446,33 @@ public class CombinedDomainXYPlot<S extends Comparable<S>> extends XYPlot<S>
         ValueAxis axis = getDomainAxis();
         RectangleEdge edge = getDomainAxisEdge();
         double cursor = RectangleEdge.coordinate(dataArea, edge);
-        AxisState axisState = axis.draw(g2, cursor, area, dataArea, edge, info);
+        AxisState axisState = null;
+        if (ChartLayer.isDrawn(g2, ChartLayer.BACKGROUND)) {
+            axisState = axis.draw(g2, cursor, area, dataArea, edge, info);
+        }
         if (parentState == null) {
             parentState = new PlotState();
         }
         parentState.getSharedAxisStates().put(axis, axisState);
 
         // draw all the subplots
-        for (int i = 0; i < this.subplots.size(); i++) {
-            XYPlot plot = (XYPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
+        if (isParallelRendering() && this.subplots.size() > 1 
+                && ParallelLayers.isSupported(g2)) {
+            ParallelLayers.drawSubplots(g2, 
+                    this.subplots.toArray(new XYPlot<?>[0]), 
+                    this.subplotAreas, this.gap, anchor, parentState, info);
+        }
+        else {
+            for (int i = 0; i < this.subplots.size(); i++) {
+                XYPlot plot = (XYPlot) this.subplots.get(i);
+                PlotRenderingInfo subplotInfo = null;
+                if (info != null) {
+                    subplotInfo = new PlotRenderingInfo(info.getOwner());
+                    info.addSubplotInfo(subplotInfo);
+                }
+                plot.draw(g2, this.subplotAreas[i], anchor, parentState,
+                        subplotInfo);
             }
-            plot.draw(g2, this.subplotAreas[i], anchor, parentState,
-                    subplotInfo);
         }
 
         if (info != null) {
@@ -42,6 +42,8 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
 import java.awt.Paint;
 import java.awt.RenderingHints;
 import java.awt.Shape;
@@ -68,6 +70,7 @@ import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.api.RectangleInsets;
 import org.jfree.chart.internal.ArrayUtils;
 import org.jfree.chart.internal.PaintUtils;
+import org.jfree.chart.internal.PointRaster;
 import org.jfree.chart.internal.Args;
 import org.jfree.chart.internal.SerialUtils;
 import org.jfree.data.Range;
@@ -137,6 +140,18 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     private boolean rangePannable;
 
+    /**
+     * A flag that controls whether the points are counted on several threads
+     * when they are drawn.
+     */
+    private boolean parallelRendering;
+
+    /**
+     * A flag that controls whether the points are drawn as a single image
+     * on raster devices.
+     */
+    private boolean rasterRendering;
+
     /** The resourceBundle for the localization. */
     protected static ResourceBundle localizationResources
             = ResourceBundle.getBundle("org.jfree.chart.plot.LocalizationBundle");
@@ -306,6 +321,64 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether the points are counted on 
+     * several threads when they are drawn.  The default value is 
+     * {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean isParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the points are counted on several
+     * threads when they are drawn, and sends a {@link PlotChangeEvent} to 
+     * all registered listeners.  This only applies when the points are 
+     * drawn as a single image (see {@link #setRasterRendering(boolean)}).
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #isParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the flag that controls whether the points are drawn as a 
+     * single image on raster devices.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setRasterRendering(boolean)
+     */
+    public boolean isRasterRendering() {
+        return this.rasterRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the points are drawn as a single
+     * image on raster devices, and sends a {@link PlotChangeEvent} to all 
+     * registered listeners.  When the flag is set, the paint is a 
+     * {@code Color} and the target is the screen or an image, the points 
+     * are counted per pixel and drawn as one image, which is much faster 
+     * for large datasets.  Otherwise (for example, when printing or 
+     * exporting to a vector format) each point is filled separately.
+     *
+     * @param raster  the new flag value.
+     *
+     * @see #isRasterRendering()
+     */
+    public void setRasterRendering(boolean raster) {
+        this.rasterRendering = raster;
+        fireChangeEvent();
+    }
+
     /**
      * Returns {@code true} if the domain gridlines are visible, and
      * {@code false} otherwise.
@@ -553,35 +626,51 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     public void render(Graphics2D g2, Rectangle2D dataArea,
                        PlotRenderingInfo info, CrosshairState crosshairState) {
+        if (this.data == null) {
+            return;
+        }
+        float[] xs = this.data[0];
+        float[] ys = this.data[1];
+        if (this.rasterRendering && this.paint instanceof Color 
+                && isRasterDevice(g2)) {
+            // count the points per pixel and draw them as a single image
+            PointRaster raster = new PointRaster(dataArea, 1, 1);
+            raster.addAll(xs.length, 
+                    i -> this.domainAxis.valueToJava2D(xs[i], dataArea, 
+                            RectangleEdge.BOTTOM),
+                    i -> this.rangeAxis.valueToJava2D(ys[i], dataArea, 
+                            RectangleEdge.LEFT), 
+                    this.parallelRendering);
+            raster.draw(g2, (Color) this.paint);
+            return;
+        }
         g2.setPaint(this.paint);
+        for (int i = 0; i < xs.length; i++) {
+            int transX = (int) this.domainAxis.valueToJava2D(xs[i], dataArea,
+                    RectangleEdge.BOTTOM);
+            int transY = (int) this.rangeAxis.valueToJava2D(ys[i], dataArea,
+                    RectangleEdge.LEFT);
+            g2.fillRect(transX, transY, 1, 1);
+        }
+    }
 
-        // if the axes use a linear scale, you can uncomment the code below and
-        // switch to the alternative transX/transY calculation inside the loop
-        // that follows - it is a little bit faster then.
-        //
-        // int xx = (int) dataArea.getMinX();
-        // int ww = (int) dataArea.getWidth();
-        // int yy = (int) dataArea.getMaxY();
-        // int hh = (int) dataArea.getHeight();
-        // double domainMin = this.domainAxis.getLowerBound();
-        // double domainLength = this.domainAxis.getUpperBound() - domainMin;
-        // double rangeMin = this.rangeAxis.getLowerBound();
-        // double rangeLength = this.rangeAxis.getUpperBound() - rangeMin;
-
-        if (this.data != null) {
-            for (int i = 0; i < this.data[0].length; i++) {
-                float x = this.data[0][i];
-                float y = this.data[1][i];
-
-                //int transX = (int) (xx + ww * (x - domainMin) / domainLength);
-                //int transY = (int) (yy - hh * (y - rangeMin) / rangeLength);
-                int transX = (int) this.domainAxis.valueToJava2D(x, dataArea,
-                        RectangleEdge.BOTTOM);
-                int transY = (int) this.rangeAxis.valueToJava2D(y, dataArea,
-                        RectangleEdge.LEFT);
-                g2.fillRect(transX, transY, 1, 1);
-            }
+    /**
+     * Returns {@code true} if the specified graphics device draws to the 
+     * screen or to an image, so that drawing the points as an image gives
+     * the same output as filling each point.
+     *
+     * @param g2  the graphics device.
+     *
+     * @return A boolean.
+     */
+    private static boolean isRasterDevice(Graphics2D g2) {
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc == null) {
+            return false;
         }
+        int type = gc.getDevice().getType();
+        return type == GraphicsDevice.TYPE_RASTER_SCREEN 
+                || type == GraphicsDevice.TYPE_IMAGE_BUFFER;
     }
 
     /**
@@ -973,6 +1062,12 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         if (this.rangePannable != that.rangePannable) {
             return false;
         }
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
+        if (this.rasterRendering != that.rasterRendering) {
+            return false;
+        }
         if (!ArrayUtils.equal(this.data, that.data)) {
             return false;
         }
@@ -0,0 +1,302 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * ParallelLayers.java
+ * -------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.plot;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.entity.StandardEntityCollection;
+import org.jfree.chart.renderer.AbstractRenderer;
+
+/**
+ * Draws the layers of a plot (for example, the datasets of an 
+ * {@link XYPlot} or the subplots of a combined plot) concurrently.  Each 
+ * layer is drawn by a task on the common fork-join pool into its own 
+ * transparent image (in device space, with the transform, clip, composite 
+ * and rendering hints of the target device), then the images are composited
+ * onto the target in the order of the layers, giving the same output as 
+ * drawing the layers one after another.  The entities for each layer are 
+ * collected separately and added to the entity collection in the same 
+ * order.
+ * <P>
+ * The layers share the plot, so they must only read shared state while 
+ * they are drawn (see {@link #resolveSeriesAttributes(AbstractRenderer, 
+ * int)}).  This class is used internally by JFreeChart.
+ */
+final class ParallelLayers {
+
+    /**
+     * A layer that is drawn by one task.
+     */
+    interface Layer {
+
+        /**
+         * Draws the layer.
+         *
+         * @param g2  the graphics device for the layer.
+         * @param owner  the rendering info that collects the entities for the
+         *     layer ({@code null} if no entities are required).
+         *
+         * @return A flag for the caller (for example, whether any data was
+         *     drawn).
+         */
+        boolean draw(Graphics2D g2, ChartRenderingInfo owner);
+
+    }
+
+    private ParallelLayers() {
+        // no requirement to instantiate
+    }
+
+    /**
+     * Returns {@code true} if layers can be drawn concurrently on the 
+     * specified device.  Only the screen and image buffers are supported,
+     * any other device (a printer, for example) would receive the layers 
+     * as images rather than as vector graphics.
+     *
+     * @param g2  the graphics device.
+     *
+     * @return A boolean.
+     */
+    static boolean isSupported(Graphics2D g2) {
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc == null) {
+            return false;
+        }
+        int type = gc.getDevice().getType();
+        return type == GraphicsDevice.TYPE_RASTER_SCREEN 
+                || type == GraphicsDevice.TYPE_IMAGE_BUFFER;
+    }
+
+    /**
+     * Looks up (and so auto-populates, if the renderer is configured to do
+     * that) the series attributes of a renderer, so that the lookups made
+     * while the layers are drawn do not modify the renderer or consume 
+     * values from the shared drawing supplier in a different order than
+     * sequential drawing would.
+     *
+     * @param renderer  the renderer ({@code null} permitted).
+     * @param seriesCount  the number of series.
+     */
+    static void resolveSeriesAttributes(AbstractRenderer renderer, 
+            int seriesCount) {
+        if (renderer == null) {
+            return;
+        }
+        for (int s = 0; s < seriesCount; s++) {
+            renderer.lookupSeriesPaint(s);
+            renderer.lookupSeriesFillPaint(s);
+            renderer.lookupSeriesOutlinePaint(s);
+            renderer.lookupSeriesStroke(s);
+            renderer.lookupSeriesOutlineStroke(s);
+            renderer.lookupSeriesShape(s);
+        }
+    }
+
+    /**
+     * Draws the layers concurrently and composites them onto the target 
+     * device.
+     *
+     * @param g2  the target device.
+     * @param areas  for each layer, the area (in Java2D space) that contains
+     *     all drawing for the layer (drawing outside this area is clipped).
+     * @param owner  the rendering info for the chart ({@code null} 
+     *     permitted).
+     * @param layers  the layers, in drawing order.
+     *
+     * @return The flags returned by the layers.
+     */
+    static boolean[] draw(Graphics2D g2, List<Rectangle2D> areas, 
+            ChartRenderingInfo owner, List<Layer> layers) {
+        AffineTransform transform = g2.getTransform();
+        Shape clip = g2.getClip();
+        Rectangle clipBounds = clip != null 
+                ? transform.createTransformedShape(clip).getBounds() : null;
+        EntityCollection entities = owner != null 
+                ? owner.getEntityCollection() : null;
+        int count = layers.size();
+        BufferedImage[] images = new BufferedImage[count];
+        Rectangle[] bounds = new Rectangle[count];
+        ChartRenderingInfo[] owners = new ChartRenderingInfo[count];
+        List<ForkJoinTask<Boolean>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Layer layer = layers.get(i);
+            Rectangle2D area = areas.get(i);
+            bounds[i] = transform.createTransformedShape(area).getBounds();
+            if (clipBounds != null) {
+                bounds[i] = bounds[i].intersection(clipBounds);
+            }
+            if (owner != null) {
+                owners[i] = new ChartRenderingInfo(entities != null 
+                        ? new StandardEntityCollection() : null);
+                owners[i].setLazyEntities(owner.isLazyEntities());
+            }
+            // if nothing is visible the layer is still drawn (into a 
+            // minimal image) for the entities
+            images[i] = new BufferedImage(Math.max(bounds[i].width, 1), 
+                    Math.max(bounds[i].height, 1), 
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D layerG2 = images[i].createGraphics();
+            layerG2.setRenderingHints(g2.getRenderingHints());
+            layerG2.translate(-bounds[i].x, -bounds[i].y);
+            layerG2.transform(transform);
+            layerG2.setClip(clip);
+            layerG2.clip(area);
+            layerG2.setComposite(g2.getComposite());
+            layerG2.setPaint(g2.getPaint());
+            layerG2.setStroke(g2.getStroke());
+            layerG2.setFont(g2.getFont());
+            ChartRenderingInfo layerOwner = owners[i];
+            tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                try {
+                    return layer.draw(layerG2, layerOwner);
+                }
+                finally {
+                    layerG2.dispose();
+                }
+            }));
+        }
+        boolean[] result = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = tasks.get(i).join();
+        }
+
+        // composite the layers and entities in order
+        Composite savedComposite = g2.getComposite();
+        g2.setTransform(new AffineTransform());
+        g2.setComposite(AlphaComposite.SrcOver);
+        for (int i = 0; i < count; i++) {
+            g2.drawImage(images[i], bounds[i].x, bounds[i].y, null);
+            if (entities != null) {
+                entities.addAll(owners[i].getEntityCollection());
+            }
+        }
+        g2.setComposite(savedComposite);
+        g2.setTransform(transform);
+        return result;
+    }
+
+    /**
+     * Draws the subplots of a combined plot concurrently.  Each subplot is
+     * drawn into an image that covers its area expanded by the specified
+     * margin on each side (so that, for example, axis labels that overhang
+     * the area a little are not clipped).
+     *
+     * @param g2  the graphics device.
+     * @param subplots  the subplots.
+     * @param subplotAreas  the area for each subplot.
+     * @param margin  the margin (in Java2D units).
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param parentState  the state from the combined plot.
+     * @param info  collects drawing information ({@code null} permitted).
+     */
+    static void drawSubplots(Graphics2D g2, XYPlot<?>[] subplots, 
+            Rectangle2D[] subplotAreas, double margin, Point2D anchor, 
+            PlotState parentState, PlotRenderingInfo info) {
+        // resolve the series attributes in the order of sequential drawing,
+        // the subplots share the drawing supplier of the combined plot
+        for (XYPlot<?> plot : subplots) {
+            plot.resolveSeriesAttributes();
+        }
+        int count = subplots.length;
+        PlotRenderingInfo[] subplotInfos = new PlotRenderingInfo[count];
+        List<Rectangle2D> areas = new ArrayList<>(count);
+        List<Layer> layers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            XYPlot<?> plot = subplots[i];
+            Rectangle2D area = subplotAreas[i];
+            areas.add(new Rectangle2D.Double(area.getX() - margin, 
+                    area.getY() - margin, area.getWidth() + 2 * margin, 
+                    area.getHeight() + 2 * margin));
+            int index = i;
+            layers.add((layerG2, owner) -> {
+                if (info != null) {
+                    subplotInfos[index] = new PlotRenderingInfo(owner);
+                }
+                plot.draw(layerG2, area, anchor, parentState, 
+                        subplotInfos[index]);
+                return true;
+            });
+        }
+        draw(g2, areas, info != null ? info.getOwner() : null, layers);
+        if (info != null) {
+            for (PlotRenderingInfo subplotInfo : subplotInfos) {
+                info.addSubplotInfo(copyInfo(subplotInfo, info.getOwner()));
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the plot rendering info for a layer that belongs to
+     * the specified owner (the info for a layer belongs to the temporary 
+     * owner that collected the entities for the layer).
+     *
+     * @param info  the info for the layer ({@code null} permitted).
+     * @param owner  the new owner ({@code null} permitted).
+     *
+     * @return The copy (or {@code null} if {@code info} is {@code null}).
+     */
+    static PlotRenderingInfo copyInfo(PlotRenderingInfo info, 
+            ChartRenderingInfo owner) {
+        if (info == null) {
+            return null;
+        }
+        PlotRenderingInfo result = new PlotRenderingInfo(owner);
+        result.setPlotArea(info.getPlotArea());
+        result.setDataArea(info.getDataArea());
+        for (int i = 0; i < info.getSubplotCount(); i++) {
+            result.addSubplotInfo(copyInfo(info.getSubplotInfo(i), owner));
+        }
+        return result;
+    }
+
+}
@@ -51,6 +51,8 @@
 package org.jfree.chart.plot;
 
 import org.jfree.chart.ChartElementVisitor;
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.ChartLayer;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.annotations.Annotation;
 import org.jfree.chart.annotations.XYAnnotation;
@@ -67,6 +69,7 @@ import org.jfree.chart.internal.PaintUtils;
 import org.jfree.chart.internal.SerialUtils;
 import org.jfree.chart.legend.LegendItem;
 import org.jfree.chart.legend.LegendItemCollection;
+import org.jfree.chart.renderer.AbstractRenderer;
 import org.jfree.chart.renderer.RendererUtils;
 import org.jfree.chart.renderer.xy.AbstractXYItemRenderer;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
@@ -74,8 +77,11 @@ import org.jfree.chart.renderer.xy.XYItemRendererState;
 import org.jfree.chart.util.ShadowGenerator;
 import org.jfree.data.Range;
 import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
 import org.jfree.data.general.DatasetUtils;
 import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYDatasetSnapshot;
+import org.jfree.data.xy.XYSnapshotProvider;
 
 import java.awt.*;
 import java.awt.geom.Line2D;
@@ -320,6 +326,12 @@ public class XYPlot<S extends Comparable<S>> extends Plot
     /** The paint used for the range tick bands (if any). */
     private transient Paint rangeTickBandPaint;
 
+    /**
+     * The snapshots of the concurrent datasets taken for the current drawing
+     * pass, keyed by the source dataset ({@code null} outside a pass).
+     */
+    private transient Map<XYDataset<S>, XYDataset<S>> renderSnapshots;
+
     /** The fixed domain axis space. */
     private AxisSpace fixedDomainAxisSpace;
 
@@ -369,6 +381,12 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      */
     private ShadowGenerator shadowGenerator;
 
+    /**
+     * A flag that controls whether the datasets (or, for the combined plots,
+     * the subplots) are drawn concurrently.
+     */
+    private boolean parallelRendering;
+
     /**
      * Creates a new {@code XYPlot} instance with no dataset, no axes and
      * no renderer.  You should specify these items before using the plot.
@@ -1208,13 +1226,19 @@ public class XYPlot<S extends Comparable<S>> extends Plot
 
     /**
      * Returns the index of the specified dataset, or {@code -1} if the
-     * dataset does not belong to the plot.
+     * dataset does not belong to the plot.  For a snapshot or an aggregated
+     * view that the plot is rendering, this is the index of the dataset the
+     * snapshot or view was created from.
      *
      * @param dataset  the dataset ({@code null} not permitted).
      *
      * @return The index or -1.
      */
     public int indexOf(XYDataset<S> dataset) {
+        dataset = RendererUtils.getSourceDataset(dataset);
+        if (dataset instanceof XYDatasetSnapshot) {
+            dataset = ((XYDatasetSnapshot<S>) dataset).getSource();
+        }
         for (Map.Entry<Integer, XYDataset<S>> entry: this.datasets.entrySet()) {
             if (dataset == entry.getValue()) {
                 return entry.getKey();
@@ -2678,6 +2702,44 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether the datasets (or, for the 
+     * combined plots, the subplots) are drawn concurrently.  The default 
+     * value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean isParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the datasets (or, for the combined
+     * plots, the subplots) are drawn concurrently, and sends a 
+     * {@link PlotChangeEvent} to all registered listeners.  When the flag is
+     * set, each dataset is rendered on the common fork-join pool into its 
+     * own transparent image, and the images are composited in the 
+     * {@link DatasetRenderingOrder}, giving the same output as sequential
+     * rendering.  The datasets are rendered sequentially when the crosshairs
+     * are tracking a mouse click or when two datasets share a renderer.
+     * <P>
+     * Because the data is drawn as images, the flag should only be set for 
+     * charts that are drawn to the screen or to bitmap images (any other 
+     * device, such as a printer, always uses sequential rendering).  The 
+     * datasets and renderers are read by several threads at once, so they 
+     * should not be modified while the chart is drawn.
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #isParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
+
     /**
      * Calculates the space required for all the axes in the plot.
      *
@@ -2852,6 +2914,91 @@ public class XYPlot<S extends Comparable<S>> extends Plot
             return;
         }
 
+        // take one snapshot of each concurrent dataset for this pass, and
+        // auto-range the axes from the snapshots so that the axes agree 
+        // with the data that is rendered
+        this.renderSnapshots = createRenderSnapshots(g2);
+        try {
+            if (!this.renderSnapshots.isEmpty()) {
+                configureDomainAxes();
+                configureRangeAxes();
+            }
+            drawPlot(g2, area, anchor, parentState, info);
+        }
+        finally {
+            this.renderSnapshots = null;
+        }
+    }
+
+    /**
+     * Creates a snapshot of each dataset in the plot that may be updated by
+     * other threads while the plot is drawn.  If the graphics device has a
+     * {@link ChartHints#KEY_DATASET_SNAPSHOTS} hint, the snapshots already
+     * in that map are reused and new snapshots are added to it.
+     *
+     * @param g2  the graphics device.
+     *
+     * @return A map from each concurrent dataset to its snapshot (never 
+     *     {@code null}).
+     */
+    @SuppressWarnings("unchecked")
+    private Map<XYDataset<S>, XYDataset<S>> createRenderSnapshots(
+            Graphics2D g2) {
+        Object hint = g2.getRenderingHint(ChartHints.KEY_DATASET_SNAPSHOTS);
+        Map<Object, Object> shared = hint instanceof Map 
+                ? (Map<Object, Object>) hint : null;
+        Map<XYDataset<S>, XYDataset<S>> result = new IdentityHashMap<>();
+        for (XYDataset<S> dataset : this.datasets.values()) {
+            if (dataset instanceof XYSnapshotProvider 
+                    && ((XYSnapshotProvider<S>) dataset).isConcurrent()
+                    && !result.containsKey(dataset)) {
+                XYDataset<S> snapshot;
+                if (shared != null) {
+                    snapshot = (XYDataset<S>) shared.computeIfAbsent(dataset,
+                            d -> ((XYSnapshotProvider<S>) dataset)
+                                    .createSnapshot());
+                }
+                else {
+                    snapshot = ((XYSnapshotProvider<S>) dataset)
+                            .createSnapshot();
+                }
+                result.put(dataset, snapshot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the snapshot of the specified dataset taken at the start of 
+     * the current drawing pass or, if there is none, the dataset itself.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     *
+     * @return The snapshot or the dataset.
+     */
+    private XYDataset<S> getRenderData(XYDataset<S> dataset) {
+        Map<XYDataset<S>, XYDataset<S>> snapshots = this.renderSnapshots;
+        if (snapshots != null && snapshots.containsKey(dataset)) {
+            return snapshots.get(dataset);
+        }
+        return dataset;
+    }
+
+    /**
+     * Draws the plot once the snapshots for the drawing pass are in place.
+     *
+     * @param g2  the graphics device.
+     * @param area  the plot area (in Java2D space).
+     * @param anchor  an anchor point in Java2D space ({@code null}
+     *                permitted).
+     * @param parentState  the state from the parent plot, if there is one
+     *                     ({@code null} permitted).
+     * @param info  collects chart drawing information ({@code null}
+     *              permitted).
+     */
+    private void drawPlot(Graphics2D g2, Rectangle2D area, Point2D anchor,
+            PlotState parentState, PlotRenderingInfo info) {
+
         // record the plot area...
         if (info != null) {
             info.setPlotArea(area);
@@ -2869,14 +3016,24 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         if (dataArea.isEmpty()) {
             return;
         }
-        createAndAddEntity((Rectangle2D) dataArea.clone(), info, null, null);
+        // a single layer is drawn if the KEY_CHART_LAYER hint is set
+        boolean background = ChartLayer.isDrawn(g2, ChartLayer.BACKGROUND);
+        boolean data = ChartLayer.isDrawn(g2, ChartLayer.DATA);
+        boolean overlay = ChartLayer.isDrawn(g2, ChartLayer.OVERLAY);
+        if (background) {
+            createAndAddEntity((Rectangle2D) dataArea.clone(), info, null, 
+                    null);
+        }
         if (info != null) {
             info.setDataArea(dataArea);
         }
 
         // draw the plot background and axes...
-        drawBackground(g2, dataArea);
-        Map<Axis, AxisState> axisStateMap = drawAxes(g2, area, dataArea, info);
+        Map<Axis, AxisState> axisStateMap = new HashMap<>();
+        if (background) {
+            drawBackground(g2, dataArea);
+            axisStateMap = drawAxes(g2, area, dataArea, info);
+        }
 
         PlotOrientation orient = getOrientation();
 
@@ -2943,17 +3100,17 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                         .get(getRangeAxis());
             }
         }
-        if (domainAxisState != null) {
+        if (domainAxisState != null && background) {
             drawDomainTickBands(g2, dataArea, domainAxisState.getTicks());
         }
-        if (rangeAxisState != null) {
+        if (rangeAxisState != null && background) {
             drawRangeTickBands(g2, dataArea, rangeAxisState.getTicks());
         }
-        if (domainAxisState != null) {
+        if (domainAxisState != null && background) {
             drawDomainGridlines(g2, dataArea, domainAxisState.getTicks());
             drawZeroDomainBaseline(g2, dataArea);
         }
-        if (rangeAxisState != null) {
+        if (rangeAxisState != null && background) {
             drawRangeGridlines(g2, dataArea, rangeAxisState.getTicks());
             drawZeroRangeBaseline(g2, dataArea);
         }
@@ -2971,13 +3128,17 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         }
 
         // draw the markers that are associated with a specific dataset...
-        for (XYDataset<S> dataset: this.datasets.values()) {
-            int datasetIndex = indexOf(dataset);
-            drawDomainMarkers(g2, dataArea, datasetIndex, Layer.BACKGROUND);
-        }
-        for (XYDataset<S> dataset: this.datasets.values()) {
-            int datasetIndex = indexOf(dataset);
-            drawRangeMarkers(g2, dataArea, datasetIndex, Layer.BACKGROUND);
+        if (background) {
+            for (XYDataset<S> dataset: this.datasets.values()) {
+                int datasetIndex = indexOf(dataset);
+                drawDomainMarkers(g2, dataArea, datasetIndex, 
+                        Layer.BACKGROUND);
+            }
+            for (XYDataset<S> dataset: this.datasets.values()) {
+                int datasetIndex = indexOf(dataset);
+                drawRangeMarkers(g2, dataArea, datasetIndex, 
+                        Layer.BACKGROUND);
+            }
         }
 
         // now draw annotations and render data items...
@@ -2989,7 +3150,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         // draw background annotations
         for (int i : rendererIndices) {
             XYItemRenderer renderer = getRenderer(i);
-            if (renderer != null) {
+            if (renderer != null && background) {
                 ValueAxis domainAxis = getDomainAxisForDataset(i);
                 ValueAxis rangeAxis = getRangeAxisForDataset(i);
                 renderer.drawAnnotations(g2, dataArea, domainAxis, rangeAxis, 
@@ -2998,15 +3159,26 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         }
 
         // render data items...
-        for (int datasetIndex : datasetIndices) {
-            foundData = render(g2, dataArea, datasetIndex, info, 
-                    crosshairState) || foundData;
+        if (data) {
+            if (this.parallelRendering && datasetIndices.size() > 1 
+                    && crosshairState.getAnchor() == null
+                    && hasDistinctRenderers(datasetIndices)
+                    && ParallelLayers.isSupported(g2)) {
+                foundData = renderParallel(g2, dataArea, datasetIndices, info, 
+                        crosshairState);
+            }
+            else {
+                for (int datasetIndex : datasetIndices) {
+                    foundData = render(g2, dataArea, datasetIndex, info, 
+                            crosshairState) || foundData;
+                }
+            }
         }
 
         // draw foreground annotations
         for (int i : rendererIndices) {
             XYItemRenderer renderer = getRenderer(i);
-            if (renderer != null) {
+            if (renderer != null && overlay) {
                     ValueAxis domainAxis = getDomainAxisForDataset(i);
                     ValueAxis rangeAxis = getRangeAxisForDataset(i);
                 renderer.drawAnnotations(g2, dataArea, domainAxis, rangeAxis, 
@@ -3028,9 +3200,9 @@ public class XYPlot<S extends Comparable<S>> extends Plot
             }
             crosshairState.setCrosshairX(xx);
         }
-        setDomainCrosshairValue(crosshairState.getCrosshairX(), false);
-        if (isDomainCrosshairVisible()) {
-            double x = getDomainCrosshairValue();
+        double crosshairX = crosshairState.getCrosshairX();
+        if (isDomainCrosshairVisible() && data) {
+            double x = crosshairX;
             Paint paint = getDomainCrosshairPaint();
             Stroke stroke = getDomainCrosshairStroke();
             drawDomainCrosshair(g2, dataArea, orient, x, xAxis, stroke, paint);
@@ -3048,26 +3220,31 @@ public class XYPlot<S extends Comparable<S>> extends Plot
             }
             crosshairState.setCrosshairY(yy);
         }
-        setRangeCrosshairValue(crosshairState.getCrosshairY(), false);
-        if (isRangeCrosshairVisible()) {
-            double y = getRangeCrosshairValue();
+        double crosshairY = crosshairState.getCrosshairY();
+        ChartHints.execute(g2, () -> {
+            setDomainCrosshairValue(crosshairX, false);
+            setRangeCrosshairValue(crosshairY, false);
+        });
+        if (isRangeCrosshairVisible() && data) {
+            double y = crosshairY;
             Paint paint = getRangeCrosshairPaint();
             Stroke stroke = getRangeCrosshairStroke();
             drawRangeCrosshair(g2, dataArea, orient, y, yAxis, stroke, paint);
         }
 
-        if (!foundData) {
+        if (!foundData && data) {
             drawNoDataMessage(g2, dataArea);
         }
 
-        for (int i : rendererIndices) { 
-            drawDomainMarkers(g2, dataArea, i, Layer.FOREGROUND);
-        }
-        for (int i : rendererIndices) {
-            drawRangeMarkers(g2, dataArea, i, Layer.FOREGROUND);
+        if (overlay) {
+            for (int i : rendererIndices) { 
+                drawDomainMarkers(g2, dataArea, i, Layer.FOREGROUND);
+            }
+            for (int i : rendererIndices) {
+                drawRangeMarkers(g2, dataArea, i, Layer.FOREGROUND);
+            }
+            drawAnnotations(g2, dataArea, info);
         }
-
-        drawAnnotations(g2, dataArea, info);
         if (this.shadowGenerator != null && !suppressShadow) {
             BufferedImage shadowImage
                     = this.shadowGenerator.createDropShadow(dataImage);
@@ -3082,7 +3259,9 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         g2.setClip(originalClip);
         g2.setComposite(originalComposite);
 
-        drawOutline(g2, dataArea);
+        if (overlay) {
+            drawOutline(g2, dataArea);
+        }
 
     }
 
@@ -3399,6 +3578,10 @@ public class XYPlot<S extends Comparable<S>> extends Plot
      * <P>
      * The {@code info} and {@code crosshairState} arguments may be
      * {@code null}.
+     * <P>
+     * Rendering stops early if the {@link CancellationToken} in the 
+     * {@link org.jfree.chart.ChartHints#KEY_CANCELLATION_TOKEN} rendering 
+     * hint is cancelled.
      *
      * @param g2  the graphics device.
      * @param dataArea  the region in which the data is to be drawn.
@@ -3413,7 +3596,12 @@ public class XYPlot<S extends Comparable<S>> extends Plot
             PlotRenderingInfo info, CrosshairState crosshairState) {
 
         boolean foundData = false;
-        XYDataset<S> dataset = getDataset(index);
+        XYDataset<S> dataset = getRenderData(getDataset(index));
+        if (dataset instanceof XYSnapshotProvider 
+                && ((XYSnapshotProvider<S>) dataset).isConcurrent()) {
+            // rendered outside draw(), so take a snapshot for this dataset
+            dataset = ((XYSnapshotProvider<S>) dataset).createSnapshot();
+        }
         if (!DatasetUtils.isEmptyOrNull(dataset)) {
             foundData = true;
             ValueAxis xAxis = getDomainAxisForDataset(index);
@@ -3432,6 +3620,7 @@ public class XYPlot<S extends Comparable<S>> extends Plot
             XYItemRendererState state = renderer.initialise(g2, dataArea, this,
                     dataset, info);
             int passCount = renderer.getPassCount();
+            CancellationToken token = CancellationToken.fromHints(g2);
 
             SeriesRenderingOrder seriesOrder = getSeriesRenderingOrder();
             if (seriesOrder == SeriesRenderingOrder.REVERSE) {
@@ -3439,6 +3628,9 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                 for (int pass = 0; pass < passCount; pass++) {
                     int seriesCount = dataset.getSeriesCount();
                     for (int series = seriesCount - 1; series >= 0; series--) {
+                        if (token != null && token.isCancelled()) {
+                            return foundData;
+                        }
                         int firstItem = 0;
                         int lastItem = dataset.getItemCount(series) - 1;
                         if (lastItem == -1) {
@@ -3451,15 +3643,10 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                             firstItem = Math.max(itemBounds[0] - 1, 0);
                             lastItem = Math.min(itemBounds[1] + 1, lastItem);
                         }
-                        state.startSeriesPass(dataset, series, firstItem,
-                                lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
-                            renderer.drawItem(g2, state, dataArea, info,
-                                    this, xAxis, yAxis, dataset, series, item,
-                                    crosshairState, pass);
-                        }
-                        state.endSeriesPass(dataset, series, firstItem,
-                                lastItem, pass, passCount);
+                        renderSeriesPass(g2, dataArea, info, crosshairState,
+                                renderer, state, xAxis, yAxis, dataset,
+                                series, firstItem, lastItem, pass, passCount,
+                                token);
                     }
                 }
             }
@@ -3468,6 +3655,9 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                 for (int pass = 0; pass < passCount; pass++) {
                     int seriesCount = dataset.getSeriesCount();
                     for (int series = 0; series < seriesCount; series++) {
+                        if (token != null && token.isCancelled()) {
+                            return foundData;
+                        }
                         int firstItem = 0;
                         int lastItem = dataset.getItemCount(series) - 1;
                         if (state.getProcessVisibleItemsOnly()) {
@@ -3477,15 +3667,10 @@ public class XYPlot<S extends Comparable<S>> extends Plot
                             firstItem = Math.max(itemBounds[0] - 1, 0);
                             lastItem = Math.min(itemBounds[1] + 1, lastItem);
                         }
-                        state.startSeriesPass(dataset, series, firstItem,
-                                lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
-                            renderer.drawItem(g2, state, dataArea, info,
-                                    this, xAxis, yAxis, dataset, series, item,
-                                    crosshairState, pass);
-                        }
-                        state.endSeriesPass(dataset, series, firstItem,
-                                lastItem, pass, passCount);
+                        renderSeriesPass(g2, dataArea, info, crosshairState,
+                                renderer, state, xAxis, yAxis, dataset,
+                                series, firstItem, lastItem, pass, passCount,
+                                token);
                     }
                 }
             }
@@ -3493,6 +3678,145 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         return foundData;
     }
 
+    /**
+     * Returns {@code true} if each of the specified datasets is drawn by a
+     * different renderer (renderers are not safe for use by several threads
+     * at once).
+     *
+     * @param datasetIndices  the dataset indices.
+     *
+     * @return A boolean.
+     */
+    private boolean hasDistinctRenderers(List<Integer> datasetIndices) {
+        Set<XYItemRenderer> used = Collections.newSetFromMap(
+                new IdentityHashMap<>());
+        for (int index : datasetIndices) {
+            XYItemRenderer renderer = getRenderer(index);
+            if (renderer == null) {
+                renderer = getRenderer();
+            }
+            if (renderer != null && !used.add(renderer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders the specified datasets concurrently (see 
+     * {@link #setParallelRendering(boolean)}).
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the region in which the data is to be drawn.
+     * @param datasetIndices  the dataset indices, in rendering order.
+     * @param info  an optional object for collection dimension information.
+     * @param crosshairState  collects crosshair information (this must not
+     *     have an anchor point, so that the datasets do not update it).
+     *
+     * @return A flag that indicates whether any data was actually rendered.
+     */
+    private boolean renderParallel(Graphics2D g2, Rectangle2D dataArea,
+            List<Integer> datasetIndices, PlotRenderingInfo info,
+            CrosshairState crosshairState) {
+        resolveSeriesAttributes();
+        List<ParallelLayers.Layer> layers = new ArrayList<>();
+        for (int index : datasetIndices) {
+            layers.add((layerG2, owner) -> {
+                PlotRenderingInfo layerInfo = null;
+                if (info != null) {
+                    layerInfo = new PlotRenderingInfo(owner);
+                    layerInfo.setPlotArea(info.getPlotArea());
+                    layerInfo.setDataArea(info.getDataArea());
+                }
+                return render(layerG2, dataArea, index, layerInfo, 
+                        crosshairState);
+            });
+        }
+        boolean[] found = ParallelLayers.draw(g2, 
+                Collections.nCopies(layers.size(), dataArea), 
+                info != null ? info.getOwner() : null, layers);
+        for (boolean b : found) {
+            if (b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Looks up the series attributes for each renderer, in the dataset 
+     * rendering order, so that renderers that auto-populate their series 
+     * attributes are not modified while the datasets are drawn 
+     * concurrently.
+     */
+    void resolveSeriesAttributes() {
+        for (int index : getDatasetIndices(getDatasetRenderingOrder())) {
+            XYItemRenderer renderer = getRenderer(index);
+            if (renderer == null) {
+                renderer = getRenderer();
+            }
+            if (renderer instanceof AbstractRenderer) {
+                ParallelLayers.resolveSeriesAttributes(
+                        (AbstractRenderer) renderer, 
+                        getDataset(index).getSeriesCount());
+            }
+        }
+    }
+
+    /**
+     * Draws one pass of the items in a series.  If the renderer state
+     * requests it, the items are first reduced to the first, last, minimum
+     * and maximum items per pixel column (see
+     * {@link RendererUtils#aggregateItemsByColumn(XYDataset, int, int, int,
+     * ValueAxis, Rectangle2D, RectangleEdge)}).
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the region in which the data is to be drawn.
+     * @param info  an optional object for collection dimension information.
+     * @param crosshairState  collects crosshair information
+     *                        ({@code null} permitted).
+     * @param renderer  the renderer.
+     * @param state  the renderer state.
+     * @param xAxis  the domain axis.
+     * @param yAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item to draw.
+     * @param lastItem  the index of the last item to draw.
+     * @param pass  the pass index.
+     * @param passCount  the number of passes.
+     * @param token  the token that cancels rendering ({@code null} 
+     *     permitted).
+     */
+    private void renderSeriesPass(Graphics2D g2, Rectangle2D dataArea,
+            PlotRenderingInfo info, CrosshairState crosshairState,
+            XYItemRenderer renderer, XYItemRendererState state,
+            ValueAxis xAxis, ValueAxis yAxis, XYDataset<S> dataset,
+            int series, int firstItem, int lastItem, int pass,
+            int passCount, CancellationToken token) {
+        if (state.getAggregateItemsByColumn() && lastItem > firstItem) {
+            XYDataset<S> view = RendererUtils.aggregateItemsByColumn(dataset,
+                    series, firstItem, lastItem, xAxis, dataArea,
+                    getDomainAxisEdge());
+            if (view != dataset) {
+                dataset = view;
+                firstItem = 0;
+                lastItem = view.getItemCount(series) - 1;
+            }
+        }
+        state.startSeriesPass(dataset, series, firstItem, lastItem, pass,
+                passCount);
+        for (int item = firstItem; item <= lastItem; item++) {
+            if (token != null && token.isCancelled()) {
+                break;
+            }
+            renderer.drawItem(g2, state, dataArea, info, this, xAxis, yAxis,
+                    dataset, series, item, crosshairState, pass);
+        }
+        state.endSeriesPass(dataset, series, firstItem, lastItem, pass,
+                passCount);
+    }
+
     /**
      * Returns the domain axis for a dataset.
      *
@@ -4145,22 +4469,25 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         for (XYDataset<S> d : mappedDatasets) {
             if (d != null) {
                 XYItemRenderer r = getRendererForDataset(d);
+                XYDataset<S> data = getRenderData(d);
                 if (isDomainAxis) {
                     if (r != null) {
-                        result = Range.combine(result, r.findDomainBounds(d));
+                        result = Range.combine(result, 
+                                r.findDomainBounds(data));
                     }
                     else {
                         result = Range.combine(result,
-                                DatasetUtils.findDomainBounds(d));
+                                DatasetUtils.findDomainBounds(data));
                     }
                 }
                 else {
                     if (r != null) {
-                        result = Range.combine(result, r.findRangeBounds(d));
+                        result = Range.combine(result, 
+                                r.findRangeBounds(data));
                     }
                     else {
                         result = Range.combine(result,
-                                DatasetUtils.findRangeBounds(d));
+                                DatasetUtils.findRangeBounds(data));
                     }
                 }
                 if (r != null) {
@@ -4207,12 +4534,20 @@ public class XYPlot<S extends Comparable<S>> extends Plot
     /**
      * Receives notification of a change to the plot's dataset.
      * <P>
-     * The axis ranges are updated if necessary.
+     * The axis ranges are updated if necessary, and the event is passed on 
+     * to any renderers that are {@link DatasetChangeListener}s (for example,
+     * to discard results they have cached for the dataset).
      *
-     * @param event  information about the event (not used here).
+     * @param event  information about the event.
      */
     @Override
     public void datasetChanged(DatasetChangeEvent event) {
+        // renderers that cache results for a dataset are notified too
+        for (XYItemRenderer renderer : this.renderers.values()) {
+            if (renderer instanceof DatasetChangeListener) {
+                ((DatasetChangeListener) renderer).datasetChanged(event);
+            }
+        }
         configureDomainAxes();
         configureRangeAxes();
         if (getParent() != null) {
@@ -5154,6 +5489,9 @@ public class XYPlot<S extends Comparable<S>> extends Plot
         if (!Objects.equals(this.shadowGenerator, that.shadowGenerator)) {
             return false;
         }
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
         return super.equals(obj);
     }
 
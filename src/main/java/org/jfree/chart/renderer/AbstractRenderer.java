@@ -74,6 +74,7 @@ import org.jfree.chart.internal.Args;
 import org.jfree.chart.internal.CloneUtils;
 import org.jfree.chart.internal.HashUtils;
 import org.jfree.chart.internal.SerialUtils;
+import org.jfree.chart.internal.SpriteCache;
 import org.jfree.chart.text.TextAnchor;
 import org.jfree.chart.internal.PaintUtils;
 import org.jfree.chart.internal.ShapeUtils;
@@ -304,6 +305,9 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
     /** An event for re-use. */
     private transient RendererChangeEvent event;
 
+    /** The sprites for item shapes (created when first needed). */
+    private transient SpriteCache spriteCache;
+
     /**
      * Default constructor.
      */
@@ -419,6 +423,56 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
         g2.setRenderingHint(ChartHints.KEY_END_ELEMENT, Boolean.TRUE);
     }
 
+    /**
+     * Draws an item shape, translated to (x, y), by copying a cached image
+     * of the shape to the graphics target.  This is much faster than filling
+     * and outlining the shape when the same shape is drawn for many items, 
+     * but the shape position is rounded to a quarter pixel and the output is
+     * a bitmap even for vector graphics targets.  The method returns 
+     * {@code false}, without drawing anything, if the shape cannot be drawn
+     * from an image (for example, for a paint that is not a {@code Color}), 
+     * in which case the caller should draw the shape itself.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     * @param shape  the untranslated shape ({@code null} not permitted).
+     * @param x  the x-translation.
+     * @param y  the y-translation.
+     * @param fillPaint  the fill paint ({@code null} for no fill).
+     * @param outlinePaint  the outline paint ({@code null} for no outline).
+     * @param outlineStroke  the outline stroke.
+     *
+     * @return A boolean indicating whether the shape was drawn.
+     */
+    protected boolean drawShapeSprite(Graphics2D g2, Shape shape, double x,
+            double y, Paint fillPaint, Paint outlinePaint, 
+            Stroke outlineStroke) {
+        if (this.spriteCache == null) {
+            this.spriteCache = new SpriteCache(256);
+        }
+        return this.spriteCache.draw(g2, shape, x, y, fillPaint, 
+                outlinePaint, outlineStroke);
+    }
+
+    /**
+     * Returns {@code true} if a shape, translated to (x, y), intersects an
+     * area.  This is the same test as calling {@code intersects(area)} on
+     * the translated shape, but does not create the translated shape, so
+     * that items drawn from sprites (see {@link #drawShapeSprite}) can be
+     * culled as cheaply as they are drawn.
+     *
+     * @param shape  the untranslated shape ({@code null} not permitted).
+     * @param x  the x-translation.
+     * @param y  the y-translation.
+     * @param area  the area ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    protected static boolean intersects(Shape shape, double x, double y, 
+            Rectangle2D area) {
+        return shape.intersects(area.getX() - x, area.getY() - y, 
+                area.getWidth(), area.getHeight());
+    }
+
     // SERIES VISIBLE (not yet respected by all renderers)
 
     /**
@@ -2908,6 +2962,7 @@ public abstract class AbstractRenderer implements ChartElement, Cloneable, Seria
     @Override
     protected Object clone() throws CloneNotSupportedException {
         AbstractRenderer clone = (AbstractRenderer) super.clone();
+        clone.spriteCache = null;
 
         if (this.seriesVisibleMap != null) {
             clone.seriesVisibleMap = new HashMap<>(this.seriesVisibleMap);
@@ -0,0 +1,208 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * ItemSubsetXYDataset.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.IntervalXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A short-lived view of a dataset in which one series is replaced by a
+ * subset of its items, used by
+ * {@link RendererUtils#aggregateItemsByColumn(XYDataset, int, int, int,
+ * org.jfree.chart.axis.ValueAxis, java.awt.geom.Rectangle2D,
+ * org.jfree.chart.api.RectangleEdge)} to pass the aggregated items to a
+ * renderer.  All other series are passed through unchanged.
+ *
+ * @param <S>  the type for the series keys.
+ */
+class ItemSubsetXYDataset<S extends Comparable<S>> extends AbstractXYDataset<S> {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 6015542375389276304L;
+
+    /** The source dataset. */
+    final XYDataset<S> source;
+
+    /** The index of the series that is replaced. */
+    private final int series;
+
+    /** The (source) indices of the items in the subset, in order. */
+    private final int[] items;
+
+    /**
+     * Creates a new view.
+     *
+     * @param source  the source dataset.
+     * @param series  the series index.
+     * @param items  the source indices for the items in the subset.
+     */
+    ItemSubsetXYDataset(XYDataset<S> source, int series, int[] items) {
+        this.source = source;
+        this.series = series;
+        this.items = items;
+    }
+
+    /**
+     * Returns the index of an item in the source dataset.
+     *
+     * @param series  the series index.
+     * @param item  the item index in this view.
+     *
+     * @return The item index in the source dataset.
+     */
+    final int sourceItem(int series, int item) {
+        return series == this.series ? this.items[item] : item;
+    }
+
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.source.getDomainOrder();
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return this.source.getSeriesCount();
+    }
+
+    @Override
+    public S getSeriesKey(int series) {
+        return this.source.getSeriesKey(series);
+    }
+
+    @Override
+    public int getItemCount(int series) {
+        if (series == this.series) {
+            return this.items.length;
+        }
+        return this.source.getItemCount(series);
+    }
+
+    @Override
+    public Number getX(int series, int item) {
+        return this.source.getX(series, sourceItem(series, item));
+    }
+
+    @Override
+    public double getXValue(int series, int item) {
+        return this.source.getXValue(series, sourceItem(series, item));
+    }
+
+    @Override
+    public Number getY(int series, int item) {
+        return this.source.getY(series, sourceItem(series, item));
+    }
+
+    @Override
+    public double getYValue(int series, int item) {
+        return this.source.getYValue(series, sourceItem(series, item));
+    }
+
+    /**
+     * The view used when the source dataset is an {@link IntervalXYDataset}.
+     *
+     * @param <S>  the type for the series keys.
+     */
+    static class Interval<S extends Comparable<S>>
+            extends ItemSubsetXYDataset<S> implements IntervalXYDataset<S> {
+
+        /** For serialization. */
+        private static final long serialVersionUID = -4350383104541738012L;
+
+        /** The source dataset. */
+        private final IntervalXYDataset<S> intervals;
+
+        /**
+         * Creates a new view.
+         *
+         * @param source  the source dataset.
+         * @param series  the series index.
+         * @param items  the source indices for the items in the subset.
+         */
+        Interval(IntervalXYDataset<S> source, int series, int[] items) {
+            super(source, series, items);
+            this.intervals = source;
+        }
+
+        @Override
+        public Number getStartX(int series, int item) {
+            return this.intervals.getStartX(series, sourceItem(series, item));
+        }
+
+        @Override
+        public double getStartXValue(int series, int item) {
+            return this.intervals.getStartXValue(series,
+                    sourceItem(series, item));
+        }
+
+        @Override
+        public Number getEndX(int series, int item) {
+            return this.intervals.getEndX(series, sourceItem(series, item));
+        }
+
+        @Override
+        public double getEndXValue(int series, int item) {
+            return this.intervals.getEndXValue(series,
+                    sourceItem(series, item));
+        }
+
+        @Override
+        public Number getStartY(int series, int item) {
+            return this.intervals.getStartY(series, sourceItem(series, item));
+        }
+
+        @Override
+        public double getStartYValue(int series, int item) {
+            return this.intervals.getStartYValue(series,
+                    sourceItem(series, item));
+        }
+
+        @Override
+        public Number getEndY(int series, int item) {
+            return this.intervals.getEndY(series, sourceItem(series, item));
+        }
+
+        @Override
+        public double getEndYValue(int series, int item) {
+            return this.intervals.getEndYValue(series,
+                    sourceItem(series, item));
+        }
+
+    }
+
+}
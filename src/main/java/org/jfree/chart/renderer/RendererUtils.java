@@ -36,8 +36,14 @@
 
 package org.jfree.chart.renderer;
 
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.internal.Args;
 import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.IntervalXYDataset;
 import org.jfree.data.xy.XYDataset;
 
 /**
@@ -251,4 +257,174 @@ public class RendererUtils {
         return new int[] {i0, i1};
     }
 
+    /**
+     * Returns a view of the dataset in which the items from
+     * {@code firstItem} to {@code lastItem} of one series are reduced to at
+     * most a few items per pixel column of the data area: the first, last,
+     * minimum and maximum items in each column (plus, for an
+     * {@link IntervalXYDataset}, the items with the lowest start y-value
+     * and highest end y-value).  A line drawn through these items covers
+     * the same pixels as a line through all the items, so renderers do not
+     * need to visit items that cannot be seen.  If there are no more items
+     * than pixel columns, the dataset itself is returned.
+     * <P>
+     * In the view, the series contains only the selected items (so item
+     * indices refer to the view rather than the source dataset), and all
+     * other series are unchanged.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param firstItem  the index of the first item to include.
+     * @param lastItem  the index of the last item to include.
+     * @param xAxis  the axis used to convert x-values to Java2D coordinates
+     *     ({@code null} not permitted).
+     * @param dataArea  the data area ({@code null} not permitted).
+     * @param xEdge  the edge for the x-axis ({@code null} not permitted).
+     *
+     * @param <S>  the type for the series keys.
+     *
+     * @return The dataset, or a view of the dataset.
+     */
+    public static <S extends Comparable<S>> XYDataset<S> aggregateItemsByColumn(
+            XYDataset<S> dataset, int series, int firstItem, int lastItem,
+            ValueAxis xAxis, Rectangle2D dataArea, RectangleEdge xEdge) {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(xAxis, "xAxis");
+        Args.nullNotPermitted(dataArea, "dataArea");
+        Args.nullNotPermitted(xEdge, "xEdge");
+        double columns = RectangleEdge.isTopOrBottom(xEdge)
+                ? dataArea.getWidth() : dataArea.getHeight();
+        if (lastItem - firstItem + 1 <= Math.ceil(columns)) {
+            return dataset;
+        }
+        IntervalXYDataset<S> intervals = null;
+        if (dataset instanceof IntervalXYDataset) {
+            intervals = (IntervalXYDataset<S>) dataset;
+        }
+        // first, min y, max y, min start y, max end y, last
+        int[] selected = new int[6];
+        double[] bounds = new double[4];
+        Arrays.fill(selected, -1);
+        Arrays.fill(bounds, Double.NaN);
+        selected[0] = firstItem;
+        int[] result = new int[(int) Math.min(4 * Math.ceil(columns) + 16,
+                lastItem - firstItem + 1)];
+        int size = 0;
+        double column = Double.NaN;
+        for (int item = firstItem; item <= lastItem; item++) {
+            double c = Math.floor(xAxis.valueToJava2D(
+                    dataset.getXValue(series, item), dataArea, xEdge));
+            if (c != column && !Double.isNaN(c)) {
+                // a new pixel column, so add the items for the last one
+                if (!Double.isNaN(column)) {
+                    if (size + selected.length > result.length) {
+                        result = Arrays.copyOf(result, 2 * result.length
+                                + selected.length);
+                    }
+                    size = appendSelected(result, size, selected);
+                }
+                column = c;
+                Arrays.fill(selected, -1);
+                Arrays.fill(bounds, Double.NaN);
+                selected[0] = item;
+            }
+            selected[5] = item;
+            double y = dataset.getYValue(series, item);
+            if (!Double.isNaN(y)) {
+                if (!(y >= bounds[0])) {
+                    bounds[0] = y;
+                    selected[1] = item;
+                }
+                if (!(y <= bounds[1])) {
+                    bounds[1] = y;
+                    selected[2] = item;
+                }
+            }
+            if (intervals != null) {
+                double y0 = intervals.getStartYValue(series, item);
+                if (!Double.isNaN(y0) && !(y0 >= bounds[2])) {
+                    bounds[2] = y0;
+                    selected[3] = item;
+                }
+                double y1 = intervals.getEndYValue(series, item);
+                if (!Double.isNaN(y1) && !(y1 <= bounds[3])) {
+                    bounds[3] = y1;
+                    selected[4] = item;
+                }
+            }
+        }
+        if (size + selected.length > result.length) {
+            result = Arrays.copyOf(result, size + selected.length);
+        }
+        size = appendSelected(result, size, selected);
+        int[] items = Arrays.copyOf(result, size);
+        if (intervals != null) {
+            return new ItemSubsetXYDataset.Interval<>(intervals, series, items);
+        }
+        return new ItemSubsetXYDataset<>(dataset, series, items);
+    }
+
+    /**
+     * Returns the dataset that a view created by 
+     * {@link #aggregateItemsByColumn(XYDataset, int, int, int, ValueAxis, 
+     * Rectangle2D, RectangleEdge)} was created from.  Any other dataset is
+     * returned unchanged.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     *
+     * @param <S>  the type for the series keys.
+     *
+     * @return The source dataset.
+     */
+    public static <S extends Comparable<S>> XYDataset<S> getSourceDataset(
+            XYDataset<S> dataset) {
+        if (dataset instanceof ItemSubsetXYDataset) {
+            return ((ItemSubsetXYDataset<S>) dataset).source;
+        }
+        return dataset;
+    }
+
+    /**
+     * Returns the index, in the source dataset, of an item in a view created
+     * by {@link #aggregateItemsByColumn(XYDataset, int, int, int, ValueAxis,
+     * Rectangle2D, RectangleEdge)}.  For any other dataset the item index is
+     * returned unchanged.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The item index in the source dataset.
+     */
+    public static int getSourceItem(XYDataset<?> dataset, int series, 
+            int item) {
+        if (dataset instanceof ItemSubsetXYDataset) {
+            return ((ItemSubsetXYDataset<?>) dataset).sourceItem(series, item);
+        }
+        return item;
+    }
+
+    /**
+     * Appends the items selected for one pixel column to an array, in
+     * ascending order and without duplicates.
+     *
+     * @param result  the array.
+     * @param size  the number of items already in the array.
+     * @param selected  the selected items (-1 for none), this array is sorted
+     *     by the method.
+     *
+     * @return The new number of items in the array.
+     */
+    private static int appendSelected(int[] result, int size, int[] selected) {
+        Arrays.sort(selected);
+        int previous = -1;
+        for (int item : selected) {
+            if (item > previous) {
+                result[size++] = item;
+                previous = item;
+            }
+        }
+        return size;
+    }
+
 }
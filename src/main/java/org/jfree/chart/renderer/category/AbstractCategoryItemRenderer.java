@@ -64,6 +64,7 @@ import org.jfree.chart.axis.CategoryAxis;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.CategoryItemEntity;
 import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.entity.LazyCategoryItemEntity;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.labels.CategoryItemLabelGenerator;
 import org.jfree.chart.labels.CategorySeriesLabelGenerator;
@@ -1603,6 +1604,13 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
         if (!getItemCreateEntity(row, column)) {
             return;
         }
+        if (entities.isLazy()) {
+            entities.add(new LazyCategoryItemEntity<>(hotspot, 
+                    (CategoryDataset<?, ?>) dataset, row, column, 
+                    getToolTipGenerator(row, column), 
+                    getItemURLGenerator(row, column)));
+            return;
+        }
         String tip = null;
         CategoryToolTipGenerator tipster = getToolTipGenerator(row, column);
         if (tipster != null) {
@@ -1649,6 +1657,13 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
                 s = new Ellipse2D.Double(entityY - r, entityX - r, w, w);
             }
         }
+        if (entities.isLazy()) {
+            entities.add(new LazyCategoryItemEntity<>(s, 
+                    (CategoryDataset<?, ?>) dataset, row, column,
+                    getToolTipGenerator(row, column), 
+                    getItemURLGenerator(row, column)));
+            return;
+        }
         String tip = null;
         CategoryToolTipGenerator generator = getToolTipGenerator(row, column);
         if (generator != null) {
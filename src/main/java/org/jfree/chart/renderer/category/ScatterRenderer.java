@@ -116,6 +116,11 @@ public class ScatterRenderer extends AbstractCategoryItemRenderer
      */
     private double itemMargin;
 
+    /**
+     * A flag that controls whether item shapes are drawn from cached images.
+     */
+    private boolean useShapeSprites;
+
     /**
      * Constructs a new renderer.
      */
@@ -127,6 +132,7 @@ public class ScatterRenderer extends AbstractCategoryItemRenderer
         this.useOutlinePaint = false;
         this.useSeriesOffset = true;
         this.itemMargin = 0.20;
+        this.useShapeSprites = false;
     }
 
     /**
@@ -188,6 +194,66 @@ public class ScatterRenderer extends AbstractCategoryItemRenderer
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether item shapes are drawn from 
+     * cached images (sprites).  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setUseShapeSprites(boolean)
+     */
+    public boolean getUseShapeSprites() {
+        return this.useShapeSprites;
+    }
+
+    /**
+     * Sets the flag that controls whether item shapes are drawn from cached
+     * images (sprites) and sends a {@link RendererChangeEvent} to all 
+     * registered listeners.  Drawing an image is much faster than filling 
+     * and outlining a shape, but the shapes are placed to the nearest 
+     * quarter pixel and are drawn as bitmaps, so this is not suitable for 
+     * vector output.  Shapes with a paint that is not a {@code Color} are
+     * drawn in the usual way.
+     *
+     * @param flag  the flag.
+     *
+     * @see #getUseShapeSprites()
+     */
+    public void setUseShapeSprites(boolean flag) {
+        this.useShapeSprites = flag;
+        fireChangeEvent();
+    }
+
+    /**
+     * Draws the shape for an item from a cached image, see 
+     * {@link #setUseShapeSprites(boolean)}.
+     *
+     * @param g2  the graphics device.
+     * @param row  the row index (zero-based).
+     * @param column  the column index (zero-based).
+     * @param shape  the (untranslated) item shape.
+     * @param x  the x-coordinate of the item (in Java2D space).
+     * @param y  the y-coordinate of the item (in Java2D space).
+     *
+     * @return A boolean indicating whether the shape was drawn.
+     */
+    private boolean drawItemShapeSprite(Graphics2D g2, int row, int column,
+            Shape shape, double x, double y) {
+        Paint fillPaint = null;
+        if (getItemShapeFilled(row, column)) {
+            fillPaint = this.useFillPaint ? getItemFillPaint(row, column) 
+                    : getItemPaint(row, column);
+        }
+        Paint outlinePaint = null;
+        if (this.drawOutlines) {
+            outlinePaint = this.useOutlinePaint 
+                    ? getItemOutlinePaint(row, column) 
+                    : getItemPaint(row, column);
+        }
+        return drawShapeSprite(g2, shape, x, y, fillPaint, outlinePaint, 
+                getItemOutlineStroke(row, column));
+    }
+
     /**
      * Returns {@code true} if outlines should be drawn for shapes, and
      * {@code false} otherwise.
@@ -414,6 +480,14 @@ public class ScatterRenderer extends AbstractCategoryItemRenderer
                     plot.getRangeAxisEdge());
 
             Shape shape = getItemShape(row, column);
+            if (this.useShapeSprites) {
+                boolean drawn = orientation == PlotOrientation.HORIZONTAL
+                        ? drawItemShapeSprite(g2, row, column, shape, y1, x1)
+                        : drawItemShapeSprite(g2, row, column, shape, x1, y1);
+                if (drawn) {
+                    continue;
+                }
+            }
             if (orientation == PlotOrientation.HORIZONTAL) {
                 shape = ShapeUtils.createTranslatedShape(shape, y1, x1);
             }
@@ -538,6 +612,9 @@ public class ScatterRenderer extends AbstractCategoryItemRenderer
         if (this.itemMargin != that.itemMargin) {
             return false;
         }
+        if (this.useShapeSprites != that.useShapeSprites) {
+            return false;
+        }
         return super.equals(obj);
     }
 
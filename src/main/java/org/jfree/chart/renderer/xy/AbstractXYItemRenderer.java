@@ -68,6 +68,7 @@ import org.jfree.chart.annotations.Annotation;
 import org.jfree.chart.annotations.XYAnnotation;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.entity.LazyXYItemEntity;
 import org.jfree.chart.entity.XYItemEntity;
 import org.jfree.chart.event.AnnotationChangeEvent;
 import org.jfree.chart.event.AnnotationChangeListener;
@@ -86,6 +87,7 @@ import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.ValueMarker;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.AbstractRenderer;
+import org.jfree.chart.renderer.RendererUtils;
 import org.jfree.chart.text.TextUtils;
 import org.jfree.chart.util.GradientPaintTransformer;
 import org.jfree.chart.api.Layer;
@@ -160,6 +162,13 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
     /** The legend item URL generator. */
     private XYSeriesLabelGenerator legendItemURLGenerator;
 
+    /**
+     * A flag that controls whether series with more items than pixel
+     * columns are reduced to the first, last, minimum and maximum items per
+     * column before drawing.
+     */
+    private boolean aggregateItemsByColumn;
+
     /**
      * Creates a renderer where the tooltip generator and the URL generator are
      * both {@code null}.
@@ -229,6 +238,48 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         return new XYItemRendererState(info);
     }
 
+    /**
+     * Returns the flag that controls whether series with more items than
+     * there are pixel columns in the data area are reduced to the first,
+     * last, minimum and maximum items in each column before the items are
+     * drawn.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setAggregateItemsByColumn(boolean)
+     */
+    public boolean getAggregateItemsByColumn() {
+        return this.aggregateItemsByColumn;
+    }
+
+    /**
+     * Sets the flag that controls whether series with more items than there
+     * are pixel columns in the data area are reduced to the first, last,
+     * minimum and maximum items in each column before the items are drawn,
+     * and sends a {@link RendererChangeEvent} to all registered listeners.
+     * For dense series this avoids drawing many segments that fall within a
+     * single pixel, with no visible change to the lines.  The renderer draws
+     * from a view of the dataset that holds only the selected items, but 
+     * the per-item settings (for example, {@link #getItemVisible(int, int)}
+     * and {@link #getItemPaint(int, int)}), the item labels and the entities
+     * use the indices of the items in the plot's dataset, see
+     * {@link RendererUtils#getSourceItem(XYDataset, int, int)}.
+     * <P>
+     * The flag is used by renderers that draw each series independently of
+     * the others: {@link XYLineAndShapeRenderer} and its subclasses
+     * {@link XYStepRenderer}, {@link XYErrorRenderer} and
+     * {@link DeviationRenderer}, and {@link XYAreaRenderer}.  Other
+     * renderers ignore it.
+     *
+     * @param aggregate  the new flag value.
+     *
+     * @see XYItemRendererState#setAggregateItemsByColumn(boolean)
+     */
+    public void setAggregateItemsByColumn(boolean aggregate) {
+        this.aggregateItemsByColumn = aggregate;
+        fireChangeEvent();
+    }
+
     /**
      * Adds a {@code KEY_BEGIN_ELEMENT} hint to the graphics target.  This
      * hint is recognised by <b>JFreeSVG</b> (in theory it could be used by 
@@ -1423,6 +1474,9 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         if (!Objects.equals(this.legendItemURLGenerator, that.legendItemURLGenerator)) {
             return false;
         }
+        if (this.aggregateItemsByColumn != that.aggregateItemsByColumn) {
+            return false;
+        }
         return super.equals(obj);
     }
 
@@ -1512,6 +1566,10 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
             XYDataset dataset, int series, int item, double x, double y,
             boolean negative) {
 
+        // labels refer to the items in the plot's dataset, not to the
+        // items in an aggregated view of it
+        item = RendererUtils.getSourceItem(dataset, series, item);
+        dataset = RendererUtils.getSourceDataset(dataset);
         XYItemLabelGenerator generator = getItemLabelGenerator(series, item);
         if (generator != null) {
             Font labelFont = getItemLabelFont(series, item);
@@ -1596,6 +1654,10 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
             XYDataset dataset, int series, int item, double entityX, 
             double entityY) {
         
+        // entities refer to the items in the plot's dataset, not to the
+        // items in an aggregated view of it
+        item = RendererUtils.getSourceItem(dataset, series, item);
+        dataset = RendererUtils.getSourceDataset(dataset);
         if (!getItemCreateEntity(series, item)) {
             return;
         }
@@ -1607,6 +1669,11 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
             double w = r * 2;
             hotspot = new Ellipse2D.Double(entityX - r, entityY - r, w, w);
         }
+        if (entities.isLazy()) {
+            entities.add(new LazyXYItemEntity(hotspot, dataset, series, item,
+                    getToolTipGenerator(series, item), getURLGenerator()));
+            return;
+        }
         String tip = null;
         XYToolTipGenerator generator = getToolTipGenerator(series, item);
         if (generator != null) {
@@ -50,6 +50,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.RendererUtils;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.data.Range;
 import org.jfree.data.xy.IntervalXYDataset;
@@ -191,6 +192,7 @@ public class DeviationRenderer extends XYLineAndShapeRenderer {
         State state = new State(info);
         state.seriesPath = new GeneralPath();
         state.setProcessVisibleItemsOnly(false);
+        state.setAggregateItemsByColumn(getAggregateItemsByColumn());
         return state;
     }
 
@@ -259,8 +261,10 @@ public class DeviationRenderer extends XYLineAndShapeRenderer {
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
-        // do nothing if item is not visible
-        if (!getItemVisible(series, item)) {
+        // do nothing if item is not visible (the per-item settings refer to
+        // the plot's dataset, even when the items have been aggregated)
+        int sourceItem = RendererUtils.getSourceItem(dataset, series, item);
+        if (!getItemVisible(series, sourceItem)) {
             return;
         }
 
@@ -298,7 +302,7 @@ public class DeviationRenderer extends XYLineAndShapeRenderer {
                 Composite originalComposite = g2.getComposite();
                 g2.setComposite(AlphaComposite.getInstance(
                         AlphaComposite.SRC_OVER, this.alpha));
-                g2.setPaint(getItemFillPaint(series, item));
+                g2.setPaint(getItemFillPaint(series, sourceItem));
                 GeneralPath area = new GeneralPath(GeneralPath.WIND_NON_ZERO,
                         drState.lowerCoordinates.size() 
                         + drState.upperCoordinates.size());
@@ -333,7 +337,7 @@ public class DeviationRenderer extends XYLineAndShapeRenderer {
                 s.setLastPointGood(false);
             }
 
-            if (getItemLineVisible(series, item)) {
+            if (getItemLineVisible(series, sourceItem)) {
                 drawPrimaryLineAsPath(state, g2, plot, dataset, pass,
                         series, item, domainAxis, rangeAxis, dataArea);
             }
@@ -64,6 +64,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.RendererUtils;
 import org.jfree.chart.util.GradientPaintTransformer;
 import org.jfree.chart.util.StandardGradientPaintTransformer;
 import org.jfree.chart.urls.XYURLGenerator;
@@ -361,6 +362,7 @@ public class XYAreaRenderer extends AbstractXYItemRenderer
         // in the rendering process, there is special handling for item
         // zero, so we can't support processing of visible data items only
         state.setProcessVisibleItemsOnly(false);
+        state.setAggregateItemsByColumn(getAggregateItemsByColumn());
         return state;
     }
 
@@ -434,7 +436,10 @@ public class XYAreaRenderer extends AbstractXYItemRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
-        if (!getItemVisible(series, item)) {
+        // the per-item settings refer to the plot's dataset, even when the
+        // items have been aggregated
+        int sourceItem = RendererUtils.getSourceItem(dataset, series, item);
+        if (!getItemVisible(series, sourceItem)) {
             return;
         }
         XYAreaRendererState areaState = (XYAreaRendererState) state;
@@ -498,14 +503,14 @@ public class XYAreaRenderer extends AbstractXYItemRenderer
         }
 
         PlotOrientation orientation = plot.getOrientation();
-        Paint paint = getItemPaint(series, item);
-        Stroke stroke = getItemStroke(series, item);
+        Paint paint = getItemPaint(series, sourceItem);
+        Stroke stroke = getItemStroke(series, sourceItem);
         g2.setPaint(paint);
         g2.setStroke(stroke);
 
         Shape shape;
         if (getPlotShapes()) {
-            shape = getItemShape(series, item);
+            shape = getItemShape(series, sourceItem);
             if (orientation == PlotOrientation.VERTICAL) {
                 shape = ShapeUtils.createTranslatedShape(shape, transX1,
                         transY1);
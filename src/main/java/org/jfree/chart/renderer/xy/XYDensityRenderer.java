@@ -0,0 +1,715 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * XYDensityRenderer.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.event.RendererChangeEvent;
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.legend.LegendItem;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.chart.renderer.PaintScale;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A renderer for scatter plots with so many points that individual points
+ * can no longer be distinguished.  The data area is divided into square or
+ * hexagonal cells of a fixed size (in Java2D units), the number of items 
+ * (from all visible series) that fall in each cell is counted, and each cell
+ * that contains at least one item is filled with the color that the 
+ * renderer's {@link PaintScale} returns for the count.  A 
+ * {@link org.jfree.chart.title.PaintScaleLegend} can be added to the chart 
+ * to show the scale, for example:
+ * <pre>
+ * LookupPaintScale scale = new LookupPaintScale(1.0, 1000.0, Color.WHITE);
+ * scale.add(1.0, Color.YELLOW);
+ * scale.add(10.0, Color.ORANGE);
+ * scale.add(100.0, Color.RED);
+ * XYDensityRenderer renderer = new XYDensityRenderer();
+ * renderer.setPaintScale(scale);
+ * ...
+ * chart.addSubtitle(new PaintScaleLegend(scale, new NumberAxis("Count")));
+ * </pre>
+ * The items are counted in a single pass over the dataset, which can be 
+ * spread over several threads (see {@link #setParallelRendering(boolean)}).
+ * The counts are kept until the dataset changes or the layout (data area,
+ * axis ranges, orientation, cell size or shape, series visibility) changes,
+ * so a chart that is redrawn without changes (for example, to update a 
+ * crosshair or when the panel is repainted) does not count the items again.
+ * <P>
+ * This renderer does not create entities for individual items or update the
+ * crosshair values, and it returns no legend items.
+ */
+public class XYDensityRenderer extends AbstractXYItemRenderer
+        implements XYItemRenderer, DatasetChangeListener, Cloneable, 
+        PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 1L;
+
+    /** The number of items counted in one task when counting in parallel. */
+    private static final int TASK_SIZE = 1 << 16;
+
+    /** The paint scale. */
+    private PaintScale paintScale;
+
+    /** The cell size, in Java2D units. */
+    private double cellSize;
+
+    /** The cell shape. */
+    private DensityCellShape cellShape;
+
+    /** 
+     * A flag that controls whether the items are counted on several 
+     * threads. 
+     */
+    private boolean parallelRendering;
+
+    /** The cell counts from the last drawing ({@code null} if none). */
+    private transient int[] counts;
+
+    /** The dataset that the cell counts were calculated for. */
+    private transient XYDataset countsDataset;
+
+    /** The layout that the cell counts were calculated for. */
+    private transient List<Object> countsLayout;
+
+    /** The dataset version that the cell counts were calculated for. */
+    private transient int countsVersion;
+
+    /** A counter that is incremented for each dataset change event. */
+    private transient volatile int datasetVersion;
+
+    /**
+     * Creates a new renderer with square cells of size 8.
+     */
+    public XYDensityRenderer() {
+        super();
+        this.paintScale = new LookupPaintScale();
+        this.cellSize = 8.0;
+        this.cellShape = DensityCellShape.SQUARE;
+        this.parallelRendering = false;
+    }
+
+    /**
+     * Returns the paint scale used by the renderer.
+     *
+     * @return The paint scale (never {@code null}).
+     *
+     * @see #setPaintScale(PaintScale)
+     */
+    public PaintScale getPaintScale() {
+        return this.paintScale;
+    }
+
+    /**
+     * Sets the paint scale used by the renderer and sends a 
+     * {@link RendererChangeEvent} to all registered listeners.  The paint
+     * scale maps the item count for a cell to a color.
+     *
+     * @param scale  the scale ({@code null} not permitted).
+     *
+     * @see #getPaintScale()
+     */
+    public void setPaintScale(PaintScale scale) {
+        Args.nullNotPermitted(scale, "scale");
+        this.paintScale = scale;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the cell size, in Java2D units.  For hexagonal cells, this is 
+     * the distance between the centers of adjacent cells in a row.
+     *
+     * @return The cell size.
+     *
+     * @see #setCellSize(double)
+     */
+    public double getCellSize() {
+        return this.cellSize;
+    }
+
+    /**
+     * Sets the cell size and sends a {@link RendererChangeEvent} to all 
+     * registered listeners.
+     *
+     * @param size  the cell size, in Java2D units (must be &gt; 0.0).
+     *
+     * @see #getCellSize()
+     */
+    public void setCellSize(double size) {
+        if (!(size > 0.0)) {
+            throw new IllegalArgumentException(
+                    "The 'size' argument must be > 0.0");
+        }
+        this.cellSize = size;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the cell shape.
+     *
+     * @return The cell shape (never {@code null}).
+     *
+     * @see #setCellShape(DensityCellShape)
+     */
+    public DensityCellShape getCellShape() {
+        return this.cellShape;
+    }
+
+    /**
+     * Sets the cell shape and sends a {@link RendererChangeEvent} to all
+     * registered listeners.
+     *
+     * @param shape  the cell shape ({@code null} not permitted).
+     *
+     * @see #getCellShape()
+     */
+    public void setCellShape(DensityCellShape shape) {
+        Args.nullNotPermitted(shape, "shape");
+        this.cellShape = shape;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the flag that controls whether the items are counted on 
+     * several threads.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean isParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the items are counted on several
+     * threads and sends a {@link RendererChangeEvent} to all registered 
+     * listeners.  If the flag is set, the dataset must be safe for 
+     * concurrent reads.
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #isParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns {@code null}, since the cells do not represent individual 
+     * series.  Use a {@link org.jfree.chart.title.PaintScaleLegend} to show
+     * the paint scale instead.
+     *
+     * @param datasetIndex  the dataset index (zero-based).
+     * @param series  the series index (zero-based).
+     *
+     * @return {@code null}.
+     */
+    @Override
+    public LegendItem getLegendItem(int datasetIndex, int series) {
+        return null;
+    }
+
+    /**
+     * Receives notification that a dataset has changed, so that the cached
+     * cell counts are no longer used.  The renderer does not register 
+     * itself with datasets, the {@link XYPlot} that the renderer belongs to
+     * forwards the change events for its datasets.
+     *
+     * @param event  information about the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.datasetVersion++;
+    }
+
+    /**
+     * Initialises the renderer and returns a state object for use in 
+     * drawing the items.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        return new State(info);
+    }
+
+    /**
+     * Draws the cells.  The first call for a dataset counts the items for all
+     * visible series and fills the cells, later calls do nothing.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param domainAxis  the domain (horizontal) axis.
+     * @param rangeAxis  the range (vertical) axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawItem(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int item, CrosshairState crosshairState, int pass) {
+        if (state instanceof State) {
+            State s = (State) state;
+            if (s.drawn) {
+                return;
+            }
+            s.drawn = true;
+        }
+        Grid grid = new Grid(dataArea, this.cellSize, this.cellShape);
+        int[] cellCounts = findCounts(grid, plot, domainAxis, rangeAxis, 
+                dataset);
+        drawCells(g2, grid, cellCounts);
+    }
+
+    /**
+     * Returns the cell counts for the current layout, reusing the counts 
+     * from the previous drawing if nothing has changed since.
+     *
+     * @param grid  the cell grid.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     *
+     * @return The cell counts.
+     */
+    private int[] findCounts(Grid grid, XYPlot plot, ValueAxis domainAxis,
+            ValueAxis rangeAxis, XYDataset dataset) {
+        List<Object> layout = new ArrayList<>();
+        layout.add(grid.area);
+        layout.add(this.cellSize);
+        layout.add(this.cellShape);
+        layout.add(plot.getOrientation());
+        layout.add(plot.getDomainAxisEdge());
+        layout.add(plot.getRangeAxisEdge());
+        layout.add(domainAxis.getClass());
+        layout.add(domainAxis.getRange());
+        layout.add(domainAxis.isInverted());
+        layout.add(rangeAxis.getClass());
+        layout.add(rangeAxis.getRange());
+        layout.add(rangeAxis.isInverted());
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            layout.add(isSeriesVisible(s));
+        }
+        // the counts are only kept for a dataset that belongs to the plot,
+        // since the plot forwards its change events; a snapshot or view of
+        // a dataset is created for a single drawing and counted each time
+        @SuppressWarnings("unchecked")
+        int index = plot.indexOf(dataset);
+        boolean cacheable = index >= 0 && plot.getDataset(index) == dataset;
+        if (this.countsDataset != dataset) {
+            this.countsDataset = dataset;
+            this.counts = null;
+        }
+        // read the version first, so that a change that arrives while the
+        // items are counted invalidates the new counts
+        int version = this.datasetVersion;
+        if (!cacheable || this.counts == null 
+                || this.countsVersion != version 
+                || !layout.equals(this.countsLayout)) {
+            this.counts = countItems(grid, plot, domainAxis, rangeAxis, 
+                    dataset);
+            this.countsLayout = layout;
+            this.countsVersion = version;
+        }
+        return this.counts;
+    }
+
+    /**
+     * Counts the items from all visible series in each cell of the grid.
+     *
+     * @param grid  the cell grid.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     *
+     * @return The cell counts.
+     */
+    private int[] countItems(Grid grid, XYPlot plot, ValueAxis domainAxis,
+            ValueAxis rangeAxis, XYDataset dataset) {
+        List<int[]> tasks = new ArrayList<>();
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            if (!isSeriesVisible(s)) {
+                continue;
+            }
+            int itemCount = dataset.getItemCount(s);
+            for (int first = 0; first < itemCount; first += TASK_SIZE) {
+                int last = Math.min(first + TASK_SIZE, itemCount) - 1;
+                tasks.add(new int[] {s, first, last});
+            }
+        }
+        if (!this.parallelRendering || tasks.size() < 2) {
+            int[] result = new int[grid.getCellCount()];
+            for (int[] task : tasks) {
+                countItems(result, grid, plot, domainAxis, rangeAxis, 
+                        dataset, task[0], task[1], task[2]);
+            }
+            return result;
+        }
+        // each worker thread counts into its own array, then the arrays are
+        // added together
+        return tasks.parallelStream().collect(
+                () -> new int[grid.getCellCount()],
+                (c, task) -> countItems(c, grid, plot, domainAxis, rangeAxis,
+                        dataset, task[0], task[1], task[2]),
+                (a, b) -> {
+                    for (int i = 0; i < a.length; i++) {
+                        a[i] += b[i];
+                    }
+                });
+    }
+
+    /**
+     * Adds the items from a range in one series to the cell counts.
+     *
+     * @param result  the cell counts.
+     * @param grid  the cell grid.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     */
+    private void countItems(int[] result, Grid grid, XYPlot plot, 
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset, 
+            int series, int firstItem, int lastItem) {
+        Rectangle2D dataArea = grid.area;
+        RectangleEdge xEdge = plot.getDomainAxisEdge();
+        RectangleEdge yEdge = plot.getRangeAxisEdge();
+        boolean horizontal = plot.getOrientation() 
+                == PlotOrientation.HORIZONTAL;
+        for (int item = firstItem; item <= lastItem; item++) {
+            if (!getItemVisible(series, item)) {
+                continue;
+            }
+            double transX = domainAxis.valueToJava2D(
+                    dataset.getXValue(series, item), dataArea, xEdge);
+            double transY = rangeAxis.valueToJava2D(
+                    dataset.getYValue(series, item), dataArea, yEdge);
+            int cell = horizontal ? grid.indexOf(transY, transX) 
+                    : grid.indexOf(transX, transY);
+            if (cell >= 0) {
+                result[cell]++;
+            }
+        }
+    }
+
+    /**
+     * Fills each cell that contains at least one item.
+     *
+     * @param g2  the graphics device.
+     * @param grid  the cell grid.
+     * @param cellCounts  the cell counts.
+     */
+    private void drawCells(Graphics2D g2, Grid grid, int[] cellCounts) {
+        // anti-aliasing would leave faint seams between adjacent cells
+        Object saved = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
+                RenderingHints.VALUE_ANTIALIAS_OFF);
+        for (int cell = 0; cell < cellCounts.length; cell++) {
+            if (cellCounts[cell] > 0) {
+                g2.setPaint(this.paintScale.getPaint(cellCounts[cell]));
+                g2.fill(grid.getCellShape(cell));
+            }
+        }
+        if (saved != null) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, saved);
+        }
+    }
+
+    /**
+     * Returns the cell counts from the last drawing, for testing.
+     *
+     * @return The cell counts (possibly {@code null}).
+     */
+    int[] getCounts() {
+        return this.counts;
+    }
+
+    /**
+     * Tests this renderer for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof XYDensityRenderer)) {
+            return false;
+        }
+        XYDensityRenderer that = (XYDensityRenderer) obj;
+        if (!this.paintScale.equals(that.paintScale)) {
+            return false;
+        }
+        if (this.cellSize != that.cellSize) {
+            return false;
+        }
+        if (this.cellShape != that.cellShape) {
+            return false;
+        }
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns a clone of this renderer.  The clone does not share the cached
+     * cell counts.
+     *
+     * @return A clone of this renderer.
+     *
+     * @throws CloneNotSupportedException if there is a problem creating the
+     *     clone.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        XYDensityRenderer clone = (XYDensityRenderer) super.clone();
+        if (this.paintScale instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.paintScale;
+            clone.paintScale = (PaintScale) pc.clone();
+        }
+        clone.counts = null;
+        clone.countsDataset = null;
+        clone.countsLayout = null;
+        return clone;
+    }
+
+    /**
+     * The cells covering a data area.  Square cells are arranged in a 
+     * grid, hexagonal cells in rows with every second row offset by half a
+     * cell, and an item belongs to the cell with the nearest center.
+     */
+    private static final class Grid {
+
+        /** The data area. */
+        private final Rectangle2D area;
+
+        /** The cell shape. */
+        private final DensityCellShape shape;
+
+        /** The distance between the centers of cells in a row. */
+        private final double dx;
+
+        /** The distance between rows. */
+        private final double dy;
+
+        /** The number of columns. */
+        private final int columns;
+
+        /** The number of rows. */
+        private final int rows;
+
+        /**
+         * Creates the cells for a data area.
+         *
+         * @param area  the data area.
+         * @param size  the cell size.
+         * @param shape  the cell shape.
+         */
+        Grid(Rectangle2D area, double size, DensityCellShape shape) {
+            this.area = (Rectangle2D) area.clone();
+            this.shape = shape;
+            this.dx = size;
+            if (shape == DensityCellShape.HEXAGON) {
+                this.dy = size * Math.sqrt(3.0) / 2.0;
+                // the nearest centers can be outside the area
+                this.columns = (int) Math.ceil(area.getWidth() / this.dx) + 2;
+                this.rows = (int) Math.ceil(area.getHeight() / this.dy) + 2;
+            }
+            else {
+                this.dy = size;
+                this.columns = Math.max(1, 
+                        (int) Math.ceil(area.getWidth() / this.dx));
+                this.rows = Math.max(1, 
+                        (int) Math.ceil(area.getHeight() / this.dy));
+            }
+        }
+
+        /**
+         * Returns the number of cells.
+         *
+         * @return The number of cells.
+         */
+        int getCellCount() {
+            return this.columns * this.rows;
+        }
+
+        /**
+         * Returns the index of the cell containing a point.
+         *
+         * @param x  the x-coordinate (in Java2D space).
+         * @param y  the y-coordinate (in Java2D space).
+         *
+         * @return The cell index, or -1 if the point is outside the area.
+         */
+        int indexOf(double x, double y) {
+            // the comparisons are false for NaN
+            if (!(x >= this.area.getMinX() && x <= this.area.getMaxX()
+                    && y >= this.area.getMinY() && y <= this.area.getMaxY())) {
+                return -1;
+            }
+            double u = (x - this.area.getMinX()) / this.dx;
+            double v = (y - this.area.getMinY()) / this.dy;
+            int col;
+            int row;
+            if (this.shape == DensityCellShape.HEXAGON) {
+                // the nearest center in the even rows and in the odd rows
+                int evenCol = (int) Math.floor(u + 0.5);
+                int evenRow = 2 * (int) Math.floor(v / 2.0 + 0.5);
+                int oddCol = (int) Math.floor(u);
+                int oddRow = 2 * (int) Math.floor((v - 1.0) / 2.0 + 0.5) + 1;
+                double ex = (u - evenCol) * this.dx;
+                double ey = (v - evenRow) * this.dy;
+                double ox = (u - oddCol - 0.5) * this.dx;
+                double oy = (v - oddRow) * this.dy;
+                if (ex * ex + ey * ey <= ox * ox + oy * oy) {
+                    col = evenCol;
+                    row = evenRow;
+                }
+                else {
+                    col = oddCol;
+                    row = oddRow;
+                }
+            }
+            else {
+                col = Math.min((int) u, this.columns - 1);
+                row = Math.min((int) v, this.rows - 1);
+            }
+            if (col >= this.columns || row >= this.rows) {
+                return -1;
+            }
+            return row * this.columns + col;
+        }
+
+        /**
+         * Returns the shape of a cell.
+         *
+         * @param index  the cell index.
+         *
+         * @return The shape.
+         */
+        Shape getCellShape(int index) {
+            int col = index % this.columns;
+            int row = index / this.columns;
+            if (this.shape == DensityCellShape.HEXAGON) {
+                double cx = this.area.getMinX() 
+                        + (col + (row & 1) * 0.5) * this.dx;
+                double cy = this.area.getMinY() + row * this.dy;
+                double hw = this.dx / 2.0;
+                double r = this.dx / Math.sqrt(3.0);
+                Path2D hexagon = new Path2D.Double();
+                hexagon.moveTo(cx, cy - r);
+                hexagon.lineTo(cx + hw, cy - r / 2.0);
+                hexagon.lineTo(cx + hw, cy + r / 2.0);
+                hexagon.lineTo(cx, cy + r);
+                hexagon.lineTo(cx - hw, cy + r / 2.0);
+                hexagon.lineTo(cx - hw, cy - r / 2.0);
+                hexagon.closePath();
+                return hexagon;
+            }
+            return new Rectangle2D.Double(
+                    this.area.getMinX() + col * this.dx, 
+                    this.area.getMinY() + row * this.dy, this.dx, this.dy);
+        }
+
+    }
+
+    /**
+     * The state for the renderer.
+     */
+    private static class State extends XYItemRendererState {
+
+        /** Have the cells been drawn? */
+        private boolean drawn;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  the plot rendering info.
+         */
+        State(PlotRenderingInfo info) {
+            super(info);
+        }
+
+    }
+
+}
@@ -52,6 +52,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.RendererUtils;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.internal.PaintUtils;
 import org.jfree.chart.internal.SerialUtils;
@@ -290,8 +291,11 @@ public class XYErrorRenderer extends XYLineAndShapeRenderer {
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
+        // the per-item settings refer to the plot's dataset, even when the
+        // items have been aggregated
+        int sourceItem = RendererUtils.getSourceItem(dataset, series, item);
         if (pass == 0 && dataset instanceof IntervalXYDataset
-                && getItemVisible(series, item)) {
+                && getItemVisible(series, sourceItem)) {
             IntervalXYDataset ixyd = (IntervalXYDataset) dataset;
             PlotOrientation orientation = plot.getOrientation();
             if (this.drawXError) {
@@ -322,13 +326,13 @@ public class XYErrorRenderer extends XYLineAndShapeRenderer {
                     g2.setPaint(this.errorPaint);
                 }
                 else {
-                    g2.setPaint(getItemPaint(series, item));
+                    g2.setPaint(getItemPaint(series, sourceItem));
                 }
                 if (this.errorStroke != null) {
                     g2.setStroke(this.errorStroke);
                 }
                 else {
-                    g2.setStroke(getItemStroke(series, item));
+                    g2.setStroke(getItemStroke(series, sourceItem));
                 }
                 g2.draw(line);
                 g2.draw(cap1);
@@ -362,13 +366,13 @@ public class XYErrorRenderer extends XYLineAndShapeRenderer {
                     g2.setPaint(this.errorPaint);
                 }
                 else {
-                    g2.setPaint(getItemPaint(series, item));
+                    g2.setPaint(getItemPaint(series, sourceItem));
                 }
                 if (this.errorStroke != null) {
                     g2.setStroke(this.errorStroke);
                 }
                 else {
-                    g2.setStroke(getItemStroke(series, item));
+                    g2.setStroke(getItemStroke(series, sourceItem));
                 }
                 g2.draw(line);
                 g2.draw(cap1);
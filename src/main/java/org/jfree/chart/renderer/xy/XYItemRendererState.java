@@ -88,6 +88,13 @@ public class XYItemRendererState extends RendererState {
      */
     private boolean processVisibleItemsOnly;
 
+    /**
+     * A flag that controls whether the plot reduces each series to the
+     * first, last, minimum and maximum items per pixel column before
+     * passing the items to the renderer.
+     */
+    private boolean aggregateItemsByColumn;
+
     /**
      * Creates a new state.
      *
@@ -97,6 +104,7 @@ public class XYItemRendererState extends RendererState {
         super(info);
         this.workingLine = new Line2D.Double();
         this.processVisibleItemsOnly = true;
+        this.aggregateItemsByColumn = false;
     }
 
     /**
@@ -126,6 +134,35 @@ public class XYItemRendererState extends RendererState {
         this.processVisibleItemsOnly = flag;
     }
 
+    /**
+     * Returns the flag that controls whether the plot reduces the items in
+     * each series to the first, last, minimum and maximum items per pixel
+     * column (when there are more items than pixel columns) before passing
+     * them to the renderer.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setAggregateItemsByColumn(boolean)
+     * @see org.jfree.chart.renderer.RendererUtils#aggregateItemsByColumn(
+     *     XYDataset, int, int, int, org.jfree.chart.axis.ValueAxis,
+     *     java.awt.geom.Rectangle2D, org.jfree.chart.api.RectangleEdge)
+     */
+    public boolean getAggregateItemsByColumn() {
+        return this.aggregateItemsByColumn;
+    }
+
+    /**
+     * Sets the flag that controls whether the plot reduces the items in
+     * each series to the first, last, minimum and maximum items per pixel
+     * column before passing them to the renderer.  This should only be set
+     * by renderers that draw each series independently of the others.
+     *
+     * @param flag  the new flag value.
+     */
+    public void setAggregateItemsByColumn(boolean flag) {
+        this.aggregateItemsByColumn = flag;
+    }
+
     /**
      * Returns the first item index (this is updated with each call to
      * {@link #startSeriesPass(XYDataset, int, int, int, int, int)}.
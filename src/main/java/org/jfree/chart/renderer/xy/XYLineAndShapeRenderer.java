@@ -47,6 +47,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -59,6 +60,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.RendererUtils;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.internal.LineUtils;
 import org.jfree.chart.internal.Args;
@@ -136,6 +138,17 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
      */
     private boolean drawSeriesLineAsPath;
 
+    /**
+     * A flag that controls whether or not each series is drawn as a polyline
+     * with integer coordinates.
+     */
+    private boolean drawSeriesLineAsPolyline;
+
+    /**
+     * A flag that controls whether item shapes are drawn from cached images.
+     */
+    private boolean useShapeSprites;
+
     /**
      * Creates a new renderer with both lines and shapes visible.
      */
@@ -166,6 +179,8 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
                                        // default, not outline paint
 
         this.drawSeriesLineAsPath = false;
+        this.drawSeriesLineAsPolyline = false;
+        this.useShapeSprites = false;
     }
 
     /**
@@ -196,6 +211,75 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Returns a flag that controls whether or not each series is drawn as a
+     * polyline with integer coordinates.  The default value is 
+     * {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setDrawSeriesLineAsPolyline(boolean)
+     */
+    public boolean getDrawSeriesLineAsPolyline() {
+        return this.drawSeriesLineAsPolyline;
+    }
+
+    /**
+     * Sets the flag that controls whether or not each series is drawn as a
+     * polyline with integer coordinates and sends a 
+     * {@link RendererChangeEvent} to all registered listeners.  This is the 
+     * fastest way to draw the lines for series with a large number of items:
+     * the item coordinates are rounded to whole Java2D units, points that 
+     * round to the same location or that lie on a straight line between 
+     * their neighbours are dropped, and the remaining points are drawn with 
+     * a single {@code drawPolyline()} call for each unbroken run of items.  
+     * The paint and stroke for the first item in the series are used for the
+     * whole line.  If this flag is set, the 
+     * {@link #getDrawSeriesLineAsPath()} flag is ignored.
+     *
+     * @param flag  the flag.
+     *
+     * @see #getDrawSeriesLineAsPolyline()
+     */
+    public void setDrawSeriesLineAsPolyline(boolean flag) {
+        if (this.drawSeriesLineAsPolyline != flag) {
+            this.drawSeriesLineAsPolyline = flag;
+            fireChangeEvent();
+        }
+    }
+
+    /**
+     * Returns the flag that controls whether item shapes are drawn from 
+     * cached images (sprites).  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setUseShapeSprites(boolean)
+     */
+    public boolean getUseShapeSprites() {
+        return this.useShapeSprites;
+    }
+
+    /**
+     * Sets the flag that controls whether item shapes are drawn from cached
+     * images (sprites) and sends a {@link RendererChangeEvent} to all 
+     * registered listeners.  Drawing an image is much faster than filling 
+     * and outlining a shape, which helps for charts with a large number of
+     * items, but the shapes are placed to the nearest quarter pixel and are
+     * drawn as bitmaps, so this is not suitable for vector output.  Shapes
+     * with a paint that is not a {@code Color} are drawn in the usual way.
+     *
+     * @param flag  the flag.
+     *
+     * @see #getUseShapeSprites()
+     */
+    public void setUseShapeSprites(boolean flag) {
+        if (this.useShapeSprites != flag) {
+            this.useShapeSprites = flag;
+            fireChangeEvent();
+        }
+    }
+
     /**
      * Returns the number of passes through the data that the renderer requires
      * in order to draw the chart.  Most charts will require a single pass, but
@@ -601,6 +685,15 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
          */
         private boolean lastPointGood;
 
+        /** The x-coordinates for the current polyline. */
+        private int[] polylineX;
+
+        /** The y-coordinates for the current polyline. */
+        private int[] polylineY;
+
+        /** The number of points in the current polyline. */
+        private int polylineCount;
+
         /**
          * Creates a new state instance.
          *
@@ -609,6 +702,8 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         public State(PlotRenderingInfo info) {
             super(info);
             this.seriesPath = new GeneralPath();
+            this.polylineX = new int[64];
+            this.polylineY = new int[64];
         }
 
         /**
@@ -647,6 +742,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
                 int firstItem, int lastItem, int pass, int passCount) {
             this.seriesPath.reset();
             this.lastPointGood = false;
+            this.polylineCount = 0;
             super.startSeriesPass(dataset, series, firstItem, lastItem, pass,
                     passCount);
        }
@@ -672,7 +768,9 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
     @Override
     public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
             XYPlot plot, XYDataset data, PlotRenderingInfo info) {
-        return new State(info);
+        State state = new State(info);
+        state.setAggregateItemsByColumn(getAggregateItemsByColumn());
+        return state;
     }
 
     /**
@@ -699,14 +797,26 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
-        // do nothing if item is not visible
-        if (!getItemVisible(series, item)) {
+        // the polyline for the whole series is drawn with the first item
+        if (this.drawSeriesLineAsPolyline && isLinePass(pass)
+                && state instanceof State) {
+            if (item == state.getFirstItemIndex()) {
+                drawPrimaryLineAsPolyline((State) state, g2, plot, dataset,
+                        series, domainAxis, rangeAxis, dataArea);
+            }
+            return;
+        }
+
+        // do nothing if item is not visible (the per-item settings refer to
+        // the plot's dataset, even when the items have been aggregated)
+        int sourceItem = RendererUtils.getSourceItem(dataset, series, item);
+        if (!getItemVisible(series, sourceItem)) {
             return;
         }
 
         // first pass draws the background (lines, for instance)
         if (isLinePass(pass)) {
-            if (getItemLineVisible(series, item)) {
+            if (getItemLineVisible(series, sourceItem)) {
                 if (this.drawSeriesLineAsPath) {
                     drawPrimaryLineAsPath(state, g2, plot, dataset, pass,
                             series, item, domainAxis, rangeAxis, dataArea);
@@ -823,7 +933,9 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         }
         visible = LineUtils.clipLine(state.workingLine, dataArea);
         if (visible) {
-            drawFirstPassShape(g2, pass, series, item, state.workingLine);
+            drawFirstPassShape(g2, pass, series, 
+                    RendererUtils.getSourceItem(dataset, series, item), 
+                    state.workingLine);
         }
     }
 
@@ -899,8 +1011,159 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         // if this is the last item, draw the path ...
         if (item == s.getLastItemIndex()) {
             // draw path
-            drawFirstPassShape(g2, pass, series, item, s.seriesPath);
+            drawFirstPassShape(g2, pass, series, 
+                    RendererUtils.getSourceItem(dataset, series, item), 
+                    s.seriesPath);
+        }
+    }
+
+    /**
+     * Draws the lines connecting the items in the current series pass as 
+     * one or more polylines with integer coordinates.  A line segment is 
+     * drawn to each item that is visible and has a visible line, in the same
+     * way as {@link #drawPrimaryLine(XYItemRendererState, Graphics2D, XYPlot,
+     * XYDataset, int, int, int, ValueAxis, ValueAxis, Rectangle2D)}.
+     *
+     * @param state  the renderer state.
+     * @param g2  the graphics device.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataArea  the area within which the data is being drawn.
+     */
+    private void drawPrimaryLineAsPolyline(State state, Graphics2D g2,
+            XYPlot plot, XYDataset dataset, int series, ValueAxis domainAxis,
+            ValueAxis rangeAxis, Rectangle2D dataArea) {
+        int firstItem = state.getFirstItemIndex();
+        int lastItem = state.getLastItemIndex();
+        int sourceItem = RendererUtils.getSourceItem(dataset, series, 
+                firstItem);
+        g2.setStroke(getItemStroke(series, sourceItem));
+        g2.setPaint(getItemPaint(series, sourceItem));
+        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+        boolean horizontal = plot.getOrientation()
+                == PlotOrientation.HORIZONTAL;
+        double minX = dataArea.getMinX();
+        double maxX = dataArea.getMaxX();
+        double minY = dataArea.getMinY();
+        double maxY = dataArea.getMaxY();
+        Line2D line = state.workingLine;
+        state.polylineCount = 0;
+        double prevX = Double.NaN;
+        double prevY = Double.NaN;
+        int start = Math.max(firstItem, 1);
+        if (start - 1 <= lastItem) {
+            double x0 = domainAxis.valueToJava2D(
+                    dataset.getXValue(series, start - 1), dataArea, 
+                    xAxisLocation);
+            double y0 = rangeAxis.valueToJava2D(
+                    dataset.getYValue(series, start - 1), dataArea, 
+                    yAxisLocation);
+            prevX = horizontal ? y0 : x0;
+            prevY = horizontal ? x0 : y0;
+        }
+        for (int item = start; item <= lastItem; item++) {
+            double x1 = domainAxis.valueToJava2D(
+                    dataset.getXValue(series, item), dataArea, xAxisLocation);
+            double y1 = rangeAxis.valueToJava2D(
+                    dataset.getYValue(series, item), dataArea, yAxisLocation);
+            double currX = horizontal ? y1 : x1;
+            double currY = horizontal ? x1 : y1;
+            sourceItem = RendererUtils.getSourceItem(dataset, series, item);
+            if (!getItemVisible(series, sourceItem) 
+                    || !getItemLineVisible(series, sourceItem)
+                    || Double.isNaN(prevX) || Double.isNaN(prevY)
+                    || Double.isNaN(currX) || Double.isNaN(currY)) {
+                drawPolyline(g2, state);
+            }
+            else if (prevX >= minX && prevX <= maxX && prevY >= minY 
+                    && prevY <= maxY && currX >= minX && currX <= maxX 
+                    && currY >= minY && currY <= maxY) {
+                if (state.polylineCount == 0) {
+                    addPolylinePoint(state, prevX, prevY);
+                }
+                addPolylinePoint(state, currX, currY);
+            }
+            else {
+                // the segment crosses the edge of the data area
+                line.setLine(prevX, prevY, currX, currY);
+                if (LineUtils.clipLine(line, dataArea)) {
+                    if (line.getX1() != prevX || line.getY1() != prevY) {
+                        drawPolyline(g2, state);
+                    }
+                    if (state.polylineCount == 0) {
+                        addPolylinePoint(state, line.getX1(), line.getY1());
+                    }
+                    addPolylinePoint(state, line.getX2(), line.getY2());
+                    if (line.getX2() != currX || line.getY2() != currY) {
+                        drawPolyline(g2, state);
+                    }
+                }
+                else {
+                    drawPolyline(g2, state);
+                }
+            }
+            prevX = currX;
+            prevY = currY;
         }
+        drawPolyline(g2, state);
+    }
+
+    /**
+     * Adds a point to the current polyline, after rounding it to integer 
+     * coordinates.  The point is dropped if it rounds to the last point, and
+     * replaces the last point if the last point lies on the straight line 
+     * between the previous point and this one.
+     *
+     * @param state  the renderer state.
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     */
+    private static void addPolylinePoint(State state, double x, double y) {
+        int ix = (int) Math.floor(x + 0.5);
+        int iy = (int) Math.floor(y + 0.5);
+        int n = state.polylineCount;
+        int[] xs = state.polylineX;
+        int[] ys = state.polylineY;
+        if (n > 0 && xs[n - 1] == ix && ys[n - 1] == iy) {
+            return;
+        }
+        if (n > 1) {
+            long dx1 = xs[n - 1] - xs[n - 2];
+            long dy1 = ys[n - 1] - ys[n - 2];
+            long dx2 = ix - xs[n - 1];
+            long dy2 = iy - ys[n - 1];
+            if (dx1 * dy2 == dy1 * dx2 && dx1 * dx2 + dy1 * dy2 > 0) {
+                xs[n - 1] = ix;
+                ys[n - 1] = iy;
+                return;
+            }
+        }
+        if (n == xs.length) {
+            state.polylineX = xs = Arrays.copyOf(xs, 2 * n);
+            state.polylineY = ys = Arrays.copyOf(ys, 2 * n);
+        }
+        xs[n] = ix;
+        ys[n] = iy;
+        state.polylineCount = n + 1;
+    }
+
+    /**
+     * Draws the current polyline (if it has at least two points) and starts
+     * a new one.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     */
+    private static void drawPolyline(Graphics2D g2, State state) {
+        if (state.polylineCount > 1) {
+            g2.drawPolyline(state.polylineX, state.polylineY, 
+                    state.polylineCount);
+        }
+        state.polylineCount = 0;
     }
 
     /**
@@ -928,6 +1191,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
             CrosshairState crosshairState, EntityCollection entities) {
 
         Shape entityArea = null;
+        int sourceItem = RendererUtils.getSourceItem(dataset, series, item);
 
         // get the data point...
         double x1 = dataset.getXValue(series, item);
@@ -942,49 +1206,63 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         double transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
         double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
 
-        if (getItemShapeVisible(series, item)) {
-            Shape shape = getItemShape(series, item);
-            if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transY1,
-                        transX1);
-            }
-            else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transX1,
-                        transY1);
+        double xx = transX1;
+        double yy = transY1;
+        if (orientation == PlotOrientation.HORIZONTAL) {
+            xx = transY1;
+            yy = transX1;
+        }
+
+        if (getItemShapeVisible(series, sourceItem)) {
+            Shape shape = getItemShape(series, sourceItem);
+            // a sprite is only drawn if the shape is in the data area,
+            // as for the shape itself
+            if (this.useShapeSprites 
+                    && (!intersects(shape, xx, yy, dataArea) 
+                    || drawItemShapeSprite(g2, series, sourceItem, shape, 
+                    xx, yy))) {
+                if (entities != null) {
+                    entityArea = ShapeUtils.createTranslatedShape(shape, xx, 
+                            yy);
+                }
             }
-            entityArea = shape;
-            if (shape.intersects(dataArea)) {
-                if (getItemShapeFilled(series, item)) {
-                    if (this.useFillPaint) {
-                        g2.setPaint(getItemFillPaint(series, item));
-                    }
-                    else {
-                        g2.setPaint(getItemPaint(series, item));
-                    }
-                    g2.fill(shape);
+            else {
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    shape = ShapeUtils.createTranslatedShape(shape, transY1,
+                            transX1);
+                }
+                else if (orientation == PlotOrientation.VERTICAL) {
+                    shape = ShapeUtils.createTranslatedShape(shape, transX1,
+                            transY1);
                 }
-                if (this.drawOutlines) {
-                    if (getUseOutlinePaint()) {
-                        g2.setPaint(getItemOutlinePaint(series, item));
+                entityArea = shape;
+                if (shape.intersects(dataArea)) {
+                    if (getItemShapeFilled(series, sourceItem)) {
+                        if (this.useFillPaint) {
+                            g2.setPaint(getItemFillPaint(series, sourceItem));
+                        }
+                        else {
+                            g2.setPaint(getItemPaint(series, sourceItem));
+                        }
+                        g2.fill(shape);
                     }
-                    else {
-                        g2.setPaint(getItemPaint(series, item));
+                    if (this.drawOutlines) {
+                        if (getUseOutlinePaint()) {
+                            g2.setPaint(getItemOutlinePaint(series, 
+                                    sourceItem));
+                        }
+                        else {
+                            g2.setPaint(getItemPaint(series, sourceItem));
+                        }
+                        g2.setStroke(getItemOutlineStroke(series, sourceItem));
+                        g2.draw(shape);
                     }
-                    g2.setStroke(getItemOutlineStroke(series, item));
-                    g2.draw(shape);
                 }
             }
         }
 
-        double xx = transX1;
-        double yy = transY1;
-        if (orientation == PlotOrientation.HORIZONTAL) {
-            xx = transY1;
-            yy = transX1;
-        }
-
         // draw the item label if there is one...
-        if (isItemLabelVisible(series, item)) {
+        if (isItemLabelVisible(series, sourceItem)) {
             drawItemLabel(g2, orientation, dataset, series, item, xx, yy,
                     (y1 < 0.0));
         }
@@ -1001,6 +1279,36 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
     }
 
 
+    /**
+     * Draws the shape for an item from a cached image, see 
+     * {@link #setUseShapeSprites(boolean)}.
+     *
+     * @param g2  the graphics device.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param shape  the (untranslated) item shape.
+     * @param x  the x-coordinate of the item (in Java2D space).
+     * @param y  the y-coordinate of the item (in Java2D space).
+     *
+     * @return A boolean indicating whether the shape was drawn.
+     */
+    private boolean drawItemShapeSprite(Graphics2D g2, int series, int item,
+            Shape shape, double x, double y) {
+        Paint fillPaint = null;
+        if (getItemShapeFilled(series, item)) {
+            fillPaint = this.useFillPaint ? getItemFillPaint(series, item) 
+                    : getItemPaint(series, item);
+        }
+        Paint outlinePaint = null;
+        if (this.drawOutlines) {
+            outlinePaint = getUseOutlinePaint() 
+                    ? getItemOutlinePaint(series, item) 
+                    : getItemPaint(series, item);
+        }
+        return drawShapeSprite(g2, shape, x, y, fillPaint, outlinePaint, 
+                getItemOutlineStroke(series, item));
+    }
+
     /**
      * Returns a legend item for the specified series.
      *
@@ -1135,6 +1443,13 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         if (this.drawSeriesLineAsPath != that.drawSeriesLineAsPath) {
             return false;
         }
+        if (this.drawSeriesLineAsPolyline 
+                != that.drawSeriesLineAsPolyline) {
+            return false;
+        }
+        if (this.useShapeSprites != that.useShapeSprites) {
+            return false;
+        }
         return true;
     }
 
@@ -1151,6 +1466,8 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         result = 31 * result + (useFillPaint ? 1 : 0);
         result = 31 * result + (useOutlinePaint ? 1 : 0);
         result = 31 * result + (drawSeriesLineAsPath ? 1 : 0);
+        result = 31 * result + (drawSeriesLineAsPolyline ? 1 : 0);
+        result = 31 * result + (useShapeSprites ? 1 : 0);
         return result;
     }
 
@@ -0,0 +1,335 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * XYRasterDotRenderer.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.geom.Rectangle2D;
+import java.util.function.IntToDoubleFunction;
+
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.internal.PointRaster;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A renderer that draws a small dot at each data point for an 
+ * {@link XYPlot}, like {@link XYDotRenderer}, but much faster for series
+ * with a large number of items.  Instead of filling a rectangle for each 
+ * item, the renderer counts the dots that cover each pixel of the data area
+ * and then draws each series as a single image.  Optionally, the dots are
+ * counted on several threads, so that a series with millions of items can 
+ * be drawn in a fraction of a second.
+ * <P>
+ * The fast path is used for series with a {@code Color} paint, and uses 
+ * the series paint (see {@link #lookupSeriesPaint(int)}) for all the items
+ * in a series.  Series with other paints are drawn in the same way as 
+ * {@link XYDotRenderer} draws them.
+ */
+public class XYRasterDotRenderer extends XYDotRenderer {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 1L;
+
+    /** 
+     * A flag that controls whether the dots are counted on several threads.
+     */
+    private boolean parallelRendering;
+
+    /**
+     * Constructs a new renderer.
+     */
+    public XYRasterDotRenderer() {
+        super();
+        this.parallelRendering = false;
+    }
+
+    /**
+     * Returns the flag that controls whether the dots are counted on 
+     * several threads.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean isParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the dots are counted on several
+     * threads and sends a {@link org.jfree.chart.event.RendererChangeEvent}
+     * to all registered listeners.  If the flag is set, the dataset must be 
+     * safe for concurrent reads.
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #isParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
+
+    /**
+     * Initialises the renderer and returns a state object that holds the
+     * dot counts for the current series.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        boolean horizontal = plot.getOrientation() 
+                == PlotOrientation.HORIZONTAL;
+        PointRaster raster = horizontal 
+                ? new PointRaster(dataArea, getDotHeight(), getDotWidth())
+                : new PointRaster(dataArea, getDotWidth(), getDotHeight());
+        return new State(info, g2, raster);
+    }
+
+    /**
+     * Draws the visual representation of a single data item.  For a series
+     * with a {@code Color} paint, the first call for a series pass counts 
+     * the dots for all the items in the pass, and the dots are drawn when 
+     * the pass ends.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param domainAxis  the domain (horizontal) axis.
+     * @param rangeAxis  the range (vertical) axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawItem(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int item, CrosshairState crosshairState, int pass) {
+
+        if (!(state instanceof State)) {
+            super.drawItem(g2, state, dataArea, info, plot, domainAxis, 
+                    rangeAxis, dataset, series, item, crosshairState, pass);
+            return;
+        }
+        State s = (State) state;
+        if (item == s.getFirstItemIndex()) {
+            Paint paint = lookupSeriesPaint(series);
+            s.color = paint instanceof Color ? (Color) paint : null;
+            if (s.color != null) {
+                addDots(s.raster, plot, domainAxis, rangeAxis, dataArea, 
+                        dataset, series, s.getFirstItemIndex(), 
+                        s.getLastItemIndex());
+            }
+        }
+        if (s.color == null) {
+            super.drawItem(g2, state, dataArea, info, plot, domainAxis, 
+                    rangeAxis, dataset, series, item, crosshairState, pass);
+            return;
+        }
+        if (crosshairState != null && crosshairState.getAnchor() != null) {
+            double x = dataset.getXValue(series, item);
+            double y = dataset.getYValue(series, item);
+            if (!Double.isNaN(y) && getItemVisible(series, item)) {
+                double transX = domainAxis.valueToJava2D(x, dataArea, 
+                        plot.getDomainAxisEdge());
+                double transY = rangeAxis.valueToJava2D(y, dataArea, 
+                        plot.getRangeAxisEdge());
+                // the plot and dataset types are raw in this method
+                @SuppressWarnings("unchecked")
+                int datasetIndex = plot.indexOf(dataset);
+                updateCrosshairValues(crosshairState, x, y, datasetIndex, 
+                        transX, transY, plot.getOrientation());
+            }
+        }
+    }
+
+    /**
+     * Counts the dots for a range of items in a series.
+     *
+     * @param raster  the raster.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataArea  the data area.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     */
+    private void addDots(PointRaster raster, XYPlot<?> plot, 
+            ValueAxis domainAxis, ValueAxis rangeAxis, Rectangle2D dataArea, 
+            XYDataset<?> dataset, int series, int firstItem, int lastItem) {
+        RectangleEdge xEdge = plot.getDomainAxisEdge();
+        RectangleEdge yEdge = plot.getRangeAxisEdge();
+        double adjx = (getDotWidth() - 1) / 2.0;
+        double adjy = (getDotHeight() - 1) / 2.0;
+        int count = lastItem - firstItem + 1;
+        // NaN marks an item that is not drawn
+        IntToDoubleFunction xs = i -> {
+            int item = firstItem + i;
+            if (!getItemVisible(series, item)) {
+                return Double.NaN;
+            }
+            return domainAxis.valueToJava2D(dataset.getXValue(series, item),
+                    dataArea, xEdge) - adjx;
+        };
+        IntToDoubleFunction ys = i -> {
+            double y = dataset.getYValue(series, firstItem + i);
+            return rangeAxis.valueToJava2D(y, dataArea, yEdge) - adjy;
+        };
+        if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
+            raster.addAll(count, ys, xs, this.parallelRendering);
+        }
+        else {
+            raster.addAll(count, xs, ys, this.parallelRendering);
+        }
+    }
+
+    /**
+     * Tests this renderer for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof XYRasterDotRenderer)) {
+            return false;
+        }
+        XYRasterDotRenderer that = (XYRasterDotRenderer) obj;
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * The state for the renderer, which holds the dot counts for the 
+     * current series pass.
+     */
+    private static class State extends XYItemRendererState {
+
+        /** The graphics device. */
+        private final Graphics2D g2;
+
+        /** The dot counts. */
+        private final PointRaster raster;
+
+        /** 
+         * The color for the current series ({@code null} if the series is
+         * not drawn using the raster).
+         */
+        private Color color;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  the plot rendering info.
+         * @param g2  the graphics device.
+         * @param raster  the raster for the dot counts.
+         */
+        State(PlotRenderingInfo info, Graphics2D g2, PointRaster raster) {
+            super(info);
+            this.g2 = g2;
+            this.raster = raster;
+        }
+
+        /**
+         * Resets the state at the start of a series pass.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param firstItem  the index of the first item in the series.
+         * @param lastItem  the index of the last item in the series.
+         * @param pass  the pass index.
+         * @param passCount  the number of passes.
+         */
+        @Override
+        public void startSeriesPass(XYDataset dataset, int series, 
+                int firstItem, int lastItem, int pass, int passCount) {
+            super.startSeriesPass(dataset, series, firstItem, lastItem, pass,
+                    passCount);
+            this.color = null;
+            this.raster.clear();
+        }
+
+        /**
+         * Draws the dots counted for the series pass.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param firstItem  the index of the first item in the series.
+         * @param lastItem  the index of the last item in the series.
+         * @param pass  the pass index.
+         * @param passCount  the number of passes.
+         */
+        @Override
+        public void endSeriesPass(XYDataset dataset, int series, 
+                int firstItem, int lastItem, int pass, int passCount) {
+            if (this.color != null) {
+                this.raster.draw(this.g2, this.color);
+            }
+        }
+
+    }
+
+}
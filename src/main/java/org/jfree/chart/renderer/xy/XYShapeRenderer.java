@@ -119,6 +119,11 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
     /** The stroke used for drawing the guide lines (never null). */
     private transient Stroke guideLineStroke;
 
+    /**
+     * A flag that controls whether item shapes are drawn from cached images.
+     */
+    private boolean useShapeSprites;
+
     /**
      * Creates a new {@code XYShapeRenderer} instance with default
      * attributes.
@@ -131,6 +136,7 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
         this.guideLinesVisible = false;
         this.guideLinePaint = Color.darkGray;
         this.guideLineStroke = new BasicStroke();
+        this.useShapeSprites = false;
         setDefaultShape(new Ellipse2D.Double(-5.0, -5.0, 10.0, 10.0));
         setAutoPopulateSeriesShape(false);
     }
@@ -323,6 +329,36 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether item shapes are drawn from 
+     * cached images (sprites).  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setUseShapeSprites(boolean)
+     */
+    public boolean getUseShapeSprites() {
+        return this.useShapeSprites;
+    }
+
+    /**
+     * Sets the flag that controls whether item shapes are drawn from cached
+     * images (sprites) and sends a {@link RendererChangeEvent} to all 
+     * registered listeners.  This is much faster for charts with a large 
+     * number of items, but the shapes are placed to the nearest quarter 
+     * pixel and are drawn as bitmaps.  A paint scale with a small number of 
+     * colors (such as a {@link LookupPaintScale}) makes best use of the
+     * cached images.
+     *
+     * @param flag  the flag.
+     *
+     * @see #getUseShapeSprites()
+     */
+    public void setUseShapeSprites(boolean flag) {
+        this.useShapeSprites = flag;
+        fireChangeEvent();
+    }
+
     /**
      * Returns the lower and upper bounds (range) of the x-values in the
      * specified dataset.
@@ -454,27 +490,44 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
             }
         } else if (pass == 1) {
             Shape shape = getItemShape(series, item);
+            double xx = transX;
+            double yy = transY;
             if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transY,
-                        transX);
-            } else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transX,
-                        transY);
+                xx = transY;
+                yy = transX;
+            }
+            // a sprite is only drawn if the shape is in the data area,
+            // as for the shape itself
+            if (this.useShapeSprites && (!intersects(shape, xx, yy, dataArea)
+                    || drawShapeSprite(g2, shape, xx, yy, 
+                    getPaint(dataset, series, item), getSpriteOutlinePaint(
+                    series, item), getItemOutlineStroke(series, item)))) {
+                hotspot = entities == null ? null 
+                        : ShapeUtils.createTranslatedShape(shape, xx, yy);
             }
-            hotspot = shape;
-            if (shape.intersects(dataArea)) {
-                //if (getItemShapeFilled(series, item)) {
-                    g2.setPaint(getPaint(dataset, series, item));
-                    g2.fill(shape);
-               //}
-                if (this.drawOutlines) {
-                    if (getUseOutlinePaint()) {
-                        g2.setPaint(getItemOutlinePaint(series, item));
-                    } else {
-                        g2.setPaint(getItemPaint(series, item));
+            else {
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    shape = ShapeUtils.createTranslatedShape(shape, transY,
+                            transX);
+                } else if (orientation == PlotOrientation.VERTICAL) {
+                    shape = ShapeUtils.createTranslatedShape(shape, transX,
+                            transY);
+                }
+                hotspot = shape;
+                if (shape.intersects(dataArea)) {
+                    //if (getItemShapeFilled(series, item)) {
+                        g2.setPaint(getPaint(dataset, series, item));
+                        g2.fill(shape);
+                   //}
+                    if (this.drawOutlines) {
+                        if (getUseOutlinePaint()) {
+                            g2.setPaint(getItemOutlinePaint(series, item));
+                        } else {
+                            g2.setPaint(getItemPaint(series, item));
+                        }
+                        g2.setStroke(getItemOutlineStroke(series, item));
+                        g2.draw(shape);
                     }
-                    g2.setStroke(getItemOutlineStroke(series, item));
-                    g2.draw(shape);
                 }
             }
             
@@ -514,6 +567,23 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
         return p;
     }
 
+    /**
+     * Returns the outline paint for an item when it is drawn from a cached
+     * image ({@code null} if outlines are not drawn).
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The paint (possibly {@code null}).
+     */
+    private Paint getSpriteOutlinePaint(int series, int item) {
+        if (!this.drawOutlines) {
+            return null;
+        }
+        return getUseOutlinePaint() ? getItemOutlinePaint(series, item) 
+                : getItemPaint(series, item);
+    }
+
     /**
      * Tests this instance for equality with an arbitrary object.  This method
      * returns {@code true} if and only if:
@@ -558,6 +628,9 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
         if (!this.guideLineStroke.equals(that.guideLineStroke)) {
             return false;
         }
+        if (this.useShapeSprites != that.useShapeSprites) {
+            return false;
+        }
         return super.equals(obj);
     }
 
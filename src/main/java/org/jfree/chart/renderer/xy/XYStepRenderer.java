@@ -57,6 +57,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.RendererUtils;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.urls.XYURLGenerator;
 import org.jfree.chart.internal.LineUtils;
@@ -169,15 +170,17 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
-        // do nothing if item is not visible
-        if (!getItemVisible(series, item)) {
+        // do nothing if item is not visible (the per-item settings refer to
+        // the plot's dataset, even when the items have been aggregated)
+        int sourceItem = RendererUtils.getSourceItem(dataset, series, item);
+        if (!getItemVisible(series, sourceItem)) {
             return;
         }
 
         PlotOrientation orientation = plot.getOrientation();
 
-        Paint seriesPaint = getItemPaint(series, item);
-        Stroke seriesStroke = getItemStroke(series, item);
+        Paint seriesPaint = getItemPaint(series, sourceItem);
+        Stroke seriesStroke = getItemStroke(series, sourceItem);
         g2.setPaint(seriesPaint);
         g2.setStroke(seriesStroke);
 
@@ -260,7 +263,7 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
 
         if (pass == 1) {
             // draw the item label if there is one...
-            if (isItemLabelVisible(series, item)) {
+            if (isItemLabelVisible(series, sourceItem)) {
                 double xx = transX1;
                 double yy = transY1;
                 if (orientation == PlotOrientation.HORIZONTAL) {
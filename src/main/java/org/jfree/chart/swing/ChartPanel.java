@@ -74,6 +74,7 @@ import java.awt.event.MouseMotionListener;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.awt.print.PrinterException;
@@ -89,11 +90,18 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.EventListener;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import javax.swing.JFileChooser;
 import javax.swing.JMenu;
@@ -102,26 +110,39 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.ToolTipManager;
 import javax.swing.event.EventListenerList;
 import javax.swing.filechooser.FileNameExtensionFilter;
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.ChartLayer;
 import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.ChartTransferable;
 import org.jfree.chart.ChartUtils;
 import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.ValueAxis;
 
 import org.jfree.chart.swing.editor.ChartEditor;
 import org.jfree.chart.swing.editor.ChartEditorManager;
 import org.jfree.chart.entity.ChartEntity;
 import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.entity.IndexedEntityCollection;
+import org.jfree.chart.entity.StandardEntityCollection;
+import org.jfree.chart.event.CancellationToken;
 import org.jfree.chart.event.ChartChangeEvent;
+import org.jfree.chart.event.ChartChangeEventType;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.event.ChartProgressEvent;
 import org.jfree.chart.event.ChartProgressListener;
+import org.jfree.chart.event.TitleChangeEvent;
+import org.jfree.chart.plot.CombinedDomainXYPlot;
+import org.jfree.chart.plot.CombinedRangeXYPlot;
 import org.jfree.chart.plot.Pannable;
 import org.jfree.chart.plot.Plot;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.xy.XYSnapshotProvider;
 import org.jfree.chart.plot.Zoomable;
 import org.jfree.chart.internal.Args;
 
@@ -285,6 +306,60 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     /** The width of the chart buffer. */
     protected int chartBufferWidth;
 
+    /**
+     * A flag that controls whether the off-screen buffer is split into one
+     * image per {@link ChartLayer}, so that a change only causes the 
+     * affected layers to be redrawn.
+     */
+    private boolean layeredBuffer;
+
+    /** The images for the chart layers (if the layered buffer is used). */
+    private transient BufferedImage[] layerBuffers;
+
+    /** The layers that need to be redrawn (synchronize on the set). */
+    private final Set<ChartLayer> staleLayers 
+            = EnumSet.allOf(ChartLayer.class);
+
+    /** The entities created when each layer was last drawn. */
+    private transient Map<ChartLayer, List<ChartEntity>> layerEntities;
+
+    /** 
+     * The chart layout (size, axis ranges and legend items) when the layers
+     * were last drawn.
+     */
+    private transient List<Object> layerLayout;
+
+    /**
+     * A flag that controls whether the chart is drawn on a worker thread
+     * (the panel shows the last completed frame in the meantime).
+     */
+    private boolean asyncRendering;
+
+    /** The last frame completed by the worker thread. */
+    private transient BufferedImage renderedFrame;
+
+    /** The worker drawing the next frame ({@code null} if none). */
+    private transient SwingWorker<BufferedImage, Void> renderWorker;
+
+    /** The width of the frame most recently requested from the worker. */
+    private int renderWidth;
+
+    /** The height of the frame most recently requested from the worker. */
+    private int renderHeight;
+
+    /** Set when the chart changes while the worker is drawing a frame. */
+    private boolean renderPending;
+
+    /** The token that cancels the frame being drawn by the worker. */
+    private transient CancellationToken renderToken;
+
+    /**
+     * Set when the last frame from the worker was cancelled, in which case
+     * the next frame is allowed to finish (so that a chart that changes 
+     * continuously still shows new frames).
+     */
+    private boolean renderCancelled;
+
     /**
      * The minimum width for drawing a chart (uses scaling for smaller widths).
      */
@@ -593,7 +668,7 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
 
         setChart(chart);
         this.chartMouseListeners = new EventListenerList();
-        this.info = new ChartRenderingInfo();
+        this.info = new ChartRenderingInfo(new IndexedEntityCollection());
         setPreferredSize(new Dimension(width, height));
         this.useBuffer = useBuffer;
         this.refreshBuffer = false;
@@ -673,6 +748,8 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
         if (this.useBuffer) {
             this.refreshBuffer = true;
         }
+        // a frame being drawn for the previous chart is discarded
+        cancelRenderWorker();
         repaint();
 
     }
@@ -1389,6 +1466,119 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
      */
     public void setRefreshBuffer(boolean flag) {
         this.refreshBuffer = flag;
+        if (flag) {
+            markLayersStale(EnumSet.allOf(ChartLayer.class));
+        }
+    }
+
+    /**
+     * Returns the flag that controls whether the off-screen buffer is split
+     * into layers (see {@link ChartLayer}) that are redrawn separately.
+     *
+     * @return A boolean.
+     *
+     * @see #setLayeredBuffer(boolean)
+     */
+    public boolean isLayeredBuffer() {
+        return this.layeredBuffer;
+    }
+
+    /**
+     * Sets the flag that controls whether the off-screen buffer is split
+     * into layers that are redrawn separately.  With a layered buffer, a
+     * change to a dataset only causes the data items to be redrawn (provided
+     * the axis ranges and legend are unchanged) and a change to a title only 
+     * causes the background layer (titles, axes and gridlines) to be 
+     * redrawn, which makes charts that are updated frequently much cheaper 
+     * to repaint.  The flag has no effect unless the panel uses an 
+     * off-screen buffer and the plot is an {@link XYPlot}.
+     * <P>
+     * Every layer depends on the axis ranges (the background layer draws
+     * the axes and gridlines, the other layers draw items, markers and 
+     * annotations against them), so all the layers are redrawn whenever an
+     * axis range changes.  When an axis is auto-ranged and each dataset 
+     * update extends the range of the data, that is every update, and the
+     * layered buffer gives no saving.  It pays off when the axis ranges are
+     * fixed, or when new data mostly falls within the current ranges.
+     *
+     * @param layered  the new flag value.
+     *
+     * @see #isLayeredBuffer()
+     */
+    public void setLayeredBuffer(boolean layered) {
+        this.layeredBuffer = layered;
+        this.layerBuffers = null;
+        this.layerEntities = null;
+        this.layerLayout = null;
+        setRefreshBuffer(true);
+        repaint();
+    }
+
+    /**
+     * Returns the flag that controls whether the chart is drawn on a worker
+     * thread rather than the event dispatch thread.  Note that only some 
+     * charts are drawn on the worker thread when the flag is set, see 
+     * {@link #setAsyncRendering(boolean)}.
+     *
+     * @return A boolean.
+     *
+     * @see #setAsyncRendering(boolean)
+     */
+    public boolean isAsyncRendering() {
+        return this.asyncRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the chart is drawn on a worker 
+     * thread rather than the event dispatch thread, so that a chart that is
+     * slow to draw does not block the user interface.  While a frame is 
+     * being drawn the panel shows the last completed frame.  A change that
+     * arrives in the meantime cancels the frame being drawn (see 
+     * {@link CancellationToken}) and the changes are combined into a single
+     * new frame, which is always allowed to complete.  The rendering info 
+     * (and so tool tips and mouse events) is updated when each frame 
+     * completes.
+     * <P>
+     * <b>Restriction:</b> the worker thread reads the datasets while other 
+     * threads may update them, so the chart is only drawn on the worker 
+     * thread if the plot is an {@link XYPlot} (or a combined XY plot) and 
+     * every dataset is an {@link XYSnapshotProvider} with the concurrent 
+     * flag set, in which case the plot draws each frame from snapshots of 
+     * the datasets.  Any other chart, including every chart with a 
+     * {@link org.jfree.chart.plot.CategoryPlot}, is drawn on the event 
+     * dispatch thread exactly as if the flag was not set.
+     * <P>
+     * The flag has no effect unless the panel uses an off-screen buffer, and
+     * takes precedence over the layered buffer.  The progress events for 
+     * the chart and the crosshair values of the plot are updated on the 
+     * event dispatch thread (see {@link ChartHints#KEY_UPDATE_EXECUTOR}).  
+     * Other changes to the plot, such as changes to the axes and renderers,
+     * should be made on the event dispatch thread: they cancel the frame 
+     * being drawn, but the worker may see some of them before it stops.
+     *
+     * @param async  the new flag value.
+     *
+     * @see #isAsyncRendering()
+     */
+    public void setAsyncRendering(boolean async) {
+        this.asyncRendering = async;
+        cancelRenderWorker();
+        this.renderedFrame = null;
+        this.renderWidth = 0;
+        this.renderHeight = 0;
+        setRefreshBuffer(true);
+        repaint();
+    }
+
+    /**
+     * Adds layers to the set of layers that need to be redrawn.
+     *
+     * @param layers  the layers.
+     */
+    private void markLayersStale(Set<ChartLayer> layers) {
+        synchronized (this.staleLayers) {
+            this.staleLayers.addAll(layers);
+        }
     }
 
     /**
@@ -1447,7 +1637,25 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
                 drawHeight);
 
         // are we using the chart buffer?
-        if (this.useBuffer) {
+        boolean async = this.useBuffer && this.asyncRendering 
+                && isConcurrent(this.chart.getPlot());
+        if (!async && this.renderedFrame != null) {
+            // the chart is no longer drawn on the worker thread
+            cancelRenderWorker();
+            this.renderedFrame = null;
+            this.renderWidth = 0;
+            this.renderHeight = 0;
+        }
+        if (async) {
+            paintRenderedFrame(g, g2, available, chartArea, scale);
+            g2.addRenderingHints(this.chart.getRenderingHints());
+        }
+        else if (this.useBuffer && this.layeredBuffer 
+                && this.chart.getPlot() instanceof XYPlot) {
+            paintLayers(g, g2, available, chartArea, scale);
+            g2.addRenderingHints(this.chart.getRenderingHints());
+        }
+        else if (this.useBuffer) {
 
             // for better rendering on the HiDPI monitors upscaling the buffer to the "native" resoution
             // instead of using logical one provided by Swing
@@ -1535,7 +1743,416 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
 
         g2.dispose();
 
-        this.anchor = null;
+        // a pending frame still needs the anchor
+        if (!this.renderPending) {
+            this.anchor = null;
+        }
+    }
+
+    /**
+     * Paints the last frame completed by the worker thread, first starting
+     * a new frame if the chart or the panel size has changed.
+     *
+     * @param g  the graphics device for the component.
+     * @param g2  the graphics device to draw on.
+     * @param available  the area available for the chart.
+     * @param chartArea  the area for drawing the chart (before scaling).
+     * @param scale  is the chart scaled to fit the available area?
+     */
+    private void paintRenderedFrame(Graphics g, Graphics2D g2, 
+            Rectangle2D available, Rectangle2D chartArea, boolean scale) {
+        AffineTransform globalTransform = ((Graphics2D) g).getTransform();
+        double globalScaleX = globalTransform.getScaleX();
+        double globalScaleY = globalTransform.getScaleY();
+        int scaledWidth = (int) (available.getWidth() * globalScaleX);
+        int scaledHeight = (int) (available.getHeight() * globalScaleY);
+        if (this.refreshBuffer || scaledWidth != this.renderWidth 
+                || scaledHeight != this.renderHeight) {
+            this.refreshBuffer = false;
+            if (this.renderWorker != null) {
+                // the frame being drawn is out of date
+                this.renderPending = true;
+                if (!this.renderCancelled) {
+                    this.renderToken.cancel();
+                }
+            }
+            else {
+                this.renderWidth = scaledWidth;
+                this.renderHeight = scaledHeight;
+                Rectangle2D drawArea = scale ? chartArea 
+                        : new Rectangle2D.Double(0, 0, available.getWidth(), 
+                        available.getHeight());
+                startRenderWorker(scaledWidth, scaledHeight, globalScaleX,
+                        globalScaleY, drawArea, scale);
+            }
+        }
+        if (this.renderedFrame != null) {
+            g2.drawImage(this.renderedFrame, (int) available.getX(), 
+                    (int) available.getY(), (int) available.getWidth(),
+                    (int) available.getHeight(), this);
+        }
+    }
+
+    /**
+     * Starts a worker thread that draws the chart into a new frame.
+     *
+     * @param width  the frame width.
+     * @param height  the frame height.
+     * @param globalScaleX  the x-scale of the device (for HiDPI monitors).
+     * @param globalScaleY  the y-scale of the device (for HiDPI monitors).
+     * @param drawArea  the area for drawing the chart.
+     * @param scale  is the chart scaled to fit the available area?
+     */
+    private void startRenderWorker(int width, int height, 
+            double globalScaleX, double globalScaleY, Rectangle2D drawArea, 
+            boolean scale) {
+        JFreeChart frameChart = this.chart;
+        Point2D frameAnchor = this.anchor;
+        double frameScaleX = this.scaleX;
+        double frameScaleY = this.scaleY;
+        ChartRenderingInfo frameInfo = new ChartRenderingInfo(
+                this.info.getEntityCollection() != null 
+                ? new IndexedEntityCollection() : null);
+        frameInfo.setLazyEntities(this.info.isLazyEntities());
+        CancellationToken token = new CancellationToken();
+        this.renderToken = token;
+        this.renderWorker = new SwingWorker<BufferedImage, Void>() {
+            @Override
+            protected BufferedImage doInBackground() {
+                BufferedImage frame = new BufferedImage(Math.max(width, 1),
+                        Math.max(height, 1), BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D frameG2 = frame.createGraphics();
+                frameG2.setRenderingHint(ChartHints.KEY_CANCELLATION_TOKEN, 
+                        token);
+                frameG2.setRenderingHint(ChartHints.KEY_UPDATE_EXECUTOR, 
+                        (Executor) SwingUtilities::invokeLater);
+                frameG2.scale(globalScaleX, globalScaleY);
+                if (scale) {
+                    frameG2.scale(frameScaleX, frameScaleY);
+                }
+                frameChart.draw(frameG2, drawArea, frameAnchor, frameInfo);
+                frameG2.dispose();
+                // a cancelled frame is incomplete, so it is never shown
+                return token.isCancelled() ? null : frame;
+            }
+
+            @Override
+            protected void done() {
+                renderWorkerDone(this, frameInfo);
+            }
+        };
+        this.renderWorker.execute();
+    }
+
+    /**
+     * Cancels the frame being drawn by the worker thread (if any) and 
+     * forgets the worker.
+     */
+    private void cancelRenderWorker() {
+        if (this.renderToken != null) {
+            this.renderToken.cancel();
+            this.renderToken = null;
+        }
+        this.renderWorker = null;
+        this.renderPending = false;
+        this.renderCancelled = false;
+    }
+
+    /**
+     * Called on the event dispatch thread when a worker has finished 
+     * drawing a frame.  The frame is shown unless the worker has been
+     * superseded (for example, because the chart was replaced) or the frame
+     * was cancelled, and a new frame is started if the chart changed while 
+     * the worker was drawing.
+     *
+     * @param worker  the worker.
+     * @param frameInfo  the rendering info for the frame.
+     */
+    private void renderWorkerDone(SwingWorker<BufferedImage, Void> worker,
+            ChartRenderingInfo frameInfo) {
+        if (worker != this.renderWorker) {
+            return;
+        }
+        this.renderWorker = null;
+        if (this.renderPending) {
+            this.renderPending = false;
+            this.refreshBuffer = true;
+        }
+        repaint();
+        try {
+            BufferedImage frame = worker.get();
+            this.renderCancelled = (frame == null);
+            if (frame != null) {
+                this.renderedFrame = frame;
+                this.info = frameInfo;
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            // report the failure as a synchronous draw would
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Paints the chart using one off-screen image per {@link ChartLayer},
+     * redrawing only the layers that are out of date.
+     *
+     * @param g  the graphics device for the component.
+     * @param g2  the graphics device to draw on.
+     * @param available  the area available for the chart.
+     * @param chartArea  the area for drawing the chart (before scaling).
+     * @param scale  is the chart scaled to fit the available area?
+     */
+    private void paintLayers(Graphics g, Graphics2D g2, Rectangle2D available,
+            Rectangle2D chartArea, boolean scale) {
+        AffineTransform globalTransform = ((Graphics2D) g).getTransform();
+        double globalScaleX = globalTransform.getScaleX();
+        double globalScaleY = globalTransform.getScaleY();
+        int scaledWidth = (int) (available.getWidth() * globalScaleX);
+        int scaledHeight = (int) (available.getHeight() * globalScaleY);
+
+        EnumSet<ChartLayer> stale;
+        List<Object> layout = createLayerLayout(available);
+        synchronized (this.staleLayers) {
+            if (this.layerBuffers == null 
+                    || this.layerBuffers[0].getWidth() != scaledWidth
+                    || this.layerBuffers[0].getHeight() != scaledHeight) {
+                GraphicsConfiguration gc = g2.getDeviceConfiguration();
+                this.layerBuffers = new BufferedImage[3];
+                for (int i = 0; i < this.layerBuffers.length; i++) {
+                    this.layerBuffers[i] = gc.createCompatibleImage(
+                            Math.max(scaledWidth, 1), 
+                            Math.max(scaledHeight, 1), 
+                            Transparency.TRANSLUCENT);
+                }
+                this.layerEntities = new EnumMap<>(ChartLayer.class);
+                this.staleLayers.addAll(EnumSet.allOf(ChartLayer.class));
+            }
+            if (!layout.equals(this.layerLayout)) {
+                this.staleLayers.addAll(EnumSet.allOf(ChartLayer.class));
+            }
+            stale = EnumSet.copyOf(this.staleLayers);
+            this.staleLayers.clear();
+        }
+        this.layerLayout = layout;
+        this.refreshBuffer = false;
+
+        if (!stale.isEmpty()) {
+            Rectangle2D bufferArea = new Rectangle2D.Double(0, 0, 
+                    available.getWidth(), available.getHeight());
+            Rectangle2D drawArea = scale ? chartArea : bufferArea;
+            // all the layers of a frame draw the same dataset snapshots, so
+            // they agree on the data and on the auto-ranged axes
+            Map<Object, Object> snapshots = new IdentityHashMap<>();
+            drawLayers(stale, drawArea, scale, globalScaleX, globalScaleY, 
+                    snapshots);
+            List<Object> drawnLayout = createLayerLayout(available);
+            if (!drawnLayout.equals(layout)) {
+                // the new snapshots changed the axis ranges, so the layers
+                // that were not redrawn show the old axes
+                drawLayers(EnumSet.complementOf(stale), drawArea, scale, 
+                        globalScaleX, globalScaleY, snapshots);
+                this.layerLayout = drawnLayout;
+            }
+            EntityCollection entities = this.info.getEntityCollection();
+            if (entities != null) {
+                entities.clear();
+                for (ChartLayer layer : ChartLayer.values()) {
+                    for (ChartEntity entity : this.layerEntities.getOrDefault(
+                            layer, Collections.emptyList())) {
+                        entities.add(entity);
+                    }
+                }
+            }
+        }
+
+        for (BufferedImage image : this.layerBuffers) {
+            g2.drawImage(image, (int) available.getX(), 
+                    (int) available.getY(), (int) available.getWidth(),
+                    (int) available.getHeight(), this);
+        }
+    }
+
+    /**
+     * Draws the specified layers of the chart into their off-screen images.
+     * If the background layer moves the data area, the data and overlay 
+     * layers are added to the set and drawn too.
+     *
+     * @param layers  the layers to draw.
+     * @param drawArea  the area for drawing the chart.
+     * @param scale  is the chart scaled to fit the available area?
+     * @param globalScaleX  the x-scale of the device (for HiDPI monitors).
+     * @param globalScaleY  the y-scale of the device (for HiDPI monitors).
+     * @param snapshots  the dataset snapshots for the frame (see 
+     *     {@link ChartHints#KEY_DATASET_SNAPSHOTS}).
+     */
+    private void drawLayers(Set<ChartLayer> layers, Rectangle2D drawArea,
+            boolean scale, double globalScaleX, double globalScaleY,
+            Map<Object, Object> snapshots) {
+        if (layers.contains(ChartLayer.BACKGROUND)) {
+            Rectangle2D dataArea = this.info.getPlotInfo().getDataArea();
+            Rectangle2D previous = (Rectangle2D) dataArea.clone();
+            drawLayer(ChartLayer.BACKGROUND, drawArea, scale, globalScaleX,
+                    globalScaleY, snapshots);
+            // a title or axis label change can move the plot
+            if (!previous.equals(this.info.getPlotInfo().getDataArea())) {
+                layers.add(ChartLayer.DATA);
+                layers.add(ChartLayer.OVERLAY);
+            }
+        }
+        if (layers.contains(ChartLayer.DATA)) {
+            drawLayer(ChartLayer.DATA, drawArea, scale, globalScaleX, 
+                    globalScaleY, snapshots);
+        }
+        if (layers.contains(ChartLayer.OVERLAY)) {
+            drawLayer(ChartLayer.OVERLAY, drawArea, scale, globalScaleX,
+                    globalScaleY, snapshots);
+        }
+    }
+
+    /**
+     * Draws one layer of the chart into its off-screen image.  The 
+     * background layer records the chart rendering info for the panel, the
+     * other layers record only their entities.
+     *
+     * @param layer  the layer.
+     * @param drawArea  the area for drawing the chart.
+     * @param scale  is the chart scaled to fit the available area?
+     * @param globalScaleX  the x-scale of the device (for HiDPI monitors).
+     * @param globalScaleY  the y-scale of the device (for HiDPI monitors).
+     * @param snapshots  the dataset snapshots for the frame (see 
+     *     {@link ChartHints#KEY_DATASET_SNAPSHOTS}).
+     */
+    private void drawLayer(ChartLayer layer, Rectangle2D drawArea, 
+            boolean scale, double globalScaleX, double globalScaleY,
+            Map<Object, Object> snapshots) {
+        BufferedImage image = this.layerBuffers[layer.ordinal()];
+        Graphics2D bufferG2 = image.createGraphics();
+        bufferG2.setComposite(AlphaComposite.getInstance(
+                AlphaComposite.CLEAR, 0.0f));
+        bufferG2.fillRect(0, 0, image.getWidth(), image.getHeight());
+        bufferG2.setComposite(AlphaComposite.SrcOver);
+        bufferG2.scale(globalScaleX, globalScaleY);
+        if (scale) {
+            bufferG2.scale(this.scaleX, this.scaleY);
+        }
+        bufferG2.setRenderingHint(ChartHints.KEY_CHART_LAYER, layer);
+        bufferG2.setRenderingHint(ChartHints.KEY_DATASET_SNAPSHOTS, 
+                snapshots);
+
+        ChartRenderingInfo layerInfo = this.info;
+        if (layer != ChartLayer.BACKGROUND) {
+            layerInfo = new ChartRenderingInfo(
+                    this.info.getEntityCollection() != null 
+                    ? new StandardEntityCollection() : null);
+            layerInfo.setLazyEntities(this.info.isLazyEntities());
+        }
+        this.chart.draw(bufferG2, drawArea, this.anchor, layerInfo);
+        bufferG2.dispose();
+
+        EntityCollection entities = layerInfo.getEntityCollection();
+        this.layerEntities.put(layer, entities == null 
+                ? Collections.emptyList() 
+                : new ArrayList<>(entities.getEntities()));
+    }
+
+    /**
+     * Returns a list of the properties of the chart that, if changed, 
+     * require all the layers to be redrawn: the size and scaling of the 
+     * chart, the ranges of the axes (which can change without an axis 
+     * change event when a dataset changes) and the legend items.
+     *
+     * @param available  the area available for the chart.
+     *
+     * @return The layout.
+     */
+    private List<Object> createLayerLayout(Rectangle2D available) {
+        List<Object> result = new ArrayList<>();
+        result.add(available.getBounds2D());
+        result.add(this.scaleX);
+        result.add(this.scaleY);
+        XYPlot<?> plot = (XYPlot<?>) this.chart.getPlot();
+        result.add(plot.getLegendItems());
+        addAxisRanges(plot, result);
+        return result;
+    }
+
+    /**
+     * Adds the ranges of the axes of a plot (and its subplots, if any) to a
+     * list.
+     *
+     * @param plot  the plot.
+     * @param ranges  the list of ranges.
+     */
+    private static void addAxisRanges(XYPlot<?> plot, List<Object> ranges) {
+        for (int i = 0; i < plot.getDomainAxisCount(); i++) {
+            ValueAxis axis = plot.getDomainAxis(i);
+            ranges.add(axis != null ? axis.getRange() : null);
+        }
+        for (int i = 0; i < plot.getRangeAxisCount(); i++) {
+            ValueAxis axis = plot.getRangeAxis(i);
+            ranges.add(axis != null ? axis.getRange() : null);
+        }
+        for (XYPlot<?> subplot : getSubplots(plot)) {
+            addAxisRanges(subplot, ranges);
+        }
+    }
+
+    /**
+     * Returns the subplots of a combined XY plot.
+     *
+     * @param plot  the plot.
+     *
+     * @return The subplots (an empty array if the plot is not a combined 
+     *     plot).
+     */
+    private static XYPlot<?>[] getSubplots(XYPlot<?> plot) {
+        XYPlot<?>[] result = new XYPlot<?>[0];
+        if (plot instanceof CombinedDomainXYPlot) {
+            result = ((CombinedDomainXYPlot<?>) plot).getSubplots().toArray(
+                    result);
+        }
+        else if (plot instanceof CombinedRangeXYPlot) {
+            result = ((CombinedRangeXYPlot<?>) plot).getSubplots().toArray(
+                    result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if a plot can be drawn on a worker thread while
+     * other threads update its datasets, that is if the plot is an 
+     * {@link XYPlot} and every dataset (including the datasets of any 
+     * subplots) is an {@link XYSnapshotProvider} with the concurrent flag 
+     * set.
+     *
+     * @param plot  the plot ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    private static boolean isConcurrent(Plot plot) {
+        if (!(plot instanceof XYPlot)) {
+            return false;
+        }
+        XYPlot<?> xyPlot = (XYPlot<?>) plot;
+        for (Object dataset : xyPlot.getDatasets().values()) {
+            if (dataset != null && !(dataset instanceof XYSnapshotProvider
+                    && ((XYSnapshotProvider<?>) dataset).isConcurrent())) {
+                return false;
+            }
+        }
+        for (XYPlot<?> subplot : getSubplots(xyPlot)) {
+            if (!isConcurrent(subplot)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -1546,6 +2163,15 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     @Override
     public void chartChanged(ChartChangeEvent event) {
         this.refreshBuffer = true;
+        if (event instanceof TitleChangeEvent) {
+            markLayersStale(EnumSet.of(ChartLayer.BACKGROUND));
+        }
+        else if (event.getType() == ChartChangeEventType.DATASET_UPDATED) {
+            markLayersStale(EnumSet.of(ChartLayer.DATA));
+        }
+        else {
+            markLayersStale(EnumSet.allOf(ChartLayer.class));
+        }
         Plot plot = this.chart.getPlot();
         if (plot instanceof Zoomable) {
             Zoomable z = (Zoomable) plot;
@@ -186,8 +186,8 @@ public class TextFragment implements Serializable {
      * @return The width and height of the text.
      */
     public Size2D calculateDimensions(Graphics2D g2) {
-        FontMetrics fm = g2.getFontMetrics(this.font);
-        Rectangle2D bounds = TextUtils.getTextBounds(this.text, g2, fm);
+        Rectangle2D bounds = TextMeasurementCache.getSharedInstance()
+                .getTextBounds(this.text, this.font, g2);
         Size2D result = new Size2D(bounds.getWidth(), bounds.getHeight());
         return result;
     }
@@ -0,0 +1,392 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * TextMeasurementCache.java
+ * -------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.text;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+
+/**
+ * A cache for the results of text measurement: string bounds, string 
+ * widths and the line breaks for wrapped text blocks.  Axes and titles 
+ * measure the same labels many times (for example, while trying tick units 
+ * to find one whose labels fit, and again each time the chart is drawn), and
+ * measuring text is slow compared to looking up the result.
+ * <P>
+ * The results are keyed by the text, the font, the 
+ * {@code FontRenderContext} of the graphics target and (for text blocks) 
+ * the width and line limits.  The cache holds a limited number of results 
+ * and drops the least recently used result when it is full.  Hit, miss and 
+ * eviction counts are recorded so that the effectiveness of the cache can
+ * be checked.  Instances are safe for use by multiple threads, and a shared
+ * instance (see {@link #getSharedInstance()}) is used by the JFreeChart 
+ * axes and titles.
+ */
+public class TextMeasurementCache {
+
+    /** The shared instance. */
+    private static final TextMeasurementCache SHARED_INSTANCE 
+            = new TextMeasurementCache(2048);
+
+    /** The result type for text bounds. */
+    private static final int BOUNDS = 0;
+
+    /** The result type for string widths. */
+    private static final int WIDTH = 1;
+
+    /** The result type for the lines of a text block. */
+    private static final int LINES = 2;
+
+    /** The maximum number of results. */
+    private final int maxSize;
+
+    /** The results (in access order). */
+    private final Map<Key, Object> results;
+
+    /** The number of lookups that found a result. */
+    private long hitCount;
+
+    /** The number of lookups that did not find a result. */
+    private long missCount;
+
+    /** The number of results dropped because the cache was full. */
+    private long evictionCount;
+
+    /**
+     * Returns the shared cache used by the JFreeChart axes and titles.
+     *
+     * @return The shared cache (never {@code null}).
+     */
+    public static TextMeasurementCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize  the maximum number of results (must be &gt; 0).
+     */
+    public TextMeasurementCache(int maxSize) {
+        Args.requireInRange(maxSize, "maxSize", 1, Integer.MAX_VALUE);
+        this.maxSize = maxSize;
+        this.results = new LinkedHashMap<Key, Object>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> e) {
+                if (size() > TextMeasurementCache.this.maxSize) {
+                    TextMeasurementCache.this.evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the maximum number of results held by the cache.
+     *
+     * @return The maximum size.
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Returns the number of results held by the cache.
+     *
+     * @return The size.
+     */
+    public synchronized int getSize() {
+        return this.results.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a result in the cache.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a result in the cache.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns the number of results that have been dropped because the 
+     * cache was full.
+     *
+     * @return The eviction count.
+     */
+    public synchronized long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Removes all results from the cache and resets the counts.
+     */
+    public synchronized void clear() {
+        this.results.clear();
+        this.hitCount = 0;
+        this.missCount = 0;
+        this.evictionCount = 0;
+    }
+
+    /**
+     * Returns the bounds of a string, as calculated by 
+     * {@link TextUtils#getTextBounds(String, Graphics2D, FontMetrics)}.
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param font  the font ({@code null} not permitted).
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return The text bounds (a new rectangle that the caller can modify).
+     */
+    public Rectangle2D getTextBounds(String text, Font font, Graphics2D g2) {
+        Args.nullNotPermitted(text, "text");
+        Args.nullNotPermitted(font, "font");
+        Key key = new Key(BOUNDS, text, font, g2.getFontRenderContext(), 
+                0.0f, 0);
+        Rectangle2D bounds = (Rectangle2D) lookup(key);
+        if (bounds == null) {
+            FontMetrics fm = g2.getFontMetrics(font);
+            bounds = TextUtils.getTextBounds(text, g2, fm);
+            store(key, bounds.clone());
+            return bounds;
+        }
+        return (Rectangle2D) bounds.clone();
+    }
+
+    /**
+     * Returns the width of a string, as calculated by 
+     * {@link FontMetrics#stringWidth(String)}.
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param font  the font ({@code null} not permitted).
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return The width.
+     */
+    public double getStringWidth(String text, Font font, Graphics2D g2) {
+        Args.nullNotPermitted(text, "text");
+        Args.nullNotPermitted(font, "font");
+        Key key = new Key(WIDTH, text, font, g2.getFontRenderContext(), 
+                0.0f, 0);
+        Integer width = (Integer) lookup(key);
+        if (width == null) {
+            width = g2.getFontMetrics(font).stringWidth(text);
+            store(key, width);
+        }
+        return width;
+    }
+
+    /**
+     * Creates a text block from a string, as 
+     * {@link TextUtils#createTextBlock(String, Font, Paint, float, int, 
+     * TextMeasurer)} does with a {@link G2TextMeasurer}, but reusing the line
+     * breaks found for the same text, width and line limit.  The text is 
+     * measured with the current font of the graphics target.
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param font  the font for the text block ({@code null} not permitted).
+     * @param paint  the paint for the text block.
+     * @param maxWidth  the maximum width for each line.
+     * @param maxLines  the maximum number of lines.
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return A new text block.
+     */
+    public TextBlock createTextBlock(String text, Font font, Paint paint, 
+            float maxWidth, int maxLines, Graphics2D g2) {
+        Args.nullNotPermitted(text, "text");
+        Args.nullNotPermitted(font, "font");
+        Key key = new Key(LINES, text, g2.getFont(), 
+                g2.getFontRenderContext(), maxWidth, maxLines);
+        String[] lines = (String[]) lookup(key);
+        if (lines == null) {
+            TextBlock block = TextUtils.createTextBlock(text, font, paint, 
+                    maxWidth, maxLines, new G2TextMeasurer(g2));
+            List<TextLine> blockLines = block.getLines();
+            lines = new String[blockLines.size()];
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = blockLines.get(i).getFirstTextFragment().getText();
+            }
+            store(key, lines);
+            return block;
+        }
+        TextBlock block = new TextBlock();
+        for (String line : lines) {
+            block.addLine(line, font, paint);
+        }
+        return block;
+    }
+
+    /**
+     * Returns the result for a key and updates the hit and miss counts.
+     *
+     * @param key  the key.
+     *
+     * @return The result ({@code null} if there is no result for the key).
+     */
+    private synchronized Object lookup(Key key) {
+        Object result = this.results.get(key);
+        if (result != null) {
+            this.hitCount++;
+        }
+        else {
+            this.missCount++;
+        }
+        return result;
+    }
+
+    /**
+     * Stores a result.
+     *
+     * @param key  the key.
+     * @param result  the result.
+     */
+    private synchronized void store(Key key, Object result) {
+        this.results.put(key, result);
+    }
+
+    /**
+     * The key for a cached result.
+     */
+    private static final class Key {
+
+        /** The result type. */
+        private final int type;
+
+        /** The text. */
+        private final String text;
+
+        /** The font. */
+        private final Font font;
+
+        /** The font render context. */
+        private final FontRenderContext frc;
+
+        /** The maximum line width (text blocks only). */
+        private final float maxWidth;
+
+        /** The maximum number of lines (text blocks only). */
+        private final int maxLines;
+
+        /** 
+         * The {@link TextUtils#getUseFontMetricsGetStringBounds()} flag, 
+         * which affects the measurements.
+         */
+        private final boolean useStringBounds;
+
+        /**
+         * Creates a new key.
+         *
+         * @param type  the result type.
+         * @param text  the text.
+         * @param font  the font.
+         * @param frc  the font render context.
+         * @param maxWidth  the maximum line width.
+         * @param maxLines  the maximum number of lines.
+         */
+        Key(int type, String text, Font font, FontRenderContext frc, 
+                float maxWidth, int maxLines) {
+            this.type = type;
+            this.text = text;
+            this.font = font;
+            this.frc = frc;
+            this.maxWidth = maxWidth;
+            this.maxLines = maxLines;
+            this.useStringBounds = TextUtils.getUseFontMetricsGetStringBounds();
+        }
+
+        /**
+         * Tests this key for equality with an arbitrary object.
+         *
+         * @param obj  the object ({@code null} permitted).
+         *
+         * @return A boolean.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.type == that.type && this.text.equals(that.text)
+                    && this.font.equals(that.font) 
+                    && Objects.equals(this.frc, that.frc)
+                    && Float.compare(this.maxWidth, that.maxWidth) == 0
+                    && this.maxLines == that.maxLines
+                    && this.useStringBounds == that.useStringBounds;
+        }
+
+        /**
+         * Returns a hash code for this key.
+         *
+         * @return A hash code.
+         */
+        @Override
+        public int hashCode() {
+            int result = this.type;
+            result = 31 * result + this.text.hashCode();
+            result = 31 * result + this.font.hashCode();
+            result = 31 * result + Objects.hashCode(this.frc);
+            result = 31 * result + Float.hashCode(this.maxWidth);
+            result = 31 * result + this.maxLines;
+            return result;
+        }
+
+    }
+
+}
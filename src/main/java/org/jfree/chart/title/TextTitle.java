@@ -57,10 +57,9 @@ import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.entity.StandardEntityCollection;
 import org.jfree.chart.entity.TitleEntity;
 import org.jfree.chart.event.TitleChangeEvent;
-import org.jfree.chart.text.G2TextMeasurer;
 import org.jfree.chart.text.TextBlock;
+import org.jfree.chart.text.TextMeasurementCache;
 import org.jfree.chart.text.TextBlockAnchor;
-import org.jfree.chart.text.TextUtils;
 import org.jfree.chart.api.HorizontalAlignment;
 import org.jfree.chart.api.RectangleEdge;
 import org.jfree.chart.api.RectangleInsets;
@@ -485,9 +484,9 @@ public class TextTitle extends Title implements Serializable, Cloneable,
         if (position == RectangleEdge.TOP || position == RectangleEdge.BOTTOM) {
             float maxWidth = (float) w;
             g2.setFont(this.font);
-            this.content = TextUtils.createTextBlock(this.text, this.font,
-                    this.paint, maxWidth, this.maximumLinesToDisplay,
-                    new G2TextMeasurer(g2));
+            this.content = TextMeasurementCache.getSharedInstance()
+                    .createTextBlock(this.text, this.font, this.paint, 
+                    maxWidth, this.maximumLinesToDisplay, g2);
             this.content.setLineAlignment(this.textAlignment);
             Size2D contentSize = this.content.calculateDimensions(g2);
             if (this.expandToFitSpace) {
@@ -501,9 +500,9 @@ public class TextTitle extends Title implements Serializable, Cloneable,
                 == RectangleEdge.RIGHT) {
             float maxWidth = Float.MAX_VALUE;
             g2.setFont(this.font);
-            this.content = TextUtils.createTextBlock(this.text, this.font,
-                    this.paint, maxWidth, this.maximumLinesToDisplay,
-                    new G2TextMeasurer(g2));
+            this.content = TextMeasurementCache.getSharedInstance()
+                    .createTextBlock(this.text, this.font, this.paint, 
+                    maxWidth, this.maximumLinesToDisplay, g2);
             this.content.setLineAlignment(this.textAlignment);
             Size2D contentSize = this.content.calculateDimensions(g2);
 
@@ -557,9 +556,9 @@ public class TextTitle extends Title implements Serializable, Cloneable,
         if (position == RectangleEdge.TOP || position == RectangleEdge.BOTTOM) {
             float maxWidth = (float) widthRange.getUpperBound();
             g2.setFont(this.font);
-            this.content = TextUtils.createTextBlock(this.text, this.font,
-                    this.paint, maxWidth, this.maximumLinesToDisplay,
-                    new G2TextMeasurer(g2));
+            this.content = TextMeasurementCache.getSharedInstance()
+                    .createTextBlock(this.text, this.font, this.paint, 
+                    maxWidth, this.maximumLinesToDisplay, g2);
             this.content.setLineAlignment(this.textAlignment);
             Size2D contentSize = this.content.calculateDimensions(g2);
             if (this.expandToFitSpace) {
@@ -573,9 +572,9 @@ public class TextTitle extends Title implements Serializable, Cloneable,
                 == RectangleEdge.RIGHT) {
             float maxWidth = (float) heightRange.getUpperBound();
             g2.setFont(this.font);
-            this.content = TextUtils.createTextBlock(this.text, this.font,
-                    this.paint, maxWidth, this.maximumLinesToDisplay,
-                    new G2TextMeasurer(g2));
+            this.content = TextMeasurementCache.getSharedInstance()
+                    .createTextBlock(this.text, this.font, this.paint, 
+                    maxWidth, this.maximumLinesToDisplay, g2);
             this.content.setLineAlignment(this.textAlignment);
             Size2D contentSize = this.content.calculateDimensions(g2);
 
@@ -37,7 +37,9 @@
 package org.jfree.data;
 
 import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.CircularList;
 import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.internal.ListUtils;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
@@ -54,7 +56,11 @@ import java.util.Objects;
 public class ComparableObjectSeries<K extends Comparable<K>> extends Series<K>
         implements Cloneable, Serializable {
 
-    /** Storage for the data items in the series. */
+    /**
+     * Storage for the data items in the series (a {@link CircularList}, so
+     * that the oldest item can be removed in constant time when the maximum
+     * item count is reached).
+     */
     protected List<ComparableObjectItem> data;
 
     /** The maximum number of items for the series. */
@@ -90,7 +96,7 @@ public class ComparableObjectSeries<K extends Comparable<K>> extends Series<K>
     public ComparableObjectSeries(K key, boolean autoSort,
             boolean allowDuplicateXValues) {
         super(key);
-        this.data = new ArrayList<>();
+        this.data = new CircularList<>();
         this.autoSort = autoSort;
         this.allowDuplicateXValues = allowDuplicateXValues;
     }
@@ -253,6 +259,58 @@ public class ComparableObjectSeries<K extends Comparable<K>> extends Series<K>
         }
     }
 
+    /**
+     * Adds a batch of data items to the series and, if requested, sends a
+     * single {@link SeriesChangeEvent} to all registered listeners.  The 
+     * result is the same as adding the items one at a time, but the batch is
+     * merged into the series in one pass (a batch that follows the existing
+     * items, in particular one that is already sorted, is simply appended)
+     * and the maximum item count is checked once for the whole batch.  If the 
+     * {@code allowDuplicateXValues} flag is not set and the batch would 
+     * create a duplicate x-value, an exception is thrown and the series is
+     * not modified.
+     *
+     * @param items  the items ({@code null} not permitted).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if an x-value is a duplicate and the
+     *     {@code allowDuplicateXValues} flag is not set for this series.
+     */
+    protected void addAll(List<? extends ComparableObjectItem> items, 
+            boolean notify) {
+        Args.nullNotPermitted(items, "items");
+        if (items.isEmpty()) {
+            return;
+        }
+        List<ComparableObjectItem> batch = new ArrayList<>(items.size());
+        for (ComparableObjectItem item : items) {
+            Args.nullNotPermitted(item, "item");
+            batch.add(item);
+        }
+        if (this.autoSort) {
+            if (ListUtils.mergeSorted(this.data, batch, 
+                    this.allowDuplicateXValues) < 0) {
+                throw new SeriesException("X-value already exists.");
+            }
+        }
+        else {
+            if (!this.allowDuplicateXValues 
+                    && ListUtils.containsDuplicates(this.data, batch)) {
+                throw new SeriesException("X-value already exists.");
+            }
+            this.data.addAll(batch);
+        }
+        int remove = this.data.size() - this.maximumItemCount;
+        if (remove > 0) {
+            this.data.subList(0, remove).clear();
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
     /**
      * Returns the index of the item with the specified x-value, or a negative
      * index if the series does not contain an item with that x-value.  Be
@@ -451,7 +509,7 @@ public class ComparableObjectSeries<K extends Comparable<K>> extends Series<K>
     @SuppressWarnings("unchecked")
     public Object clone() throws CloneNotSupportedException {
         ComparableObjectSeries<K> clone = (ComparableObjectSeries<K>) super.clone();
-        clone.data = CloneUtils.cloneList(this.data);
+        clone.data = new CircularList<>(CloneUtils.cloneList(this.data));
         return clone;
     }
 
@@ -42,6 +42,7 @@ import java.io.*;
 import java.util.Arrays;
 import java.util.EventListener;
 import java.util.List;
+import org.jfree.chart.internal.Args;
 
 /**
  * An abstract implementation of the {@link Dataset} interface, containing a
@@ -62,6 +63,15 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      */
     private boolean notify;
 
+    /**
+     * The minimum time (in milliseconds) between change notifications, zero
+     * means listeners are notified of each change as it happens.
+     */
+    private long notificationInterval;
+
+    /** Merges changes when a notification interval is set (lazily created). */
+    private transient ChangeCoalescer coalescer;
+
     /**
      * Constructs a dataset.
      */
@@ -97,6 +107,38 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
         }    
     }
     
+    /**
+     * Returns the minimum time (in milliseconds) between change
+     * notifications.  The default value is {@code 0}.
+     *
+     * @return The notification interval.
+     *
+     * @see #setNotificationInterval(long)
+     */
+    public long getNotificationInterval() {
+        return this.notificationInterval;
+    }
+
+    /**
+     * Sets the minimum time (in milliseconds) between change notifications.
+     * When this is greater than zero, the changes made during each interval
+     * are merged into a single {@link MergedDatasetChangeEvent} that is sent
+     * on the event dispatch thread, so that a dataset receiving many updates
+     * (for example, from a data feed) causes at most one chart redraw per 
+     * interval.  The producer does not need to use the {@code notify} flag 
+     * to batch its updates.  When the interval is zero (the default), 
+     * listeners are notified of each change as it happens, on the thread
+     * that made the change.
+     *
+     * @param millis  the interval (in milliseconds, zero or greater).
+     *
+     * @see #getNotificationInterval()
+     */
+    public void setNotificationInterval(long millis) {
+        Args.requireNonNegative(millis, "millis");
+        this.notificationInterval = millis;
+    }
+
     /**
      * Registers an object to receive notification of changes to the dataset.
      *
@@ -147,11 +189,47 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      * @see #addChangeListener(DatasetChangeListener)
      */
     protected void fireDatasetChanged() {
-        if (this.notify) {
+        fireDatasetChanged(null);
+    }
+
+    /**
+     * Notifies all registered listeners that one series in the dataset has
+     * changed, provided that the {@code notify} flag has not been set to 
+     * {@code false}.  The series key is only used when a notification 
+     * interval is set, where it is reported in the merged event.
+     *
+     * @param seriesKey  the key for the series that changed ({@code null} 
+     *     if any part of the dataset may have changed).
+     *
+     * @see #setNotificationInterval(long)
+     */
+    protected void fireDatasetChanged(Comparable<?> seriesKey) {
+        if (!this.notify) {
+            return;
+        }
+        if (this.notificationInterval > 0L) {
+            getCoalescer().changed(seriesKey, this.notificationInterval);
+        }
+        else {
             notifyListeners(new DatasetChangeEvent(this, this));
         }
     }
 
+    /**
+     * Returns the object that merges changes when a notification interval is
+     * set, creating it if necessary.
+     *
+     * @return The coalescer (never {@code null}).
+     */
+    private synchronized ChangeCoalescer getCoalescer() {
+        if (this.coalescer == null) {
+            this.coalescer = new ChangeCoalescer((count, keys) 
+                    -> notifyListeners(new MergedDatasetChangeEvent(this, 
+                    this, count, keys)));
+        }
+        return this.coalescer;
+    }
+
     /**
      * Notifies all registered listeners that the dataset has changed.
      *
@@ -185,6 +263,7 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
     public Object clone() throws CloneNotSupportedException {
         AbstractDataset clone = (AbstractDataset) super.clone();
         clone.listenerList = new EventListenerList();
+        clone.coalescer = null;
         return clone;
     }
 
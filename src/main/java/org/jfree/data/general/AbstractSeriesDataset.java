@@ -104,7 +104,12 @@ public abstract class AbstractSeriesDataset<S extends Comparable<S>>
      */
     @Override
     public void seriesChanged(SeriesChangeEvent event) {
-        fireDatasetChanged();
+        if (event.getSource() instanceof Series) {
+            fireDatasetChanged(((Series<?>) event.getSource()).getKey());
+        }
+        else {
+            fireDatasetChanged();
+        }
     }
 
 }
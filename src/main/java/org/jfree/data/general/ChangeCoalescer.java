@@ -0,0 +1,149 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * ChangeCoalescer.java
+ * --------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.swing.Timer;
+
+/**
+ * Collects change notifications and passes them on in a single delivery at
+ * most once per interval.  The first change after a delivery starts a
+ * one-shot timer, further changes are merged into the pending delivery until
+ * the timer fires.  Deliveries are made on the event dispatch thread, which
+ * is where Swing components (such as a chart panel) expect to be told about
+ * changes.
+ */
+class ChangeCoalescer implements ActionListener {
+
+    /**
+     * The receiver for merged changes.
+     */
+    interface Target {
+
+        /**
+         * Receives a merged change.
+         *
+         * @param changeCount  the number of changes that were merged.
+         * @param seriesKeys  the keys for the series that changed
+         *     ({@code null} if any part of the owner may have changed).
+         */
+        void deliver(int changeCount, Set<Comparable<?>> seriesKeys);
+
+    }
+
+    /** The receiver for merged changes. */
+    private final Target target;
+
+    /** The timer that triggers a delivery. */
+    private final Timer timer;
+
+    /** The time of the last delivery (in milliseconds). */
+    private long lastDelivery;
+
+    /** The number of changes since the last delivery. */
+    private int changeCount;
+
+    /**
+     * The keys of the series changed since the last delivery ({@code null}
+     * if any part of the owner may have changed).
+     */
+    private Set<Comparable<?>> seriesKeys;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param target  the receiver for merged changes.
+     */
+    ChangeCoalescer(Target target) {
+        this.target = target;
+        this.timer = new Timer(0, this);
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Records a change, scheduling a delivery if none is pending.  This
+     * method can be called from any thread.
+     *
+     * @param seriesKey  the key for the series that changed ({@code null} if
+     *     any part of the owner may have changed).
+     * @param interval  the minimum time between deliveries (in milliseconds).
+     */
+    synchronized void changed(Comparable<?> seriesKey, long interval) {
+        if (this.changeCount == 0) {
+            this.seriesKeys = new LinkedHashSet<>();
+            long elapsed = System.currentTimeMillis() - this.lastDelivery;
+            long delay = Math.max(0L, Math.min(interval - elapsed, interval));
+            this.timer.setInitialDelay((int) Math.min(delay, 
+                    Integer.MAX_VALUE));
+            this.timer.start();
+        }
+        this.changeCount++;
+        if (this.seriesKeys != null) {
+            if (seriesKey != null) {
+                this.seriesKeys.add(seriesKey);
+            }
+            else {
+                this.seriesKeys = null;
+            }
+        }
+    }
+
+    /**
+     * Delivers the pending changes (called by the timer).
+     *
+     * @param event  the timer event.
+     */
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        int count;
+        Set<Comparable<?>> keys;
+        synchronized (this) {
+            count = this.changeCount;
+            keys = this.seriesKeys;
+            this.changeCount = 0;
+            this.seriesKeys = null;
+            this.lastDelivery = System.currentTimeMillis();
+        }
+        if (count > 0) {
+            this.target.deliver(count, keys);
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * MergedDatasetChangeEvent.java
+ * -----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A {@link DatasetChangeEvent} that stands for a number of changes merged
+ * into a single notification.  Datasets send this event when a notification
+ * interval has been set (see 
+ * {@link AbstractDataset#setNotificationInterval(long)}), listeners that 
+ * don't care about the details can treat it as an ordinary dataset change 
+ * event.
+ */
+public class MergedDatasetChangeEvent extends DatasetChangeEvent {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -7512263384120952786L;
+
+    /** The number of changes merged into this event. */
+    private final int changeCount;
+
+    /**
+     * The keys for the series that changed ({@code null} if any part of the
+     * dataset may have changed).
+     */
+    private final Set<Comparable<?>> seriesKeys;
+
+    /**
+     * Creates a new event.
+     *
+     * @param source  the source of the event.
+     * @param dataset  the dataset that generated the event.
+     * @param changeCount  the number of changes merged into this event.
+     * @param seriesKeys  the keys for the series that changed ({@code null}
+     *     if any part of the dataset may have changed).
+     */
+    public MergedDatasetChangeEvent(Object source, Dataset dataset,
+            int changeCount, Set<Comparable<?>> seriesKeys) {
+        super(source, dataset);
+        this.changeCount = changeCount;
+        this.seriesKeys = (seriesKeys != null) ? Collections.unmodifiableSet(
+                new LinkedHashSet<>(seriesKeys)) : null;
+    }
+
+    /**
+     * Returns the number of changes merged into this event.
+     *
+     * @return The number of changes.
+     */
+    public int getChangeCount() {
+        return this.changeCount;
+    }
+
+    /**
+     * Returns the keys for the series that changed, or {@code null} if any
+     * part of the dataset may have changed (for example, when series were
+     * added or removed).
+     *
+     * @return An unmodifiable set of series keys (possibly {@code null}).
+     */
+    public Set<Comparable<?>> getSeriesKeys() {
+        return this.seriesKeys;
+    }
+
+}
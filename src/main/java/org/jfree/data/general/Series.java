@@ -66,6 +66,15 @@ public abstract class Series<K extends Comparable<K>>
     /** A flag that controls whether changes are notified. */
     private boolean notify;
 
+    /**
+     * The minimum time (in milliseconds) between change notifications, zero
+     * means listeners are notified of each change as it happens.
+     */
+    private long notificationInterval;
+
+    /** Merges changes when a notification interval is set (lazily created). */
+    private transient ChangeCoalescer coalescer;
+
     /**
      * Creates a new series with the specified key and description.
      *
@@ -114,6 +123,35 @@ public abstract class Series<K extends Comparable<K>>
         }
     }
 
+    /**
+     * Returns the minimum time (in milliseconds) between change
+     * notifications.  The default value is {@code 0}.
+     *
+     * @return The notification interval.
+     *
+     * @see #setNotificationInterval(long)
+     */
+    public long getNotificationInterval() {
+        return this.notificationInterval;
+    }
+
+    /**
+     * Sets the minimum time (in milliseconds) between change notifications.
+     * When this is greater than zero, the changes made during each interval
+     * are merged into a single {@link SeriesChangeEvent} that is sent on the
+     * event dispatch thread.  When the interval is zero (the default), 
+     * listeners are notified of each change as it happens, on the thread
+     * that made the change.
+     *
+     * @param millis  the interval (in milliseconds, zero or greater).
+     *
+     * @see #getNotificationInterval()
+     */
+    public void setNotificationInterval(long millis) {
+        Args.requireNonNegative(millis, "millis");
+        this.notificationInterval = millis;
+    }
+
     /**
      * Returns {@code true} if the series contains no data items, and
      * {@code false} otherwise.
@@ -155,6 +193,7 @@ public abstract class Series<K extends Comparable<K>>
         @SuppressWarnings("unchecked")
         Series<K> clone = (Series) super.clone();
         clone.listeners = new EventListenerList();
+        clone.coalescer = null;
         return clone;
     }
 
@@ -219,11 +258,31 @@ public abstract class Series<K extends Comparable<K>>
      * has been changed.
      */
     public void fireSeriesChanged() {
-        if (this.notify) {
+        if (!this.notify) {
+            return;
+        }
+        if (this.notificationInterval > 0L) {
+            getCoalescer().changed(null, this.notificationInterval);
+        }
+        else {
             notifyListeners(new SeriesChangeEvent(this));
         }
     }
 
+    /**
+     * Returns the object that merges changes when a notification interval is
+     * set, creating it if necessary.
+     *
+     * @return The coalescer (never {@code null}).
+     */
+    private synchronized ChangeCoalescer getCoalescer() {
+        if (this.coalescer == null) {
+            this.coalescer = new ChangeCoalescer((count, keys) 
+                    -> notifyListeners(new SeriesChangeEvent(this)));
+        }
+        return this.coalescer;
+    }
+
     /**
      * Sends a change event to all registered listeners.
      *
@@ -37,10 +37,14 @@
 
 package org.jfree.data.statistics;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
 
 import org.jfree.data.KeyedObjects2D;
 import org.jfree.data.Range;
@@ -81,11 +85,18 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
      */
     private int maximumRangeValueColumn;
 
+    /** 
+     * The sketches for the cells that have had observations added, keyed by
+     * a list containing the row key and the column key.
+     */
+    private Map<List<Object>, QuantileSketch> sketches;
+
     /**
      * Creates a new dataset.
      */
     public DefaultBoxAndWhiskerCategoryDataset() {
         this.data = new KeyedObjects2D<>();
+        this.sketches = new HashMap<>();
         this.minimumRangeValue = Double.NaN;
         this.minimumRangeValueRow = -1;
         this.minimumRangeValueColumn = -1;
@@ -122,6 +133,108 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
      * @see #add(List, Comparable, Comparable)
      */
     public void add(BoxAndWhiskerItem item, R rowKey, C columnKey) {
+        Args.nullNotPermitted(rowKey, "rowKey");
+        Args.nullNotPermitted(columnKey, "columnKey");
+        this.sketches.remove(cellKey(rowKey, columnKey));
+        setItem(item, rowKey, columnKey);
+    }
+
+    /**
+     * Adds an observation to the cell for the given keys, updates the 
+     * box-and-whisker item for the cell and sends a 
+     * {@link DatasetChangeEvent} to all registered listeners.  The 
+     * observations for each cell are summarised by a {@link QuantileSketch},
+     * so the memory used does not grow with the number of observations, and
+     * the item is calculated from the sketch (for large numbers of 
+     * observations, the median, quartiles and outliers are estimates).  The 
+     * item is recalculated and an event sent for each call, so use
+     * {@link #addObservations(double[], Comparable, Comparable)} to add many
+     * observations at once.
+     *
+     * @param value  the observation ({@code Double.NaN} is ignored).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     */
+    public void addObservation(double value, R rowKey, C columnKey) {
+        addObservations(new double[] {value}, rowKey, columnKey);
+    }
+
+    /**
+     * Adds observations to the cell for the given keys, updates the 
+     * box-and-whisker item for the cell and sends a 
+     * {@link DatasetChangeEvent} to all registered listeners.  If the cell
+     * holds an item that was not calculated from observations, it is 
+     * replaced.
+     *
+     * @param values  the observations ({@code null} not permitted, 
+     *     {@code Double.NaN} values are ignored).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @see #addObservation(double, Comparable, Comparable)
+     */
+    public void addObservations(double[] values, R rowKey, C columnKey) {
+        Args.nullNotPermitted(values, "values");
+        QuantileSketch sketch = getSketchForCell(rowKey, columnKey);
+        sketch.addAll(values);
+        setItem(sketch.getBoxAndWhiskerItem(), rowKey, columnKey);
+    }
+
+    /**
+     * Adds the observations summarised by a sketch (for example, one built
+     * on another thread) to the cell for the given keys, updates the 
+     * box-and-whisker item for the cell and sends a 
+     * {@link DatasetChangeEvent} to all registered listeners.  The sketch is
+     * not changed.
+     *
+     * @param observations  the observations ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     */
+    public void addObservations(QuantileSketch observations, R rowKey, 
+            C columnKey) {
+        Args.nullNotPermitted(observations, "observations");
+        QuantileSketch sketch = getSketchForCell(rowKey, columnKey);
+        sketch.merge(observations);
+        setItem(sketch.getBoxAndWhiskerItem(), rowKey, columnKey);
+    }
+
+    /**
+     * Returns the sketch for a cell, creating it if necessary.
+     *
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @return The sketch.
+     */
+    private QuantileSketch getSketchForCell(R rowKey, C columnKey) {
+        Args.nullNotPermitted(rowKey, "rowKey");
+        Args.nullNotPermitted(columnKey, "columnKey");
+        return this.sketches.computeIfAbsent(cellKey(rowKey, columnKey), 
+                k -> new QuantileSketch());
+    }
+
+    /**
+     * Returns the key for a cell in the map of sketches.
+     *
+     * @param rowKey  the row key.
+     * @param columnKey  the column key.
+     *
+     * @return The key.
+     */
+    private static List<Object> cellKey(Object rowKey, Object columnKey) {
+        return Arrays.asList(rowKey, columnKey);
+    }
+
+    /**
+     * Stores an item in the table, updates the cached bounds and sends a 
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param item  a box and whisker item ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     */
+    private void setItem(BoxAndWhiskerItem item, R rowKey, C columnKey) {
 
         this.data.addObject(item, rowKey, columnKey);
 
@@ -150,23 +263,16 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
     }
 
     private void changeRangeValue(BoxAndWhiskerItem item, int r, int c, double minval, double maxval) {
-        if (Double.isNaN(this.maximumRangeValue)) {
-            this.maximumRangeValue = maxval;
-            this.maximumRangeValueRow = r;
-            this.maximumRangeValueColumn = c;
-        }
-        else if (maxval > this.maximumRangeValue) {
+        // an item without values (for example, one calculated from no
+        // observations) doesn't change the bounds
+        if (!Double.isNaN(maxval) && (Double.isNaN(this.maximumRangeValue)
+                || maxval > this.maximumRangeValue)) {
             this.maximumRangeValue = maxval;
             this.maximumRangeValueRow = r;
             this.maximumRangeValueColumn = c;
         }
-
-        if (Double.isNaN(this.minimumRangeValue)) {
-            this.minimumRangeValue = minval;
-            this.minimumRangeValueRow = r;
-            this.minimumRangeValueColumn = c;
-        }
-        else if (minval < this.minimumRangeValue) {
+        if (!Double.isNaN(minval) && (Double.isNaN(this.minimumRangeValue)
+                || minval < this.minimumRangeValue)) {
             this.minimumRangeValue = minval;
             this.minimumRangeValueRow = r;
             this.minimumRangeValueColumn = c;
@@ -189,6 +295,7 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
         int r = getRowIndex(rowKey);
         int c = getColumnIndex(columnKey);
         this.data.removeObject(rowKey, columnKey);
+        this.sketches.remove(cellKey(rowKey, columnKey));
 
         // if this cell held a maximum and/or minimum value, we'll need to
         // update the cached bounds...
@@ -212,7 +319,9 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
      * @since 1.0.7
      */
     public void removeRow(int rowIndex) {
+        R rowKey = this.data.getRowKey(rowIndex);
         this.data.removeRow(rowIndex);
+        this.sketches.keySet().removeIf(k -> k.get(0).equals(rowKey));
         updateBounds();
         fireDatasetChanged();
     }
@@ -229,6 +338,7 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
      */
     public void removeRow(R rowKey) {
         this.data.removeRow(rowKey);
+        this.sketches.keySet().removeIf(k -> k.get(0).equals(rowKey));
         updateBounds();
         fireDatasetChanged();
     }
@@ -244,7 +354,9 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
      * @since 1.0.7
      */
     public void removeColumn(int columnIndex) {
+        C columnKey = this.data.getColumnKey(columnIndex);
         this.data.removeColumn(columnIndex);
+        this.sketches.keySet().removeIf(k -> k.get(1).equals(columnKey));
         updateBounds();
         fireDatasetChanged();
     }
@@ -261,6 +373,7 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
      */
     public void removeColumn(C columnKey) {
         this.data.removeColumn(columnKey);
+        this.sketches.keySet().removeIf(k -> k.get(1).equals(columnKey));
         updateBounds();
         fireDatasetChanged();
     }
@@ -273,6 +386,7 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
      */
     public void clear() {
         this.data.clear();
+        this.sketches.clear();
         updateBounds();
         fireDatasetChanged();
     }
@@ -932,6 +1046,12 @@ public class DefaultBoxAndWhiskerCategoryDataset<R extends Comparable<R>,
         DefaultBoxAndWhiskerCategoryDataset<R, C> clone
                 = (DefaultBoxAndWhiskerCategoryDataset) super.clone();
         clone.data = (KeyedObjects2D<R, C>) this.data.clone();
+        clone.sketches = new HashMap<>();
+        for (Map.Entry<List<Object>, QuantileSketch> entry 
+                : this.sketches.entrySet()) {
+            clone.sketches.put(entry.getKey(), 
+                    (QuantileSketch) entry.getValue().clone());
+        }
         return clone;
     }
 
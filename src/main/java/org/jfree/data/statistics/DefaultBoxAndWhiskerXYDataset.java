@@ -42,6 +42,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
+import org.jfree.chart.internal.Args;
 import org.jfree.data.Range;
 import org.jfree.data.RangeInfo;
 import org.jfree.data.general.DatasetChangeEvent;
@@ -64,6 +65,12 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     /** Storage for the box and whisker statistics. */
     private List<BoxAndWhiskerItem> items;
 
+    /** 
+     * The sketches for the items calculated from observations (the list has
+     * one entry per item, {@code null} for items that were added directly).
+     */
+    private List<QuantileSketch> sketches;
+
     /** The minimum range value. */
     private Number minimumRangeValue;
 
@@ -101,6 +108,7 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
         this.seriesKey = seriesKey;
         this.dates = new ArrayList();
         this.items = new ArrayList<>();
+        this.sketches = new ArrayList<>();
         this.minimumRangeValue = null;
         this.maximumRangeValue = null;
         this.rangeBounds = null;
@@ -204,6 +212,105 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
     public void add(Date date, BoxAndWhiskerItem item) {
         this.dates.add(date);
         this.items.add(item);
+        this.sketches.add(null);
+        updateBoundsForAddedItem(item);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Adds an observation for the given date, updates the box-and-whisker
+     * item for the date and sends a {@link DatasetChangeEvent} to all 
+     * registered listeners.  The observations for each date are summarised
+     * by a {@link QuantileSketch}, so the memory used does not grow with the
+     * number of observations, and the item is calculated from the sketch 
+     * (for large numbers of observations, the median, quartiles and outliers
+     * are estimates).  The item is recalculated and an event sent for each
+     * call, so use {@link #addObservations(Date, double[])} to add many 
+     * observations at once.
+     *
+     * @param date  the date ({@code null} not permitted).
+     * @param value  the observation ({@code Double.NaN} is ignored).
+     */
+    public void addObservation(Date date, double value) {
+        addObservations(date, new double[] {value});
+    }
+
+    /**
+     * Adds observations for the given date, updates the box-and-whisker 
+     * item for the date and sends a {@link DatasetChangeEvent} to all 
+     * registered listeners.  If the dataset already has an item calculated 
+     * from observations for the date, the observations are added to it, 
+     * if it has an item that was added directly for the date, that item is
+     * replaced, otherwise a new item is added at the end of the dataset.
+     *
+     * @param date  the date ({@code null} not permitted).
+     * @param values  the observations ({@code null} not permitted, 
+     *     {@code Double.NaN} values are ignored).
+     *
+     * @see #addObservation(Date, double)
+     */
+    public void addObservations(Date date, double[] values) {
+        Args.nullNotPermitted(values, "values");
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.addAll(values);
+        addObservations(date, sketch);
+    }
+
+    /**
+     * Adds the observations summarised by a sketch (for example, one built
+     * on another thread) for the given date, updates the box-and-whisker 
+     * item for the date and sends a {@link DatasetChangeEvent} to all 
+     * registered listeners.  The sketch is not changed.
+     *
+     * @param date  the date ({@code null} not permitted).
+     * @param observations  the observations ({@code null} not permitted).
+     *
+     * @see #addObservations(Date, double[])
+     */
+    public void addObservations(Date date, QuantileSketch observations) {
+        Args.nullNotPermitted(date, "date");
+        Args.nullNotPermitted(observations, "observations");
+        // observations usually arrive for the latest date, so search 
+        // backwards...
+        int index = this.dates.lastIndexOf(date);
+        if (index < 0) {
+            QuantileSketch sketch = new QuantileSketch();
+            sketch.merge(observations);
+            BoxAndWhiskerItem item = sketch.getBoxAndWhiskerItem();
+            this.dates.add(date);
+            this.items.add(item);
+            this.sketches.add(sketch);
+            updateBoundsForAddedItem(item);
+        }
+        else {
+            // an item that was added directly is replaced, in the same way
+            // that the category dataset replaces the item for a cell
+            QuantileSketch sketch = this.sketches.get(index);
+            if (sketch == null) {
+                sketch = new QuantileSketch();
+                this.sketches.set(index, sketch);
+            }
+            sketch.merge(observations);
+            BoxAndWhiskerItem item = sketch.getBoxAndWhiskerItem();
+            BoxAndWhiskerItem previous = this.items.set(index, item);
+            updateBoundsForReplacedItem(previous, item);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Updates the cached range bounds for an item that has been added to
+     * the dataset.
+     *
+     * @param item  the item.
+     */
+    private void updateBoundsForAddedItem(BoxAndWhiskerItem item) {
+        // an item without values (for example, one calculated from no
+        // observations) doesn't change the bounds
+        if (!(valueOf(item.getMinRegularValue()) 
+                <= valueOf(item.getMaxRegularValue()))) {
+            return;
+        }
         if (this.minimumRangeValue == null) {
             this.minimumRangeValue = item.getMinRegularValue();
         }
@@ -224,7 +331,51 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
         }
         this.rangeBounds = new Range(this.minimumRangeValue.doubleValue(),
                 this.maximumRangeValue.doubleValue());
-        fireDatasetChanged();
+    }
+
+    /**
+     * Updates the cached range bounds for an item that has replaced another
+     * item in the dataset.  The bounds are only recalculated from all the 
+     * items if the previous item defined one of the bounds and the new item
+     * lies inside it.
+     *
+     * @param previous  the item that was replaced.
+     * @param item  the new item.
+     */
+    private void updateBoundsForReplacedItem(BoxAndWhiskerItem previous, 
+            BoxAndWhiskerItem item) {
+        if (this.rangeBounds == null) {
+            updateBoundsForAddedItem(item);
+            return;
+        }
+        double min = this.minimumRangeValue.doubleValue();
+        double max = this.maximumRangeValue.doubleValue();
+        boolean shrinks = (valueOf(previous.getMinRegularValue()) <= min
+                && !(valueOf(item.getMinRegularValue()) <= min))
+                || (valueOf(previous.getMaxRegularValue()) >= max
+                && !(valueOf(item.getMaxRegularValue()) >= max));
+        if (!shrinks) {
+            updateBoundsForAddedItem(item);
+            return;
+        }
+        this.minimumRangeValue = null;
+        this.maximumRangeValue = null;
+        this.rangeBounds = null;
+        for (BoxAndWhiskerItem i : this.items) {
+            updateBoundsForAddedItem(i);
+        }
+    }
+
+    /**
+     * Returns the value of a number, or {@code Double.NaN} for 
+     * {@code null}.
+     *
+     * @param n  the number ({@code null} permitted).
+     *
+     * @return The value.
+     */
+    private static double valueOf(Number n) {
+        return n != null ? n.doubleValue() : Double.NaN;
     }
 
     /**
@@ -559,6 +710,11 @@ public class DefaultBoxAndWhiskerXYDataset<S extends Comparable<S>>
                 = (DefaultBoxAndWhiskerXYDataset) super.clone();
         clone.dates = new java.util.ArrayList(this.dates);
         clone.items = new java.util.ArrayList(this.items);
+        clone.sketches = new ArrayList<>(this.sketches.size());
+        for (QuantileSketch sketch : this.sketches) {
+            clone.sketches.add(sketch == null ? null 
+                    : (QuantileSketch) sketch.clone());
+        }
         return clone;
     }
 
@@ -0,0 +1,280 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * LinearRegression.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.function.Function2D;
+import org.jfree.data.function.LineFunction2D;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * An accumulator that fits a straight line {@code y = a + bx} to a set of
+ * (x, y) values using ordinary least squares.  The values are not stored:
+ * each value updates the count, the means and the sums of squared (and 
+ * cross) deviations from the means, so adding a value takes constant time
+ * and the fit is available at any time without rescanning the data.  The 
+ * updates are the numerically stable ones described by Welford, so the 
+ * results stay accurate when the x-values are large compared to their 
+ * spread (for example, dates in milliseconds).
+ * <P>
+ * Accumulators are mergeable: the values in separate accumulators (for 
+ * example, accumulators for chunks of a large series filled in parallel) 
+ * can be combined with {@link #merge(LinearRegression)}.
+ * <P>
+ * The accumulator is also a {@link Function2D} that returns the value of 
+ * the current fitted line, so it can be used directly to draw a trend line
+ * that follows a growing series.  Use {@link #toFunction()} to obtain an
+ * immutable copy of the current line.
+ * <P>
+ * This class is not thread-safe.
+ */
+public class LinearRegression implements Function2D, Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4327741622829406152L;
+
+    /** The number of (x, y) values. */
+    private long count;
+
+    /** The mean of the x-values. */
+    private double meanX;
+
+    /** The mean of the y-values. */
+    private double meanY;
+
+    /** The sum of squared deviations of the x-values from their mean. */
+    private double sxx;
+
+    /** The sum of squared deviations of the y-values from their mean. */
+    private double syy;
+
+    /** The sum of the products of the x and y deviations. */
+    private double sxy;
+
+    /**
+     * Creates a new accumulator with no values.
+     */
+    public LinearRegression() {
+        super();
+    }
+
+    /**
+     * Returns the number of (x, y) values that have been added.
+     *
+     * @return The number of values.
+     */
+    public long getItemCount() {
+        return this.count;
+    }
+
+    /**
+     * Adds an (x, y) value.  Values where either x or y is 
+     * {@code Double.NaN} are ignored.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    public void add(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return;
+        }
+        this.count++;
+        double dx = x - this.meanX;
+        double dy = y - this.meanY;
+        this.meanX += dx / this.count;
+        this.meanY += dy / this.count;
+        double dy2 = y - this.meanY;
+        this.sxx += dx * (x - this.meanX);
+        this.syy += dy * dy2;
+        this.sxy += dx * dy2;
+    }
+
+    /**
+     * Adds the values from two arrays.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted, same length as 
+     *     {@code x}).
+     */
+    public void add(double[] x, double[] y) {
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(y, "y");
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Array lengths must be equal.");
+        }
+        for (int i = 0; i < x.length; i++) {
+            add(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Adds the items in a series from {@code firstItem} to the end of the 
+     * series.  To keep a fit up to date as a series grows, pass the item 
+     * count from the previous call as {@code firstItem} so that only the new
+     * items are added.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param firstItem  the index of the first item to add.
+     */
+    public void add(XYDataset dataset, int series, int firstItem) {
+        Args.nullNotPermitted(dataset, "dataset");
+        int itemCount = dataset.getItemCount(series);
+        Args.requireInRange(firstItem, "firstItem", 0, itemCount);
+        for (int i = firstItem; i < itemCount; i++) {
+            add(dataset.getXValue(series, i), dataset.getYValue(series, i));
+        }
+    }
+
+    /**
+     * Adds the values from another accumulator to this accumulator.
+     *
+     * @param other  the other accumulator ({@code null} not permitted).
+     */
+    public void merge(LinearRegression other) {
+        Args.nullNotPermitted(other, "other");
+        if (other.count == 0) {
+            return;
+        }
+        if (this.count == 0) {
+            this.count = other.count;
+            this.meanX = other.meanX;
+            this.meanY = other.meanY;
+            this.sxx = other.sxx;
+            this.syy = other.syy;
+            this.sxy = other.sxy;
+            return;
+        }
+        long total = this.count + other.count;
+        double dx = other.meanX - this.meanX;
+        double dy = other.meanY - this.meanY;
+        double f = (double) other.count / total;
+        double w = this.count * f;
+        this.meanX += dx * f;
+        this.meanY += dy * f;
+        this.sxx += other.sxx + dx * dx * w;
+        this.syy += other.syy + dy * dy * w;
+        this.sxy += other.sxy + dx * dy * w;
+        this.count = total;
+    }
+
+    /**
+     * Removes all values from the accumulator.
+     */
+    public void clear() {
+        this.count = 0;
+        this.meanX = 0.0;
+        this.meanY = 0.0;
+        this.sxx = 0.0;
+        this.syy = 0.0;
+        this.sxy = 0.0;
+    }
+
+    /**
+     * Returns the intercept 'a' of the fitted line.
+     *
+     * @return The intercept ({@code Double.NaN} if there are fewer than two
+     *     values).
+     */
+    public double getIntercept() {
+        return this.meanY - getSlope() * this.meanX;
+    }
+
+    /**
+     * Returns the slope 'b' of the fitted line.
+     *
+     * @return The slope ({@code Double.NaN} if there are fewer than two 
+     *     values).
+     */
+    public double getSlope() {
+        if (this.count < 2) {
+            return Double.NaN;
+        }
+        return this.sxy / this.sxx;
+    }
+
+    /**
+     * Returns the coefficient of determination (R<sup>2</sup>) for the 
+     * fitted line.
+     *
+     * @return The coefficient of determination ({@code Double.NaN} if there
+     *     are fewer than two values).
+     */
+    public double getRSquare() {
+        if (this.count < 2) {
+            return Double.NaN;
+        }
+        return (this.sxy * this.sxy) / (this.sxx * this.syy);
+    }
+
+    /**
+     * Returns the value of the fitted line at the specified x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The value ({@code Double.NaN} if there are fewer than two 
+     *     values).
+     */
+    @Override
+    public double getValue(double x) {
+        return this.meanY + getSlope() * (x - this.meanX);
+    }
+
+    /**
+     * Returns an immutable function for the current fitted line.
+     *
+     * @return The function.
+     */
+    public LineFunction2D toFunction() {
+        return new LineFunction2D(getIntercept(), getSlope());
+    }
+
+    /**
+     * Returns an independent copy of this accumulator.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+
+}
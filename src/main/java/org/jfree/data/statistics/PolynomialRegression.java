@@ -0,0 +1,487 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * PolynomialRegression.java
+ * -------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.function.Function2D;
+import org.jfree.data.function.PolynomialFunction2D;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * An accumulator that fits a polynomial 
+ * {@code y = a0 + a1 * x + a2 * x^2 + ... + an * x^n} to a set of (x, y)
+ * values using least squares.  The values are not stored: each value 
+ * updates the sums of the powers of x (up to 2n), the sums of y times the
+ * powers of x (up to n) and the sum of y squared, so adding a value takes 
+ * O(n) time.  The sums are taken relative to the first value added, so 
+ * large offsets in x (for example, millisecond dates) or y do not cancel
+ * out the variation in the data.  The coefficients are found by solving 
+ * the (n + 1) by (n + 1) normal equations for x centered on its mean and 
+ * scaled by its standard deviation, which is only done when the 
+ * coefficients are needed after a change, so the time taken does not 
+ * depend on the number of values.
+ * <P>
+ * Accumulators with the same order can be combined with 
+ * {@link #merge(PolynomialRegression)}.
+ * <P>
+ * The accumulator is also a {@link Function2D} that returns the value of 
+ * the current fitted polynomial.  Use {@link #toFunction()} to obtain an 
+ * immutable copy of the current polynomial.
+ * <P>
+ * This class is not thread-safe.
+ */
+public class PolynomialRegression implements Function2D, Cloneable, 
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2196513582645301935L;
+
+    /** The order of the polynomial. */
+    private final int order;
+
+    /** The x-value that the sums are relative to. */
+    private double originX;
+
+    /** The y-value that the sums are relative to. */
+    private double originY;
+
+    /** 
+     * The sums of dx^0, dx^1, ..., dx^(2 * order), where dx is the x-value 
+     * less {@code originX}.
+     */
+    private double[] powerSums;
+
+    /** 
+     * The sums of dy * dx^0, dy * dx^1, ..., dy * dx^order, where dy is the
+     * y-value less {@code originY}.
+     */
+    private double[] productSums;
+
+    /** The sum of dy^2. */
+    private double sumYY;
+
+    /** 
+     * The fit for the current sums (or {@code null} if it needs to be 
+     * calculated). 
+     */
+    private transient Fit fit;
+
+    /**
+     * Creates a new accumulator with no values.
+     *
+     * @param order  the order of the polynomial (&gt; 0).
+     */
+    public PolynomialRegression(int order) {
+        if (order < 1) {
+            throw new IllegalArgumentException("Requires 'order' > 0.");
+        }
+        this.order = order;
+        this.powerSums = new double[2 * order + 1];
+        this.productSums = new double[order + 1];
+    }
+
+    /**
+     * Returns the order of the polynomial.
+     *
+     * @return The order.
+     */
+    public int getOrder() {
+        return this.order;
+    }
+
+    /**
+     * Returns the number of (x, y) values that have been added.
+     *
+     * @return The number of values.
+     */
+    public long getItemCount() {
+        return (long) this.powerSums[0];
+    }
+
+    /**
+     * Adds an (x, y) value.  Values where either x or y is 
+     * {@code Double.NaN} are ignored.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    public void add(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return;
+        }
+        if (this.powerSums[0] == 0.0) {
+            this.originX = x;
+            this.originY = y;
+        }
+        double dx = x - this.originX;
+        double dy = y - this.originY;
+        double p = 1.0;
+        for (int i = 0; i <= this.order; i++) {
+            this.powerSums[i] += p;
+            this.productSums[i] += dy * p;
+            p *= dx;
+        }
+        for (int i = this.order + 1; i < this.powerSums.length; i++) {
+            this.powerSums[i] += p;
+            p *= dx;
+        }
+        this.sumYY += dy * dy;
+        this.fit = null;
+    }
+
+    /**
+     * Adds the items in a series from {@code firstItem} to the end of the 
+     * series.  To keep a fit up to date as a series grows, pass the item 
+     * count from the previous call as {@code firstItem} so that only the new
+     * items are added.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param firstItem  the index of the first item to add.
+     */
+    public void add(XYDataset dataset, int series, int firstItem) {
+        Args.nullNotPermitted(dataset, "dataset");
+        int itemCount = dataset.getItemCount(series);
+        Args.requireInRange(firstItem, "firstItem", 0, itemCount);
+        for (int i = firstItem; i < itemCount; i++) {
+            add(dataset.getXValue(series, i), dataset.getYValue(series, i));
+        }
+    }
+
+    /**
+     * Adds the values from another accumulator to this accumulator.
+     *
+     * @param other  the other accumulator ({@code null} not permitted, must
+     *     have the same order as this accumulator).
+     */
+    public void merge(PolynomialRegression other) {
+        Args.nullNotPermitted(other, "other");
+        if (other.order != this.order) {
+            throw new IllegalArgumentException(
+                    "Cannot merge accumulators with different orders.");
+        }
+        if (other.powerSums[0] == 0.0) {
+            return;
+        }
+        if (this.powerSums[0] == 0.0) {
+            this.originX = other.originX;
+            this.originY = other.originY;
+        }
+        // move the other sums to the origin of this accumulator
+        double[] powers = shift(other.powerSums, 
+                other.originX - this.originX);
+        double[] products = shift(other.productSums, 
+                other.originX - this.originX);
+        double e = other.originY - this.originY;
+        this.sumYY += other.sumYY + 2.0 * e * other.productSums[0] 
+                + e * e * other.powerSums[0];
+        for (int i = 0; i < this.powerSums.length; i++) {
+            this.powerSums[i] += powers[i];
+        }
+        for (int i = 0; i < this.productSums.length; i++) {
+            this.productSums[i] += products[i] + e * powers[i];
+        }
+        this.fit = null;
+    }
+
+    /**
+     * Removes all values from the accumulator.
+     */
+    public void clear() {
+        Arrays.fill(this.powerSums, 0.0);
+        Arrays.fill(this.productSums, 0.0);
+        this.sumYY = 0.0;
+        this.fit = null;
+    }
+
+    /**
+     * Returns the coefficients [a0, a1, ..., an] of the fitted polynomial.
+     *
+     * @return The coefficients (all {@code Double.NaN} if there are fewer 
+     *     than order + 1 values, or the normal equations have no unique 
+     *     solution).
+     */
+    public double[] getCoefficients() {
+        return fit().coefficients.clone();
+    }
+
+    /**
+     * Returns the coefficient of determination (R<sup>2</sup>) for the 
+     * fitted polynomial.
+     *
+     * @return The coefficient of determination.
+     */
+    public double getRSquare() {
+        return fit().rSquare;
+    }
+
+    /**
+     * Returns the value of the fitted polynomial at the specified x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The value.
+     */
+    @Override
+    public double getValue(double x) {
+        // the centered polynomial is more accurate than the coefficients 
+        // when x is far from zero
+        Fit f = fit();
+        double u = (x - f.center) / f.scale;
+        double y = f.b[this.order];
+        for (int i = this.order - 1; i >= 0; i--) {
+            y = y * u + f.b[i];
+        }
+        return f.level + y;
+    }
+
+    /**
+     * Returns an immutable function for the current fitted polynomial.
+     *
+     * @return The function.
+     */
+    public PolynomialFunction2D toFunction() {
+        return new PolynomialFunction2D(fit().coefficients);
+    }
+
+    /**
+     * Returns the fit for the current sums, calculating it if necessary.
+     *
+     * @return The fit.
+     */
+    private Fit fit() {
+        if (this.fit == null) {
+            this.fit = calculateFit();
+        }
+        return this.fit;
+    }
+
+    /**
+     * Returns sums of powers relative to another origin.  If 
+     * {@code sums[k]} is the sum of {@code w * dx^k} for some weights 
+     * {@code w}, the result holds the sums of {@code w * (dx + d)^k}.
+     *
+     * @param sums  the sums.
+     * @param d  the distance from the new origin to the old origin.
+     *
+     * @return The shifted sums.
+     */
+    private static double[] shift(double[] sums, double d) {
+        double[] result = new double[sums.length];
+        for (int k = 0; k < sums.length; k++) {
+            // binomial expansion, with c = C(k, j) * d^(k - j)
+            double c = 1.0;
+            double value = 0.0;
+            for (int j = k; j >= 0; j--) {
+                value += c * sums[j];
+                c = c * d * j / (k - j + 1);
+            }
+            result[k] = value;
+        }
+        return result;
+    }
+
+    /**
+     * Solves a system of linear equations by Gaussian elimination with 
+     * partial pivoting.
+     *
+     * @param m  the augmented matrix (overwritten).
+     *
+     * @return The solution ({@code null} if there is no unique solution).
+     */
+    private static double[] solve(double[][] m) {
+        int size = m.length;
+        for (int col = 0; col < size; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < size; row++) {
+                if (Math.abs(m[row][col]) > Math.abs(m[pivot][col])) {
+                    pivot = row;
+                }
+            }
+            if (m[pivot][col] == 0.0) {
+                return null;
+            }
+            double[] temp = m[col];
+            m[col] = m[pivot];
+            m[pivot] = temp;
+            for (int row = col + 1; row < size; row++) {
+                double f = m[row][col] / m[col][col];
+                for (int k = col; k <= size; k++) {
+                    m[row][k] -= f * m[col][k];
+                }
+            }
+        }
+        double[] result = new double[size];
+        for (int i = size - 1; i >= 0; i--) {
+            double value = m[i][size];
+            for (int k = i + 1; k < size; k++) {
+                value -= m[i][k] * result[k];
+            }
+            result[i] = value / m[i][i];
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the fit for the current sums.  The sums are centered on 
+     * the means of the x- and y-values and x is scaled to unit variance, so 
+     * that the normal equations are well conditioned, then the solution is
+     * converted to coefficients for x.
+     *
+     * @return The fit.
+     */
+    private Fit calculateFit() {
+        int size = this.order + 1;
+        Fit result = new Fit(size);
+        double n = this.powerSums[0];
+        if (n < size) {
+            return result;
+        }
+        double meanX = this.powerSums[1] / n;
+        double meanY = this.productSums[0] / n;
+        double[] xx = shift(this.powerSums, -meanX);
+        double[] xy = shift(this.productSums, -meanX);
+        for (int k = 0; k < size; k++) {
+            xy[k] -= meanY * xx[k];
+        }
+        double syy = this.sumYY - meanY * this.productSums[0];
+        double s = Math.sqrt(xx[2] / n);
+        if (s == 0.0) {
+            return result;
+        }
+        double f = 1.0;
+        for (int k = 0; k < xx.length; k++) {
+            xx[k] /= f;
+            if (k < size) {
+                xy[k] /= f;
+            }
+            f *= s;
+        }
+        double[][] m = new double[size][size + 1];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(xx, i, m[i], 0, size);
+            m[i][size] = xy[i];
+        }
+        double[] b = solve(m);
+        if (b == null) {
+            return result;
+        }
+        result.b = b;
+        result.center = this.originX + meanX;
+        result.scale = s;
+        result.level = this.originY + meanY;
+        double regression = 0.0;
+        for (int k = 0; k < size; k++) {
+            regression += b[k] * xy[k];
+        }
+        result.rSquare = regression / syy;
+        // expand b[k] * ((x - center) / scale)^k in powers of x 
+        double[] a = new double[size];
+        f = 1.0;
+        for (int k = 0; k < size; k++) {
+            double w = b[k] / f;
+            for (int j = k; j >= 0; j--) {
+                a[j] += w;
+                w = w * -result.center * j / (k - j + 1);
+            }
+            f *= s;
+        }
+        a[0] += result.level;
+        result.coefficients = a;
+        return result;
+    }
+
+    /**
+     * The fitted polynomial for the current sums.  The polynomial is held 
+     * in terms of {@code u = (x - center) / scale}, where {@code center} and
+     * {@code scale} are the mean and standard deviation of the x-values, and
+     * as coefficients for x.
+     */
+    private static final class Fit {
+
+        /** The mean of the x-values. */
+        double center = Double.NaN;
+
+        /** The standard deviation of the x-values. */
+        double scale = Double.NaN;
+
+        /** The mean of the y-values. */
+        double level = Double.NaN;
+
+        /** The coefficients of the polynomial in u (for y - level). */
+        double[] b;
+
+        /** The coefficients of the polynomial in x. */
+        double[] coefficients;
+
+        /** The coefficient of determination. */
+        double rSquare = Double.NaN;
+
+        /**
+         * Creates a fit with {@code Double.NaN} coefficients.
+         *
+         * @param size  the number of coefficients.
+         */
+        Fit(int size) {
+            this.b = new double[size];
+            this.coefficients = new double[size];
+            Arrays.fill(this.b, Double.NaN);
+            Arrays.fill(this.coefficients, Double.NaN);
+        }
+
+    }
+
+    /**
+     * Returns an independent copy of this accumulator.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        PolynomialRegression clone = (PolynomialRegression) super.clone();
+        clone.powerSums = this.powerSums.clone();
+        clone.productSums = this.productSums.clone();
+        clone.fit = null;
+        return clone;
+    }
+
+}
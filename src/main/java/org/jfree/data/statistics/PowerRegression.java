@@ -0,0 +1,188 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * PowerRegression.java
+ * --------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.function.Function2D;
+import org.jfree.data.function.PowerFunction2D;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * An accumulator that fits a power curve {@code y = ax^b} to a set of 
+ * (x, y) values, by fitting a straight line to (ln x, ln y) with a 
+ * {@link LinearRegression}.  Adding a value takes constant time and the 
+ * fit is available at any time without rescanning the data.  Accumulators 
+ * can be combined with {@link #merge(PowerRegression)}.
+ * <P>
+ * The accumulator is also a {@link Function2D} that returns the value of 
+ * the current fitted curve.  Use {@link #toFunction()} to obtain an 
+ * immutable copy of the current curve.
+ * <P>
+ * This class is not thread-safe.
+ */
+public class PowerRegression implements Function2D, Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -1502379180592163402L;
+
+    /** The linear regression for the logarithms of the values. */
+    private LinearRegression logs;
+
+    /**
+     * Creates a new accumulator with no values.
+     */
+    public PowerRegression() {
+        this.logs = new LinearRegression();
+    }
+
+    /**
+     * Returns the number of (x, y) values that have been added.
+     *
+     * @return The number of values.
+     */
+    public long getItemCount() {
+        return this.logs.getItemCount();
+    }
+
+    /**
+     * Adds an (x, y) value.  Values where x or y is not positive (or is 
+     * {@code Double.NaN}) are ignored, since they have no logarithm.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    public void add(double x, double y) {
+        if (x > 0.0 && y > 0.0) {
+            this.logs.add(Math.log(x), Math.log(y));
+        }
+    }
+
+    /**
+     * Adds the items in a series from {@code firstItem} to the end of the 
+     * series.  To keep a fit up to date as a series grows, pass the item 
+     * count from the previous call as {@code firstItem} so that only the new
+     * items are added.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param firstItem  the index of the first item to add.
+     */
+    public void add(XYDataset dataset, int series, int firstItem) {
+        Args.nullNotPermitted(dataset, "dataset");
+        int itemCount = dataset.getItemCount(series);
+        Args.requireInRange(firstItem, "firstItem", 0, itemCount);
+        for (int i = firstItem; i < itemCount; i++) {
+            add(dataset.getXValue(series, i), dataset.getYValue(series, i));
+        }
+    }
+
+    /**
+     * Adds the values from another accumulator to this accumulator.
+     *
+     * @param other  the other accumulator ({@code null} not permitted).
+     */
+    public void merge(PowerRegression other) {
+        Args.nullNotPermitted(other, "other");
+        this.logs.merge(other.logs);
+    }
+
+    /**
+     * Removes all values from the accumulator.
+     */
+    public void clear() {
+        this.logs.clear();
+    }
+
+    /**
+     * Returns the factor 'a' of the fitted curve.
+     *
+     * @return The factor ({@code Double.NaN} if there are fewer than two 
+     *     values).
+     */
+    public double getA() {
+        return Math.exp(this.logs.getIntercept());
+    }
+
+    /**
+     * Returns the exponent 'b' of the fitted curve.
+     *
+     * @return The exponent ({@code Double.NaN} if there are fewer than two
+     *     values).
+     */
+    public double getB() {
+        return this.logs.getSlope();
+    }
+
+    /**
+     * Returns the value of the fitted curve at the specified x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The value ({@code Double.NaN} if there are fewer than two 
+     *     values).
+     */
+    @Override
+    public double getValue(double x) {
+        return getA() * Math.pow(x, getB());
+    }
+
+    /**
+     * Returns an immutable function for the current fitted curve.
+     *
+     * @return The function.
+     */
+    public PowerFunction2D toFunction() {
+        return new PowerFunction2D(getA(), getB());
+    }
+
+    /**
+     * Returns an independent copy of this accumulator.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        PowerRegression clone = (PowerRegression) super.clone();
+        clone.logs = (LinearRegression) this.logs.clone();
+        return clone;
+    }
+
+}
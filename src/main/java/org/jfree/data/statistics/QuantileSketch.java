@@ -0,0 +1,654 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * QuantileSketch.java
+ * -------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jfree.chart.internal.Args;
+
+/**
+ * A compact summary of a stream of values that can estimate quantiles (and 
+ * box-and-whisker statistics) without storing the values.  The sketch is a
+ * merging t-digest: values are collected in a buffer that is periodically
+ * merged into a sorted list of weighted centroids, and the size of each 
+ * centroid is limited so that centroids near the ends of the distribution 
+ * are small.  The memory used depends on the compression setting, not on 
+ * the number of values, and the rank error of the quantile estimates is 
+ * small (typically well under 1% for the default compression, and much 
+ * smaller near the extremes).
+ * <P>
+ * Sketches are mergeable: the values in separate sketches (for example, 
+ * sketches built in parallel or for consecutive time periods) can be 
+ * combined with {@link #merge(QuantileSketch)}.
+ * <P>
+ * The sketch also records the exact count, mean, minimum and maximum, and 
+ * the smallest and largest values (up to the tail size at each end).  
+ * While the number of values does not exceed the tail size, 
+ * {@link #getBoxAndWhiskerItem()} returns exactly the same result as
+ * {@link BoxAndWhiskerCalculator#calculateBoxAndWhiskerStatistics(List)}.
+ * <P>
+ * This class is not thread-safe.
+ */
+public class QuantileSketch implements Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2684401975203398714L;
+
+    /** The default compression. */
+    public static final double DEFAULT_COMPRESSION = 100.0;
+
+    /** The default tail size. */
+    public static final int DEFAULT_TAIL_SIZE = 100;
+
+    /** 
+     * The compression (larger values give more accurate estimates and use
+     * more memory, the number of centroids is at most about this value).
+     */
+    private final double compression;
+
+    /** The number of smallest and largest values recorded exactly. */
+    private final int tailSize;
+
+    /** The number of values. */
+    private long count;
+
+    /** The sum of the values. */
+    private double sum;
+
+    /** The smallest value. */
+    private double min;
+
+    /** The largest value. */
+    private double max;
+
+    /** The centroid means (in ascending order). */
+    private double[] means;
+
+    /** The centroid weights. */
+    private double[] weights;
+
+    /** The number of centroids. */
+    private int centroidCount;
+
+    /** The values (or centroid means) waiting to be merged. */
+    private double[] bufferMeans;
+
+    /** The weights for the values waiting to be merged. */
+    private double[] bufferWeights;
+
+    /** The number of values waiting to be merged. */
+    private int bufferCount;
+
+    /** Does the buffer contain any weights other than 1? */
+    private boolean bufferWeighted;
+
+    /** The smallest values, in ascending order. */
+    private double[] lowest;
+
+    /** The number of smallest values recorded. */
+    private int lowestCount;
+
+    /** The largest values, in ascending order. */
+    private double[] highest;
+
+    /** The number of largest values recorded. */
+    private int highestCount;
+
+    /**
+     * Creates a new sketch with the default compression and tail size.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_COMPRESSION, DEFAULT_TAIL_SIZE);
+    }
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param compression  the compression (must be at least 10).
+     * @param tailSize  the number of smallest and largest values to record
+     *     exactly (zero or more).
+     */
+    public QuantileSketch(double compression, int tailSize) {
+        if (!(compression >= 10.0)) {
+            throw new IllegalArgumentException(
+                    "Requires 'compression' >= 10.");
+        }
+        Args.requireNonNegative(tailSize, "tailSize");
+        this.compression = compression;
+        this.tailSize = tailSize;
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+        this.means = new double[0];
+        this.weights = new double[0];
+        int bufferSize = (int) (20 * compression);
+        this.bufferMeans = new double[bufferSize];
+        this.bufferWeights = new double[bufferSize];
+        this.lowest = new double[tailSize];
+        this.highest = new double[tailSize];
+    }
+
+    /**
+     * Returns the compression.
+     *
+     * @return The compression.
+     */
+    public double getCompression() {
+        return this.compression;
+    }
+
+    /**
+     * Returns the number of smallest and largest values that are recorded
+     * exactly.
+     *
+     * @return The tail size.
+     */
+    public int getTailSize() {
+        return this.tailSize;
+    }
+
+    /**
+     * Returns the number of values added to the sketch.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the mean of the values added to the sketch.
+     *
+     * @return The mean ({@code Double.NaN} if there are no values).
+     */
+    public double getMean() {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        return this.sum / this.count;
+    }
+
+    /**
+     * Returns the smallest value added to the sketch.
+     *
+     * @return The minimum ({@code Double.NaN} if there are no values).
+     */
+    public double getMin() {
+        return this.min;
+    }
+
+    /**
+     * Returns the largest value added to the sketch.
+     *
+     * @return The maximum ({@code Double.NaN} if there are no values).
+     */
+    public double getMax() {
+        return this.max;
+    }
+
+    /**
+     * Adds a value to the sketch.  {@code Double.NaN} is ignored.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        addToSummary(value);
+        addToTails(value);
+        addToBuffer(value, 1.0);
+    }
+
+    /**
+     * Adds an array of values to the sketch.  {@code Double.NaN} values are
+     * ignored.
+     *
+     * @param values  the values ({@code null} not permitted).
+     */
+    public void addAll(double[] values) {
+        Args.nullNotPermitted(values, "values");
+        for (double value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Adds the values summarised by another sketch to this sketch.  The 
+     * other sketch is not changed.
+     *
+     * @param other  the other sketch ({@code null} not permitted).
+     */
+    public void merge(QuantileSketch other) {
+        Args.nullNotPermitted(other, "other");
+        if (other.count == 0) {
+            return;
+        }
+        if (this.count == 0) {
+            this.min = other.min;
+            this.max = other.max;
+        }
+        else {
+            this.min = Math.min(this.min, other.min);
+            this.max = Math.max(this.max, other.max);
+        }
+        this.count += other.count;
+        this.sum += other.sum;
+        for (int i = 0; i < other.lowestCount; i++) {
+            addToLowest(other.lowest[i]);
+        }
+        for (int i = 0; i < other.highestCount; i++) {
+            addToHighest(other.highest[i]);
+        }
+        for (int i = 0; i < other.centroidCount; i++) {
+            addToBuffer(other.means[i], other.weights[i]);
+        }
+        for (int i = 0; i < other.bufferCount; i++) {
+            addToBuffer(other.bufferMeans[i], other.bufferWeights[i]);
+        }
+    }
+
+    /**
+     * Returns an estimate of the value at the specified quantile.
+     *
+     * @param q  the quantile (in the range 0.0 to 1.0).
+     *
+     * @return The estimated value ({@code Double.NaN} if there are no 
+     *     values).
+     */
+    public double getQuantile(double q) {
+        if (!(q >= 0.0 && q <= 1.0)) {
+            throw new IllegalArgumentException("Requires 'q' in the range "
+                    + "0.0 to 1.0.");
+        }
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        compress();
+        int n = this.centroidCount;
+        if (n == 1) {
+            return this.min + q * (this.max - this.min);
+        }
+        double index = q * this.count;
+
+        // between the minimum and the first centroid...
+        double half = this.weights[0] / 2.0;
+        if (index < half) {
+            return this.min + (this.means[0] - this.min) * index / half;
+        }
+
+        // ...between two centroids...
+        double soFar = half;
+        for (int i = 0; i < n - 1; i++) {
+            double dw = (this.weights[i] + this.weights[i + 1]) / 2.0;
+            if (soFar + dw > index) {
+                double z = (index - soFar) / dw;
+                return this.means[i] + z * (this.means[i + 1] 
+                        - this.means[i]);
+            }
+            soFar += dw;
+        }
+
+        // ...or between the last centroid and the maximum
+        half = this.weights[n - 1] / 2.0;
+        double z = Math.min(1.0, (index - soFar) / half);
+        return this.means[n - 1] + z * (this.max - this.means[n - 1]);
+    }
+
+    /**
+     * Returns the box-and-whisker statistics for the values in the sketch,
+     * using the same outlier rules as {@link BoxAndWhiskerCalculator}.  If
+     * the number of values is no more than the tail size the result is 
+     * exact.  Otherwise the mean is exact, the median and quartiles are 
+     * estimates, the outliers are those found among the smallest and 
+     * largest values recorded (so at most the tail size at each end), and 
+     * where all the values recorded at one end are outliers, the whisker 
+     * ends at the outlier threshold.  If the sketch has no values, all the
+     * statistics are {@code Double.NaN}.
+     *
+     * @return The box-and-whisker statistics (never {@code null}).
+     */
+    public BoxAndWhiskerItem getBoxAndWhiskerItem() {
+        if (this.count == 0) {
+            return new BoxAndWhiskerItem(Double.NaN, Double.NaN, Double.NaN,
+                    Double.NaN, Double.NaN, Double.NaN, Double.NaN, 
+                    Double.NaN, new ArrayList<>());
+        }
+        if (this.count <= this.tailSize) {
+            List<Double> values = new ArrayList<>(this.lowestCount);
+            for (int i = 0; i < this.lowestCount; i++) {
+                values.add(this.lowest[i]);
+            }
+            return BoxAndWhiskerCalculator.calculateBoxAndWhiskerStatistics(
+                    values);
+        }
+        double median = getQuantile(0.5);
+        double q1 = getQuantile(0.25);
+        double q3 = getQuantile(0.75);
+        double interQuartileRange = q3 - q1;
+        double upperOutlierThreshold = q3 + (interQuartileRange * 1.5);
+        double lowerOutlierThreshold = q1 - (interQuartileRange * 1.5);
+        double upperFaroutThreshold = q3 + (interQuartileRange * 2.0);
+        double lowerFaroutThreshold = q1 - (interQuartileRange * 2.0);
+
+        List<Number> outliers = new ArrayList<>();
+        double minRegularValue = lowerOutlierThreshold;
+        double minOutlier = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < this.lowestCount; i++) {
+            double v = this.lowest[i];
+            if (v >= lowerOutlierThreshold) {
+                minRegularValue = v;
+                break;
+            }
+            outliers.add(v);
+            if (v >= lowerFaroutThreshold) {
+                minOutlier = Math.min(minOutlier, v);
+            }
+        }
+        double maxRegularValue = upperOutlierThreshold;
+        double maxOutlier = Double.NEGATIVE_INFINITY;
+        int firstUpperOutlier = this.highestCount;
+        for (int i = this.highestCount - 1; i >= 0; i--) {
+            double v = this.highest[i];
+            if (v <= upperOutlierThreshold) {
+                maxRegularValue = v;
+                break;
+            }
+            firstUpperOutlier = i;
+            if (v <= upperFaroutThreshold) {
+                maxOutlier = Math.max(maxOutlier, v);
+            }
+        }
+        for (int i = firstUpperOutlier; i < this.highestCount; i++) {
+            outliers.add(this.highest[i]);
+        }
+        minOutlier = Math.min(minOutlier, minRegularValue);
+        maxOutlier = Math.max(maxOutlier, maxRegularValue);
+        return new BoxAndWhiskerItem(getMean(), median, q1, q3, 
+                minRegularValue, maxRegularValue, minOutlier, maxOutlier, 
+                outliers);
+    }
+
+    /**
+     * Updates the count, sum, minimum and maximum for a new value.
+     *
+     * @param value  the value.
+     */
+    private void addToSummary(double value) {
+        if (this.count == 0) {
+            this.min = value;
+            this.max = value;
+        }
+        else {
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+        }
+        this.count++;
+        this.sum += value;
+    }
+
+    /**
+     * Records a value in the smallest and largest values, if it belongs 
+     * there.
+     *
+     * @param value  the value.
+     */
+    private void addToTails(double value) {
+        addToLowest(value);
+        addToHighest(value);
+    }
+
+    /**
+     * Records a value in the smallest values, if it is small enough.
+     *
+     * @param value  the value.
+     */
+    private void addToLowest(double value) {
+        int n = this.lowestCount;
+        if (n == this.tailSize) {
+            if (n == 0 || value >= this.lowest[n - 1]) {
+                return;
+            }
+            n--;  // drop the largest
+        }
+        int i = insertionPoint(this.lowest, n, value);
+        System.arraycopy(this.lowest, i, this.lowest, i + 1, n - i);
+        this.lowest[i] = value;
+        this.lowestCount = n + 1;
+    }
+
+    /**
+     * Records a value in the largest values, if it is large enough.
+     *
+     * @param value  the value.
+     */
+    private void addToHighest(double value) {
+        int n = this.highestCount;
+        if (n == this.tailSize) {
+            if (n == 0 || value <= this.highest[0]) {
+                return;
+            }
+            // drop the smallest
+            int i = insertionPoint(this.highest, n, value) - 1;
+            System.arraycopy(this.highest, 1, this.highest, 0, i);
+            this.highest[i] = value;
+            return;
+        }
+        int i = insertionPoint(this.highest, n, value);
+        System.arraycopy(this.highest, i, this.highest, i + 1, n - i);
+        this.highest[i] = value;
+        this.highestCount = n + 1;
+    }
+
+    /**
+     * Returns the index at which a value should be inserted into a sorted
+     * array (after any equal values).
+     *
+     * @param values  the values in ascending order.
+     * @param n  the number of values.
+     * @param value  the new value.
+     *
+     * @return The index.
+     */
+    private static int insertionPoint(double[] values, int n, double value) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= value) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Adds a value (or a centroid) to the buffer, merging the buffer into 
+     * the centroids if it is full.
+     *
+     * @param mean  the value.
+     * @param weight  the weight.
+     */
+    private void addToBuffer(double mean, double weight) {
+        if (this.bufferCount == this.bufferMeans.length) {
+            compress();
+        }
+        this.bufferMeans[this.bufferCount] = mean;
+        this.bufferWeights[this.bufferCount] = weight;
+        this.bufferWeighted |= weight != 1.0;
+        this.bufferCount++;
+    }
+
+    /**
+     * Merges the buffer into the centroids.
+     */
+    private void compress() {
+        if (this.bufferCount == 0) {
+            return;
+        }
+        sortBuffer();
+
+        // merge the centroids and the buffer in order of their means, 
+        // combining neighbours while the combined centroid stays within
+        // the size limit for its position in the distribution...
+        int n = this.centroidCount + this.bufferCount;
+        double[] newMeans = new double[n];
+        double[] newWeights = new double[n];
+        int newCount = 0;
+        double total = 0.0;
+        for (int i = 0; i < this.centroidCount; i++) {
+            total += this.weights[i];
+        }
+        for (int i = 0; i < this.bufferCount; i++) {
+            total += this.bufferWeights[i];
+        }
+        int c = 0;
+        int b = 0;
+        double weightSoFar = 0.0;
+        double weightLimit = weightLimit(0.0, total);
+        double mean = 0.0;
+        double weight = 0.0;
+        while (c < this.centroidCount || b < this.bufferCount) {
+            double m;
+            double w;
+            if (b >= this.bufferCount || (c < this.centroidCount 
+                    && this.means[c] <= this.bufferMeans[b])) {
+                m = this.means[c];
+                w = this.weights[c];
+                c++;
+            }
+            else {
+                m = this.bufferMeans[b];
+                w = this.bufferWeights[b];
+                b++;
+            }
+            if (weight == 0.0) {
+                mean = m;
+                weight = w;
+            }
+            else if (weightSoFar + weight + w <= weightLimit) {
+                weight += w;
+                mean += (m - mean) * w / weight;
+            }
+            else {
+                newMeans[newCount] = mean;
+                newWeights[newCount] = weight;
+                newCount++;
+                weightSoFar += weight;
+                weightLimit = weightLimit(weightSoFar, total);
+                mean = m;
+                weight = w;
+            }
+        }
+        newMeans[newCount] = mean;
+        newWeights[newCount] = weight;
+        newCount++;
+        this.means = Arrays.copyOf(newMeans, newCount);
+        this.weights = Arrays.copyOf(newWeights, newCount);
+        this.centroidCount = newCount;
+        this.bufferCount = 0;
+        this.bufferWeighted = false;
+    }
+
+    /**
+     * Sorts the buffer by mean.
+     */
+    private void sortBuffer() {
+        int n = this.bufferCount;
+        if (!this.bufferWeighted) {
+            Arrays.sort(this.bufferMeans, 0, n);
+            return;
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        double[] m = Arrays.copyOf(this.bufferMeans, n);
+        double[] w = Arrays.copyOf(this.bufferWeights, n);
+        Arrays.sort(order, (i, j) -> Double.compare(m[i], m[j]));
+        for (int i = 0; i < n; i++) {
+            this.bufferMeans[i] = m[order[i]];
+            this.bufferWeights[i] = w[order[i]];
+        }
+    }
+
+    /**
+     * Returns the cumulative weight that a centroid starting at the given 
+     * cumulative weight can extend to.  The centroids can span at most one
+     * unit on the scale k(q) = compression / (2 * pi) * asin(2q - 1), which
+     * is stretched near the ends of the distribution so that the centroids
+     * there are small.
+     *
+     * @param weightSoFar  the cumulative weight before the centroid.
+     * @param total  the total weight.
+     *
+     * @return The weight limit.
+     */
+    private double weightLimit(double weightSoFar, double total) {
+        double a = Math.asin(2.0 * Math.min(1.0, weightSoFar / total) - 1.0)
+                + 2.0 * Math.PI / this.compression;
+        if (a >= Math.PI / 2.0) {
+            return total;
+        }
+        return total * (Math.sin(a) + 1.0) / 2.0;
+    }
+
+    /**
+     * Returns an independent copy of this sketch.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        QuantileSketch clone = (QuantileSketch) super.clone();
+        clone.means = this.means.clone();
+        clone.weights = this.weights.clone();
+        clone.bufferMeans = this.bufferMeans.clone();
+        clone.bufferWeights = this.bufferWeights.clone();
+        clone.lowest = this.lowest.clone();
+        clone.highest = this.highest.clone();
+        return clone;
+    }
+
+}
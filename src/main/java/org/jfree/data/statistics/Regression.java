@@ -39,10 +39,13 @@ package org.jfree.data.statistics;
 import org.jfree.chart.internal.Args;
 import org.jfree.data.xy.XYDataset;
 
-import java.util.Objects;
+import java.util.Arrays;
 
 /**
- * A utility class for fitting regression curves to data.
+ * A utility class for fitting regression curves to data.  To keep a fit up
+ * to date as data is added, without rescanning the data, see the 
+ * {@link LinearRegression}, {@link PowerRegression} and 
+ * {@link PolynomialRegression} accumulators.
  */
 public abstract class Regression {
 
@@ -242,146 +245,15 @@ public abstract class Regression {
         if (itemCount < order + 1) {
             throw new IllegalArgumentException("Not enough data.");
         }
-        int validItems = 0;
-        double[][] data = new double[2][itemCount];
-        for(int item = 0; item < itemCount; item++){
-            double x = dataset.getXValue(series, item);
-            double y = dataset.getYValue(series, item);
-            if (!Double.isNaN(x) && !Double.isNaN(y)){
-                data[0][validItems] = x;
-                data[1][validItems] = y;
-                validItems++;
-            }
-        }
-        if (validItems < order + 1) {
+        PolynomialRegression regression = new PolynomialRegression(order);
+        regression.add(dataset, series, 0);
+        if (regression.getItemCount() < order + 1) {
             throw new IllegalArgumentException("Not enough data.");
         }
-        int equations = order + 1;
-        int coefficients = order + 2;
-        double[] result = new double[equations + 1];
-        double[][] matrix = new double[equations][coefficients];
-        double sumX = 0.0;
-        double sumY = 0.0;
-        sumY = getSumY(validItems, data, equations, coefficients, matrix, sumX, sumY);
-        result = processResult(result, matrix, equations, coefficients);
-        double meanY = sumY / validItems;
-        double yObsSquare = 0.0;
-        double yRegSquare = 0.0;
-        for (int item = 0; item < validItems; item++) {
-            yRegSquare = getyRegSquare(getyCalc(data[0][item], equations, result), meanY, yRegSquare);
-            yObsSquare += Math.pow(data[1][item] - meanY, 2);
-        }
-        double rSquare = yRegSquare / yObsSquare;
-        result[equations] = rSquare;
-        return result;
-    }
-
-    static double[] processResult(double[] result, double[][] matrix, int equations, int coefficients){
-        double[][] subMatrix = calculateSubMatrix(matrix);
-        for (int eq = 1; eq < equations; eq++) {
-            matrix[eq][0] = 0;
-            for (int coe = 1; coe < coefficients; coe++) {
-                matrix[eq][coe] = subMatrix[eq - 1][coe - 1];
-            }
-        }
-        for (int eq = equations - 1; eq > -1; eq--) {
-            double value = matrix[eq][coefficients - 1];
-            value = getValue(coefficients, result, matrix[eq], eq, value);
-            result[eq] = value / matrix[eq][eq];
-        }
-        return result;
-    }
-
-    private static double getyRegSquare(double yCalc1, double meanY, double yRegSquare) {
-        double yCalc = yCalc1;
-        yRegSquare += Math.pow(yCalc - meanY, 2);
-        return yRegSquare;
-    }
-
-    private static double getyCalc(double a, int equations, double[] result) {
-        double yCalc = 0;
-        for (int eq = 0; eq < equations; eq++) {
-            yCalc += result[eq] * Math.pow(a,eq);
-        }
-        return yCalc;
-    }
-
-    private static double getValue(int coefficients, double[] result, double[] matrix, int eq, double value) {
-        for (int coe = eq; coe < coefficients -1; coe++) {
-            value -= matrix[coe] * result[coe];
-        }
-        return value;
-    }
-
-    private static double getSumY(int validItems, double[][] data, int equations, int coefficients, double[][] matrix, double sumX, double sumY) {
-        for(int item = 0; item < validItems; item++){
-            sumX += data[0][item];
-            sumY += data[1][item];
-            for(int eq = 0; eq < equations; eq++){
-                for(int coe = 0; coe < coefficients - 1; coe++){
-                    matrix[eq][coe] += Math.pow(data[0][item],eq + coe);
-                }
-                matrix[eq][coefficients - 1] += data[1][item]
-                        * Math.pow(data[0][item],eq);
-            }
-        }
-        return sumY;
-    }
-
-    /**
-     * Returns a matrix with the following features: (1) the number of rows
-     * and columns is 1 less than that of the original matrix; (2)the matrix
-     * is triangular, i.e. all elements a (row, column) with column &gt; row are
-     * zero.  This method is used for calculating a polynomial regression.
-     *
-     * @param matrix  the start matrix.
-     *
-     * @return The new matrix.
-     */
-    private static double[][] calculateSubMatrix(double[][] matrix){
-        int equations = matrix.length;
-        int coefficients = matrix[0].length;
-        double[][] result = new double[equations - 1][coefficients - 1];
-        for (int eq = 1; eq < equations; eq++) {
-            double factor = matrix[0][0] / matrix[eq][0];
-            for (int coe = 1; coe < coefficients; coe++) {
-                result[eq - 1][coe -1] = matrix[0][coe] - matrix[eq][coe] * factor;
-            }
-        }
-        if (equations == 1) {
-            return result;
-        }
-        // check for zero pivot element
-        if (result[0][0] == 0) {
-            boolean found = false;
-            found = checkForZeroPivot(result, found);
-            if (!found) {
-                //System.out.println("Equation has no solution!");
-                return new double[equations - 1][coefficients - 1];
-            }
-        }
-        double[][] subMatrix = calculateSubMatrix(result);
-        for (int eq = 1; eq < equations -  1; eq++) {
-            result[eq][0] = 0;
-            for (int coe = 1; coe < coefficients - 1; coe++) {
-                result[eq][coe] = subMatrix[eq - 1][coe - 1];
-            }
-        }
+        double[] result = Arrays.copyOf(regression.getCoefficients(), 
+                order + 2);
+        result[order + 1] = regression.getRSquare();
         return result;
     }
 
-    private static boolean checkForZeroPivot(double[][] result, boolean found) {
-        for (int i = 0; i < result.length; i ++) {
-            if (result[i][0] != 0) {
-                found = true;
-                double[] temp = result[0];
-                System.arraycopy(result[i], 0, result[0], 0,
-                        result[i].length);
-                System.arraycopy(temp, 0, result[i], 0, temp.length);
-                break;
-            }
-        }
-        return found;
-    }
-
 }
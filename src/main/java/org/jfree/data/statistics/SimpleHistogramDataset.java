@@ -38,10 +38,12 @@ package org.jfree.data.statistics;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.IntStream;
+
 import org.jfree.chart.internal.Args;
 import org.jfree.chart.internal.CloneUtils;
 import org.jfree.chart.api.PublicCloneable;
@@ -53,6 +55,15 @@ import org.jfree.data.xy.IntervalXYDataset;
 
 /**
  * A dataset used for creating simple histograms with custom defined bins.
+ * <P>
+ * The bin for each observation is found by binary search on the lower 
+ * bounds of the (sorted) bins or, when the bins are contiguous and all 
+ * have the same width, by calculating the bin index directly.  The 
+ * {@link #addObservations(double[])} and 
+ * {@link #addObservationsParallel(double[])} methods count the observations
+ * in a primitive array and update each bin once, so the time taken to add
+ * a large number of observations grows as O(n log b) rather than O(nb) for
+ * n observations and b bins.
  *
  * @see HistogramDataset
  */
@@ -63,6 +74,9 @@ public class SimpleHistogramDataset<K extends Comparable<K>>
     /** For serialization. */
     private static final long serialVersionUID = 7997996479768018443L;
 
+    /** The number of observations counted by each task in parallel adds. */
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+
     /** The series key. */
     private K key;
 
@@ -75,6 +89,21 @@ public class SimpleHistogramDataset<K extends Comparable<K>>
      */
     private boolean adjustForBinSize;
 
+    /** 
+     * The bins as an array (or {@code null} if the lookup arrays need to be
+     * rebuilt). 
+     */
+    private transient SimpleHistogramBin[] binArray;
+
+    /** The lower bound for each bin, in ascending order. */
+    private transient double[] lowerBounds;
+
+    /** 
+     * The width of every bin, if the bins are contiguous and have the same
+     * width, otherwise {@code Double.NaN}.
+     */
+    private transient double uniformWidth;
+
     /**
      * Creates a new histogram dataset.  Note that the
      * {@code adjustForBinSize} flag defaults to {@code true}.
@@ -177,6 +206,7 @@ public class SimpleHistogramDataset<K extends Comparable<K>>
         }
         this.bins.add(binToAdd);
         Collections.sort(this.bins);
+        this.binArray = null;
     }
 
     /**
@@ -199,18 +229,13 @@ public class SimpleHistogramDataset<K extends Comparable<K>>
      * @param notify  send {@link DatasetChangeEvent} to listeners?
      */
     public void addObservation(double value, boolean notify) {
-        boolean placed = false;
-        Iterator iterator = this.bins.iterator();
-        while (iterator.hasNext() && !placed) {
-            SimpleHistogramBin bin = (SimpleHistogramBin) iterator.next();
-            if (bin.accepts(value)) {
-                bin.setItemCount(bin.getItemCount() + 1);
-                placed = true;
-            }
-        }
-        if (!placed) {
+        SimpleHistogramBin[] array = getBinArray();
+        int index = findBin(array, value);
+        if (index < 0) {
             throw new RuntimeException("No bin.");
         }
+        SimpleHistogramBin bin = array[index];
+        bin.setItemCount(bin.getItemCount() + 1);
         if (notify) {
             notifyListeners(new DatasetChangeEvent(this, this));
         }
@@ -218,19 +243,160 @@ public class SimpleHistogramDataset<K extends Comparable<K>>
 
     /**
      * Adds a set of values to the dataset and sends a
-     * {@link DatasetChangeEvent} to all registered listeners.
+     * {@link DatasetChangeEvent} to all registered listeners.  A runtime 
+     * exception is thrown if any value does not fit into a bin, in which 
+     * case none of the values are added.
      *
      * @param values  the values ({@code null} not permitted).
      *
+     * @see #addObservationsParallel(double[]) 
      * @see #clearObservations()
      */
     public void addObservations(double[] values) {
-        for (int i = 0; i < values.length; i++) {
-            addObservation(values[i], false);
+        Args.nullNotPermitted(values, "values");
+        SimpleHistogramBin[] array = getBinArray();
+        int[] counts = new int[array.length];
+        countObservations(array, values, 0, values.length, counts);
+        addCounts(array, counts);
+    }
+
+    /**
+     * Adds a set of values to the dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  The values
+     * are counted in chunks on multiple threads (for large arrays), then 
+     * the counts are added to the bins.  A runtime exception is thrown if 
+     * any value does not fit into a bin, in which case none of the values 
+     * are added.
+     *
+     * @param values  the values ({@code null} not permitted).
+     *
+     * @see #addObservations(double[]) 
+     */
+    public void addObservationsParallel(double[] values) {
+        Args.nullNotPermitted(values, "values");
+        SimpleHistogramBin[] array = getBinArray();
+        int chunks = (values.length + PARALLEL_CHUNK_SIZE - 1) 
+                / PARALLEL_CHUNK_SIZE;
+        int[] counts = IntStream.range(0, chunks).parallel().collect(
+                () -> new int[array.length], 
+                (c, chunk) -> countObservations(array, values, 
+                        chunk * PARALLEL_CHUNK_SIZE, Math.min(values.length, 
+                        (chunk + 1) * PARALLEL_CHUNK_SIZE), c),
+                (c1, c2) -> {
+                    for (int i = 0; i < c1.length; i++) {
+                        c1[i] += c2[i];
+                    }
+                });
+        addCounts(array, counts);
+    }
+
+    /**
+     * Counts the observations in a range of an array, by bin.
+     *
+     * @param array  the bins.
+     * @param values  the values.
+     * @param from  the index of the first value.
+     * @param to  the index after the last value.
+     * @param counts  the counts for each bin (updated by this method).
+     */
+    private void countObservations(SimpleHistogramBin[] array, 
+            double[] values, int from, int to, int[] counts) {
+        for (int i = from; i < to; i++) {
+            int index = findBin(array, values[i]);
+            if (index < 0) {
+                throw new RuntimeException("No bin.");
+            }
+            counts[index]++;
+        }
+    }
+
+    /**
+     * Adds counts to the bins and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param array  the bins.
+     * @param counts  the counts for each bin.
+     */
+    private void addCounts(SimpleHistogramBin[] array, int[] counts) {
+        for (int i = 0; i < array.length; i++) {
+            if (counts[i] != 0) {
+                array[i].setItemCount(array[i].getItemCount() + counts[i]);
+            }
         }
         notifyListeners(new DatasetChangeEvent(this, this));
     }
 
+    /**
+     * Returns the bins as an array, rebuilding the lookup arrays first if 
+     * the bins have changed.
+     *
+     * @return The bins.
+     */
+    private SimpleHistogramBin[] getBinArray() {
+        if (this.binArray == null) {
+            SimpleHistogramBin[] array = this.bins.toArray(
+                    new SimpleHistogramBin[0]);
+            double[] lower = new double[array.length];
+            double width = array.length > 0 
+                    ? array[0].getUpperBound() - array[0].getLowerBound() 
+                    : Double.NaN;
+            for (int i = 0; i < array.length; i++) {
+                lower[i] = array[i].getLowerBound();
+                double w = array[i].getUpperBound() - lower[i];
+                if (Math.abs(w - width) > width * 1.0E-9 || (i > 0 
+                        && array[i - 1].getUpperBound() != lower[i])) {
+                    width = Double.NaN;
+                }
+            }
+            this.lowerBounds = lower;
+            this.uniformWidth = width;
+            this.binArray = array;
+        }
+        return this.binArray;
+    }
+
+    /**
+     * Returns the index of the bin that accepts a value.
+     *
+     * @param array  the bins (as returned by {@link #getBinArray()}).
+     * @param value  the value.
+     *
+     * @return The bin index (or -1 if no bin accepts the value).
+     */
+    private int findBin(SimpleHistogramBin[] array, double value) {
+        if (Double.isNaN(value) || array.length == 0) {
+            return -1;
+        }
+        if (!Double.isNaN(this.uniformWidth)) {
+            double position = (value - this.lowerBounds[0]) 
+                    / this.uniformWidth;
+            if (position >= -1.0 && position <= array.length + 1.0) {
+                // check the neighbours too, to allow for rounding and for 
+                // values on a boundary that belong to the bin below
+                int i = (int) Math.floor(position);
+                for (int j = Math.max(0, i - 1); 
+                        j <= Math.min(array.length - 1, i + 1); j++) {
+                    if (array[j].accepts(value)) {
+                        return j;
+                    }
+                }
+            }
+        }
+        int i = Arrays.binarySearch(this.lowerBounds, value);
+        if (i < 0) {
+            // the last bin with a lower bound below the value
+            i = -i - 2;
+        }
+        if (i >= 0 && array[i].accepts(value)) {
+            return i;
+        }
+        // a value on a lower bound may belong to the bin below
+        if (i > 0 && array[i - 1].accepts(value)) {
+            return i - 1;
+        }
+        return -1;
+    }
+
     /**
      * Removes all current observation data and sends a
      * {@link DatasetChangeEvent} to all registered listeners.
@@ -257,6 +423,7 @@ public class SimpleHistogramDataset<K extends Comparable<K>>
      */
     public void removeAllBins() {
         this.bins = new ArrayList<>();
+        this.binArray = null;
         notifyListeners(new DatasetChangeEvent(this, this));
     }
 
@@ -483,6 +650,7 @@ public class SimpleHistogramDataset<K extends Comparable<K>>
     public Object clone() throws CloneNotSupportedException {
         SimpleHistogramDataset clone = (SimpleHistogramDataset) super.clone();
         clone.bins = CloneUtils.cloneList(this.bins);
+        clone.binArray = null;
         return clone;
     }
 
@@ -36,17 +36,44 @@
 
 package org.jfree.data.statistics;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
+
 import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.RunningMean;
 
 /**
  * A utility class that provides some common statistical functions.
+ * <P>
+ * The functions for {@code double} arrays (and buffers), with names ending
+ * in {@code Of} or {@code Parallel}, make a single pass over the data.  The
+ * values are processed in blocks: the mean of each block is found first, 
+ * then the sums of squared deviations from that mean (while the block is 
+ * still in the cache), and the block results are combined using the 
+ * pairwise update formulas of Chan, Golub and LeVeque.  This gives results
+ * as accurate as a two-pass calculation without the cancellation problems 
+ * of the textbook one-pass formulas, and the inner loops are simple enough
+ * for the JIT compiler to unroll.  The functions with names ending in 
+ * {@code Parallel} split large arrays across the common fork-join pool (the
+ * results can differ from the sequential functions in the last few bits).
+ * The functions for {@code Number} arrays and collections convert the 
+ * values and use the same calculations.
  */
 public abstract class Statistics {
 
+    /** The number of values processed together by the array functions. */
+    private static final int BLOCK_SIZE = 1024;
+
+    /** 
+     * The number of values processed by each task in the parallel 
+     * functions.
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 15;
+
     /**
      * Returns the mean of an array of numbers.  This is equivalent to calling
      * {@code calculateMean(values, true)}.
@@ -76,25 +103,12 @@ public abstract class Statistics {
             boolean includeNullAndNaN) {
 
         Args.nullNotPermitted(values, "values");
-        double sum = 0.0;
-        double current;
-        int counter = 0;
+        double[] array = new double[values.length];
         for (int i = 0; i < values.length; i++) {
             // treat nulls the same as NaNs
-            if (values[i] != null) {
-                current = values[i].doubleValue();
-            }
-            else {
-                current = Double.NaN;
-            }
-            // calculate the sum and count
-            if (includeNullAndNaN || !Double.isNaN(current)) {
-                sum = sum + current;
-                counter++;
-            }
+            array[i] = values[i] != null ? values[i].doubleValue() : Double.NaN;
         }
-        double result = (sum / counter);
-        return result;
+        return calculateMeanOf(array, includeNullAndNaN);
     }
 
     /**
@@ -125,31 +139,92 @@ public abstract class Statistics {
             boolean includeNullAndNaN) {
 
         Args.nullNotPermitted(values, "values");
+        double[] array = new double[values.size()];
         int count = 0;
-        double total = 0.0;
         for (Object object : values) {
             if (object == null) {
-                if (includeNullAndNaN) {
-                    return Double.NaN;
-                }
+                array[count++] = Double.NaN;
             }
-            else {
-                if (object instanceof Number) {
-                    Number number = (Number) object;
-                    double value = number.doubleValue();
-                    if (Double.isNaN(value)) {
-                        if (includeNullAndNaN) {
-                            return Double.NaN;
-                        }
-                    }
-                    else {
-                        total = total + number.doubleValue();
-                        count = count + 1;
-                    }
-                }
+            else if (object instanceof Number) {
+                array[count++] = ((Number) object).doubleValue();
             }
         }
-        return total / count;
+        return calculateMean(new Moments(array, 0, count, 
+                !includeNullAndNaN));
+    }
+
+    /**
+     * Returns the mean of an array of values.  This is equivalent to calling
+     * {@code calculateMeanOf(values, true)}.
+     *
+     * @param values  the values ({@code null} not permitted).
+     *
+     * @return The mean.
+     */
+    public static double calculateMeanOf(double[] values) {
+        return calculateMeanOf(values, true);
+    }
+
+    /**
+     * Returns the mean of an array of values.
+     *
+     * @param values  the values ({@code null} not permitted).
+     * @param includeNaN  a flag that controls whether or not 
+     *     {@code Double.NaN} values are included in the calculation (if 
+     *     present, the result is {@code Double.NaN}).
+     *
+     * @return The mean ({@code Double.NaN} if there are no values).
+     */
+    public static double calculateMeanOf(double[] values, boolean includeNaN) {
+        Args.nullNotPermitted(values, "values");
+        return calculateMean(new Moments(values, 0, values.length, 
+                !includeNaN));
+    }
+
+    /**
+     * Returns the mean of an array of values, splitting large arrays across
+     * multiple threads.
+     *
+     * @param values  the values ({@code null} not permitted).
+     * @param includeNaN  a flag that controls whether or not 
+     *     {@code Double.NaN} values are included in the calculation (if 
+     *     present, the result is {@code Double.NaN}).
+     *
+     * @return The mean ({@code Double.NaN} if there are no values).
+     */
+    public static double calculateMeanParallel(double[] values, 
+            boolean includeNaN) {
+        Args.nullNotPermitted(values, "values");
+        return calculateMean(Moments.parallel(values, !includeNaN));
+    }
+
+    /**
+     * Returns the mean of the values remaining in a buffer (from the 
+     * buffer's position to its limit).  The position of the buffer is not 
+     * changed.
+     *
+     * @param values  the values ({@code null} not permitted).
+     * @param includeNaN  a flag that controls whether or not 
+     *     {@code Double.NaN} values are included in the calculation (if 
+     *     present, the result is {@code Double.NaN}).
+     *
+     * @return The mean ({@code Double.NaN} if there are no values).
+     */
+    public static double calculateMeanOf(DoubleBuffer values, 
+            boolean includeNaN) {
+        Args.nullNotPermitted(values, "values");
+        return calculateMean(new Moments(values, !includeNaN));
+    }
+
+    /**
+     * Returns the mean from the moments of a set of values.
+     *
+     * @param moments  the moments.
+     *
+     * @return The mean ({@code Double.NaN} if there are no values).
+     */
+    private static double calculateMean(Moments moments) {
+        return moments.count > 0 ? moments.mean : Double.NaN;
     }
 
     /**
@@ -288,18 +363,71 @@ public abstract class Statistics {
      * @return The standard deviation of a set of numbers.
      */
     public static double getStdDev(Number[] data) {
+        Args.nullNotPermitted(data, "data");
+        return getStdDevOf(toArray(data));
+    }
+
+    /**
+     * Returns the (sample) standard deviation of an array of values.
+     *
+     * @param data  the data ({@code null} or zero length array not
+     *     permitted).
+     *
+     * @return The standard deviation.
+     */
+    public static double getStdDevOf(double[] data) {
         Args.nullNotPermitted(data, "data");
         if (data.length == 0) {
             throw new IllegalArgumentException("Zero length 'data' array.");
         }
-        double avg = calculateMean(data);
-        double sum = 0.0;
+        return getStdDev(new Moments(data, 0, data.length, false));
+    }
 
-        for (int counter = 0; counter < data.length; counter++) {
-            double diff = data[counter].doubleValue() - avg;
-            sum = sum + diff * diff;
+    /**
+     * Returns the (sample) standard deviation of an array of values, 
+     * splitting large arrays across multiple threads.
+     *
+     * @param data  the data ({@code null} or zero length array not
+     *     permitted).
+     *
+     * @return The standard deviation.
+     */
+    public static double getStdDevParallel(double[] data) {
+        Args.nullNotPermitted(data, "data");
+        if (data.length == 0) {
+            throw new IllegalArgumentException("Zero length 'data' array.");
         }
-        return Math.sqrt(sum / (data.length - 1));
+        return getStdDev(Moments.parallel(data, false));
+    }
+
+    /**
+     * Returns the (sample) standard deviation of the values remaining in a
+     * buffer (from the buffer's position to its limit).  The position of the
+     * buffer is not changed.
+     *
+     * @param data  the data ({@code null} not permitted, must have at least
+     *     one value remaining).
+     *
+     * @return The standard deviation.
+     */
+    public static double getStdDevOf(DoubleBuffer data) {
+        Args.nullNotPermitted(data, "data");
+        if (!data.hasRemaining()) {
+            throw new IllegalArgumentException("No values in 'data'.");
+        }
+        return getStdDev(new Moments(data, false));
+    }
+
+    /**
+     * Returns the sample standard deviation from the moments of a set of 
+     * values.
+     *
+     * @param moments  the moments.
+     *
+     * @return The standard deviation.
+     */
+    private static double getStdDev(Moments moments) {
+        return Math.sqrt(moments.m2 / (moments.count - 1));
     }
 
     /**
@@ -319,14 +447,7 @@ public abstract class Statistics {
             throw new IllegalArgumentException(
                 "Statistics.getLinearFit(): array lengths must be equal.");
         }
-
-        double[] result = new double[2];
-        // slope
-        result[1] = getSlope(xData, yData);
-        // intercept
-        result[0] = calculateMean(yData) - result[1] * calculateMean(xData);
-
-        return result;
+        return getLinearFitOf(toArray(xData), toArray(yData));
 
     }
 
@@ -344,27 +465,7 @@ public abstract class Statistics {
         if (xData.length != yData.length) {
             throw new IllegalArgumentException("Array lengths must be equal.");
         }
-
-        // ********* stat function for linear slope ********
-        // y = a + bx
-        // a = ybar - b * xbar
-        //     sum(x * y) - (sum (x) * sum(y)) / n
-        // b = ------------------------------------
-        //     sum (x^2) - (sum(x)^2 / n
-        // *************************************************
-
-        // sum of x, x^2, x * y, y
-        double sx = 0.0, sxx = 0.0, sxy = 0.0, sy = 0.0;
-        int counter;
-        for (counter = 0; counter < xData.length; counter++) {
-            sx = sx + xData[counter].doubleValue();
-            sxx = sxx + Math.pow(xData[counter].doubleValue(), 2);
-            sxy = sxy + yData[counter].doubleValue()
-                      * xData[counter].doubleValue();
-            sy = sy + yData[counter].doubleValue();
-        }
-        return (sxy - (sx * sy) / counter) / (sxx - (sx * sx) / counter);
-
+        return getSlopeOf(toArray(xData), toArray(yData));
     }
 
     /**
@@ -388,29 +489,110 @@ public abstract class Statistics {
                 "'data1' and 'data2' arrays must have same length."
             );
         }
-        int n = data1.length;
-        double sumX = 0.0;
-        double sumY = 0.0;
-        double sumX2 = 0.0;
-        double sumY2 = 0.0;
-        double sumXY = 0.0;
-        for (int i = 0; i < n; i++) {
-            double x = 0.0;
-            if (data1[i] != null) {
-                x = data1[i].doubleValue();
-            }
-            double y = 0.0;
-            if (data2[i] != null) {
-                y = data2[i].doubleValue();
-            }
-            sumX = sumX + x;
-            sumY = sumY + y;
-            sumXY = sumXY + (x * y);
-            sumX2 = sumX2 + (x * x);
-            sumY2 = sumY2 + (y * y);
-        }
-        return (n * sumXY - sumX * sumY) / Math.pow((n * sumX2 - sumX * sumX)
-                * (n * sumY2 - sumY * sumY), 0.5);
+        return getCorrelationOf(toArray(data1, 0.0), toArray(data2, 0.0));
+    }
+
+    /**
+     * Fits a straight line (by least squares) to a set of (x, y) data, 
+     * returning the slope and intercept.
+     *
+     * @param xData  the x-data ({@code null} not permitted).
+     * @param yData  the y-data ({@code null} not permitted, same length as
+     *     {@code xData}).
+     *
+     * @return A double array with the intercept in [0] and the slope in [1].
+     */
+    public static double[] getLinearFitOf(double[] xData, double[] yData) {
+        checkPairedArrays(xData, "xData", yData, "yData");
+        return getLinearFit(new CoMoments(xData, yData, 0, xData.length));
+    }
+
+    /**
+     * Fits a straight line (by least squares) to a set of (x, y) data, 
+     * returning the slope and intercept, and splitting large arrays across
+     * multiple threads.
+     *
+     * @param xData  the x-data ({@code null} not permitted).
+     * @param yData  the y-data ({@code null} not permitted, same length as
+     *     {@code xData}).
+     *
+     * @return A double array with the intercept in [0] and the slope in [1].
+     */
+    public static double[] getLinearFitParallel(double[] xData, 
+            double[] yData) {
+        checkPairedArrays(xData, "xData", yData, "yData");
+        return getLinearFit(CoMoments.parallel(xData, yData));
+    }
+
+    /**
+     * Returns the intercept and slope of the least squares line from the 
+     * co-moments of a set of (x, y) values.
+     *
+     * @param moments  the co-moments.
+     *
+     * @return A double array with the intercept in [0] and the slope in [1].
+     */
+    private static double[] getLinearFit(CoMoments moments) {
+        double[] result = new double[2];
+        result[1] = moments.cxy / moments.m2x;
+        result[0] = moments.meanY - result[1] * moments.meanX;
+        return result;
+    }
+
+    /**
+     * Finds the slope of a regression line using least squares.
+     *
+     * @param xData  the x-values ({@code null} not permitted).
+     * @param yData  the y-values ({@code null} not permitted, same length as
+     *     {@code xData}).
+     *
+     * @return The slope.
+     */
+    public static double getSlopeOf(double[] xData, double[] yData) {
+        checkPairedArrays(xData, "xData", yData, "yData");
+        CoMoments moments = new CoMoments(xData, yData, 0, xData.length);
+        return moments.cxy / moments.m2x;
+    }
+
+    /**
+     * Calculates the (Pearson) correlation between two arrays of values.
+     *
+     * @param data1  the first array ({@code null} not permitted).
+     * @param data2  the second array ({@code null} not permitted, same 
+     *     length as {@code data1}).
+     *
+     * @return The correlation.
+     */
+    public static double getCorrelationOf(double[] data1, double[] data2) {
+        checkPairedArrays(data1, "data1", data2, "data2");
+        return getCorrelation(new CoMoments(data1, data2, 0, data1.length));
+    }
+
+    /**
+     * Calculates the (Pearson) correlation between two arrays of values, 
+     * splitting large arrays across multiple threads.
+     *
+     * @param data1  the first array ({@code null} not permitted).
+     * @param data2  the second array ({@code null} not permitted, same 
+     *     length as {@code data1}).
+     *
+     * @return The correlation.
+     */
+    public static double getCorrelationParallel(double[] data1, 
+            double[] data2) {
+        checkPairedArrays(data1, "data1", data2, "data2");
+        return getCorrelation(CoMoments.parallel(data1, data2));
+    }
+
+    /**
+     * Returns the correlation from the co-moments of a set of (x, y) values.
+     *
+     * @param moments  the co-moments.
+     *
+     * @return The correlation.
+     */
+    private static double getCorrelation(CoMoments moments) {
+        return moments.cxy / Math.sqrt(moments.m2x * moments.m2y);
     }
 
     /**
@@ -427,19 +609,446 @@ public abstract class Statistics {
                                               int period) {
 
         isValid(xData, yData, period);
+        return getMovingAverageOf(toArray(xData), toArray(yData), period);
+
+    }
 
+    /**
+     * Returns a data set for a moving average on the data set passed in.  
+     * Each average is the mean of {@code period} y-values and is paired 
+     * with the x-value that follows them.  The averages are calculated with
+     * a running sum, so the time taken does not depend on the period.
+     *
+     * @param xData  the x-values ({@code null} not permitted).
+     * @param yData  the y-values ({@code null} not permitted, same length as
+     *     {@code xData}).
+     * @param period  the number of data points to average.
+     *
+     * @return A double[][] the length of the data set (less the period) in
+     *     the first dimension, with two doubles for x and y in the second 
+     *     dimension.
+     */
+    public static double[][] getMovingAverageOf(double[] xData, 
+            double[] yData, int period) {
+        checkPairedArrays(xData, "xData", yData, "yData");
+        if (period > xData.length) {
+            throw new IllegalArgumentException(
+                    "Period can't be longer than dataset.");
+        }
         double[][] result = new double[xData.length - period][2];
+        RunningMean window = new RunningMean();
+        for (int j = 0; j < period; j++) {
+            window.add(yData[j]);
+        }
         for (int i = 0; i < result.length; i++) {
-            result[i][0] = xData[i + period].doubleValue();
-            // holds the moving average sum
-            double sum = 0.0;
-            for (int j = 0; j < period; j++) {
-                sum += yData[i + j].doubleValue();
-            }
-            sum = sum / period;
-            result[i][1] = sum;
+            result[i][0] = xData[i + period];
+            result[i][1] = window.getMean();
+            window.remove(yData[i]);
+            window.add(yData[i + period]);
         }
         return result;
+    }
+
+    /**
+     * Checks that two arrays are not {@code null} and have the same length.
+     *
+     * @param a1  the first array.
+     * @param name1  the name of the first array.
+     * @param a2  the second array.
+     * @param name2  the name of the second array.
+     */
+    private static void checkPairedArrays(double[] a1, String name1, 
+            double[] a2, String name2) {
+        Args.nullNotPermitted(a1, name1);
+        Args.nullNotPermitted(a2, name2);
+        if (a1.length != a2.length) {
+            throw new IllegalArgumentException("Array lengths must be equal.");
+        }
+    }
+
+    /**
+     * Converts an array of {@code Number} objects to an array of 
+     * {@code double} values.
+     *
+     * @param values  the values ({@code null} entries not permitted).
+     *
+     * @return The array.
+     *
+     * @throws NullPointerException if {@code values} contains 
+     *     {@code null}.
+     */
+    private static double[] toArray(Number[] values) {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i].doubleValue();
+        }
+        return result;
+    }
+
+    /**
+     * Converts an array of {@code Number} objects to an array of 
+     * {@code double} values.
+     *
+     * @param values  the values.
+     * @param nullValue  the value to use for {@code null} entries.
+     *
+     * @return The array.
+     */
+    private static double[] toArray(Number[] values, double nullValue) {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i] != null ? values[i].doubleValue() 
+                    : nullValue;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sum of a range of values in an array.
+     *
+     * @param values  the values.
+     * @param from  the index of the first value.
+     * @param to  the index after the last value.
+     *
+     * @return The sum.
+     */
+    private static double sum(double[] values, int from, int to) {
+        // four independent sums, so the additions can overlap
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += values[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * The count, mean and sum of squared deviations from the mean for a set
+     * of values.
+     */
+    private static final class Moments {
+
+        /** The number of values. */
+        long count;
+
+        /** The mean. */
+        double mean;
+
+        /** The sum of squared deviations from the mean. */
+        double m2;
+
+        /**
+         * Creates an empty instance.
+         */
+        Moments() {
+        }
+
+        /**
+         * Creates an instance for a range of values in an array.
+         *
+         * @param values  the values.
+         * @param from  the index of the first value.
+         * @param to  the index after the last value.
+         * @param skipNaN  ignore {@code Double.NaN} values?
+         */
+        Moments(double[] values, int from, int to, boolean skipNaN) {
+            add(values, from, to, skipNaN);
+        }
+
+        /**
+         * Creates an instance for the values remaining in a buffer.
+         *
+         * @param values  the values.
+         * @param skipNaN  ignore {@code Double.NaN} values?
+         */
+        Moments(DoubleBuffer values, boolean skipNaN) {
+            DoubleBuffer buffer = values.duplicate();
+            double[] block = new double[Math.min(BLOCK_SIZE, 
+                    buffer.remaining())];
+            while (buffer.hasRemaining()) {
+                int n = Math.min(block.length, buffer.remaining());
+                buffer.get(block, 0, n);
+                add(block, 0, n, skipNaN);
+            }
+        }
+
+        /**
+         * Returns the moments for an array, splitting large arrays across 
+         * multiple threads.
+         *
+         * @param values  the values.
+         * @param skipNaN  ignore {@code Double.NaN} values?
+         *
+         * @return The moments.
+         */
+        static Moments parallel(double[] values, boolean skipNaN) {
+            int chunks = (values.length + PARALLEL_CHUNK_SIZE - 1) 
+                    / PARALLEL_CHUNK_SIZE;
+            return IntStream.range(0, chunks).parallel().collect(
+                    Moments::new, (m, c) -> m.add(values, 
+                    c * PARALLEL_CHUNK_SIZE, Math.min(values.length, 
+                    (c + 1) * PARALLEL_CHUNK_SIZE), skipNaN), Moments::add);
+        }
+
+        /**
+         * Adds a range of values in an array.
+         *
+         * @param values  the values.
+         * @param from  the index of the first value.
+         * @param to  the index after the last value.
+         * @param skipNaN  ignore {@code Double.NaN} values?
+         */
+        void add(double[] values, int from, int to, boolean skipNaN) {
+            for (int start = from; start < to; start += BLOCK_SIZE) {
+                int end = Math.min(to, start + BLOCK_SIZE);
+                int n = end - start;
+                double sum = sum(values, start, end);
+                if (skipNaN && Double.isNaN(sum)) {
+                    // the block contains NaN (or infinities of both signs)
+                    sum = 0.0;
+                    n = 0;
+                    for (int i = start; i < end; i++) {
+                        if (!Double.isNaN(values[i])) {
+                            sum += values[i];
+                            n++;
+                        }
+                    }
+                    if (n == 0) {
+                        continue;
+                    }
+                }
+                double blockMean = sum / n;
+                // the deviations are summed too, to correct the rounding 
+                // error in the block mean
+                double c0 = 0.0;
+                double c1 = 0.0;
+                double d0 = 0.0;
+                double d1 = 0.0;
+                int i = start;
+                for (; i + 1 < end; i += 2) {
+                    double e0 = values[i] - blockMean;
+                    double e1 = values[i + 1] - blockMean;
+                    if (skipNaN) {
+                        e0 = Double.isNaN(e0) ? 0.0 : e0;
+                        e1 = Double.isNaN(e1) ? 0.0 : e1;
+                    }
+                    c0 += e0;
+                    c1 += e1;
+                    d0 += e0 * e0;
+                    d1 += e1 * e1;
+                }
+                for (; i < end; i++) {
+                    double e = values[i] - blockMean;
+                    if (!(skipNaN && Double.isNaN(e))) {
+                        c0 += e;
+                        d0 += e * e;
+                    }
+                }
+                if (Double.isFinite(blockMean)) {
+                    double c = (c0 + c1) / n;
+                    add(n, blockMean + c, (d0 + d1) - c * c * n);
+                }
+                else {
+                    // the block contains infinite values, or the sum 
+                    // overflowed, so the correction is not defined
+                    add(n, blockMean, d0 + d1);
+                }
+            }
+        }
+
+        /**
+         * Adds the moments for another set of values.
+         *
+         * @param other  the other moments.
+         */
+        void add(Moments other) {
+            add(other.count, other.mean, other.m2);
+        }
+
+        /**
+         * Adds the moments for another set of values.
+         *
+         * @param n  the number of values.
+         * @param mean2  the mean of the values.
+         * @param m22  the sum of squared deviations from the mean.
+         */
+        private void add(long n, double mean2, double m22) {
+            if (n == 0) {
+                return;
+            }
+            if (this.count == 0) {
+                this.count = n;
+                this.mean = mean2;
+                this.m2 = m22;
+                return;
+            }
+            long total = this.count + n;
+            double delta = mean2 - this.mean;
+            double f = (double) n / total;
+            if (Double.isFinite(this.mean) && Double.isFinite(mean2)) {
+                this.mean += delta * f;
+            }
+            else {
+                // a weighted sum, so an infinite mean is kept
+                this.mean = this.mean * (1.0 - f) + mean2 * f;
+            }
+            this.m2 += m22 + delta * delta * this.count * f;
+            this.count = total;
+        }
+
+    }
+
+    /**
+     * The count, means, sums of squared deviations and sum of products of
+     * deviations for a set of (x, y) values.
+     */
+    private static final class CoMoments {
+
+        /** The number of values. */
+        long count;
+
+        /** The mean of the x-values. */
+        double meanX;
+
+        /** The mean of the y-values. */
+        double meanY;
+
+        /** The sum of squared deviations of the x-values. */
+        double m2x;
+
+        /** The sum of squared deviations of the y-values. */
+        double m2y;
+
+        /** The sum of the products of the x and y deviations. */
+        double cxy;
+
+        /**
+         * Creates an empty instance.
+         */
+        CoMoments() {
+        }
+
+        /**
+         * Creates an instance for a range of values in two arrays.
+         *
+         * @param x  the x-values.
+         * @param y  the y-values.
+         * @param from  the index of the first value.
+         * @param to  the index after the last value.
+         */
+        CoMoments(double[] x, double[] y, int from, int to) {
+            add(x, y, from, to);
+        }
+
+        /**
+         * Returns the co-moments for two arrays, splitting large arrays 
+         * across multiple threads.
+         *
+         * @param x  the x-values.
+         * @param y  the y-values.
+         *
+         * @return The co-moments.
+         */
+        static CoMoments parallel(double[] x, double[] y) {
+            int chunks = (x.length + PARALLEL_CHUNK_SIZE - 1) 
+                    / PARALLEL_CHUNK_SIZE;
+            return IntStream.range(0, chunks).parallel().collect(
+                    CoMoments::new, (m, c) -> m.add(x, y, 
+                    c * PARALLEL_CHUNK_SIZE, Math.min(x.length, 
+                    (c + 1) * PARALLEL_CHUNK_SIZE)), CoMoments::add);
+        }
+
+        /**
+         * Adds a range of values in two arrays.
+         *
+         * @param x  the x-values.
+         * @param y  the y-values.
+         * @param from  the index of the first value.
+         * @param to  the index after the last value.
+         */
+        void add(double[] x, double[] y, int from, int to) {
+            for (int start = from; start < to; start += BLOCK_SIZE) {
+                int end = Math.min(to, start + BLOCK_SIZE);
+                int n = end - start;
+                double mx = sum(x, start, end) / n;
+                double my = sum(y, start, end) / n;
+                double cx = 0.0;
+                double cy = 0.0;
+                double sxx = 0.0;
+                double syy = 0.0;
+                double sxy = 0.0;
+                for (int i = start; i < end; i++) {
+                    double dx = x[i] - mx;
+                    double dy = y[i] - my;
+                    cx += dx;
+                    cy += dy;
+                    sxx += dx * dx;
+                    syy += dy * dy;
+                    sxy += dx * dy;
+                }
+                // correct the rounding error in the block means
+                cx /= n;
+                cy /= n;
+                add(n, mx + cx, my + cy, sxx - cx * cx * n, syy - cy * cy * n,
+                        sxy - cx * cy * n);
+            }
+        }
+
+        /**
+         * Adds the co-moments for another set of values.
+         *
+         * @param other  the other co-moments.
+         */
+        void add(CoMoments other) {
+            add(other.count, other.meanX, other.meanY, other.m2x, other.m2y,
+                    other.cxy);
+        }
+
+        /**
+         * Adds the co-moments for another set of values.
+         *
+         * @param n  the number of values.
+         * @param mx  the mean of the x-values.
+         * @param my  the mean of the y-values.
+         * @param sxx  the sum of squared deviations of the x-values.
+         * @param syy  the sum of squared deviations of the y-values.
+         * @param sxy  the sum of the products of the deviations.
+         */
+        private void add(long n, double mx, double my, double sxx, 
+                double syy, double sxy) {
+            if (n == 0) {
+                return;
+            }
+            if (this.count == 0) {
+                this.count = n;
+                this.meanX = mx;
+                this.meanY = my;
+                this.m2x = sxx;
+                this.m2y = syy;
+                this.cxy = sxy;
+                return;
+            }
+            long total = this.count + n;
+            double dx = mx - this.meanX;
+            double dy = my - this.meanY;
+            double f = (double) n / total;
+            double w = this.count * f;
+            this.meanX += dx * f;
+            this.meanY += dy * f;
+            this.m2x += sxx + dx * dx * w;
+            this.m2y += syy + dy * dy * w;
+            this.cxy += sxy + dx * dy * w;
+            this.count = total;
+        }
 
     }
 
@@ -36,7 +36,11 @@
 
 package org.jfree.data.time;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.RunningMean;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
@@ -105,55 +109,45 @@ public class MovingAverage {
         }
 
         TimeSeries<S> result = new TimeSeries<>(name);
-        if (source.getItemCount() > 0) {
+        int count = source.getItemCount();
+        if (count > 0) {
 
             // if the initial averaging period is to be excluded, then
             // calculate the index of the
             // first data item to have an average calculated...
             long firstSerial = source.getTimePeriod(0).getSerialIndex() + skip;
 
-            for (int i = source.getItemCount() - 1; i >= 0; i--) {
-
-                // get the current data item...
-                RegularTimePeriod period = source.getTimePeriod(i);
+            // the window holds the items from index 'start' to 'i' and the
+            // running mean is updated as items enter and leave it, so each 
+            // item is visited twice instead of up to periodCount times...
+            List<TimeSeriesDataItem> items = new ArrayList<>();
+            RunningMean window = new RunningMean();
+            int start = 0;
+            for (int i = 0; i < count; i++) {
+                TimeSeriesDataItem item = source.getRawDataItem(i);
+                RegularTimePeriod period = item.getPeriod();
                 long serial = period.getSerialIndex();
-
-                if (serial >= firstSerial) {
-                    // work out the average for the earlier values...
-                    int n = 0;
-                    double sum = 0.0;
-                    long serialLimit = period.getSerialIndex() - periodCount;
-                    int offset = 0;
-                    boolean finished = false;
-
-                    while ((offset < periodCount) && (!finished)) {
-                        if ((i - offset) >= 0) {
-                            TimeSeriesDataItem item = source.getRawDataItem(
-                                    i - offset);
-                            RegularTimePeriod p = item.getPeriod();
-                            Number v = item.getValue();
-                            long currentIndex = p.getSerialIndex();
-                            if (currentIndex > serialLimit) {
-                                if (v != null) {
-                                    sum = sum + v.doubleValue();
-                                    n = n + 1;
-                                }
-                            }
-                            else {
-                                finished = true;
-                            }
-                        }
-                        offset = offset + 1;
-                    }
-                    if (n > 0) {
-                        result.add(period, sum / n);
+                if (item.getValue() != null) {
+                    window.add(item.getValue().doubleValue());
+                }
+                long serialLimit = serial - periodCount;
+                while (start <= i - periodCount || source.getTimePeriod(start)
+                        .getSerialIndex() <= serialLimit) {
+                    Number v = source.getValue(start);
+                    if (v != null) {
+                        window.remove(v.doubleValue());
                     }
-                    else {
-                        result.add(period, null);
+                    start++;
+                }
+                if (serial >= firstSerial) {
+                    Double average = null;
+                    if (window.getCount() > 0) {
+                        average = window.getMean();
                     }
+                    items.add(new TimeSeriesDataItem(period, average));
                 }
-
             }
+            result.addAll(items, false);
         }
         return result;
     }
@@ -197,6 +191,7 @@ public class MovingAverage {
      */
     private static <S extends Comparable<S>> TimeSeries<S> removePoint(TimeSeries<S> source, S name, int pointCount) {
         TimeSeries<S> result = new TimeSeries<>(name);
+        List<TimeSeriesDataItem> items = new ArrayList<>();
         double rollingSumForPeriod = 0.0;
         for (int i = 0; i < source.getItemCount(); i++) {
             // get the current data item...
@@ -211,12 +206,15 @@ public class MovingAverage {
                         i - pointCount);
                 rollingSumForPeriod -= startOfMovingAvg.getValue()
                         .doubleValue();
-                result.add(period, rollingSumForPeriod / pointCount);
+                items.add(new TimeSeriesDataItem(period, 
+                        rollingSumForPeriod / pointCount));
             }
             else if (i == pointCount - 1) {
-                result.add(period, rollingSumForPeriod / pointCount);
+                items.add(new TimeSeriesDataItem(period, 
+                        rollingSumForPeriod / pointCount));
             }
         }
+        result.addAll(items, false);
         return result;
     }
 
@@ -289,6 +287,73 @@ public class MovingAverage {
             throw new IllegalArgumentException("skip must be >= 0.0.");
         }
 
+        XYSeries result = new XYSeries(name);
+        int count = source.getItemCount(series);
+        if (count == 0) {
+            return result;
+        }
+        for (int i = 1; i < count; i++) {
+            if (source.getXValue(series, i) < source.getXValue(series, i - 1)) {
+                return createMovingAverageUnordered(source, series, name,
+                        period, skip);
+            }
+        }
+
+        // if the initial averaging period is to be excluded, then
+        // calculate the lowest x-value to have an average calculated...
+        double first = source.getXValue(series, 0) + skip;
+
+        // the x-values are in ascending order, so the window holds the items
+        // from index 'start' to 'i' and the running mean is updated as items
+        // enter and leave it...
+        RunningMean window = new RunningMean();
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            double x = source.getXValue(series, i);
+            Number y = source.getY(series, i);
+            if (y != null) {
+                window.add(y.doubleValue());
+            }
+            double limit = x - period;
+            while (start <= i 
+                    && !(source.getXValue(series, start) > limit)) {
+                Number yy = source.getY(series, start);
+                if (yy != null) {
+                    window.remove(yy.doubleValue());
+                }
+                start++;
+            }
+            if (x >= first) {
+                if (window.getCount() > 0) {
+                    result.add(x, window.getMean(), false);
+                }
+                else {
+                    result.add(x, null, false);
+                }
+            }
+        }
+        return result;
+
+    }
+
+    /**
+     * Creates a new {@link XYSeries} containing the moving averages of one
+     * series in the {@code source} dataset, where the x-values in the series
+     * are not in ascending order.  For each item, the average covers the 
+     * earlier items back to the first one whose x-value is outside the 
+     * averaging period.
+     *
+     * @param source  the source dataset.
+     * @param series  the series index (zero based).
+     * @param name  the name for the new series.
+     * @param period  the averaging period.
+     * @param skip  the length of the initial skip period.
+     *
+     * @return The dataset.
+     */
+    private static XYSeries createMovingAverageUnordered(XYDataset source,
+            int series, String name, double period, double skip) {
+
         XYSeries result = new XYSeries(name);
 
         if (source.getItemCount(series) > 0) {
@@ -0,0 +1,344 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * MovingAverageSeries.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.RunningMean;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesChangeListener;
+
+/**
+ * A time series containing the moving average of another (source) series,
+ * that stays up to date as the source changes.  The averages are the same
+ * as those calculated by 
+ * {@link MovingAverage#createMovingAverage(TimeSeries, Comparable, int, int)}.
+ * <P>
+ * The series listens for changes to the source.  When items are appended to
+ * the source, only the averages for the new items are calculated, and the 
+ * running sum for the averaging window is kept between changes, so the cost 
+ * of each new item does not depend on the size of the source or the number
+ * of periods in the average.  Items that are removed from the front of the 
+ * source (for example, because the source has a maximum item count) are 
+ * removed from this series too.  Any other change to the source (inserting
+ * items before the end, updating or deleting items) causes all the averages
+ * to be recalculated, and the initial skip period is then measured from the 
+ * first item in the source at that time.
+ * <P>
+ * The source holds a reference to this series (as a listener) until 
+ * {@link #dispose()} is called, so a series that is no longer needed should
+ * be disposed.  This series should not be modified directly.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public class MovingAverageSeries<S extends Comparable<S>> extends TimeSeries<S>
+        implements SeriesChangeListener {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 7463185921846391571L;
+
+    /** The source series. */
+    private final TimeSeries<?> source;
+
+    /** The number of periods in the average. */
+    private final int periodCount;
+
+    /** The number of initial periods to skip. */
+    private final int skip;
+
+    /** 
+     * The source items in the averaging window (items with {@code null} 
+     * values are included, they count towards the number of periods).
+     */
+    private transient ArrayDeque<TimeSeriesDataItem> window;
+
+    /** The mean of the non-null values in the window. */
+    private transient RunningMean mean;
+
+    /** The serial index of the first period to have an average. */
+    private transient long firstSerial;
+
+    /** The last source period that has been processed. */
+    private transient RegularTimePeriod lastPeriod;
+
+    /** The rewrite count of the source when the averages were updated. */
+    private transient long sourceRewriteCount;
+
+    /**
+     * Creates a new series containing the moving average of the source
+     * series, and registers it as a listener with the source.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param name  the series key ({@code null} not permitted).
+     * @param periodCount  the number of periods used in the average 
+     *     calculation (must be &gt;= 1).
+     * @param skip  the number of initial periods to skip.
+     */
+    public MovingAverageSeries(TimeSeries<?> source, S name, int periodCount, 
+            int skip) {
+        super(name);
+        Args.nullNotPermitted(source, "source");
+        if (periodCount < 1) {
+            throw new IllegalArgumentException("periodCount must be greater "
+                    + "than or equal to 1.");
+        }
+        this.source = source;
+        this.periodCount = periodCount;
+        this.skip = skip;
+        synchronized (source) {
+            recalculate();
+        }
+        source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source series.
+     *
+     * @return The source series (never {@code null}).
+     */
+    public TimeSeries<?> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the number of periods used in the average calculation.
+     *
+     * @return The period count.
+     */
+    public int getPeriodCount() {
+        return this.periodCount;
+    }
+
+    /**
+     * Returns the number of initial periods that are skipped.
+     *
+     * @return The number of periods skipped.
+     */
+    public int getSkip() {
+        return this.skip;
+    }
+
+    /**
+     * Stops this series from following the source series, by deregistering
+     * it as a listener with the source.  The series keeps the averages it 
+     * holds, and can then be discarded (the source no longer refers to it).
+     */
+    public void dispose() {
+        this.source.removeChangeListener(this);
+    }
+
+    /**
+     * Receives notification of a change to the source series, updates the
+     * averages and sends a {@link SeriesChangeEvent} to all registered 
+     * listeners.
+     *
+     * @param event  information about the change.
+     */
+    @Override
+    public void seriesChanged(SeriesChangeEvent event) {
+        synchronized (this.source) {
+            update();
+        }
+        fireSeriesChanged();
+    }
+
+    /**
+     * Brings the averages up to date with the source series, incrementally
+     * if the source has only had items appended or removed from the front.
+     */
+    private void update() {
+        int count = this.source.getItemCount();
+        if (this.window == null || count == 0 
+                || this.source.getRewriteCount() != this.sourceRewriteCount) {
+            recalculate();
+            return;
+        }
+
+        // drop items that have been removed from the front of the source...
+        RegularTimePeriod first = this.source.getTimePeriod(0);
+        while (!this.window.isEmpty() 
+                && this.window.peekFirst().getPeriod().compareTo(first) < 0) {
+            removeFirstFromWindow();
+        }
+        int removed = 0;
+        while (removed < getItemCount() 
+                && getTimePeriod(removed).compareTo(first) < 0) {
+            removed++;
+        }
+        if (removed > 0) {
+            delete(0, removed - 1, false);
+        }
+
+        // ...then add the averages for the items appended to the source
+        int start = count;
+        while (start > 0 && (this.lastPeriod == null || this.source
+                .getTimePeriod(start - 1).compareTo(this.lastPeriod) > 0)) {
+            start--;
+        }
+        List<TimeSeriesDataItem> items = new ArrayList<>();
+        for (int i = start; i < count; i++) {
+            append(this.source.getRawDataItem(i), items);
+        }
+        addAll(items, false);
+    }
+
+    /**
+     * Recalculates all the averages from the source series.
+     */
+    private void recalculate() {
+        this.window = new ArrayDeque<>();
+        this.mean = new RunningMean();
+        this.lastPeriod = null;
+        this.sourceRewriteCount = this.source.getRewriteCount();
+        if (getItemCount() > 0) {
+            delete(0, getItemCount() - 1, false);
+        }
+        List<TimeSeriesDataItem> items = new ArrayList<>();
+        for (int i = 0; i < this.source.getItemCount(); i++) {
+            append(this.source.getRawDataItem(i), items);
+        }
+        addAll(items, false);
+    }
+
+    /**
+     * Moves the averaging window forward to a source item and, unless the 
+     * item is in the initial skip period, adds an item with the average to 
+     * a list.
+     *
+     * @param item  the source item.
+     * @param items  the list of average items.
+     */
+    private void append(TimeSeriesDataItem item, 
+            List<TimeSeriesDataItem> items) {
+        RegularTimePeriod period = item.getPeriod();
+        long serial = period.getSerialIndex();
+        if (this.lastPeriod == null) {
+            this.firstSerial = serial + this.skip;
+        }
+        this.lastPeriod = period;
+        this.window.addLast(item);
+        if (item.getValue() != null) {
+            this.mean.add(item.getValue().doubleValue());
+        }
+        long serialLimit = serial - this.periodCount;
+        while (this.window.size() > this.periodCount || this.window
+                .peekFirst().getPeriod().getSerialIndex() <= serialLimit) {
+            removeFirstFromWindow();
+        }
+        if (serial >= this.firstSerial) {
+            Double average = null;
+            if (this.mean.getCount() > 0) {
+                average = this.mean.getMean();
+            }
+            items.add(new TimeSeriesDataItem(period, average));
+        }
+    }
+
+    /**
+     * Removes the first item from the averaging window.
+     */
+    private void removeFirstFromWindow() {
+        TimeSeriesDataItem item = this.window.removeFirst();
+        if (item.getValue() != null) {
+            this.mean.remove(item.getValue().doubleValue());
+        }
+    }
+
+    /**
+     * Returns a clone of this series.  The clone is not registered as a 
+     * listener with the source series, so it holds the averages as they are
+     * now and does not follow later changes to the source.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        @SuppressWarnings("unchecked")
+        MovingAverageSeries<S> clone = (MovingAverageSeries) super.clone();
+        clone.window = null;
+        clone.mean = null;
+        return clone;
+    }
+
+    /**
+     * Tests this series for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof MovingAverageSeries)) {
+            return false;
+        }
+        MovingAverageSeries<?> that = (MovingAverageSeries) obj;
+        if (this.periodCount != that.periodCount) {
+            return false;
+        }
+        if (this.skip != that.skip) {
+            return false;
+        }
+        if (!Objects.equals(this.source, that.source)) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns a hash code for this series.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 29 * result + this.periodCount;
+        result = 29 * result + this.skip;
+        return result;
+    }
+
+}
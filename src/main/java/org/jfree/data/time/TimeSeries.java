@@ -38,6 +38,7 @@
 package org.jfree.data.time;
 
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -49,9 +50,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.TimeZone;
+import java.util.function.LongFunction;
 
 import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.CircularList;
 import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.internal.ListUtils;
+import org.jfree.chart.internal.MinMaxIndex;
 import org.jfree.data.Range;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
@@ -75,7 +80,11 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
     /** The type of period for the data. */
     protected Class timePeriodClass;
 
-    /** The list of data items in the series. */
+    /**
+     * The list of data items in the series (a {@link CircularList}, so that
+     * the oldest items can be removed in constant time when the maximum item
+     * count or age is reached).
+     */
     protected List<TimeSeriesDataItem> data;
 
     /** The maximum number of items for the series. */
@@ -101,6 +110,19 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      */
     private double maxY;
 
+    /**
+     * An index for finding the range of y-values for a range of items,
+     * created by the first call to
+     * {@link #findValueRange(Range, TimePeriodAnchor, Calendar)}.
+     */
+    private transient MinMaxIndex yIndex;
+
+    /**
+     * The number of changes to the series other than appending items or
+     * removing items from the front (see {@link #getRewriteCount()}).
+     */
+    private transient long rewriteCount;
+
     /**
      * Creates a new (empty) time series.  By default, a daily time series is
      * created.  Use one of the other constructors if you require a different
@@ -111,7 +133,7 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
     public TimeSeries(S name) {
         super(name);
         this.timePeriodClass = null;
-        this.data = new ArrayList<>();
+        this.data = new CircularList<>();
         this.maximumItemCount = Integer.MAX_VALUE;
         this.maximumItemAge = Long.MAX_VALUE;
         this.minY = Double.NaN;
@@ -162,13 +184,21 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * @see #getMaximumItemCount()
      */
     public void setMaximumItemCount(int maximum) {
-        if (maximum < 0) {
-            throw new IllegalArgumentException("Negative 'maximum' argument.");
+        boolean removed = false;
+        synchronized (this) {
+            if (maximum < 0) {
+                throw new IllegalArgumentException(
+                        "Negative 'maximum' argument.");
+            }
+            this.maximumItemCount = maximum;
+            int count = this.data.size();
+            if (count > maximum) {
+                    delete(0, count - maximum - 1, false);
+                    removed = true;
+            }
         }
-        this.maximumItemCount = maximum;
-        int count = this.data.size();
-        if (count > maximum) {
-            delete(0, count - maximum - 1);
+        if (removed) {
+            fireSeriesChanged();
         }
     }
 
@@ -196,10 +226,13 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * @see #getMaximumItemAge()
      */
     public void setMaximumItemAge(long periods) {
-        if (periods < 0) {
-            throw new IllegalArgumentException("Negative 'periods' argument.");
+        synchronized (this) {
+            if (periods < 0) {
+                throw new IllegalArgumentException(
+                        "Negative 'periods' argument.");
+            }
+            this.maximumItemAge = periods;
         }
-        this.maximumItemAge = periods;
         removeAgedItems(true);  // remove old items and notify if necessary
     }
 
@@ -278,30 +311,59 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * 
      * @return The range of y-values.
      */
-    public Range findValueRange(Range xRange, TimePeriodAnchor xAnchor, Calendar calendar) {
-        // since the items are ordered, we could be more clever here and avoid
-        // iterating over all the data
-        double lowY = Double.POSITIVE_INFINITY;
-        double highY = Double.NEGATIVE_INFINITY;
-        for (TimeSeriesDataItem item : this.data) {
-            long millis = item.getPeriod().getMillisecond(xAnchor, calendar);
-            if (xRange.contains(millis)) {
-                Number n = item.getValue();
-                if (n != null) {
-                    double v = n.doubleValue();
-                    lowY = minIgnoreNaN(lowY, v);
-                    highY = maxIgnoreNaN(highY, v);
-                }
+    public synchronized Range findValueRange(Range xRange, TimePeriodAnchor xAnchor, Calendar calendar) {
+        // the items are ordered by time period, so the items in the x-range
+        // can be found by binary search and the y-range read from the index
+        int count = this.data.size();
+        int first = 0;
+        int high = count;
+        while (first < high) {
+            int mid = (first + high) >>> 1;
+            if (getTimePeriod(mid).getMillisecond(xAnchor, calendar)
+                    < xRange.getLowerBound()) {
+                first = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        int end = first;
+        high = count;
+        while (end < high) {
+            int mid = (end + high) >>> 1;
+            if (getTimePeriod(mid).getMillisecond(xAnchor, calendar)
+                    <= xRange.getUpperBound()) {
+                end = mid + 1;
+            }
+            else {
+                high = mid;
             }
         }
-        if (Double.isInfinite(lowY) && Double.isInfinite(highY)) {
-            if (lowY < highY) {
-                return new Range(lowY, highY);
-            } else {
-                return new Range(Double.NaN, Double.NaN);
+        Range result = null;
+        if (first < end) {
+            if (this.yIndex == null) {
+                this.yIndex = new MinMaxIndex(this::getYValue,
+                        this::getItemCount);
             }
+            result = this.yIndex.findRange(first, end - 1);
+        }
+        if (result == null) {
+            return new Range(Double.NaN, Double.NaN);
         }
-        return new Range(lowY, highY);
+        return result;
+    }
+
+    /**
+     * Returns the y-value for an item as a double primitive, with
+     * {@code null} values returned as {@code Double.NaN}.
+     *
+     * @param index  the item index.
+     *
+     * @return The y-value.
+     */
+    private double getYValue(int index) {
+        Number n = this.data.get(index).getValue();
+        return n != null ? n.doubleValue() : Double.NaN;
     }
 
     /**
@@ -537,33 +599,36 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * @param notify  notify listeners?
      */
     public void add(TimeSeriesDataItem item, boolean notify) {
-        Args.nullNotPermitted(item, "item");
-        item = (TimeSeriesDataItem) item.clone();
-        Class c = item.getPeriod().getClass();
-        if (this.timePeriodClass == null) {
-            this.timePeriodClass = c;
-        } else if (!this.timePeriodClass.equals(c)) {
-            exception(item);
-        }
-
-        // make the change (if it's not a duplicate time period)...
-        boolean added = makeChange(item);
-        if (added) {
-            updateBoundsForAddedItem(item);
-            // check if this addition will exceed the maximum item count...
-            if (getItemCount() > this.maximumItemCount) {
-                TimeSeriesDataItem d = this.data.remove(0);
-                updateBoundsForRemovedItem(d);
+        boolean added;
+        synchronized (this) {
+            Args.nullNotPermitted(item, "item");
+            item = (TimeSeriesDataItem) item.clone();
+            Class c = item.getPeriod().getClass();
+            if (this.timePeriodClass == null) {
+                this.timePeriodClass = c;
+            } else if (!this.timePeriodClass.equals(c)) {
+                exception(item);
             }
 
-            removeAgedItems(false);  // remove old items if necessary, but
-            // don't notify anyone, because that
-            // happens next anyway...
-            if (notify) {
-                fireSeriesChanged();
+            // make the change (if it's not a duplicate time period)...
+            added = makeChange(item);
+            if (added) {
+                updateBoundsForAddedItem(item);
+                // check if this addition will exceed the maximum item count...
+                if (getItemCount() > this.maximumItemCount) {
+                    TimeSeriesDataItem d = this.data.remove(0);
+                    indexItemsRemoved(0, 1);
+                    updateBoundsForRemovedItem(d);
+                }
+
+                removeAgedItems(false);  // remove old items if necessary, but
+                // don't notify anyone, because that
+                // happens next anyway...
             }
         }
-
+        if (added && notify) {
+            fireSeriesChanged();
+        }
     }
 
     /**
@@ -589,18 +654,21 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         int count = getItemCount();
         if (count == 0) {
             this.data.add(item);
+            indexItemAdded(0);
             added = true;
         }
         else {
             RegularTimePeriod last = getTimePeriod(getItemCount() - 1);
             if (item.getPeriod().compareTo(last) > 0) {
                 this.data.add(item);
+                indexItemAdded(count);
                 added = true;
             }
             else {
                 int index = Collections.binarySearch(this.data, item);
                 if (index < 0) {
                     this.data.add(-index - 1, item);
+                    indexItemAdded(-index - 1);
                     added = true;
                 }
                 else {
@@ -671,6 +739,165 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         add(item, notify);
     }
 
+    /**
+     * Adds a batch of values to the series and sends a single 
+     * {@link SeriesChangeEvent} to all registered listeners.  Each value is
+     * recorded against the time period (of the series' time period class, or
+     * {@link Millisecond} if the series is empty and has no time period
+     * class yet) that contains the corresponding time, in the default time 
+     * zone.
+     *
+     * @param millis  the times in milliseconds ({@code null} not permitted).
+     * @param values  the values ({@code null} not permitted, must have the 
+     *     same length as {@code millis}).
+     *
+     * @throws SeriesException if two values fall in the same time period, or 
+     *     in a time period that is already in the series.
+     *
+     * @see #addAll(List, boolean)
+     */
+    public void addAll(long[] millis, double[] values) {
+        Args.nullNotPermitted(millis, "millis");
+        Args.nullNotPermitted(values, "values");
+        if (millis.length != values.length) {
+            throw new IllegalArgumentException("The 'millis' and 'values' "
+                    + "arrays must have the same length.");
+        }
+        Class c = (this.timePeriodClass != null) ? this.timePeriodClass 
+                : Millisecond.class;
+        LongFunction<RegularTimePeriod> periods = createPeriodFunction(c);
+        List<TimeSeriesDataItem> items = new ArrayList<>(millis.length);
+        for (int i = 0; i < millis.length; i++) {
+            items.add(new TimeSeriesDataItem(periods.apply(millis[i]), 
+                    values[i]));
+        }
+        addAll(items, true);
+    }
+
+    /**
+     * Returns a function that creates the time period of the specified class
+     * containing a time (in milliseconds) in the default time zone.  The 
+     * constructor is looked up once, and for the standard time period 
+     * classes one calendar is shared by all the periods created.
+     *
+     * @param c  the time period class.
+     *
+     * @return The function.
+     *
+     * @throws IllegalArgumentException if there is no suitable constructor
+     *     for the time period class.
+     */
+    private static LongFunction<RegularTimePeriod> createPeriodFunction(
+            Class c) {
+        if (FixedMillisecond.class.equals(c)) {
+            return FixedMillisecond::new;
+        }
+        TimeZone zone = TimeZone.getDefault();
+        Locale locale = Locale.getDefault();
+        Constructor<?> constructor;
+        Object[] args;
+        try {
+            constructor = c.getDeclaredConstructor(Date.class, 
+                    Calendar.class);
+            args = new Object[] {null, Calendar.getInstance(zone, locale)};
+        }
+        catch (NoSuchMethodException e) {
+            try {
+                constructor = c.getDeclaredConstructor(Date.class, 
+                        TimeZone.class, Locale.class);
+                args = new Object[] {null, zone, locale};
+            }
+            catch (NoSuchMethodException e2) {
+                throw new IllegalArgumentException("Cannot create time "
+                        + "periods of class " + c.getName() + ".", e2);
+            }
+        }
+        Constructor<?> ctor = constructor;
+        Object[] ctorArgs = args;
+        return millis -> {
+            ctorArgs[0] = new Date(millis);
+            try {
+                return (RegularTimePeriod) ctor.newInstance(ctorArgs);
+            }
+            catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot create time "
+                        + "periods of class " + c.getName() + ".", e);
+            }
+        };
+    }
+
+    /**
+     * Adds a batch of data items to the series and, if requested, sends a 
+     * single {@link SeriesChangeEvent} to all registered listeners.  The 
+     * result is the same as adding the items one at a time, but the batch is
+     * merged into the series in one pass (a batch that follows the existing
+     * items, in particular one that is already sorted, is simply appended),
+     * and the bounds, maximum item count and maximum item age are checked 
+     * once for the whole batch.  If the batch contains an item for a time 
+     * period that is already in the series (or two items for the same time 
+     * period) an exception is thrown and the series is not modified.
+     *
+     * @param items  the items ({@code null} not permitted).
+     * @param notify  notify listeners?
+     *
+     * @throws SeriesException if the batch contains a duplicate time period
+     *     or a time period class that doesn't match the series.
+     */
+    public void addAll(List<TimeSeriesDataItem> items, 
+            boolean notify) {
+        synchronized (this) {
+            Args.nullNotPermitted(items, "items");
+            if (items.isEmpty()) {
+                return;
+            }
+            List<TimeSeriesDataItem> batch = new ArrayList<>(items.size());
+            Class c = this.timePeriodClass;
+            for (TimeSeriesDataItem item : items) {
+                Args.nullNotPermitted(item, "item");
+                if (c == null) {
+                    c = item.getPeriod().getClass();
+                }
+                else if (!c.equals(item.getPeriod().getClass())) {
+                    exception(item);
+                }
+                batch.add((TimeSeriesDataItem) item.clone());
+            }
+            int oldCount = this.data.size();
+            int first = ListUtils.mergeSorted(this.data, batch, false);
+            if (first < 0) {
+                throw new SeriesException(
+                        "You are attempting to add a batch of "
+                        + "observations that contains a duplicate time period. "
+                        + "Duplicates are not permitted.");
+            }
+            this.timePeriodClass = c;
+            if (first == oldCount) {
+                for (int i = oldCount; i < this.data.size(); i++) {
+                    indexItemAdded(i);
+                }
+            }
+            else {
+                this.rewriteCount++;
+                if (this.yIndex != null) {
+                    this.yIndex.invalidate();
+                }
+            }
+            for (TimeSeriesDataItem item : batch) {
+                updateBoundsForAddedItem(item);
+            }
+            int remove = this.data.size() - this.maximumItemCount;
+            if (remove > 0) {
+                this.data.subList(0, remove).clear();
+                indexItemsRemoved(0, remove);
+                updateMinMaxYByIteration();
+            }
+            removeAgedItems(false);
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
     /**
      * Updates (changes) the value for a time period.  Throws a
      * {@link SeriesException} if the period does not exist.
@@ -692,13 +919,16 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * @param value  the value ({@code null} permitted).
      */
     public void update(RegularTimePeriod period, Number value) {
-        TimeSeriesDataItem temp = new TimeSeriesDataItem(period, value);
-        int index = Collections.binarySearch(this.data, temp);
-        if (index < 0) {
-            throw new SeriesException("There is no existing value for the "
-                    + "specified 'period'.");
+        synchronized (this) {
+            TimeSeriesDataItem temp = new TimeSeriesDataItem(period, value);
+            int index = Collections.binarySearch(this.data, temp);
+            if (index < 0) {
+                throw new SeriesException("There is no existing value for the "
+                        + "specified 'period'.");
+            }
+            updateValue(index, value);
         }
-        update(index, value);
+        fireSeriesChanged();
     }
 
     /**
@@ -708,6 +938,21 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * @param value  the new value ({@code null} permitted).
      */
     public void update(int index, Number value) {
+        synchronized (this) {
+            updateValue(index, value);
+        }
+        fireSeriesChanged();
+    }
+
+    /**
+     * Updates the value of a data item without sending a
+     * {@link SeriesChangeEvent}.  The caller must hold the lock on
+     * this series.
+     *
+     * @param index  the index of the data item.
+     * @param value  the new value ({@code null} permitted).
+     */
+    private void updateValue(int index, Number value) {
         TimeSeriesDataItem item = this.data.get(index);
         boolean iterate = false;
         Number oldYN = item.getValue();
@@ -718,6 +963,10 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
             }
         }
         item.setValue(value);
+        this.rewriteCount++;
+        if (this.yIndex != null) {
+            this.yIndex.itemUpdated(index);
+        }
         if (iterate) {
             updateMinMaxYByIteration();
         }
@@ -726,7 +975,6 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
             this.minY = minIgnoreNaN(this.minY, yy);
             this.maxY = maxIgnoreNaN(this.maxY, yy);
         }
-        fireSeriesChanged();
     }
 
     /**
@@ -793,60 +1041,67 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      *
      * @since 1.0.14
      */
-    public TimeSeriesDataItem addOrUpdate(TimeSeriesDataItem item) {
-
-        Args.nullNotPermitted(item, "item");
-        Class periodClass = item.getPeriod().getClass();
-        if (this.timePeriodClass == null) {
-            this.timePeriodClass = periodClass;
-        }
-        else if (!this.timePeriodClass.equals(periodClass)) {
-            String msg = "You are trying to add data where the time "
-                    + "period class is " + periodClass.getName()
-                    + ", but the TimeSeries is expecting an instance of "
-                    + this.timePeriodClass.getName() + ".";
-            throw new SeriesException(msg);
-        }
+    public TimeSeriesDataItem addOrUpdate(
+            TimeSeriesDataItem item) {
         TimeSeriesDataItem overwritten = null;
-        int index = Collections.binarySearch(this.data, item);
-        if (index >= 0) {
-            TimeSeriesDataItem existing = this.data.get(index);
-            overwritten = (TimeSeriesDataItem) existing.clone();
-            // figure out if we need to iterate through all the y-values
-            // to find the revised minY / maxY
-            boolean iterate = false;
-            Number oldYN = existing.getValue();
-            double oldY = oldYN != null ? oldYN.doubleValue() : Double.NaN;
-            if (!Double.isNaN(oldY)) {
-                iterate = oldY <= this.minY || oldY >= this.maxY;
+        synchronized (this) {
+            Args.nullNotPermitted(item, "item");
+            Class periodClass = item.getPeriod().getClass();
+            if (this.timePeriodClass == null) {
+                this.timePeriodClass = periodClass;
             }
-            existing.setValue(item.getValue());
-            if (iterate) {
-                updateMinMaxYByIteration();
+            else if (!this.timePeriodClass.equals(periodClass)) {
+                String msg = "You are trying to add data where the time "
+                        + "period class is " + periodClass.getName()
+                        + ", but the TimeSeries is expecting an instance of "
+                        + this.timePeriodClass.getName() + ".";
+                throw new SeriesException(msg);
             }
-            else if (item.getValue() != null) {
-                double yy = item.getValue().doubleValue();
-                this.minY = minIgnoreNaN(this.minY, yy);
-                this.maxY = maxIgnoreNaN(this.maxY, yy);
+            int index = Collections.binarySearch(this.data, item);
+            if (index >= 0) {
+                TimeSeriesDataItem existing = this.data.get(index);
+                overwritten = (TimeSeriesDataItem) existing.clone();
+                // figure out if we need to iterate through all the y-values
+                // to find the revised minY / maxY
+                boolean iterate = false;
+                Number oldYN = existing.getValue();
+                double oldY = oldYN != null ? oldYN.doubleValue() : Double.NaN;
+                if (!Double.isNaN(oldY)) {
+                    iterate = oldY <= this.minY || oldY >= this.maxY;
+                }
+                existing.setValue(item.getValue());
+                this.rewriteCount++;
+                if (this.yIndex != null) {
+                    this.yIndex.itemUpdated(index);
+                }
+                if (iterate) {
+                    updateMinMaxYByIteration();
+                }
+                else if (item.getValue() != null) {
+                    double yy = item.getValue().doubleValue();
+                    this.minY = minIgnoreNaN(this.minY, yy);
+                    this.maxY = maxIgnoreNaN(this.maxY, yy);
+                }
             }
-        }
-        else {
-            item = (TimeSeriesDataItem) item.clone();
-            this.data.add(-index - 1, item);
-            updateBoundsForAddedItem(item);
-
-            // check if this addition will exceed the maximum item count...
-            if (getItemCount() > this.maximumItemCount) {
-                TimeSeriesDataItem d = this.data.remove(0);
-                updateBoundsForRemovedItem(d);
+            else {
+                item = (TimeSeriesDataItem) item.clone();
+                this.data.add(-index - 1, item);
+                indexItemAdded(-index - 1);
+                updateBoundsForAddedItem(item);
+
+                // check if this addition will exceed the maximum item count...
+                if (getItemCount() > this.maximumItemCount) {
+                    TimeSeriesDataItem d = this.data.remove(0);
+                    indexItemsRemoved(0, 1);
+                    updateBoundsForRemovedItem(d);
+                }
             }
+            removeAgedItems(false);  // remove old items if necessary, but
+                                     // don't notify anyone, because that
+                                     // happens next anyway...
         }
-        removeAgedItems(false);  // remove old items if necessary, but
-                                 // don't notify anyone, because that
-                                 // happens next anyway...
         fireSeriesChanged();
         return overwritten;
-
     }
 
     /**
@@ -858,23 +1113,27 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      *                sent to registered listeners IF any items are removed.
      */
     public void removeAgedItems(boolean notify) {
-        // check if there are any values earlier than specified by the history
-        // count...
-        if (getItemCount() > 1) {
-            long latest = getTimePeriod(getItemCount() - 1).getSerialIndex();
-            boolean removed = false;
-            while ((latest - getTimePeriod(0).getSerialIndex())
-                    > this.maximumItemAge) {
-                this.data.remove(0);
-                removed = true;
-            }
-            if (removed) {
-                updateMinMaxYByIteration();
-                if (notify) {
-                    fireSeriesChanged();
+        int removed = 0;
+        synchronized (this) {
+            // check if there are any values earlier than specified by the
+            // history count...
+            if (getItemCount() > 1) {
+                long latest = getTimePeriod(getItemCount() - 1)
+                        .getSerialIndex();
+                while ((latest - getTimePeriod(0).getSerialIndex())
+                        > this.maximumItemAge) {
+                    this.data.remove(0);
+                    removed++;
+                }
+                if (removed > 0) {
+                    indexItemsRemoved(0, removed);
+                    updateMinMaxYByIteration();
                 }
             }
         }
+        if (removed > 0 && notify) {
+            fireSeriesChanged();
+        }
     }
 
     /**
@@ -888,52 +1147,64 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      *                sent to registered listeners IF any items are removed.
      */
     public void removeAgedItems(long latest, boolean notify) {
-        if (this.data.isEmpty()) {
-            return;  // nothing to do
-        }
-        // find the serial index of the period specified by 'latest'
-        long index = Long.MAX_VALUE;
-        try {
-            Method m = RegularTimePeriod.class.getDeclaredMethod(
-                    "createInstance", Class.class, Date.class,
-                    TimeZone.class, Locale.class);
-            RegularTimePeriod newest = (RegularTimePeriod) m.invoke(
-                    this.timePeriodClass, new Object[] {this.timePeriodClass,
-                            new Date(latest), TimeZone.getDefault(), Locale.getDefault()});
-            index = newest.getSerialIndex();
-        }
-        catch (NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
-        catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+        boolean removed;
+        synchronized (this) {
+            if (this.data.isEmpty()) {
+                return;  // nothing to do
+            }
+            // find the serial index of the period specified by 'latest'
+            long index = Long.MAX_VALUE;
+            try {
+                Method m = RegularTimePeriod.class.getDeclaredMethod(
+                        "createInstance", Class.class, Date.class,
+                        TimeZone.class, Locale.class);
+                RegularTimePeriod newest = (RegularTimePeriod) m.invoke(
+                        this.timePeriodClass, new Object[] {
+                                this.timePeriodClass, new Date(latest),
+                                TimeZone.getDefault(), Locale.getDefault()});
+                index = newest.getSerialIndex();
+            }
+            catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+            catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+            catch (InvocationTargetException e) {
+                throw new RuntimeException(e);
+            }
+
+            removed = isEarlierThanHistory(index);
         }
-        catch (InvocationTargetException e) {
-            throw new RuntimeException(e);
+        if (removed && notify) {
+            fireSeriesChanged();
         }
-
-        isEarlierThanHistory(notify, index);
     }
 
     /**
-     * @param notify
-     * @param index
+     * Removes the items that are older than the maximum item age, measured
+     * from the period with the specified serial index, without sending a
+     * {@link SeriesChangeEvent}.  The caller must hold the lock on this
+     * series.
+     *
+     * @param index  the serial index of the latest period.
+     *
+     * @return A boolean indicating whether any items were removed.
      */
-    private void isEarlierThanHistory(boolean notify, long index) {
+    private boolean isEarlierThanHistory(long index) {
         // check if there are any values earlier than specified by the history
         // count...
-        boolean removed = false;
+        int removed = 0;
         while (getItemCount() > 0 && (index
                 - getTimePeriod(0).getSerialIndex()) > this.maximumItemAge) {
             this.data.remove(0);
-            removed = true;
+            removed++;
         }
-        if (removed) {
+        if (removed > 0) {
+            indexItemsRemoved(0, removed);
             updateMinMaxYByIteration();
-            if (notify) {
-                fireSeriesChanged();
-            }
         }
+        return removed > 0;
     }
 
     /**
@@ -941,11 +1212,21 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * {@link SeriesChangeEvent} to all registered listeners.
      */
     public void clear() {
-        if (this.data.size() > 0) {
-            this.data.clear();
-            this.timePeriodClass = null;
-            this.minY = Double.NaN;
-            this.maxY = Double.NaN;
+        boolean changed = false;
+        synchronized (this) {
+            if (this.data.size() > 0) {
+                this.data.clear();
+                this.rewriteCount++;
+                if (this.yIndex != null) {
+                    this.yIndex.invalidate();
+                }
+                this.timePeriodClass = null;
+                this.minY = Double.NaN;
+                this.maxY = Double.NaN;
+                changed = true;
+            }
+        }
+        if (changed) {
             fireSeriesChanged();
         }
     }
@@ -959,13 +1240,20 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      *                permitted).
      */
     public void delete(RegularTimePeriod period) {
-        int index = getIndex(period);
-        if (index >= 0) {
-            TimeSeriesDataItem item = this.data.remove(index);
-            updateBoundsForRemovedItem(item);
-            if (this.data.isEmpty()) {
-                this.timePeriodClass = null;
+        boolean changed = false;
+        synchronized (this) {
+            int index = getIndex(period);
+            if (index >= 0) {
+                TimeSeriesDataItem item = this.data.remove(index);
+                indexItemsRemoved(index, 1);
+                updateBoundsForRemovedItem(item);
+                if (this.data.isEmpty()) {
+                    this.timePeriodClass = null;
+                }
+                changed = true;
             }
+        }
+        if (changed) {
             fireSeriesChanged();
         }
     }
@@ -990,15 +1278,16 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
      * @since 1.0.14
      */
     public void delete(int start, int end, boolean notify) {
-        if (end < start) {
-            throw new IllegalArgumentException("Requires start <= end.");
-        }
-        for (int i = 0; i <= (end - start); i++) {
-            this.data.remove(start);
-        }
-        updateMinMaxYByIteration();
-        if (this.data.isEmpty()) {
-            this.timePeriodClass = null;
+        synchronized (this) {
+            if (end < start) {
+                throw new IllegalArgumentException("Requires start <= end.");
+            }
+            this.data.subList(start, end + 1).clear();
+            indexItemsRemoved(start, end - start + 1);
+            updateMinMaxYByIteration();
+            if (this.data.isEmpty()) {
+                this.timePeriodClass = null;
+            }
         }
         if (notify) {
             fireSeriesChanged();
@@ -1023,7 +1312,8 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
     @Override
     public Object clone() throws CloneNotSupportedException {
         TimeSeries<S> clone = (TimeSeries) super.clone();
-        clone.data = CloneUtils.cloneList(this.data);
+        clone.data = new CircularList<>(CloneUtils.cloneList(this.data));
+        clone.yIndex = null;
         return clone;
     }
 
@@ -1050,7 +1340,8 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         TimeSeries<S> copy = (TimeSeries) super.clone();
         copy.minY = Double.NaN;
         copy.maxY = Double.NaN;
-        copy.data = new java.util.ArrayList();
+        copy.data = new CircularList<>();
+        copy.yIndex = null;
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 TimeSeriesDataItem item = this.data.get(index);
@@ -1097,7 +1388,7 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         }
         if (emptyRange) {
             TimeSeries<S> copy = (TimeSeries) super.clone();
-            copy.data = new java.util.ArrayList();
+            copy.data = new CircularList<>();
             return copy;
         }
         return createCopy(startIndex, endIndex);
@@ -1194,6 +1485,51 @@ public class TimeSeries<S extends Comparable<S>> extends Series<S>
         return result;
     }
 
+    /**
+     * Returns the number of changes made to the series other than appending
+     * items or removing items from the front of the series (inserting items,
+     * updating values, deleting items elsewhere and clearing the series).
+     * A listener that sees this count unchanged after a 
+     * {@link SeriesChangeEvent} knows that it only needs to deal with new 
+     * items at the end of the series and items dropped from the front.
+     *
+     * @return The count.
+     */
+    long getRewriteCount() {
+        return this.rewriteCount;
+    }
+
+    /**
+     * Updates the y-value index (if there is one) after an item has been
+     * added to the series.
+     *
+     * @param index  the index of the new item.
+     */
+    private void indexItemAdded(int index) {
+        if (index != this.data.size() - 1) {
+            this.rewriteCount++;
+        }
+        if (this.yIndex != null) {
+            this.yIndex.itemAdded(index);
+        }
+    }
+
+    /**
+     * Updates the y-value index (if there is one) after items have been
+     * removed from the series.
+     *
+     * @param index  the index of the first item removed.
+     * @param count  the number of items removed.
+     */
+    private void indexItemsRemoved(int index, int count) {
+        if (index != 0) {
+            this.rewriteCount++;
+        }
+        if (this.yIndex != null) {
+            this.yIndex.itemsRemoved(index, count);
+        }
+    }
+
     /**
      * Updates the cached values for the minimum and maximum data values.
      *
@@ -60,7 +60,8 @@ import java.util.*;
 public class TimeSeriesCollection<S extends Comparable<S>> 
         extends AbstractIntervalXYDataset
         implements XYDataset, IntervalXYDataset, DomainInfo, XYDomainInfo,
-        XYRangeInfo, VetoableChangeListener, Serializable {
+        XYRangeInfo, XYSnapshotProvider<S>, VetoableChangeListener, 
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = 834149929022371137L;
@@ -78,6 +79,12 @@ public class TimeSeriesCollection<S extends Comparable<S>>
      */
     private TimePeriodAnchor xPosition;
 
+    /** 
+     * A flag that indicates that the series may be updated by other threads
+     * while the dataset is rendered. 
+     */
+    private boolean concurrent;
+
     /**
      * Constructs an empty dataset, tied to the default timezone.
      */
@@ -163,6 +170,102 @@ public class TimeSeriesCollection<S extends Comparable<S>>
         notifyListeners(new DatasetChangeEvent(this, this));
     }
 
+    /**
+     * Returns the flag that indicates that the series in this collection may
+     * be updated by other threads while the dataset is rendered.  The 
+     * default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setConcurrent(boolean)
+     */
+    @Override
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    /**
+     * Sets the flag that indicates that the series in this collection may be
+     * updated by other threads while the dataset is rendered.  When this is
+     * set, the plot renders the dataset from a snapshot (see 
+     * {@link #createSnapshot()}) so that each rendering pass sees a 
+     * consistent view of the data.  Updates to the series are synchronized
+     * on the series, so a thread adding data only waits while a snapshot of
+     * the series it is updating is copied.  Series can be added to and 
+     * removed from the collection by any thread.
+     *
+     * @param concurrent  the new flag value.
+     *
+     * @see #isConcurrent()
+     */
+    public void setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * Creates a snapshot of the current contents of this collection, with 
+     * the x-values calculated using the current {@code xPosition}.  Each 
+     * series is copied while holding its lock, so the snapshot contains a 
+     * consistent view of every series.  A series that is removed from the
+     * collection while the snapshot is taken is left out of the snapshot.
+     *
+     * @return The snapshot (never {@code null}).
+     */
+    @Override
+    public XYDatasetSnapshot<S> createSnapshot() {
+        List<TimeSeries<S>> seriesList;
+        synchronized (this.data) {
+            seriesList = new ArrayList<>(this.data);
+        }
+        int seriesCount = seriesList.size();
+        List<S> keys = new ArrayList<>(seriesCount);
+        List<double[]> x = new ArrayList<>(seriesCount);
+        List<double[]> startX = new ArrayList<>(seriesCount);
+        List<double[]> endX = new ArrayList<>(seriesCount);
+        List<double[]> y = new ArrayList<>(seriesCount);
+        for (TimeSeries<S> series : seriesList) {
+            double[][] values = null;
+            synchronized (series) {
+                synchronized (this.data) {
+                    // look up the index again, other series may have been
+                    // removed since the list was copied
+                    int index = indexOfSeries(series);
+                    if (index >= 0) {
+                        values = XYDatasetSnapshot.readSeries(this, index);
+                    }
+                }
+            }
+            if (values != null) {
+                keys.add(series.getKey());
+                x.add(values[0]);
+                startX.add(values[1]);
+                endX.add(values[2]);
+                y.add(values[3]);
+            }
+        }
+        double[][] none = new double[0][];
+        return new XYDatasetSnapshot<>(this, keys, x.toArray(none), 
+                startX.toArray(none), endX.toArray(none), y.toArray(none),
+                getDomainOrder());
+    }
+
+    /**
+     * Returns the index of the specified series (compared by reference) in
+     * the collection.  The caller must hold the lock on {@code this.data}.
+     *
+     * @param series  the series.
+     *
+     * @return The series index, or {@code -1}.
+     */
+    private int indexOfSeries(TimeSeries<S> series) {
+        for (int i = 0; i < this.data.size(); i++) {
+            if (this.data.get(i) == series) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Returns a list of all the series in the collection.
      *
@@ -270,7 +373,9 @@ public class TimeSeriesCollection<S extends Comparable<S>>
      */
     public void addSeries(TimeSeries<S> series) {
         Args.nullNotPermitted(series, "series");
-        this.data.add(series);
+        synchronized (this.data) {
+            this.data.add(series);
+        }
         series.addChangeListener(this);
         fireDatasetChanged();
     }
@@ -283,7 +388,9 @@ public class TimeSeriesCollection<S extends Comparable<S>>
      */
     public void removeSeries(TimeSeries<S> series) {
         Args.nullNotPermitted(series, "series");
-        this.data.remove(series);
+        synchronized (this.data) {
+            this.data.remove(series);
+        }
         series.removeChangeListener(this);
         fireDatasetChanged();
     }
@@ -306,14 +413,16 @@ public class TimeSeriesCollection<S extends Comparable<S>>
      */
     public void removeAllSeries() {
 
-        // deregister the collection as a change listener to each series in the
-        // collection
-        for (TimeSeries<S> series : this.data) {
+        // remove all the series from the collection, deregister the 
+        // collection as a change listener to each series and notify listeners
+        List<TimeSeries<S>> removed;
+        synchronized (this.data) {
+            removed = new ArrayList<>(this.data);
+            this.data.clear();
+        }
+        for (TimeSeries<S> series : removed) {
             series.removeChangeListener(this);
         }
-
-        // remove all the series from the collection and notify listeners.
-        this.data.clear();
         fireDatasetChanged();
     }
 
@@ -685,6 +794,9 @@ public class TimeSeriesCollection<S extends Comparable<S>>
         if (this.xPosition != that.xPosition) {
             return false;
         }
+        if (this.concurrent != that.concurrent) {
+            return false;
+        }
         if (!Objects.equals(this.data, that.data)) {
             return false;
         }
@@ -704,6 +816,7 @@ public class TimeSeriesCollection<S extends Comparable<S>>
                 ? this.workingCalendar.hashCode() : 0);
         result = 29 * result + (this.xPosition != null
                 ? this.xPosition.hashCode() : 0);
+        result = 29 * result + (this.concurrent ? 1 : 0);
         return result;
     }
 
@@ -36,6 +36,9 @@
 
 package org.jfree.data.time.ohlc;
 
+import java.util.List;
+
+import org.jfree.chart.internal.Args;
 import org.jfree.data.ComparableObjectItem;
 import org.jfree.data.ComparableObjectSeries;
 import org.jfree.data.time.RegularTimePeriod;
@@ -105,6 +108,35 @@ public class OHLCSeries<S extends Comparable<S>> extends ComparableObjectSeries<
         super.add(new OHLCItem(period, open, high, low, close), true);
     }
 
+    /**
+     * Adds a batch of data items to the series and sends a single
+     * {@link org.jfree.data.general.SeriesChangeEvent} to all registered 
+     * listeners.
+     *
+     * @param items  the items ({@code null} not permitted).
+     *
+     * @throws IllegalArgumentException if the items use more than one class
+     *     of time period.
+     */
+    public void addAll(List<OHLCItem> items) {
+        Args.nullNotPermitted(items, "items");
+        Class<?> c = null;
+        if (getItemCount() > 0) {
+            c = ((OHLCItem) getDataItem(0)).getPeriod().getClass();
+        }
+        for (OHLCItem item : items) {
+            Args.nullNotPermitted(item, "item");
+            if (c == null) {
+                c = item.getPeriod().getClass();
+            }
+            else if (!c.equals(item.getPeriod().getClass())) {
+                throw new IllegalArgumentException(
+                        "Can't mix RegularTimePeriod class types.");
+            }
+        }
+        super.addAll(items, true);
+    }
+
     /**
      * Removes the item with the specified index.
      *
@@ -0,0 +1,998 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * ColumnarXYSeries.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesException;
+
+/**
+ * An {@link XYSeries} that stores its x and y-values in two growable
+ * {@code double[]} columns rather than as a list of {@link XYDataItem}
+ * objects.  This uses a fraction of the memory required by the standard
+ * series for large numbers of items, and the primitive accessors
+ * {@link #getXValue(int)} and {@link #getYValue(int)} (used by
+ * {@link XYSeriesCollection}) read directly from the arrays.
+ * <P>
+ * The series supports the same {@code autoSort},
+ * {@code allowDuplicateXValues} and {@code maximumItemCount} semantics as
+ * {@link XYSeries}, so it can be used in its place.  The only difference is
+ * that {@code null} y-values are stored as {@code Double.NaN} (so a NaN
+ * y-value will be reported as {@code null} by {@link #getY(int)}).  Data
+ * items returned by this series are copies, updating them has no effect on
+ * the series.
+ */
+public class ColumnarXYSeries<K extends Comparable<K>> extends XYSeries<K> {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3818315716233640451L;
+
+    /** The default initial capacity of the value arrays. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Storage for the x-values. */
+    private double[] xValues;
+
+    /** Storage for the y-values ({@code Double.NaN} for missing values). */
+    private double[] yValues;
+
+    /**
+     * The array index of the first item.  Removing items from the front of
+     * the series just advances this offset, the arrays are compacted when
+     * more space is needed at the end.
+     */
+    private int offset;
+
+    /** The number of items in the series. */
+    private int itemCount;
+
+    /** The lowest x-value in the series, excluding Double.NaN values. */
+    private double minX;
+
+    /** The highest x-value in the series, excluding Double.NaN values. */
+    private double maxX;
+
+    /** The lowest y-value in the series, excluding Double.NaN values. */
+    private double minY;
+
+    /** The highest y-value in the series, excluding Double.NaN values. */
+    private double maxY;
+
+    /**
+     * Creates a new empty series.  By default, items added to the series will
+     * be sorted into ascending order by x-value, and duplicate x-values will
+     * be allowed (these defaults can be modified with another constructor).
+     *
+     * @param key  the series key ({@code null} not permitted).
+     */
+    public ColumnarXYSeries(K key) {
+        this(key, true, true);
+    }
+
+    /**
+     * Constructs a new empty series, with the auto-sort flag set as requested,
+     * and duplicate values allowed.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     */
+    public ColumnarXYSeries(K key, boolean autoSort) {
+        this(key, autoSort, true);
+    }
+
+    /**
+     * Constructs a new series that contains no data.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     */
+    public ColumnarXYSeries(K key, boolean autoSort,
+            boolean allowDuplicateXValues) {
+        this(key, autoSort, allowDuplicateXValues, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new series that contains no data, with value arrays
+     * presized to hold the specified number of items.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     * @param initialCapacity  the initial capacity (must be non-negative).
+     */
+    public ColumnarXYSeries(K key, boolean autoSort,
+            boolean allowDuplicateXValues, int initialCapacity) {
+        super(key, autoSort, allowDuplicateXValues);
+        Args.requireNonNegative(initialCapacity, "initialCapacity");
+        this.xValues = new double[initialCapacity];
+        this.yValues = new double[initialCapacity];
+        this.offset = 0;
+        this.itemCount = 0;
+        this.minX = Double.NaN;
+        this.maxX = Double.NaN;
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+    }
+
+    @Override
+    public double getMinX() {
+        return this.minX;
+    }
+
+    @Override
+    public double getMaxX() {
+        return this.maxX;
+    }
+
+    @Override
+    public double getMinY() {
+        return this.minY;
+    }
+
+    @Override
+    public double getMaxY() {
+        return this.maxY;
+    }
+
+    /**
+     * Returns the number of items in the series.
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns a new unmodifiable list containing copies of the data items in
+     * the series.  For a large series, this is expensive, prefer the indexed
+     * accessor methods.
+     *
+     * @return The list of data items.
+     */
+    @Override
+    public List<XYDataItem> getItems() {
+        List<XYDataItem> result = new ArrayList<>(this.itemCount);
+        for (int i = 0; i < this.itemCount; i++) {
+            result.add(createItem(i));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Sets the maximum number of items that will be retained in the series.
+     * If the series currently holds more items than this, the oldest items
+     * are removed and a {@link SeriesChangeEvent} is sent to all registered
+     * listeners.
+     *
+     * @param maximum  the maximum number of items for the series.
+     */
+    @Override
+    public void setMaximumItemCount(int maximum) {
+        super.setMaximumItemCount(maximum);
+        int remove;
+        synchronized (this) {
+            remove = this.itemCount - maximum;
+            if (remove > 0) {
+                removeValues(0, remove);
+                findBoundsByIteration();
+            }
+        }
+        if (remove > 0) {
+            fireSeriesChanged();
+        }
+    }
+
+    @Override
+    public void add(double x, double y) {
+        add(x, y, true);
+    }
+
+    /**
+     * Adds a data item to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x value.
+     * @param y  the y value ({@code Double.NaN} for a missing value).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if the x-value is a duplicate and the
+     *     {@code allowDuplicateXValues} flag is not set for this series.
+     */
+    @Override
+    public void add(double x, double y, boolean notify) {
+        synchronized (this) {
+            int index;
+            if (getAutoSort()) {
+                index = upperBound(x);
+                if (!getAllowDuplicateXValues() && index > 0
+                        && this.xValues[this.offset + index - 1] == x) {
+                    throw new SeriesException("X-value already exists.");
+                }
+            }
+            else {
+                if (!getAllowDuplicateXValues() && indexOf(x) >= 0) {
+                    throw new SeriesException("X-value already exists.");
+                }
+                index = this.itemCount;
+            }
+            insertValues(index, x, y);
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
+    @Override
+    public void add(Number x, Number y, boolean notify) {
+        Args.nullNotPermitted(x, "x");
+        add(x.doubleValue(), toPrimitive(y), notify);
+    }
+
+    @Override
+    public void add(XYDataItem item, boolean notify) {
+        Args.nullNotPermitted(item, "item");
+        add(item.getXValue(), item.getYValue(), notify);
+    }
+
+    /**
+     * Adds a batch of data items to the series and, if requested, sends a
+     * single {@link SeriesChangeEvent} to all registered listeners.  The 
+     * values are copied into the series arrays in one pass.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted, must have the same
+     *     length as {@code x}, use {@code Double.NaN} for missing values).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if an x-value is a duplicate and the
+     *     {@code allowDuplicateXValues} flag is not set for this series.
+     */
+    @Override
+    public void addAll(double[] x, double[] y, boolean notify) {
+        synchronized (this) {
+            Args.nullNotPermitted(x, "x");
+            Args.nullNotPermitted(y, "y");
+            if (x.length != y.length) {
+                throw new IllegalArgumentException(
+                        "The 'x' and 'y' arrays must have the same length.");
+            }
+            int m = x.length;
+            if (m == 0) {
+                return;
+            }
+            double[] bx = x;
+            double[] by = y;
+            if (getAutoSort() && !isAscending(x)) {
+                Integer[] order = new Integer[m];
+                for (int i = 0; i < m; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (i, j) -> Double.compare(x[i], x[j]));
+                bx = new double[m];
+                by = new double[m];
+                for (int i = 0; i < m; i++) {
+                    bx[i] = x[order[i]];
+                    by[i] = y[order[i]];
+                }
+            }
+
+            // merge the batch with the existing items that sort after it
+            int n = this.itemCount;
+            int first = getAutoSort() ? upperBound(bx[0]) : n;
+            int tail = n - first;
+            double[] mx = bx;
+            double[] my = by;
+            if (tail > 0) {
+                mx = new double[tail + m];
+                my = new double[tail + m];
+                int i = this.offset + first;
+                int end = this.offset + n;
+                int j = 0;
+                for (int k = 0; k < mx.length; k++) {
+                    if (j == m || (i < end && this.xValues[i] <= bx[j])) {
+                        mx[k] = this.xValues[i];
+                        my[k] = this.yValues[i++];
+                    }
+                    else {
+                        mx[k] = bx[j];
+                        my[k] = by[j++];
+                    }
+                }
+            }
+            if (!getAllowDuplicateXValues()) {
+                boolean duplicate;
+                if (getAutoSort()) {
+                    duplicate = (first > 0 && this.xValues[this.offset + first
+                            - 1] == mx[0]) || hasAdjacentDuplicates(mx);
+                }
+                else {
+                    double[] all = new double[n + m];
+                    System.arraycopy(this.xValues, this.offset, all, 0, n);
+                    System.arraycopy(x, 0, all, n, m);
+                    Arrays.sort(all);
+                    duplicate = hasAdjacentDuplicates(all);
+                }
+                if (duplicate) {
+                    throw new SeriesException("X-value already exists.");
+                }
+            }
+
+            ensureSpace(m);
+            System.arraycopy(mx, 0, this.xValues, this.offset + first,
+                    mx.length);
+            System.arraycopy(my, 0, this.yValues, this.offset + first,
+                    my.length);
+            this.itemCount = n + m;
+            if (tail == 0) {
+                for (int i = n; i < this.itemCount; i++) {
+                    indexItemAdded(i);
+                }
+            }
+            else if (this.yIndex != null) {
+                this.yIndex.invalidate();
+            }
+            for (int i = 0; i < m; i++) {
+                this.minX = minIgnoreNaN(this.minX, bx[i]);
+                this.maxX = maxIgnoreNaN(this.maxX, bx[i]);
+                this.minY = minIgnoreNaN(this.minY, by[i]);
+                this.maxY = maxIgnoreNaN(this.maxY, by[i]);
+            }
+            int remove = this.itemCount - getMaximumItemCount();
+            if (remove > 0) {
+                removeValues(0, remove);
+                findBoundsByIteration();
+            }
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Deletes a range of items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param start  the start index (zero-based).
+     * @param end  the end index (zero-based).
+     */
+    @Override
+    public void delete(int start, int end) {
+        synchronized (this) {
+            Objects.checkFromToIndex(start, end + 1, this.itemCount);
+            removeValues(start, end - start + 1);
+            findBoundsByIteration();
+        }
+        fireSeriesChanged();
+    }
+
+    /**
+     * Removes the item at the specified index and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param index  the index.
+     *
+     * @return The item removed.
+     */
+    @Override
+    public XYDataItem remove(int index) {
+        XYDataItem removed;
+        synchronized (this) {
+            removed = createItem(index);
+            removeValues(index, 1);
+            updateBoundsForRemovedValue(removed.getXValue(),
+                    removed.getYValue());
+        }
+        fireSeriesChanged();
+        return removed;
+    }
+
+    /**
+     * Removes all data items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     */
+    @Override
+    public void clear() {
+        boolean changed = false;
+        synchronized (this) {
+            if (this.itemCount > 0) {
+                this.offset = 0;
+                this.itemCount = 0;
+                if (this.yIndex != null) {
+                    this.yIndex.invalidate();
+                }
+                this.minX = Double.NaN;
+                this.maxX = Double.NaN;
+                this.minY = Double.NaN;
+                this.maxY = Double.NaN;
+                changed = true;
+            }
+        }
+        if (changed) {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Returns a new data item containing the values at the specified index.
+     *
+     * @param index  the index.
+     *
+     * @return The data item with the specified index.
+     */
+    @Override
+    public XYDataItem getDataItem(int index) {
+        return createItem(index);
+    }
+
+    @Override
+    XYDataItem getRawDataItem(int index) {
+        return createItem(index);
+    }
+
+    @Override
+    public Number getX(int index) {
+        return getXValue(index);
+    }
+
+    @Override
+    public Number getY(int index) {
+        double y = getYValue(index);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    @Override
+    public double getXValue(int index) {
+        Objects.checkIndex(index, this.itemCount);
+        return this.xValues[this.offset + index];
+    }
+
+    @Override
+    public double getYValue(int index) {
+        Objects.checkIndex(index, this.itemCount);
+        return this.yValues[this.offset + index];
+    }
+
+    @Override
+    void updateValue(int index, Number y) {
+        Objects.checkIndex(index, this.itemCount);
+        setYValue(index, toPrimitive(y));
+    }
+
+    /**
+     * Adds or updates an item in the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param item  the data item ({@code null} not permitted).
+     *
+     * @return A copy of the overwritten data item, or {@code null} if no
+     *         item was overwritten.
+     */
+    @Override
+    public XYDataItem addOrUpdate(XYDataItem item) {
+        Args.nullNotPermitted(item, "item");
+        if (getAllowDuplicateXValues()) {
+            add(item);
+            return null;
+        }
+        XYDataItem overwritten = null;
+        synchronized (this) {
+            int index = indexOf(item.getXValue());
+            if (index >= 0) {
+                overwritten = createItem(index);
+                setYValue(index, item.getYValue());
+            }
+            else {
+                insertValues(getAutoSort() ? -index - 1 : this.itemCount,
+                        item.getXValue(), item.getYValue());
+            }
+        }
+        fireSeriesChanged();
+        return overwritten;
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, or a negative
+     * index if the series does not contain an item with that x-value.  Be
+     * aware that for an unsorted series, the index is found by iterating
+     * through all items in the series.
+     *
+     * @param x  the x-value ({@code null} not permitted).
+     *
+     * @return The index.
+     */
+    @Override
+    public int indexOf(Number x) {
+        Args.nullNotPermitted(x, "x");
+        return indexOf(x.doubleValue());
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, or a negative
+     * index if the series does not contain an item with that x-value.  For a
+     * sorted series, the negative index encodes the insertion point in the
+     * same way as {@link Arrays#binarySearch(double[], double)}.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    private int indexOf(double x) {
+        if (getAutoSort()) {
+            int index = lowerBound(x);
+            if (index < this.itemCount
+                    && this.xValues[this.offset + index] == x) {
+                return index;
+            }
+            return -index - 1;
+        }
+        for (int i = 0; i < this.itemCount; i++) {
+            if (this.xValues[this.offset + i] == x) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a new array containing the x and y values from this series.
+     *
+     * @return A new array containing the x and y values from this series.
+     */
+    @Override
+    public synchronized double[][] toArray() {
+        return new double[][] {
+                Arrays.copyOfRange(this.xValues, this.offset,
+                        this.offset + this.itemCount),
+                Arrays.copyOfRange(this.yValues, this.offset,
+                        this.offset + this.itemCount)};
+    }
+
+    /**
+     * Returns a clone of the series.
+     *
+     * @return A clone of the series.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() throws CloneNotSupportedException {
+        ColumnarXYSeries<K> clone = (ColumnarXYSeries<K>) super.clone();
+        clone.xValues = this.xValues.clone();
+        clone.yValues = this.yValues.clone();
+        return clone;
+    }
+
+    /**
+     * Creates a new series by copying a subset of the data in this series.
+     *
+     * @param start  the index of the first item to copy.
+     * @param end  the index of the last item to copy.
+     *
+     * @return A series containing a copy of this series from start until end.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public XYSeries<K> createCopy(int start, int end)
+            throws CloneNotSupportedException {
+        ColumnarXYSeries<K> copy = (ColumnarXYSeries<K>) super.clone();
+        if (this.itemCount > 0) {
+            Objects.checkFromToIndex(start, end + 1, this.itemCount);
+            copy.xValues = Arrays.copyOfRange(this.xValues,
+                    this.offset + start, this.offset + end + 1);
+            copy.yValues = Arrays.copyOfRange(this.yValues,
+                    this.offset + start, this.offset + end + 1);
+            copy.itemCount = end - start + 1;
+        }
+        else {
+            copy.xValues = new double[DEFAULT_CAPACITY];
+            copy.yValues = new double[DEFAULT_CAPACITY];
+            copy.itemCount = 0;
+        }
+        copy.offset = 0;
+        copy.findBoundsByIteration();
+        return copy;
+    }
+
+    /**
+     * Tests this series for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against for equality
+     *             ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ColumnarXYSeries)) {
+            return false;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        ColumnarXYSeries<?> that = (ColumnarXYSeries<?>) obj;
+        if (this.itemCount != that.itemCount) {
+            return false;
+        }
+        if (!Arrays.equals(this.xValues, this.offset,
+                this.offset + this.itemCount, that.xValues, that.offset,
+                that.offset + that.itemCount)) {
+            return false;
+        }
+        if (!Arrays.equals(this.yValues, this.offset,
+                this.offset + this.itemCount, that.yValues, that.offset,
+                that.offset + that.itemCount)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * Creates a new data item from the values at the specified index.
+     *
+     * @param index  the index.
+     *
+     * @return A new data item.
+     */
+    private XYDataItem createItem(int index) {
+        return new XYDataItem(getX(index), getY(index));
+    }
+
+    /**
+     * Converts a (possibly {@code null}) y-value to the primitive form used
+     * for storage.
+     *
+     * @param y  the y-value ({@code null} permitted).
+     *
+     * @return The y-value as a double ({@code Double.NaN} for {@code null}).
+     */
+    private static double toPrimitive(Number y) {
+        return y != null ? y.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * Returns the index of the first item with an x-value greater than or
+     * equal to {@code x} (the series must be sorted).
+     *
+     * @param x  the x-value.
+     *
+     * @return The index (in the range {@code 0} to {@code itemCount}).
+     */
+    private int lowerBound(double x) {
+        int low = this.offset;
+        int high = this.offset + this.itemCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.xValues[mid] < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low - this.offset;
+    }
+
+    /**
+     * Returns the index of the first item with an x-value greater than
+     * {@code x} (the series must be sorted).  Inserting at this index places
+     * a new item after any existing items with the same x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index (in the range {@code 0} to {@code itemCount}).
+     */
+    private int upperBound(double x) {
+        int low = this.offset;
+        int high = this.offset + this.itemCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.xValues[mid] <= x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low - this.offset;
+    }
+
+    /**
+     * Returns {@code true} if the values in an array are in ascending order.
+     *
+     * @param values  the values.
+     *
+     * @return A boolean.
+     */
+    private static boolean isAscending(double[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] < values[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if any two adjacent values in an array are equal.
+     *
+     * @param values  the values.
+     *
+     * @return A boolean.
+     */
+    private static boolean hasAdjacentDuplicates(double[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] == values[i - 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Makes sure there is space in the value arrays for {@code count} more
+     * items after the last item.  If items have been removed from the front 
+     * of the series, the values are moved back to the start of the arrays if 
+     * that frees up enough space (the cost of the move is covered by the 
+     * earlier removals), otherwise the arrays are grown.
+     *
+     * @param count  the number of items.
+     */
+    private void ensureSpace(int count) {
+        int end = this.offset + this.itemCount;
+        if (end + count <= this.xValues.length) {
+            return;
+        }
+        if (this.offset > 0 && this.offset >= this.itemCount
+                && this.itemCount + count <= this.xValues.length) {
+            System.arraycopy(this.xValues, this.offset, this.xValues, 0,
+                    this.itemCount);
+            System.arraycopy(this.yValues, this.offset, this.yValues, 0,
+                    this.itemCount);
+        }
+        else {
+            int newCapacity = Math.max(this.itemCount 
+                    + (this.itemCount >> 1) + 1, this.itemCount + count);
+            this.xValues = Arrays.copyOfRange(this.xValues, this.offset,
+                    this.offset + newCapacity);
+            this.yValues = Arrays.copyOfRange(this.yValues, this.offset,
+                    this.offset + newCapacity);
+        }
+        this.offset = 0;
+    }
+
+    /**
+     * Inserts a value pair at the specified index, updates the bounds and
+     * removes the oldest item if the maximum item count is exceeded.  No
+     * change event is sent.
+     *
+     * @param index  the index.
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void insertValues(int index, double x, double y) {
+        ensureSpace(1);
+        int i = this.offset + index;
+        if (index < this.itemCount) {
+            int tail = this.itemCount - index;
+            System.arraycopy(this.xValues, i, this.xValues, i + 1, tail);
+            System.arraycopy(this.yValues, i, this.yValues, i + 1, tail);
+        }
+        this.xValues[i] = x;
+        this.yValues[i] = y;
+        this.itemCount++;
+        indexItemAdded(index);
+        this.minX = minIgnoreNaN(this.minX, x);
+        this.maxX = maxIgnoreNaN(this.maxX, x);
+        this.minY = minIgnoreNaN(this.minY, y);
+        this.maxY = maxIgnoreNaN(this.maxY, y);
+        if (this.itemCount > getMaximumItemCount()) {
+            double removedX = this.xValues[this.offset];
+            double removedY = this.yValues[this.offset];
+            removeValues(0, 1);
+            updateBoundsForRemovedValue(removedX, removedY);
+        }
+    }
+
+    /**
+     * Removes a block of values from the arrays (the bounds are not updated).
+     * Removing items from the front of the series runs in constant time.
+     *
+     * @param start  the index of the first item to remove.
+     * @param count  the number of items to remove.
+     */
+    private void removeValues(int start, int count) {
+        if (start == 0) {
+            this.offset += count;
+        }
+        else {
+            int tail = this.itemCount - start - count;
+            if (tail > 0) {
+                int i = this.offset + start;
+                System.arraycopy(this.xValues, i + count, this.xValues, i,
+                        tail);
+                System.arraycopy(this.yValues, i + count, this.yValues, i,
+                        tail);
+            }
+        }
+        this.itemCount -= count;
+        if (this.itemCount == 0) {
+            this.offset = 0;
+        }
+        indexItemsRemoved(start, count);
+    }
+
+    /**
+     * Sets the y-value at the specified index and updates the bounds.
+     *
+     * @param index  the index.
+     * @param y  the new y-value.
+     */
+    private void setYValue(int index, double y) {
+        double oldY = this.yValues[this.offset + index];
+        this.yValues[this.offset + index] = y;
+        indexItemUpdated(index);
+        if (!Double.isNaN(oldY) && (oldY <= this.minY || oldY >= this.maxY)) {
+            findBoundsByIteration();
+        }
+        else {
+            this.minY = minIgnoreNaN(this.minY, y);
+            this.maxY = maxIgnoreNaN(this.maxY, y);
+        }
+    }
+
+    /**
+     * Updates the cached bounds on the basis that the specified values have
+     * just been removed from the series.
+     *
+     * @param x  the x-value removed.
+     * @param y  the y-value removed.
+     */
+    private void updateBoundsForRemovedValue(double x, double y) {
+        boolean xBound = !Double.isNaN(x) && (x <= this.minX
+                || x >= this.maxX);
+        boolean yBound = !Double.isNaN(y) && (y <= this.minY
+                || y >= this.maxY);
+        if (yBound) {
+            findBoundsByIteration();
+        }
+        else if (xBound) {
+            if (getAutoSort() && this.itemCount > 0) {
+                this.minX = this.xValues[this.offset];
+                this.maxX = this.xValues[this.offset + this.itemCount - 1];
+            }
+            else {
+                findBoundsByIteration();
+            }
+        }
+    }
+
+    /**
+     * Finds the bounds of the x and y values for the series, by iterating
+     * through all the values.
+     */
+    private void findBoundsByIteration() {
+        double x0 = Double.NaN;
+        double x1 = Double.NaN;
+        double y0 = Double.NaN;
+        double y1 = Double.NaN;
+        for (int i = this.offset; i < this.offset + this.itemCount; i++) {
+            double x = this.xValues[i];
+            double y = this.yValues[i];
+            x0 = minIgnoreNaN(x0, x);
+            x1 = maxIgnoreNaN(x1, x);
+            y0 = minIgnoreNaN(y0, y);
+            y1 = maxIgnoreNaN(y1, y);
+        }
+        this.minX = x0;
+        this.maxX = x1;
+        this.minY = y0;
+        this.maxY = y1;
+    }
+
+    /**
+     * A function to find the minimum of two values, but ignoring any
+     * Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The minimum of the two values.
+     */
+    private static double minIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        if (Double.isNaN(b)) {
+            return a;
+        }
+        return Math.min(a, b);
+    }
+
+    /**
+     * A function to find the maximum of two values, but ignoring any
+     * Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The maximum of the two values.
+     */
+    private static double maxIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        if (Double.isNaN(b)) {
+            return a;
+        }
+        return Math.max(a, b);
+    }
+
+}
@@ -0,0 +1,714 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * DecimatedXYDataset.java
+ * -----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+
+/**
+ * An {@link XYDataset} that presents a reduced view of another dataset,
+ * containing at most {@code targetItemCount} items per series (typically a
+ * small multiple of the width of the data area in pixels), so that any
+ * renderer can draw very large series quickly.  The items are chosen using
+ * one of the {@link DecimationMethod} algorithms, and only the items that
+ * fall within the current x-range (see {@link #setXRange(Range)}) are
+ * considered, together with one item on each side so that lines continue
+ * to the edge of the plot.
+ * <P>
+ * The items in the view are a subset of the items in the source dataset
+ * (no new values are created) and {@link #getSourceItem(int, int)} maps an
+ * item back to the source, for example when generating tooltips.  The
+ * selected items are cached for the most recently used x-ranges, so
+ * zooming back to a previous range does not repeat the work.  The cache is
+ * cleared whenever the source dataset changes.
+ * <P>
+ * The items in each series of the source dataset must be in ascending
+ * order of x-value.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public class DecimatedXYDataset<S extends Comparable<S>>
+        extends AbstractXYDataset<S>
+        implements XYDataset<S>, DatasetChangeListener {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 1L;
+
+    /** The maximum number of x-ranges for which items are cached. */
+    private static final int MAX_CACHED_LEVELS = 8;
+
+    /** The source dataset. */
+    private XYDataset<S> source;
+
+    /** The decimation method. */
+    private DecimationMethod method;
+
+    /** The maximum number of items in each series of the view. */
+    private int targetItemCount;
+
+    /** The x-range (if {@code null}, all items are considered). */
+    private Range xRange;
+
+    /**
+     * The indices of the selected items for each series, cached by x-range
+     * and target item count (least recently used first).
+     */
+    private transient Map<Level, int[][]> levels;
+
+    /**
+     * The cached items for the current x-range and target item count (or 
+     * {@code null} if they need to be looked up in the cache), so that 
+     * item access does not need a cache lookup.
+     */
+    private transient int[][] currentLevel;
+
+    /**
+     * Creates a new view of the specified dataset.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param method  the decimation method ({@code null} not permitted).
+     * @param targetItemCount  the maximum number of items per series (at
+     *     least 4).
+     */
+    public DecimatedXYDataset(XYDataset<S> source, DecimationMethod method,
+            int targetItemCount) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(method, "method");
+        Args.requireInRange(targetItemCount, "targetItemCount", 4,
+                Integer.MAX_VALUE);
+        this.source = source;
+        this.method = method;
+        this.targetItemCount = targetItemCount;
+        this.xRange = null;
+        this.levels = createCache();
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public XYDataset<S> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the decimation method.
+     *
+     * @return The decimation method (never {@code null}).
+     */
+    public DecimationMethod getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Sets the decimation method and sends a {@link DatasetChangeEvent} to
+     * all registered listeners.
+     *
+     * @param method  the method ({@code null} not permitted).
+     */
+    public void setMethod(DecimationMethod method) {
+        Args.nullNotPermitted(method, "method");
+        if (this.method != method) {
+            this.method = method;
+            this.levels.clear();
+            this.currentLevel = null;
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Returns the maximum number of items in each series of the view.
+     *
+     * @return The target item count.
+     */
+    public int getTargetItemCount() {
+        return this.targetItemCount;
+    }
+
+    /**
+     * Sets the maximum number of items in each series of the view and sends
+     * a {@link DatasetChangeEvent} to all registered listeners.  For the
+     * {@link DecimationMethod#M4} method, four times the width of the data
+     * area in pixels gives a result that cannot be distinguished from the
+     * full data when drawn as a line.
+     *
+     * @param count  the item count (at least 4).
+     */
+    public void setTargetItemCount(int count) {
+        Args.requireInRange(count, "count", 4, Integer.MAX_VALUE);
+        if (this.targetItemCount != count) {
+            this.targetItemCount = count;
+            this.currentLevel = null;
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Returns the x-range for the view.
+     *
+     * @return The x-range (possibly {@code null}).
+     */
+    public Range getXRange() {
+        return this.xRange;
+    }
+
+    /**
+     * Sets the x-range for the view (typically the range of the domain axis)
+     * and, if it has changed, sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param range  the range ({@code null} permitted, meaning all items are
+     *     considered).
+     */
+    public void setXRange(Range range) {
+        if (!Objects.equals(this.xRange, range)) {
+            this.xRange = range;
+            this.currentLevel = null;
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Returns the domain order of the source dataset.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.source.getDomainOrder();
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.source.getSeriesCount();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key for the series.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.source.getSeriesKey(series);
+    }
+
+    /**
+     * Returns the number of items in a series of the view.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return getIndices(series).length;
+    }
+
+    /**
+     * Returns the index of the item in the source dataset for an item in
+     * the view.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index in the view (zero-based).
+     *
+     * @return The item index in the source dataset.
+     */
+    public int getSourceItem(int series, int item) {
+        return getIndices(series)[item];
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return this.source.getX(series, getSourceItem(series, item));
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.source.getXValue(series, getSourceItem(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        return this.source.getY(series, getSourceItem(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.source.getYValue(series, getSourceItem(series, item));
+    }
+
+    /**
+     * Receives notification that the source dataset has changed, clears the
+     * cached items and sends a {@link DatasetChangeEvent} (with this dataset
+     * as the source) to all registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.levels.clear();
+        this.currentLevel = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the indices (in the source dataset) of the items in a series
+     * of the view, computing them if they are not in the cache.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The indices.
+     */
+    private int[] getIndices(int series) {
+        int[][] level = this.currentLevel;
+        if (level == null) {
+            Level key = new Level(this.xRange, this.targetItemCount);
+            level = this.levels.get(key);
+            if (level == null) {
+                level = new int[this.source.getSeriesCount()][];
+                this.levels.put(key, level);
+            }
+            this.currentLevel = level;
+        }
+        if (level[series] == null) {
+            level[series] = decimate(series);
+        }
+        return level[series];
+    }
+
+    /**
+     * Selects the items for a series of the view.
+     *
+     * @param series  the series index.
+     *
+     * @return The indices of the selected items in the source dataset.
+     */
+    private int[] decimate(int series) {
+        int n = this.source.getItemCount(series);
+        int first = 0;
+        int last = n - 1;
+        if (this.xRange != null && n > 0) {
+            first = Math.max(0, findFirstItem(series, n,
+                    this.xRange.getLowerBound()) - 1);
+            last = Math.min(n - 1, findFirstItemAfter(series, n,
+                    this.xRange.getUpperBound()));
+        }
+        int count = last - first + 1;
+        if (count <= this.targetItemCount) {
+            int[] result = new int[Math.max(count, 0)];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = first + i;
+            }
+            return result;
+        }
+        if (this.method == DecimationMethod.M4) {
+            return decimateM4(series, first, last);
+        }
+        return decimateLTTB(series, first, last);
+    }
+
+    /**
+     * Returns the index of the first item with an x-value greater than or
+     * equal to the specified value.
+     *
+     * @param series  the series index.
+     * @param n  the number of items in the series.
+     * @param x  the x-value.
+     *
+     * @return The item index (in the range {@code 0} to {@code n}).
+     */
+    private int findFirstItem(int series, int n, double x) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.source.getXValue(series, mid) < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first item with an x-value greater than the
+     * specified value.
+     *
+     * @param series  the series index.
+     * @param n  the number of items in the series.
+     * @param x  the x-value.
+     *
+     * @return The item index (in the range {@code 0} to {@code n}).
+     */
+    private int findFirstItemAfter(int series, int n, double x) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.source.getXValue(series, mid) <= x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Selects the first, minimum, maximum and last items for each of
+     * {@code targetItemCount / 4} equal-width x-intervals.
+     *
+     * @param series  the series index.
+     * @param first  the index of the first item to consider.
+     * @param last  the index of the last item to consider.
+     *
+     * @return The indices of the selected items.
+     */
+    private int[] decimateM4(int series, int first, int last) {
+        int buckets = this.targetItemCount / 4;
+        double x0 = this.source.getXValue(series, first);
+        double width = (this.source.getXValue(series, last) - x0) / buckets;
+        int[] result = new int[4 * buckets];
+        int size = 0;
+        int bucket = -1;
+        int[] selected = new int[4];  // first, min, max, last
+        double minY = Double.NaN;
+        double maxY = Double.NaN;
+        for (int i = first; i <= last; i++) {
+            double x = this.source.getXValue(series, i);
+            int b = 0;
+            if (width > 0.0) {
+                b = Math.max(0, Math.min(buckets - 1,
+                        (int) ((x - x0) / width)));
+            }
+            if (b != bucket) {
+                if (bucket >= 0) {
+                    if (size + 4 > result.length) {
+                        result = Arrays.copyOf(result, 2 * result.length);
+                    }
+                    size = appendBucket(result, size, selected);
+                }
+                bucket = b;
+                Arrays.fill(selected, -1);
+                selected[0] = i;
+                minY = Double.NaN;
+                maxY = Double.NaN;
+            }
+            selected[3] = i;
+            double y = this.source.getYValue(series, i);
+            if (!Double.isNaN(y)) {
+                if (!(y >= minY)) {
+                    minY = y;
+                    selected[1] = i;
+                }
+                if (!(y <= maxY)) {
+                    maxY = y;
+                    selected[2] = i;
+                }
+            }
+        }
+        if (size + 4 > result.length) {
+            result = Arrays.copyOf(result, result.length + 4);
+        }
+        size = appendBucket(result, size, selected);
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Appends the items selected from one bucket to an array, in ascending
+     * order and without duplicates.
+     *
+     * @param result  the array.
+     * @param size  the number of items already in the array.
+     * @param selected  the selected items (-1 for none), this array is sorted
+     *     by the method.
+     *
+     * @return The new number of items in the array.
+     */
+    private static int appendBucket(int[] result, int size, int[] selected) {
+        Arrays.sort(selected);
+        int previous = -1;
+        for (int index : selected) {
+            if (index > previous) {
+                result[size++] = index;
+                previous = index;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Selects {@code targetItemCount} items using the
+     * Largest-Triangle-Three-Buckets algorithm.
+     *
+     * @param series  the series index.
+     * @param first  the index of the first item to consider.
+     * @param last  the index of the last item to consider.
+     *
+     * @return The indices of the selected items.
+     */
+    private int[] decimateLTTB(int series, int first, int last) {
+        int target = this.targetItemCount;
+        int[] result = new int[target];
+        double bucketSize = (double) (last - first - 1) / (target - 2);
+        int a = first;
+        result[0] = first;
+        for (int b = 0; b < target - 2; b++) {
+            // the average of the next bucket is the third point...
+            int avgStart = first + (int) ((b + 1) * bucketSize) + 1;
+            int avgEnd = Math.min(first + (int) ((b + 2) * bucketSize) + 1,
+                    last + 1);
+            double avgX = 0.0;
+            double avgY = 0.0;
+            int avgCount = 0;
+            for (int i = avgStart; i < avgEnd; i++) {
+                double y = this.source.getYValue(series, i);
+                if (!Double.isNaN(y)) {
+                    avgX += this.source.getXValue(series, i);
+                    avgY += y;
+                    avgCount++;
+                }
+            }
+            if (avgCount > 0) {
+                avgX /= avgCount;
+                avgY /= avgCount;
+            }
+            else {
+                avgX = this.source.getXValue(series, last);
+                avgY = this.source.getYValue(series, last);
+            }
+
+            // ...then choose the item in this bucket with the largest area
+            int start = first + (int) (b * bucketSize) + 1;
+            int end = avgStart;
+            double ax = this.source.getXValue(series, a);
+            double ay = this.source.getYValue(series, a);
+            double maxArea = -1.0;
+            int selected = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((ax - avgX)
+                        * (this.source.getYValue(series, i) - ay)
+                        - (ax - this.source.getXValue(series, i))
+                        * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            result[b + 1] = selected;
+            a = selected;
+        }
+        result[target - 1] = last;
+        return result;
+    }
+
+    /**
+     * Creates the (access ordered) cache for the selected items.
+     *
+     * @return The cache.
+     */
+    private static Map<Level, int[][]> createCache() {
+        return new LinkedHashMap<Level, int[][]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Level, int[][]> eldest) {
+                return size() > MAX_CACHED_LEVELS;
+            }
+        };
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof DecimatedXYDataset)) {
+            return false;
+        }
+        DecimatedXYDataset<?> that = (DecimatedXYDataset<?>) obj;
+        if (this.method != that.method) {
+            return false;
+        }
+        if (this.targetItemCount != that.targetItemCount) {
+            return false;
+        }
+        if (!Objects.equals(this.xRange, that.xRange)) {
+            return false;
+        }
+        return this.source.equals(that.source);
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 59 * hash + this.method.hashCode();
+        hash = 59 * hash + this.targetItemCount;
+        hash = 59 * hash + Objects.hashCode(this.xRange);
+        return hash;
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.levels = createCache();
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * A key for the cached items.
+     */
+    private static final class Level {
+
+        /** The lower bound of the x-range. */
+        private final double lower;
+
+        /** The upper bound of the x-range. */
+        private final double upper;
+
+        /** The target item count. */
+        private final int itemCount;
+
+        /**
+         * Creates a new key.
+         *
+         * @param xRange  the x-range ({@code null} permitted).
+         * @param itemCount  the target item count.
+         */
+        Level(Range xRange, int itemCount) {
+            this.lower = xRange != null ? xRange.getLowerBound()
+                    : Double.NEGATIVE_INFINITY;
+            this.upper = xRange != null ? xRange.getUpperBound()
+                    : Double.POSITIVE_INFINITY;
+            this.itemCount = itemCount;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Level)) {
+                return false;
+            }
+            Level that = (Level) obj;
+            return Double.compare(this.lower, that.lower) == 0
+                    && Double.compare(this.upper, that.upper) == 0
+                    && this.itemCount == that.itemCount;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Double.hashCode(this.lower);
+            hash = 31 * hash + Double.hashCode(this.upper);
+            return 31 * hash + this.itemCount;
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * DecimationMethod.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+/**
+ * The methods used by {@link DecimatedXYDataset} to reduce the number of
+ * items in a series.
+ */
+public enum DecimationMethod {
+
+    /**
+     * Largest-Triangle-Three-Buckets: the items are divided into buckets and
+     * one item is kept from each bucket, chosen to form the largest triangle
+     * with the item kept from the previous bucket and the average of the
+     * next bucket.  This preserves the visual shape of a line well, for a
+     * given number of items.
+     */
+    LTTB,
+
+    /**
+     * The x-range is divided into buckets (typically one per pixel column)
+     * and the first, last, minimum and maximum items of each bucket are
+     * kept.  A line drawn through these items is pixel-identical to a line
+     * drawn through all the items when there is one bucket per pixel.
+     */
+    M4
+
+}
@@ -0,0 +1,961 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * MappedXYDataset.java
+ * --------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.jfree.chart.api.PublicCloneable;
+import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.MinMaxIndex;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.general.DatasetChangeEvent;
+
+/**
+ * A read-only {@link IntervalXYDataset} that reads its data from
+ * memory-mapped files, so that series much larger than the Java heap can be
+ * charted.  Each series is backed by one file in the format written by
+ * {@link #writeSeriesFile(Path, double[], double[])}:
+ * <ul>
+ * <li>a 32 byte header (an int with the value {@link #MAGIC}, an int
+ *     version number, a long item count and two doubles holding the minimum
+ *     and maximum y-values);</li>
+ * <li>the x-values (in ascending order) as a column of doubles;</li>
+ * <li>the y-values as a column of doubles ({@code Double.NaN} for missing
+ *     values).</li>
+ * </ul>
+ * All values are big-endian.  Because the x-values are sorted, the dataset
+ * reports {@link DomainOrder#ASCENDING} (which lets renderers find the
+ * visible items with a binary search) and the domain and range bounds are
+ * read from the file rather than found by iterating over the data.
+ * <P>
+ * Files larger than 2GB are mapped in several regions.  The mapped regions
+ * stay valid until the dataset is garbage collected.
+ *
+ * @param <S> the type of the series keys ({@code String} is commonly used).
+ */
+public class MappedXYDataset<S extends Comparable<S>>
+        extends AbstractIntervalXYDataset<S>
+        implements IntervalXYDataset<S>, DomainInfo, RangeInfo,
+        XYDomainInfo<S>, XYRangeInfo, PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -1833064735372380426L;
+
+    /** The value of the first four bytes in a series file ("JFXY"). */
+    public static final int MAGIC = 0x4A465859;
+
+    /** The version of the series file format. */
+    private static final int VERSION = 1;
+
+    /** The size of the file header in bytes. */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * The default number of doubles in a mapped region, as a power of two
+     * (2^27 doubles is 1GB).
+     */
+    private static final int DEFAULT_REGION_SHIFT = 27;
+
+    /** 
+     * The number of items in a block of the y-value index, as a power of 
+     * two (the index takes at most 1/8 byte per item).
+     */
+    private static final int Y_INDEX_BLOCK_SHIFT = 10;
+
+    /** The number of doubles in a mapped region, as a power of two. */
+    private final int regionShift;
+
+    /** The series in the dataset. */
+    private List<MappedSeries<S>> seriesList;
+
+    /**
+     * The width of the x-interval for each item (the interval is centered
+     * on the x-value).
+     */
+    private double intervalWidth;
+
+    /**
+     * Creates a new dataset, initially containing no series.
+     */
+    public MappedXYDataset() {
+        this(DEFAULT_REGION_SHIFT);
+    }
+
+    /**
+     * Creates a new dataset, initially containing no series, that maps the
+     * data in regions of {@code 2^regionShift} doubles.  This is only used
+     * for testing.
+     *
+     * @param regionShift  the region size (as a power of two).
+     */
+    MappedXYDataset(int regionShift) {
+        Args.requireInRange(regionShift, "regionShift", 0,
+                DEFAULT_REGION_SHIFT);
+        this.regionShift = regionShift;
+        this.seriesList = new ArrayList<>();
+        this.intervalWidth = 0.0;
+    }
+
+    /**
+     * Writes x and y-values to a file in the format read by this dataset.
+     *
+     * @param file  the file ({@code null} not permitted).
+     * @param xValues  the x-values in ascending order ({@code null} not
+     *     permitted).
+     * @param yValues  the y-values ({@code null} not permitted, must have
+     *     the same length as {@code xValues}).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writeSeriesFile(Path file, double[] xValues,
+            double[] yValues) throws IOException {
+        Args.nullNotPermitted(file, "file");
+        Args.nullNotPermitted(xValues, "xValues");
+        Args.nullNotPermitted(yValues, "yValues");
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException(
+                    "The 'xValues' and 'yValues' arrays must have equal length.");
+        }
+        double minY = Double.NaN;
+        double maxY = Double.NaN;
+        for (int i = 0; i < xValues.length; i++) {
+            if (Double.isNaN(xValues[i])
+                    || (i > 0 && xValues[i] < xValues[i - 1])) {
+                throw new IllegalArgumentException(
+                        "The 'xValues' must be in ascending order.");
+            }
+            double y = yValues[i];
+            if (!Double.isNaN(y)) {
+                minY = Double.isNaN(minY) ? y : Math.min(minY, y);
+                maxY = Double.isNaN(maxY) ? y : Math.max(maxY, y);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(xValues.length)
+                    .putDouble(minY).putDouble(maxY).flip();
+            writeFully(channel, header);
+            writeColumn(channel, xValues);
+            writeColumn(channel, yValues);
+        }
+    }
+
+    /**
+     * Writes a column of values to a channel.
+     *
+     * @param channel  the channel.
+     * @param values  the values.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeColumn(FileChannel channel, double[] values)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192 * Double.BYTES);
+        int i = 0;
+        while (i < values.length) {
+            int n = Math.min(values.length - i, 8192);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(values, i, n);
+            buffer.limit(n * Double.BYTES);
+            writeFully(channel, buffer);
+            i += n;
+        }
+    }
+
+    /**
+     * Writes all the remaining bytes in a buffer to a channel.
+     *
+     * @param channel  the channel.
+     * @param buffer  the buffer.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Maps a series file and adds it to the dataset, then sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param file  the file ({@code null} not permitted).
+     *
+     * @throws IOException if the file cannot be read or is not a series file.
+     * @throws IllegalArgumentException if the dataset already contains a
+     *     series with the same key.
+     */
+    public void addSeries(S seriesKey, Path file) throws IOException {
+        Args.nullNotPermitted(seriesKey, "seriesKey");
+        Args.nullNotPermitted(file, "file");
+        if (indexOf(seriesKey) >= 0) {
+            throw new IllegalArgumentException(
+                "This dataset already contains a series with the key "
+                + seriesKey);
+        }
+        MappedSeries<S> series = new MappedSeries<>(seriesKey,
+                file.toAbsolutePath().toString(), this.regionShift);
+        series.map();
+        this.seriesList.add(series);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a series from the dataset, then sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param seriesKey  the series key ({@code null} not permitted).
+     */
+    public void removeSeries(S seriesKey) {
+        int index = indexOf(seriesKey);
+        if (index >= 0) {
+            this.seriesList.remove(index);
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Returns the width of the x-interval for each item.  The default value
+     * is {@code 0.0}.
+     *
+     * @return The interval width.
+     */
+    public double getIntervalWidth() {
+        return this.intervalWidth;
+    }
+
+    /**
+     * Sets the width of the x-interval for each item (the interval is
+     * centered on the x-value) and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param width  the width (must be non-negative).
+     */
+    public void setIntervalWidth(double width) {
+        Args.requireNonNegative(width, "width");
+        this.intervalWidth = width;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns {@link DomainOrder#ASCENDING} since the x-values in each series
+     * file are sorted.
+     *
+     * @return {@code DomainOrder.ASCENDING}.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.seriesList.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The key for the series.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        Args.requireInRange(series, "series", 0, this.seriesList.size() - 1);
+        return this.seriesList.get(series).key;
+    }
+
+    /**
+     * Returns the index of the series with the specified key, or -1 if there
+     * is no such series in the dataset.
+     *
+     * @param seriesKey  the series key ({@code null} permitted).
+     *
+     * @return The index, or -1.
+     */
+    @Override
+    public int indexOf(S seriesKey) {
+        for (int i = 0; i < this.seriesList.size(); i++) {
+            if (this.seriesList.get(i).key.equals(seriesKey)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of items in the specified series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.seriesList.get(series).itemCount;
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.seriesList.get(series).getXValue(item);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code Double.NaN} for a missing value).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.seriesList.get(series).getYValue(item);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the start of the x-interval for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return getXValue(series, item) - this.intervalWidth / 2.0;
+    }
+
+    /**
+     * Returns the start of the x-interval for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return getStartXValue(series, item);
+    }
+
+    /**
+     * Returns the end of the x-interval for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return getXValue(series, item) + this.intervalWidth / 2.0;
+    }
+
+    /**
+     * Returns the end of the x-interval for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return getEndXValue(series, item);
+    }
+
+    /**
+     * Returns the start y-value (this is the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the end y-value (this is the same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the range of x-values for one series, without iterating.
+     *
+     * @param series  the series.
+     * @param includeInterval  include the x-interval?
+     *
+     * @return The range (or {@code null} if the series is empty).
+     */
+    private Range seriesDomainBounds(MappedSeries<S> series,
+            boolean includeInterval) {
+        if (series.itemCount == 0) {
+            return null;
+        }
+        double lower = series.getXValue(0);
+        double upper = series.getXValue(series.itemCount - 1);
+        if (includeInterval) {
+            lower -= this.intervalWidth / 2.0;
+            upper += this.intervalWidth / 2.0;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  include the x-interval?
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r != null ? r.getLowerBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  include the x-interval?
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r != null ? r.getUpperBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the range of x-values in the dataset, found from the first and
+     * last item in each series.
+     *
+     * @param includeInterval  include the x-interval?
+     *
+     * @return The range (possibly {@code null}).
+     */
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        Range result = null;
+        for (MappedSeries<S> series : this.seriesList) {
+            result = Range.combine(result,
+                    seriesDomainBounds(series, includeInterval));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the range of x-values in the visible series, found from the
+     * first and last item in each series.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     ({@code null} not permitted).
+     * @param includeInterval  include the x-interval?
+     *
+     * @return The range (possibly {@code null}).
+     */
+    @Override
+    public Range getDomainBounds(List<S> visibleSeriesKeys,
+            boolean includeInterval) {
+        Range result = null;
+        for (S key : visibleSeriesKeys) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                result = Range.combine(result, seriesDomainBounds(
+                        this.seriesList.get(index), includeInterval));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r != null ? r.getLowerBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r != null ? r.getUpperBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the range of y-values in the dataset, read from the file
+     * headers.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range (possibly {@code null}).
+     */
+    @Override
+    public Range getRangeBounds(boolean includeInterval) {
+        Range result = null;
+        for (MappedSeries<S> series : this.seriesList) {
+            if (!Double.isNaN(series.minY)) {
+                result = Range.combine(result,
+                        new Range(series.minY, series.maxY));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the range of y-values for the items in the visible series that
+     * have x-values within {@code xRange}.  The items are located with a
+     * binary search, and when all the items in a series are included the
+     * bounds are read from the file header instead of iterating.  Otherwise
+     * the bounds are found with a min/max index over the y-values, which 
+     * is built the first time it is needed.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     ({@code null} not permitted).
+     * @param xRange  the x-range ({@code null} not permitted).
+     * @param includeInterval  ignored.
+     *
+     * @return The range (possibly {@code null}).
+     */
+    @Override
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        Args.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
+        Args.nullNotPermitted(xRange, "xRange");
+        Range result = null;
+        for (Object key : visibleSeriesKeys) {
+            @SuppressWarnings("unchecked")
+            int index = indexOf((S) key);
+            if (index < 0) {
+                continue;
+            }
+            MappedSeries<S> series = this.seriesList.get(index);
+            int first = series.lowerBound(xRange.getLowerBound());
+            int last = series.upperBound(xRange.getUpperBound()) - 1;
+            if (first > last) {
+                continue;
+            }
+            Range r;
+            if (first == 0 && last == series.itemCount - 1) {
+                r = Double.isNaN(series.minY) ? null
+                        : new Range(series.minY, series.maxY);
+            }
+            else {
+                r = series.findYRange(first, last);
+            }
+            result = Range.combine(result, r);
+        }
+        return result;
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.  Two
+     * datasets are considered equal if they map the same files with the
+     * same series keys and have the same interval width.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof MappedXYDataset)) {
+            return false;
+        }
+        MappedXYDataset<?> that = (MappedXYDataset<?>) obj;
+        if (this.seriesList.size() != that.seriesList.size()) {
+            return false;
+        }
+        for (int i = 0; i < this.seriesList.size(); i++) {
+            MappedSeries<?> s1 = this.seriesList.get(i);
+            MappedSeries<?> s2 = that.seriesList.get(i);
+            if (!s1.key.equals(s2.key) || !s1.file.equals(s2.file)) {
+                return false;
+            }
+        }
+        if (Double.doubleToLongBits(this.intervalWidth)
+                != Double.doubleToLongBits(that.intervalWidth)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = 193;
+        for (MappedSeries<S> series : this.seriesList) {
+            result = 29 * result + Objects.hash(series.key, series.file);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a clone of the dataset.  The clone shares the (read-only)
+     * mapped data with this dataset.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() throws CloneNotSupportedException {
+        MappedXYDataset<S> clone = (MappedXYDataset<S>) super.clone();
+        clone.seriesList = new ArrayList<>(this.seriesList);
+        return clone;
+    }
+
+    /**
+     * A series backed by a memory-mapped file.  The file is mapped again
+     * when the series is deserialized.
+     *
+     * @param <S> the type of the series key.
+     */
+    private static final class MappedSeries<S extends Comparable<S>>
+            implements Serializable {
+
+        /** For serialization. */
+        private static final long serialVersionUID = 1L;
+
+        /** The series key. */
+        private final S key;
+
+        /** The absolute path of the file. */
+        private final String file;
+
+        /** The number of doubles in a mapped region, as a power of two. */
+        private final int regionShift;
+
+        /** The number of items in the series. */
+        private transient int itemCount;
+
+        /** The minimum y-value (from the file header). */
+        private transient double minY;
+
+        /** The maximum y-value (from the file header). */
+        private transient double maxY;
+
+        /** The mapped regions for the x-values. */
+        private transient DoubleBuffer[] xRegions;
+
+        /** The mapped regions for the y-values. */
+        private transient DoubleBuffer[] yRegions;
+
+        /** 
+         * An index for finding the range of the y-values for a block of 
+         * items (built on the first query).
+         */
+        private transient MinMaxIndex yIndex;
+
+        /**
+         * Creates a new series (call {@link #map()} before use).
+         *
+         * @param key  the series key.
+         * @param file  the absolute path of the file.
+         * @param regionShift  the region size (as a power of two).
+         */
+        MappedSeries(S key, String file, int regionShift) {
+            this.key = key;
+            this.file = file;
+            this.regionShift = regionShift;
+        }
+
+        /**
+         * Reads the file header and maps the x and y columns.
+         *
+         * @throws IOException if there is an I/O problem or the file is not
+         *     a series file.
+         */
+        void map() throws IOException {
+            try (FileChannel channel = FileChannel.open(Paths.get(this.file),
+                    StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                while (header.hasRemaining()) {
+                    if (channel.read(header) < 0) {
+                        throw new IOException("Not a series file: "
+                                + this.file);
+                    }
+                }
+                header.flip();
+                if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("Not a series file: " + this.file);
+                }
+                long count = header.getLong();
+                if (count < 0 || count > Integer.MAX_VALUE) {
+                    throw new IOException("Unsupported item count " + count
+                            + " in " + this.file);
+                }
+                if (channel.size() < HEADER_SIZE + count * 2 * Double.BYTES) {
+                    throw new IOException("Truncated series file: "
+                            + this.file);
+                }
+                this.itemCount = (int) count;
+                this.minY = header.getDouble();
+                this.maxY = header.getDouble();
+                this.xRegions = mapColumn(channel, HEADER_SIZE);
+                this.yRegions = mapColumn(channel,
+                        HEADER_SIZE + count * Double.BYTES);
+                this.yIndex = new MinMaxIndex(this::getYValue, 
+                        () -> this.itemCount, Y_INDEX_BLOCK_SHIFT);
+            }
+        }
+
+        /**
+         * Maps a column of {@code itemCount} doubles starting at the
+         * specified file position.
+         *
+         * @param channel  the channel.
+         * @param position  the file position.
+         *
+         * @return The mapped regions.
+         *
+         * @throws IOException if there is an I/O problem.
+         */
+        private DoubleBuffer[] mapColumn(FileChannel channel, long position)
+                throws IOException {
+            int regionSize = 1 << this.regionShift;
+            int regionCount = (int) (((long) this.itemCount + regionSize - 1)
+                    >>> this.regionShift);
+            DoubleBuffer[] result = new DoubleBuffer[regionCount];
+            for (int r = 0; r < regionCount; r++) {
+                long first = (long) r << this.regionShift;
+                long n = Math.min(regionSize, this.itemCount - first);
+                result[r] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position + first * Double.BYTES, n * Double.BYTES)
+                        .asDoubleBuffer();
+            }
+            return result;
+        }
+
+        /**
+         * Returns an x-value.
+         *
+         * @param item  the item index.
+         *
+         * @return The x-value.
+         */
+        double getXValue(int item) {
+            Objects.checkIndex(item, this.itemCount);
+            return this.xRegions[item >>> this.regionShift].get(
+                    item & ((1 << this.regionShift) - 1));
+        }
+
+        /**
+         * Returns a y-value.
+         *
+         * @param item  the item index.
+         *
+         * @return The y-value.
+         */
+        double getYValue(int item) {
+            Objects.checkIndex(item, this.itemCount);
+            return this.yRegions[item >>> this.regionShift].get(
+                    item & ((1 << this.regionShift) - 1));
+        }
+
+        /**
+         * Returns the index of the first item with an x-value greater than
+         * or equal to {@code x}.
+         *
+         * @param x  the x-value.
+         *
+         * @return The index (in the range {@code 0} to {@code itemCount}).
+         */
+        int lowerBound(double x) {
+            int low = 0;
+            int high = this.itemCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getXValue(mid) < x) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the first item with an x-value greater than
+         * {@code x}.
+         *
+         * @param x  the x-value.
+         *
+         * @return The index (in the range {@code 0} to {@code itemCount}).
+         */
+        int upperBound(double x) {
+            int low = 0;
+            int high = this.itemCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getXValue(mid) <= x) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Finds the range of y-values for a block of items.  The first call
+         * reads all the y-values to build an index, after that only the 
+         * values in the partial index blocks at each end of the range are 
+         * read.
+         *
+         * @param first  the index of the first item.
+         * @param last  the index of the last item.
+         *
+         * @return The range (or {@code null} if all values are NaN).
+         */
+        Range findYRange(int first, int last) {
+            return this.yIndex.findRange(first, last);
+        }
+
+        /**
+         * Restores a serialized series and maps the file again.
+         *
+         * @param stream  the input stream.
+         *
+         * @throws IOException  if there is an I/O error.
+         * @throws ClassNotFoundException  if there is a classpath problem.
+         */
+        private void readObject(ObjectInputStream stream)
+                throws IOException, ClassNotFoundException {
+            stream.defaultReadObject();
+            map();
+        }
+
+    }
+
+}
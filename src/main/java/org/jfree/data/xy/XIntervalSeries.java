@@ -42,6 +42,10 @@
 
 package org.jfree.data.xy;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.internal.Args;
 import org.jfree.data.ComparableObjectItem;
 import org.jfree.data.ComparableObjectSeries;
 import org.jfree.data.general.SeriesChangeEvent;
@@ -108,6 +112,37 @@ public class XIntervalSeries<S extends Comparable<S>>
         super.add(item, notify);
     }
 
+    /**
+     * Adds a batch of data items to the series and sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param xLow  the lower bounds of the x-intervals ({@code null} not
+     *     permitted).
+     * @param xHigh  the upper bounds of the x-intervals ({@code null} not
+     *     permitted).
+     * @param y  the y-values ({@code null} not permitted).
+     *
+     * @throws IllegalArgumentException if the arrays have different lengths.
+     */
+    public void addAll(double[] x, double[] xLow, double[] xHigh, 
+            double[] y) {
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(xLow, "xLow");
+        Args.nullNotPermitted(xHigh, "xHigh");
+        Args.nullNotPermitted(y, "y");
+        int n = x.length;
+        if (xLow.length != n || xHigh.length != n || y.length != n) {
+            throw new IllegalArgumentException(
+                    "The arrays must all have the same length.");
+        }
+        List<XIntervalDataItem> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new XIntervalDataItem(x[i], xLow[i], xHigh[i], y[i]));
+        }
+        addAll(items, true);
+    }
+
     /**
      * Returns the x-value for the specified item.
      *
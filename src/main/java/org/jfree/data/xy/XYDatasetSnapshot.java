@@ -0,0 +1,377 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * XYDatasetSnapshot.java
+ * ----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.internal.Args;
+import org.jfree.data.DomainOrder;
+
+/**
+ * An immutable copy of the contents of an {@link XYDataset} (including the
+ * x-intervals, if the source is an {@link IntervalXYDataset}), created by an
+ * {@link XYSnapshotProvider}.  The values are stored in primitive arrays, 
+ * one set per series.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public class XYDatasetSnapshot<S extends Comparable<S>> 
+        extends AbstractIntervalXYDataset<S> {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3094402860271518364L;
+
+    /** The dataset that the snapshot was taken from. */
+    private final XYDataset<S> source;
+
+    /** The series keys. */
+    private final List<S> seriesKeys;
+
+    /** The x-values for each series. */
+    private final double[][] x;
+
+    /** The start x-values for each series. */
+    private final double[][] startX;
+
+    /** The end x-values for each series. */
+    private final double[][] endX;
+
+    /** The y-values for each series. */
+    private final double[][] y;
+
+    /** The domain order. */
+    private final DomainOrder domainOrder;
+
+    /**
+     * Creates a snapshot from the specified values.  The arrays are not 
+     * copied, so the caller must not modify them afterwards.
+     *
+     * @param source  the dataset the snapshot was taken from ({@code null}
+     *     not permitted).
+     * @param seriesKeys  the series keys ({@code null} not permitted).
+     * @param x  the x-values for each series ({@code null} not permitted).
+     * @param startX  the start x-values for each series ({@code null} not 
+     *     permitted).
+     * @param endX  the end x-values for each series ({@code null} not 
+     *     permitted).
+     * @param y  the y-values for each series ({@code null} not permitted).
+     * @param domainOrder  the domain order ({@code null} not permitted).
+     */
+    public XYDatasetSnapshot(XYDataset<S> source, List<S> seriesKeys, 
+            double[][] x, double[][] startX, double[][] endX, double[][] y,
+            DomainOrder domainOrder) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(seriesKeys, "seriesKeys");
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(startX, "startX");
+        Args.nullNotPermitted(endX, "endX");
+        Args.nullNotPermitted(y, "y");
+        Args.nullNotPermitted(domainOrder, "domainOrder");
+        int seriesCount = seriesKeys.size();
+        if (x.length != seriesCount || startX.length != seriesCount
+                || endX.length != seriesCount || y.length != seriesCount) {
+            throw new IllegalArgumentException(
+                    "The arrays must have one entry per series.");
+        }
+        this.source = source;
+        this.seriesKeys = new ArrayList<>(seriesKeys);
+        this.x = x;
+        this.startX = startX;
+        this.endX = endX;
+        this.y = y;
+        this.domainOrder = domainOrder;
+    }
+
+    /**
+     * Creates a snapshot of any {@link XYDataset} by reading all its values.
+     * No locking is performed, so the dataset should not be updated while 
+     * this method runs.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     *
+     * @param <S>  the type for the series keys.
+     *
+     * @return The snapshot.
+     */
+    public static <S extends Comparable<S>> XYDatasetSnapshot<S> of(
+            XYDataset<S> dataset) {
+        Args.nullNotPermitted(dataset, "dataset");
+        int seriesCount = dataset.getSeriesCount();
+        List<S> keys = new ArrayList<>(seriesCount);
+        double[][] x = new double[seriesCount][];
+        double[][] startX = new double[seriesCount][];
+        double[][] endX = new double[seriesCount][];
+        double[][] y = new double[seriesCount][];
+        for (int s = 0; s < seriesCount; s++) {
+            keys.add(dataset.getSeriesKey(s));
+            double[][] values = readSeries(dataset, s);
+            x[s] = values[0];
+            startX[s] = values[1];
+            endX[s] = values[2];
+            y[s] = values[3];
+        }
+        return new XYDatasetSnapshot<>(dataset, keys, x, startX, endX, y,
+                dataset.getDomainOrder());
+    }
+
+    /**
+     * Reads the x, start x, end x and y-values for one series in a dataset.
+     * The start and end x-values are read from an 
+     * {@link IntervalXYDataset}, for other datasets they are the same as the
+     * x-values.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     *
+     * @param <S>  the type for the series keys.
+     *
+     * @return An array containing the x, start x, end x and y-values.
+     */
+    public static <S extends Comparable<S>> double[][] readSeries(
+            XYDataset<S> dataset, int series) {
+        Args.nullNotPermitted(dataset, "dataset");
+        int itemCount = dataset.getItemCount(series);
+        double[] x = new double[itemCount];
+        double[] y = new double[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            x[i] = dataset.getXValue(series, i);
+            y[i] = dataset.getYValue(series, i);
+        }
+        double[] startX = x;
+        double[] endX = x;
+        if (dataset instanceof IntervalXYDataset) {
+            IntervalXYDataset<S> ixyd = (IntervalXYDataset<S>) dataset;
+            startX = new double[itemCount];
+            endX = new double[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                startX[i] = ixyd.getStartXValue(series, i);
+                endX[i] = ixyd.getEndXValue(series, i);
+            }
+        }
+        return new double[][] {x, startX, endX, y};
+    }
+
+    /**
+     * Returns the dataset that the snapshot was taken from.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public XYDataset<S> getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the order of the domain (or x-) values, as reported by the
+     * source dataset.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.domainOrder;
+    }
+
+    /**
+     * Returns the number of series in the snapshot.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.seriesKeys.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The key for the series.
+     */
+    @Override
+    public S getSeriesKey(int series) {
+        return this.seriesKeys.get(series);
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.x[series].length;
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.x[series][item];
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return this.x[series][item];
+    }
+
+    /**
+     * Returns the start x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return this.startX[series][item];
+    }
+
+    /**
+     * Returns the start x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start x-value.
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return this.startX[series][item];
+    }
+
+    /**
+     * Returns the end x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return this.endX[series][item];
+    }
+
+    /**
+     * Returns the end x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end x-value.
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return this.endX[series][item];
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.y[series][item];
+    }
+
+    /**
+     * Returns the y-value for an item within a series ({@code null} for a
+     * missing value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double value = this.y[series][item];
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Returns the start y-value for an item within a series (this is the
+     * same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The start y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the end y-value for an item within a series (this is the
+     * same as the y-value).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The end y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+}
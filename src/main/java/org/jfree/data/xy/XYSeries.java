@@ -47,8 +47,12 @@ import java.util.List;
 import java.util.Objects;
 
 import org.jfree.chart.internal.Args;
+import org.jfree.chart.internal.CircularList;
 import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.internal.ListUtils;
+import org.jfree.chart.internal.MinMaxIndex;
 
+import org.jfree.data.Range;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
@@ -70,7 +74,11 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
     // the 'data' attribute from 'private' to 'protected', so that others can
     // make subclasses that work directly with the underlying data structure.
 
-    /** Storage for the data items in the series. */
+    /**
+     * Storage for the data items in the series (a {@link CircularList}, so
+     * that the oldest item can be removed in constant time when the maximum
+     * item count is reached).
+     */
     protected List<XYDataItem> data;
 
     /** The maximum number of items for the series. */
@@ -97,6 +105,12 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
     /** The highest y-value in the series, excluding Double.NaN values. */
     private double maxY;
 
+    /**
+     * An index for finding the range of y-values for a range of items,
+     * created by the first call to {@link #findValueRange(Range)}.
+     */
+    transient MinMaxIndex yIndex;
+
     /**
      * Creates a new empty series.  By default, items added to the series will
      * be sorted into ascending order by x-value, and duplicate x-values will
@@ -132,7 +146,7 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      */
     public XYSeries(K key, boolean autoSort, boolean allowDuplicateXValues) {
         super(key);
-        this.data = new java.util.ArrayList<>();
+        this.data = new CircularList<>();
         this.autoSort = autoSort;
         this.allowDuplicateXValues = allowDuplicateXValues;
         this.minX = Double.NaN;
@@ -364,11 +378,17 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * @param maximum  the maximum number of items for the series.
      */
     public void setMaximumItemCount(int maximum) {
-        this.maximumItemCount = maximum;
-        int remove = this.data.size() - maximum;
+        int remove;
+        synchronized (this) {
+            this.maximumItemCount = maximum;
+            remove = this.data.size() - maximum;
+            if (remove > 0) {
+                this.data.subList(0, remove).clear();
+                indexItemsRemoved(0, remove);
+                findBoundsByIteration();
+            }
+        }
         if (remove > 0) {
-            this.data.subList(0, remove).clear();
-            findBoundsByIteration();
             fireSeriesChanged();
         }
     }
@@ -484,48 +504,147 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      *                listeners.
      */
     public void add(XYDataItem item, boolean notify) {
-        Args.nullNotPermitted(item, "item");
-        item = (XYDataItem) item.clone();
-        if (this.autoSort) {
-            int index = Collections.binarySearch(this.data, item);
-            if (index < 0) {
-                this.data.add(-index - 1, item);
-            }
-            else {
-                if (this.allowDuplicateXValues) {
-                    // need to make sure we are adding *after* any duplicates
-                    int size = this.data.size();
-                    while (index < size && item.compareTo(
-                            this.data.get(index)) == 0) {
-                        index++;
-                    }
-                    if (index < this.data.size()) {
-                        this.data.add(index, item);
+        synchronized (this) {
+            Args.nullNotPermitted(item, "item");
+            item = (XYDataItem) item.clone();
+            if (this.autoSort) {
+                int index = Collections.binarySearch(this.data, item);
+                if (index < 0) {
+                    this.data.add(-index - 1, item);
+                    indexItemAdded(-index - 1);
+                }
+                else {
+                    if (this.allowDuplicateXValues) {
+                        // need to make sure we are adding *after* any
+                        // duplicates
+                        int size = this.data.size();
+                        while (index < size && item.compareTo(
+                                this.data.get(index)) == 0) {
+                            index++;
+                        }
+                        if (index < this.data.size()) {
+                            this.data.add(index, item);
+                        }
+                        else {
+                            this.data.add(item);
+                        }
+                        indexItemAdded(index);
                     }
                     else {
-                        this.data.add(item);
+                        throw new SeriesException("X-value already exists.");
                     }
                 }
-                else {
-                    throw new SeriesException("X-value already exists.");
+            }
+            else {
+                if (!this.allowDuplicateXValues) {
+                    // can't allow duplicate values, so we need to check whether
+                    // there is an item with the given x-value already
+                    int index = indexOf(item.getX());
+                    if (index >= 0) {
+                        throw new SeriesException("X-value already exists.");
+                    }
                 }
+                this.data.add(item);
+                indexItemAdded(this.data.size() - 1);
+            }
+            updateBoundsForAddedItem(item);
+            if (getItemCount() > this.maximumItemCount) {
+                XYDataItem removed = this.data.remove(0);
+                indexItemsRemoved(0, 1);
+                updateBoundsForRemovedItem(removed);
             }
         }
-        else {
-            if (!this.allowDuplicateXValues) {
-                // can't allow duplicate values, so we need to check whether
-                // there is an item with the given x-value already
-                int index = indexOf(item.getX());
-                if (index >= 0) {
-                    throw new SeriesException("X-value already exists.");
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Adds a batch of data items to the series and sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted, must have the same
+     *     length as {@code x}).
+     *
+     * @see #addAll(double[], double[], boolean)
+     */
+    public void addAll(double[] x, double[] y) {
+        addAll(x, y, true);
+    }
+
+    /**
+     * Adds a batch of data items to the series and, if requested, sends a
+     * single {@link SeriesChangeEvent} to all registered listeners.  The 
+     * result is the same as adding the items one at a time, but the batch is
+     * merged into the series in one pass (a batch that follows the existing
+     * items, in particular one that is already sorted, is simply appended),
+     * and the bounds and maximum item count are checked once for the whole 
+     * batch.  If the {@code allowDuplicateXValues} flag is not set and the
+     * batch would create a duplicate x-value, an exception is thrown and the
+     * series is not modified.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted, must have the same
+     *     length as {@code x}).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if an x-value is a duplicate and the
+     *     {@code allowDuplicateXValues} flag is not set for this series.
+     */
+    public void addAll(double[] x, double[] y, boolean notify) {
+        synchronized (this) {
+            Args.nullNotPermitted(x, "x");
+            Args.nullNotPermitted(y, "y");
+            if (x.length != y.length) {
+                throw new IllegalArgumentException(
+                        "The 'x' and 'y' arrays must have the same length.");
+            }
+            if (x.length == 0) {
+                return;
+            }
+            List<XYDataItem> batch = new ArrayList<>(x.length);
+            for (int i = 0; i < x.length; i++) {
+                batch.add(new XYDataItem(x[i], y[i]));
+            }
+            int oldCount = this.data.size();
+            int first;
+            if (this.autoSort) {
+                first = ListUtils.mergeSorted(this.data, batch,
+                        this.allowDuplicateXValues);
+            }
+            else {
+                first = oldCount;
+                if (!this.allowDuplicateXValues
+                        && ListUtils.containsDuplicates(this.data, batch)) {
+                    first = -1;
+                }
+                else {
+                    this.data.addAll(batch);
                 }
             }
-            this.data.add(item);
-        }
-        updateBoundsForAddedItem(item);
-        if (getItemCount() > this.maximumItemCount) {
-            XYDataItem removed = this.data.remove(0);
-            updateBoundsForRemovedItem(removed);
+            if (first < 0) {
+                throw new SeriesException("X-value already exists.");
+            }
+            if (first == oldCount) {
+                for (int i = oldCount; i < this.data.size(); i++) {
+                    indexItemAdded(i);
+                }
+            }
+            else if (this.yIndex != null) {
+                this.yIndex.invalidate();
+            }
+            for (XYDataItem item : batch) {
+                updateBoundsForAddedItem(item);
+            }
+            int remove = this.data.size() - this.maximumItemCount;
+            if (remove > 0) {
+                this.data.subList(0, remove).clear();
+                indexItemsRemoved(0, remove);
+                findBoundsByIteration();
+            }
         }
         if (notify) {
             fireSeriesChanged();
@@ -540,8 +659,11 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * @param end  the end index (zero-based).
      */
     public void delete(int start, int end) {
-        this.data.subList(start, end + 1).clear();
-        findBoundsByIteration();
+        synchronized (this) {
+            this.data.subList(start, end + 1).clear();
+            indexItemsRemoved(start, end - start + 1);
+            findBoundsByIteration();
+        }
         fireSeriesChanged();
     }
 
@@ -554,8 +676,12 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * @return The item removed.
      */
     public XYDataItem remove(int index) {
-        XYDataItem removed = this.data.remove(index);
-        updateBoundsForRemovedItem(removed);
+        XYDataItem removed;
+        synchronized (this) {
+            removed = this.data.remove(index);
+            indexItemsRemoved(index, 1);
+            updateBoundsForRemovedItem(removed);
+        }
         fireSeriesChanged();
         return removed;
     }
@@ -579,12 +705,21 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * {@link SeriesChangeEvent} to all registered listeners.
      */
     public void clear() {
-        if (this.data.size() > 0) {
-            this.data.clear();
-            this.minX = Double.NaN;
-            this.maxX = Double.NaN;
-            this.minY = Double.NaN;
-            this.maxY = Double.NaN;
+        boolean changed = false;
+        synchronized (this) {
+            if (this.data.size() > 0) {
+                this.data.clear();
+                if (this.yIndex != null) {
+                    this.yIndex.invalidate();
+                }
+                this.minX = Double.NaN;
+                this.maxX = Double.NaN;
+                this.minY = Double.NaN;
+                this.maxY = Double.NaN;
+                changed = true;
+            }
+        }
+        if (changed) {
             fireSeriesChanged();
         }
     }
@@ -636,6 +771,33 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
         return getRawDataItem(index).getY();
     }
 
+    /**
+     * Returns the x-value at the specified index as a double primitive.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value.
+     *
+     * @see #getX(int)
+     */
+    public double getXValue(int index) {
+        return getRawDataItem(index).getXValue();
+    }
+
+    /**
+     * Returns the y-value at the specified index as a double primitive.  If
+     * the y-value is {@code null}, this method returns {@code Double.NaN}.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value.
+     *
+     * @see #getY(int)
+     */
+    public double getYValue(int index) {
+        return getRawDataItem(index).getYValue();
+    }
+
     /**
      * A function to find the minimum of two values, but ignoring any
      * Double.NaN values.
@@ -684,6 +846,21 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      * @since 1.0.1
      */
     public void updateByIndex(int index, Number y) {
+        synchronized (this) {
+            updateValue(index, y);
+        }
+        fireSeriesChanged();
+    }
+
+    /**
+     * Updates the value of an item in the series without sending a
+     * {@link SeriesChangeEvent}.  The caller must hold the lock on
+     * this series.
+     *
+     * @param index  the item (zero based index).
+     * @param y  the new value ({@code null} permitted).
+     */
+    void updateValue(int index, Number y) {
         XYDataItem item = getRawDataItem(index);
 
         // figure out if we need to iterate through all the y-values
@@ -693,6 +870,7 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
             iterate = oldY <= this.minY || oldY >= this.maxY;
         }
         item.setY(y);
+        indexItemUpdated(index);
 
         if (iterate) {
             findBoundsByIteration();
@@ -702,7 +880,6 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
             this.minY = minIgnoreNaN(this.minY, yy);
             this.maxY = maxIgnoreNaN(this.maxY, yy);
         }
-        fireSeriesChanged();
     }
 
     /**
@@ -715,11 +892,14 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      *         x-value.
      */
     public void update(Number x, Number y) {
-        int index = indexOf(x);
-        if (index < 0) {
-            throw new SeriesException("No observation for x = " + x);
+        synchronized (this) {
+            int index = indexOf(x);
+            if (index < 0) {
+                throw new SeriesException("No observation for x = " + x);
+            }
+            updateValue(index, y);
         }
-        updateByIndex(index, y);
+        fireSeriesChanged();
     }
 
     /**
@@ -772,45 +952,51 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
 
         // if we get to here, we know that duplicate X values are not permitted
         XYDataItem overwritten = null;
-        int index = indexOf(item.getX());
-        if (index >= 0) {
-            XYDataItem existing = this.data.get(index);
-            overwritten = (XYDataItem) existing.clone();
-            // figure out if we need to iterate through all the y-values
-            boolean iterate = false;
-            double oldY = existing.getYValue();
-            if (!Double.isNaN(oldY)) {
-                iterate = oldY <= this.minY || oldY >= this.maxY;
-            }
-            existing.setY(item.getY());
+        synchronized (this) {
+            int index = indexOf(item.getX());
+            if (index >= 0) {
+                XYDataItem existing = this.data.get(index);
+                overwritten = (XYDataItem) existing.clone();
+                // figure out if we need to iterate through all the y-values
+                boolean iterate = false;
+                double oldY = existing.getYValue();
+                if (!Double.isNaN(oldY)) {
+                    iterate = oldY <= this.minY || oldY >= this.maxY;
+                }
+                existing.setY(item.getY());
+                indexItemUpdated(index);
 
-            if (iterate) {
-                findBoundsByIteration();
-            }
-            else if (item.getY() != null) {
-                double yy = item.getY().doubleValue();
-                this.minY = minIgnoreNaN(this.minY, yy);
-                this.maxY = maxIgnoreNaN(this.maxY, yy);
-            }
-        }
-        else {
-            // if the series is sorted, the negative index is a result from
-            // Collections.binarySearch() and tells us where to insert the
-            // new item...otherwise it will be just -1 and we should just
-            // append the value to the list...
-            item = (XYDataItem) item.clone();
-            if (this.autoSort) {
-                this.data.add(-index - 1, item);
+                if (iterate) {
+                    findBoundsByIteration();
+                }
+                else if (item.getY() != null) {
+                    double yy = item.getY().doubleValue();
+                    this.minY = minIgnoreNaN(this.minY, yy);
+                    this.maxY = maxIgnoreNaN(this.maxY, yy);
+                }
             }
             else {
-                this.data.add(item);
-            }
-            updateBoundsForAddedItem(item);
+                // if the series is sorted, the negative index is a result from
+                // Collections.binarySearch() and tells us where to insert the
+                // new item...otherwise it will be just -1 and we should just
+                // append the value to the list...
+                item = (XYDataItem) item.clone();
+                if (this.autoSort) {
+                    this.data.add(-index - 1, item);
+                    indexItemAdded(-index - 1);
+                }
+                else {
+                    this.data.add(item);
+                    indexItemAdded(this.data.size() - 1);
+                }
+                updateBoundsForAddedItem(item);
 
-            // check if this addition will exceed the maximum item count...
-            if (getItemCount() > this.maximumItemCount) {
-                XYDataItem removed = this.data.remove(0);
-                updateBoundsForRemovedItem(removed);
+                // check if this addition will exceed the maximum item count...
+                if (getItemCount() > this.maximumItemCount) {
+                    XYDataItem removed = this.data.remove(0);
+                    indexItemsRemoved(0, 1);
+                    updateBoundsForRemovedItem(removed);
+                }
             }
         }
         fireSeriesChanged();
@@ -842,6 +1028,102 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
         }
     }
 
+    /**
+     * Returns the range of y-values for the items with an x-value in the
+     * specified range, ignoring {@code null} and {@code Double.NaN} values.
+     * For a sorted series the items are found by binary search and the
+     * range of y-values is read from an index that is maintained as the
+     * series changes, so the cost does not depend on the number of items
+     * in the range.  For an unsorted series all the items are examined.
+     *
+     * @param xRange  the x-range ({@code null} not permitted).
+     *
+     * @return The range of y-values (possibly {@code null}).
+     */
+    public synchronized Range findValueRange(Range xRange) {
+        Args.nullNotPermitted(xRange, "xRange");
+        int count = getItemCount();
+        if (!this.autoSort) {
+            double lower = Double.POSITIVE_INFINITY;
+            double upper = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                double y = getYValue(i);
+                if (!Double.isNaN(y) && xRange.contains(getXValue(i))) {
+                    lower = Math.min(lower, y);
+                    upper = Math.max(upper, y);
+                }
+            }
+            return lower <= upper ? new Range(lower, upper) : null;
+        }
+        // find the first item with x >= lower and the first with x > upper
+        int first = 0;
+        int high = count;
+        while (first < high) {
+            int mid = (first + high) >>> 1;
+            if (getXValue(mid) < xRange.getLowerBound()) {
+                first = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        int end = first;
+        high = count;
+        while (end < high) {
+            int mid = (end + high) >>> 1;
+            if (getXValue(mid) <= xRange.getUpperBound()) {
+                end = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        if (first >= end) {
+            return null;
+        }
+        if (this.yIndex == null) {
+            this.yIndex = new MinMaxIndex(this::getYValue, this::getItemCount);
+        }
+        return this.yIndex.findRange(first, end - 1);
+    }
+
+    /**
+     * Updates the y-value index (if there is one) after an item has been
+     * added to the series.
+     *
+     * @param index  the index of the new item.
+     */
+    void indexItemAdded(int index) {
+        if (this.yIndex != null) {
+            this.yIndex.itemAdded(index);
+        }
+    }
+
+    /**
+     * Updates the y-value index (if there is one) after items have been
+     * removed from the series.
+     *
+     * @param index  the index of the first item removed.
+     * @param count  the number of items removed.
+     */
+    void indexItemsRemoved(int index, int count) {
+        if (this.yIndex != null) {
+            this.yIndex.itemsRemoved(index, count);
+        }
+    }
+
+    /**
+     * Updates the y-value index (if there is one) after the y-value of an
+     * item has changed.
+     *
+     * @param index  the item index.
+     */
+    void indexItemUpdated(int index) {
+        if (this.yIndex != null) {
+            this.yIndex.itemUpdated(index);
+        }
+    }
+
     /**
      * Returns a new array containing the x and y values from this series.
      *
@@ -849,7 +1131,7 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
      *
      * @since 1.0.4
      */
-    public double[][] toArray() {
+    public synchronized double[][] toArray() {
         int itemCount = getItemCount();
         double[][] result = new double[2][itemCount];
         for (int i = 0; i < itemCount; i++) {
@@ -876,7 +1158,8 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
     @SuppressWarnings("unchecked")
     public Object clone() throws CloneNotSupportedException {
         XYSeries<K> clone = (XYSeries) super.clone();
-        clone.data = CloneUtils.cloneList(this.data);
+        clone.data = new CircularList<>(CloneUtils.cloneList(this.data));
+        clone.yIndex = null;
         return clone;
     }
 
@@ -895,7 +1178,8 @@ public class XYSeries<K extends Comparable<K>> extends Series<K>
             throws CloneNotSupportedException {
 
         XYSeries<K> copy = (XYSeries) super.clone();
-        copy.data = new ArrayList<>();
+        copy.data = new CircularList<>();
+        copy.yIndex = null;
         if (!this.data.isEmpty()) {
             for (int index = start; index <= end; index++) {
                 XYDataItem item = this.data.get(index);
@@ -66,8 +66,9 @@ import org.jfree.data.general.Series;
  */
 public class XYSeriesCollection<S extends Comparable<S>> 
         extends AbstractIntervalXYDataset<S>
-        implements IntervalXYDataset<S>, DomainInfo, RangeInfo, 
-        VetoableChangeListener, PublicCloneable, Serializable {
+        implements IntervalXYDataset<S>, DomainInfo, RangeInfo, XYRangeInfo,
+        XYSnapshotProvider<S>, VetoableChangeListener, PublicCloneable, 
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -7590013825931496766L;
@@ -78,6 +79,12 @@ public class XYSeriesCollection<S extends Comparable<S>>
     /** The interval delegate (used to calculate the start and end x-values). */
     private IntervalXYDelegate intervalDelegate;
 
+    /** 
+     * A flag that indicates that the series may be updated by other threads
+     * while the dataset is rendered. 
+     */
+    private boolean concurrent;
+
     /**
      * Constructs an empty dataset.
      */
@@ -117,6 +124,101 @@ public class XYSeriesCollection<S extends Comparable<S>>
         return DomainOrder.ASCENDING;
     }
 
+    /**
+     * Returns the flag that indicates that the series in this collection may
+     * be updated by other threads while the dataset is rendered.  The 
+     * default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setConcurrent(boolean)
+     */
+    @Override
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    /**
+     * Sets the flag that indicates that the series in this collection may be
+     * updated by other threads while the dataset is rendered.  When this is
+     * set, the plot renders the dataset from a snapshot (see 
+     * {@link #createSnapshot()}) so that each rendering pass sees a 
+     * consistent view of the data.  Updates to the series are synchronized
+     * on the series, so a thread adding data only waits while a snapshot of
+     * the series it is updating is copied.  Series can be added to and 
+     * removed from the collection by any thread.
+     *
+     * @param concurrent  the new flag value.
+     *
+     * @see #isConcurrent()
+     */
+    public void setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * Creates a snapshot of the current contents of this collection.  Each 
+     * series is copied while holding its lock, so the snapshot contains a 
+     * consistent view of every series.  A series that is removed from the
+     * collection while the snapshot is taken is left out of the snapshot.
+     *
+     * @return The snapshot (never {@code null}).
+     */
+    @Override
+    public XYDatasetSnapshot<S> createSnapshot() {
+        List<XYSeries<S>> seriesList;
+        synchronized (this.data) {
+            seriesList = new ArrayList<>(this.data);
+        }
+        int seriesCount = seriesList.size();
+        List<S> keys = new ArrayList<>(seriesCount);
+        List<double[]> x = new ArrayList<>(seriesCount);
+        List<double[]> startX = new ArrayList<>(seriesCount);
+        List<double[]> endX = new ArrayList<>(seriesCount);
+        List<double[]> y = new ArrayList<>(seriesCount);
+        for (XYSeries<S> series : seriesList) {
+            double[][] values = null;
+            synchronized (series) {
+                synchronized (this.data) {
+                    // look up the index again, other series may have been
+                    // removed since the list was copied
+                    int index = indexOfSeries(series);
+                    if (index >= 0) {
+                        values = XYDatasetSnapshot.readSeries(this, index);
+                    }
+                }
+            }
+            if (values != null) {
+                keys.add(series.getKey());
+                x.add(values[0]);
+                startX.add(values[1]);
+                endX.add(values[2]);
+                y.add(values[3]);
+            }
+        }
+        double[][] none = new double[0][];
+        return new XYDatasetSnapshot<>(this, keys, x.toArray(none), 
+                startX.toArray(none), endX.toArray(none), y.toArray(none),
+                getDomainOrder());
+    }
+
+    /**
+     * Returns the index of the specified series (compared by reference) in
+     * the collection.  The caller must hold the lock on {@code this.data}.
+     *
+     * @param series  the series.
+     *
+     * @return The series index, or {@code -1}.
+     */
+    private int indexOfSeries(XYSeries<S> series) {
+        for (int i = 0; i < this.data.size(); i++) {
+            if (this.data.get(i) == series) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Adds a series to the collection and sends a {@link DatasetChangeEvent}
      * to all registered listeners.
@@ -128,12 +230,14 @@ public class XYSeriesCollection<S extends Comparable<S>>
      */
     public void addSeries(XYSeries<S> series) {
         Args.nullNotPermitted(series, "series");
-        if (getSeriesIndex(series.getKey()) >= 0) {
-            throw new IllegalArgumentException(
-                "This dataset already contains a series with the key " 
-                + series.getKey());
+        synchronized (this.data) {
+            if (getSeriesIndex(series.getKey()) >= 0) {
+                throw new IllegalArgumentException(
+                    "This dataset already contains a series with the key " 
+                    + series.getKey());
+            }
+            this.data.add(series);
         }
-        this.data.add(series);
         series.addChangeListener(this);
         fireDatasetChanged();
     }
@@ -160,9 +264,12 @@ public class XYSeriesCollection<S extends Comparable<S>>
      */
     public void removeSeries(XYSeries<S> series) {
         Args.nullNotPermitted(series, "series");
-        if (this.data.contains(series)) {
+        boolean removed;
+        synchronized (this.data) {
+            removed = this.data.remove(series);
+        }
+        if (removed) {
             series.removeChangeListener(this);
-            this.data.remove(series);
             fireDatasetChanged();
         }
     }
@@ -172,14 +279,17 @@ public class XYSeriesCollection<S extends Comparable<S>>
      * {@link DatasetChangeEvent} to all registered listeners.
      */
     public void removeAllSeries() {
-        // Unregister the collection as a change listener to each series in
-        // the collection.
-        for (XYSeries<S> series : this.data) {
+        // Remove all the series from the collection, unregister the 
+        // collection as a change listener to each series and notify 
+        // listeners.
+        List<XYSeries<S>> removed;
+        synchronized (this.data) {
+            removed = new ArrayList<>(this.data);
+            this.data.clear();
+        }
+        for (XYSeries<S> series : removed) {
             series.removeChangeListener(this);
         }
-
-        // Remove all the series from the collection and notify listeners.
-        this.data.clear();
         fireDatasetChanged();
     }
 
@@ -327,6 +437,22 @@ public class XYSeriesCollection<S extends Comparable<S>>
         return s.getX(item);
     }
 
+    /**
+     * Returns the x-value (as a double primitive) for the specified series
+     * and item.  This reads directly from the series, so it avoids creating
+     * a {@code Number} for series that store primitive values.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        XYSeries<S> s = this.data.get(series);
+        return s.getXValue(item);
+    }
+
     /**
      * Returns the starting X value for the specified series and item.
      *
@@ -353,6 +479,34 @@ public class XYSeriesCollection<S extends Comparable<S>>
         return this.intervalDelegate.getEndX(series, item);
     }
 
+    /**
+     * Returns the starting x-value (as a double primitive) for the specified
+     * series and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The starting x-value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return this.intervalDelegate.getStartXValue(series, item);
+    }
+
+    /**
+     * Returns the ending x-value (as a double primitive) for the specified
+     * series and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The ending x-value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return this.intervalDelegate.getEndXValue(series, item);
+    }
+
     /**
      * Returns the y-value for the specified series and item.
      *
@@ -367,6 +521,21 @@ public class XYSeriesCollection<S extends Comparable<S>>
         return s.getY(index);
     }
 
+    /**
+     * Returns the y-value (as a double primitive) for the specified series
+     * and item.  A {@code null} y-value is returned as {@code Double.NaN}.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        XYSeries<S> s = this.data.get(series);
+        return s.getYValue(item);
+    }
+
     /**
      * Returns the starting Y value for the specified series and item.
      *
@@ -393,6 +562,34 @@ public class XYSeriesCollection<S extends Comparable<S>>
         return getY(series, item);
     }
 
+    /**
+     * Returns the starting y-value (as a double primitive) for the specified
+     * series and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The starting y-value.
+     */
+    @Override
+    public double getStartYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the ending y-value (as a double primitive) for the specified
+     * series and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The ending y-value.
+     */
+    @Override
+    public double getEndYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
     /**
      * Tests this collection for equality with an arbitrary object.
      *
@@ -412,6 +609,9 @@ public class XYSeriesCollection<S extends Comparable<S>>
         if (!this.intervalDelegate.equals(that.intervalDelegate)) {
             return false;
         }
+        if (this.concurrent != that.concurrent) {
+            return false;
+        }
         return Objects.equals(this.data, that.data);
     }
 
@@ -440,6 +640,7 @@ public class XYSeriesCollection<S extends Comparable<S>>
     public int hashCode() {
         int hash = 5;
         hash = HashUtils.hashCode(hash, this.intervalDelegate);
+        hash = HashUtils.hashCode(hash, this.concurrent);
         hash = HashUtils.hashCode(hash, this.data);
         return hash;
     }
@@ -661,6 +862,35 @@ public class XYSeriesCollection<S extends Comparable<S>>
         }
     }
 
+    /**
+     * Returns the range of the y-values for the specified series, looking
+     * only at the items with x-values in the specified range.  For sorted
+     * series this uses the index maintained by the series, see
+     * {@link XYSeries#findValueRange(Range)}.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     ({@code null} not permitted).
+     * @param xRange  the x-range ({@code null} not permitted).
+     * @param includeInterval  ignored (the y-interval for this dataset has
+     *     zero width).
+     *
+     * @return The range (or {@code null} if there are no values in the
+     *     x-range).
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        Args.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
+        Args.nullNotPermitted(xRange, "xRange");
+        Range result = null;
+        for (Object key : visibleSeriesKeys) {
+            XYSeries<S> series = getSeries((S) key);
+            result = Range.combine(result, series.findValueRange(xRange));
+        }
+        return result;
+    }
+
     /**
      * Returns the minimum y-value in the dataset.
      *
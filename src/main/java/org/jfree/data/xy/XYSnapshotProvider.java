@@ -0,0 +1,67 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * XYSnapshotProvider.java
+ * -----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+/**
+ * A dataset that can provide an immutable snapshot of its current contents.
+ * When {@link #isConcurrent()} returns {@code true}, the 
+ * {@link org.jfree.chart.plot.XYPlot} class renders the dataset from a 
+ * snapshot taken at the start of each rendering pass, so that other threads
+ * can continue to update the dataset while the chart is drawn.
+ *
+ * @param <S>  the type for the series keys.
+ */
+public interface XYSnapshotProvider<S extends Comparable<S>> {
+
+    /**
+     * Returns {@code true} if the dataset may be updated by other threads
+     * while it is being rendered (and should therefore be rendered from a
+     * snapshot).
+     *
+     * @return A boolean.
+     */
+    boolean isConcurrent();
+
+    /**
+     * Creates a snapshot of the current contents of the dataset.  The 
+     * snapshot does not change when the dataset is updated.
+     *
+     * @return The snapshot (never {@code null}).
+     */
+    XYDatasetSnapshot<S> createSnapshot();
+
+}
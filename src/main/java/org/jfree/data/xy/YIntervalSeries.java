@@ -42,11 +42,14 @@
 
 package org.jfree.data.xy;
 
+import org.jfree.chart.internal.Args;
 import org.jfree.data.ComparableObjectItem;
 import org.jfree.data.ComparableObjectSeries;
 import org.jfree.data.general.SeriesChangeEvent;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A list of (x, y, y-low, y-high) data items.
@@ -109,6 +112,37 @@ public class YIntervalSeries<S extends Comparable<S>> extends ComparableObjectSe
         super.add(item, notify);
     }
 
+    /**
+     * Adds a batch of data items to the series and sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted).
+     * @param yLow  the lower bounds of the y-intervals ({@code null} not
+     *     permitted).
+     * @param yHigh  the upper bounds of the y-intervals ({@code null} not
+     *     permitted).
+     *
+     * @throws IllegalArgumentException if the arrays have different lengths.
+     */
+    public void addAll(double[] x, double[] y, double[] yLow, 
+            double[] yHigh) {
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(y, "y");
+        Args.nullNotPermitted(yLow, "yLow");
+        Args.nullNotPermitted(yHigh, "yHigh");
+        int n = x.length;
+        if (y.length != n || yLow.length != n || yHigh.length != n) {
+            throw new IllegalArgumentException(
+                    "The arrays must all have the same length.");
+        }
+        List<YIntervalDataItem> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new YIntervalDataItem(x[i], y[i], yLow[i], yHigh[i]));
+        }
+        addAll(items, true);
+    }
+
     /**
      * Returns the x-value for the specified item.
      *
@@ -0,0 +1,597 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * DeviceGraphics2D.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart;
+
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A graphics device for testing, that draws to an image but reports a 
+ * device of the specified type (for example, a printer) and counts the
+ * calls to the methods that fill shapes and draw images.
+ */
+public class DeviceGraphics2D extends Graphics2D {
+
+    /** The graphics device that the drawing is passed to. */
+    private final Graphics2D g2;
+
+    /** The device configuration. */
+    private final GraphicsConfiguration configuration;
+
+    /** The number of calls to the methods that fill shapes. */
+    private final AtomicInteger fillCount;
+
+    /** The number of calls to the methods that draw images. */
+    private final AtomicInteger imageCount;
+
+    /**
+     * Creates a new instance that draws to an image with the specified 
+     * size.
+     *
+     * @param width  the image width.
+     * @param height  the image height.
+     * @param deviceType  the device type (for example, 
+     *     {@link GraphicsDevice#TYPE_PRINTER}).
+     */
+    public DeviceGraphics2D(int width, int height, int deviceType) {
+        this(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB)
+                .createGraphics(), new Configuration(deviceType, width, 
+                height), new AtomicInteger(), new AtomicInteger());
+    }
+
+    /**
+     * Creates a new instance that shares the configuration and counts of
+     * another instance.
+     *
+     * @param g2  the graphics device that the drawing is passed to.
+     * @param configuration  the device configuration.
+     * @param fillCount  the fill count.
+     * @param imageCount  the image count.
+     */
+    private DeviceGraphics2D(Graphics2D g2, 
+            GraphicsConfiguration configuration, AtomicInteger fillCount,
+            AtomicInteger imageCount) {
+        this.g2 = g2;
+        this.configuration = configuration;
+        this.fillCount = fillCount;
+        this.imageCount = imageCount;
+    }
+
+    /**
+     * Returns the number of calls to the methods that fill shapes, 
+     * including calls on the instances returned by {@link #create()}.
+     *
+     * @return The fill count.
+     */
+    public int getFillCount() {
+        return this.fillCount.get();
+    }
+
+    /**
+     * Returns the number of calls to the methods that draw images, 
+     * including calls on the instances returned by {@link #create()}.
+     *
+     * @return The image count.
+     */
+    public int getImageCount() {
+        return this.imageCount.get();
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return this.configuration;
+    }
+
+    @Override
+    public Graphics create() {
+        return new DeviceGraphics2D((Graphics2D) this.g2.create(), 
+                this.configuration, this.fillCount, this.imageCount);
+    }
+
+    @Override
+    public void dispose() {
+        this.g2.dispose();
+    }
+
+    @Override
+    public boolean drawImage(Image image, int i1, int i2, int i3, int i4,
+            int i5, int i6, int i7, int i8, Color color,
+            ImageObserver observer) {
+        this.imageCount.incrementAndGet();
+        return this.g2.drawImage(image, i1, i2, i3, i4, i5, i6, i7, i8,
+                color, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image image, int i1, int i2, int i3, int i4,
+            int i5, int i6, int i7, int i8, ImageObserver observer) {
+        this.imageCount.incrementAndGet();
+        return this.g2.drawImage(image, i1, i2, i3, i4, i5, i6, i7, i8,
+                observer);
+    }
+
+    @Override
+    public boolean drawImage(Image image, int i1, int i2, int i3, int i4,
+            Color color, ImageObserver observer) {
+        this.imageCount.incrementAndGet();
+        return this.g2.drawImage(image, i1, i2, i3, i4, color, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image image, int i1, int i2, int i3, int i4,
+            ImageObserver observer) {
+        this.imageCount.incrementAndGet();
+        return this.g2.drawImage(image, i1, i2, i3, i4, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image image, int i1, int i2, Color color,
+            ImageObserver observer) {
+        this.imageCount.incrementAndGet();
+        return this.g2.drawImage(image, i1, i2, color, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image image, int i1, int i2,
+            ImageObserver observer) {
+        this.imageCount.incrementAndGet();
+        return this.g2.drawImage(image, i1, i2, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image image, AffineTransform affineTransform,
+            ImageObserver observer) {
+        this.imageCount.incrementAndGet();
+        return this.g2.drawImage(image, affineTransform, observer);
+    }
+
+    @Override
+    public boolean hit(Rectangle rectangle, Shape shape, boolean b) {
+        return this.g2.hit(rectangle, shape, b);
+    }
+
+    @Override
+    public Color getBackground() {
+        return this.g2.getBackground();
+    }
+
+    @Override
+    public Color getColor() {
+        return this.g2.getColor();
+    }
+
+    @Override
+    public Composite getComposite() {
+        return this.g2.getComposite();
+    }
+
+    @Override
+    public Font getFont() {
+        return this.g2.getFont();
+    }
+
+    @Override
+    public FontMetrics getFontMetrics(Font font) {
+        return this.g2.getFontMetrics(font);
+    }
+
+    @Override
+    public Paint getPaint() {
+        return this.g2.getPaint();
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        return this.g2.getClipBounds();
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return this.g2.getRenderingHints();
+    }
+
+    @Override
+    public Shape getClip() {
+        return this.g2.getClip();
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return this.g2.getStroke();
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return this.g2.getFontRenderContext();
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return this.g2.getTransform();
+    }
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key key) {
+        return this.g2.getRenderingHint(key);
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> map) {
+        this.g2.addRenderingHints(map);
+    }
+
+    @Override
+    public void clearRect(int i1, int i2, int i3, int i4) {
+        this.g2.clearRect(i1, i2, i3, i4);
+    }
+
+    @Override
+    public void clip(Shape shape) {
+        this.g2.clip(shape);
+    }
+
+    @Override
+    public void clipRect(int i1, int i2, int i3, int i4) {
+        this.g2.clipRect(i1, i2, i3, i4);
+    }
+
+    @Override
+    public void copyArea(int i1, int i2, int i3, int i4, int i5, int i6) {
+        this.g2.copyArea(i1, i2, i3, i4, i5, i6);
+    }
+
+    @Override
+    public void draw(Shape shape) {
+        this.g2.draw(shape);
+    }
+
+    @Override
+    public void drawArc(int i1, int i2, int i3, int i4, int i5, int i6) {
+        this.g2.drawArc(i1, i2, i3, i4, i5, i6);
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector glyphVector, float f1, float f2) {
+        this.g2.drawGlyphVector(glyphVector, f1, f2);
+    }
+
+    @Override
+    public void drawImage(BufferedImage bufferedImage,
+            BufferedImageOp bufferedImageOp, int i1, int i2) {
+        this.imageCount.incrementAndGet();
+        this.g2.drawImage(bufferedImage, bufferedImageOp, i1, i2);
+    }
+
+    @Override
+    public void drawLine(int i1, int i2, int i3, int i4) {
+        this.g2.drawLine(i1, i2, i3, i4);
+    }
+
+    @Override
+    public void drawOval(int i1, int i2, int i3, int i4) {
+        this.g2.drawOval(i1, i2, i3, i4);
+    }
+
+    @Override
+    public void drawPolygon(int[] a1, int[] a2, int i) {
+        this.g2.drawPolygon(a1, a2, i);
+    }
+
+    @Override
+    public void drawPolyline(int[] a1, int[] a2, int i) {
+        this.g2.drawPolyline(a1, a2, i);
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage renderableImage,
+            AffineTransform affineTransform) {
+        this.imageCount.incrementAndGet();
+        this.g2.drawRenderableImage(renderableImage, affineTransform);
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage renderedImage,
+            AffineTransform affineTransform) {
+        this.imageCount.incrementAndGet();
+        this.g2.drawRenderedImage(renderedImage, affineTransform);
+    }
+
+    @Override
+    public void drawRoundRect(int i1, int i2, int i3, int i4, int i5, int i6) {
+        this.g2.drawRoundRect(i1, i2, i3, i4, i5, i6);
+    }
+
+    @Override
+    public void drawString(String string, float f1, float f2) {
+        this.g2.drawString(string, f1, f2);
+    }
+
+    @Override
+    public void drawString(String string, int i1, int i2) {
+        this.g2.drawString(string, i1, i2);
+    }
+
+    @Override
+    public void drawString(
+            AttributedCharacterIterator attributedCharacterIterator, float f1,
+            float f2) {
+        this.g2.drawString(attributedCharacterIterator, f1, f2);
+    }
+
+    @Override
+    public void drawString(
+            AttributedCharacterIterator attributedCharacterIterator, int i1,
+            int i2) {
+        this.g2.drawString(attributedCharacterIterator, i1, i2);
+    }
+
+    @Override
+    public void fill(Shape shape) {
+        this.fillCount.incrementAndGet();
+        this.g2.fill(shape);
+    }
+
+    @Override
+    public void fillArc(int i1, int i2, int i3, int i4, int i5, int i6) {
+        this.fillCount.incrementAndGet();
+        this.g2.fillArc(i1, i2, i3, i4, i5, i6);
+    }
+
+    @Override
+    public void fillOval(int i1, int i2, int i3, int i4) {
+        this.fillCount.incrementAndGet();
+        this.g2.fillOval(i1, i2, i3, i4);
+    }
+
+    @Override
+    public void fillPolygon(int[] a1, int[] a2, int i) {
+        this.fillCount.incrementAndGet();
+        this.g2.fillPolygon(a1, a2, i);
+    }
+
+    @Override
+    public void fillRect(int i1, int i2, int i3, int i4) {
+        this.fillCount.incrementAndGet();
+        this.g2.fillRect(i1, i2, i3, i4);
+    }
+
+    @Override
+    public void fillRoundRect(int i1, int i2, int i3, int i4, int i5, int i6) {
+        this.fillCount.incrementAndGet();
+        this.g2.fillRoundRect(i1, i2, i3, i4, i5, i6);
+    }
+
+    @Override
+    public void rotate(double d) {
+        this.g2.rotate(d);
+    }
+
+    @Override
+    public void rotate(double d1, double d2, double d3) {
+        this.g2.rotate(d1, d2, d3);
+    }
+
+    @Override
+    public void scale(double d1, double d2) {
+        this.g2.scale(d1, d2);
+    }
+
+    @Override
+    public void setBackground(Color color) {
+        this.g2.setBackground(color);
+    }
+
+    @Override
+    public void setClip(int i1, int i2, int i3, int i4) {
+        this.g2.setClip(i1, i2, i3, i4);
+    }
+
+    @Override
+    public void setClip(Shape shape) {
+        this.g2.setClip(shape);
+    }
+
+    @Override
+    public void setColor(Color color) {
+        this.g2.setColor(color);
+    }
+
+    @Override
+    public void setComposite(Composite composite) {
+        this.g2.setComposite(composite);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        this.g2.setFont(font);
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        this.g2.setPaint(paint);
+    }
+
+    @Override
+    public void setPaintMode() {
+        this.g2.setPaintMode();
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key key, Object object) {
+        this.g2.setRenderingHint(key, object);
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> map) {
+        this.g2.setRenderingHints(map);
+    }
+
+    @Override
+    public void setStroke(Stroke stroke) {
+        this.g2.setStroke(stroke);
+    }
+
+    @Override
+    public void setTransform(AffineTransform affineTransform) {
+        this.g2.setTransform(affineTransform);
+    }
+
+    @Override
+    public void setXORMode(Color color) {
+        this.g2.setXORMode(color);
+    }
+
+    @Override
+    public void shear(double d1, double d2) {
+        this.g2.shear(d1, d2);
+    }
+
+    @Override
+    public void transform(AffineTransform affineTransform) {
+        this.g2.transform(affineTransform);
+    }
+
+    @Override
+    public void translate(double d1, double d2) {
+        this.g2.translate(d1, d2);
+    }
+
+    @Override
+    public void translate(int i1, int i2) {
+        this.g2.translate(i1, i2);
+    }
+
+    /**
+     * A device configuration that reports a device of a given type.
+     */
+    private static class Configuration extends GraphicsConfiguration {
+
+        /** The device. */
+        private final GraphicsDevice device;
+
+        /** The bounds. */
+        private final Rectangle bounds;
+
+        /**
+         * Creates a new configuration.
+         *
+         * @param deviceType  the device type.
+         * @param width  the width.
+         * @param height  the height.
+         */
+        Configuration(int deviceType, int width, int height) {
+            this.bounds = new Rectangle(width, height);
+            this.device = new GraphicsDevice() {
+                @Override
+                public int getType() {
+                    return deviceType;
+                }
+
+                @Override
+                public String getIDstring() {
+                    return "Test";
+                }
+
+                @Override
+                public GraphicsConfiguration[] getConfigurations() {
+                    return new GraphicsConfiguration[] {Configuration.this};
+                }
+
+                @Override
+                public GraphicsConfiguration getDefaultConfiguration() {
+                    return Configuration.this;
+                }
+            };
+        }
+
+        @Override
+        public GraphicsDevice getDevice() {
+            return this.device;
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return ColorModel.getRGBdefault();
+        }
+
+        @Override
+        public ColorModel getColorModel(int transparency) {
+            return ColorModel.getRGBdefault();
+        }
+
+        @Override
+        public AffineTransform getDefaultTransform() {
+            return new AffineTransform();
+        }
+
+        @Override
+        public AffineTransform getNormalizingTransform() {
+            return new AffineTransform();
+        }
+
+        @Override
+        public Rectangle getBounds() {
+            return this.bounds;
+        }
+
+    }
+
+}
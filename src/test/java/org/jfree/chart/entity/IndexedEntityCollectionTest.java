@@ -0,0 +1,185 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------------
+ * IndexedEntityCollectionTest.java
+ * --------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.entity;
+
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link IndexedEntityCollection} class.
+ */
+public class IndexedEntityCollectionTest {
+
+    /**
+     * Adds the same entity to both collections.
+     *
+     * @param c1  the first collection.
+     * @param c2  the second collection.
+     * @param entity  the entity.
+     */
+    private static void add(EntityCollection c1, EntityCollection c2,
+            ChartEntity entity) {
+        c1.add(entity);
+        c2.add(entity);
+    }
+
+    /**
+     * Checks that both collections return the same entity for a grid of
+     * points.
+     *
+     * @param expected  the collection giving the expected results.
+     * @param actual  the collection being tested.
+     */
+    private static void assertSameHits(EntityCollection expected,
+            EntityCollection actual) {
+        for (double x = -20.0; x <= 520.0; x += 3.7) {
+            for (double y = -20.0; y <= 420.0; y += 3.3) {
+                assertSame(expected.getEntity(x, y), actual.getEntity(x, y));
+            }
+        }
+    }
+
+    /**
+     * The entity found for each point is the same as for a
+     * {@link StandardEntityCollection}, including overlapping entities, a
+     * large entity covering the whole chart and entities added after the
+     * first query.
+     */
+    @Test
+    public void testGetEntity() {
+        StandardEntityCollection c1 = new StandardEntityCollection();
+        IndexedEntityCollection c2 = new IndexedEntityCollection();
+        assertNull(c2.getEntity(1.0, 1.0));
+        add(c1, c2, new ChartEntity(new Rectangle2D.Double(0, 0, 500, 400)));
+        Random random = new Random(1L);
+        for (int i = 0; i < 2000; i++) {
+            double x = random.nextDouble() * 500;
+            double y = random.nextDouble() * 400;
+            if (i % 3 == 0) {
+                add(c1, c2, new ChartEntity(new Ellipse2D.Double(x, y, 
+                        random.nextDouble() * 40, random.nextDouble() * 40)));
+            }
+            else {
+                add(c1, c2, new ChartEntity(new Rectangle2D.Double(x, y, 
+                        random.nextDouble() * 8, random.nextDouble() * 8)));
+            }
+        }
+        assertSameHits(c1, c2);
+
+        // a few more, then enough to cause the index to be rebuilt
+        for (int i = 0; i < 1000; i++) {
+            double x = random.nextDouble() * 500;
+            double y = random.nextDouble() * 400;
+            add(c1, c2, new ChartEntity(new Rectangle2D.Double(x, y, 5, 5)));
+            if (i == 10 || i == 999) {
+                assertSameHits(c1, c2);
+            }
+        }
+        assertEquals(3001, c2.getEntityCount());
+
+        c2.clear();
+        assertEquals(0, c2.getEntityCount());
+        assertNull(c2.getEntity(250.0, 200.0));
+    }
+
+    /**
+     * Entities with zero size or a single point are handled.
+     */
+    @Test
+    public void testDegenerateBounds() {
+        IndexedEntityCollection c = new IndexedEntityCollection();
+        ChartEntity e1 = new ChartEntity(new Rectangle2D.Double(5, 5, 0, 0));
+        ChartEntity e2 = new ChartEntity(new Rectangle2D.Double(1, 1, 2, 2));
+        c.add(e1);
+        c.add(e2);
+        assertSame(e2, c.getEntity(2.0, 2.0));
+        assertNull(c.getEntity(5.0, 5.0));
+        assertNull(c.getEntity(10.0, 10.0));
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        IndexedEntityCollection c1 = new IndexedEntityCollection();
+        IndexedEntityCollection c2 = new IndexedEntityCollection();
+        assertEquals(c1, c2);
+        c1.add(new ChartEntity(new Rectangle2D.Double(1, 2, 3, 4), "T1"));
+        assertNotEquals(c1, c2);
+        c2.add(new ChartEntity(new Rectangle2D.Double(1, 2, 3, 4), "T1"));
+        assertEquals(c1, c2);
+        assertEquals(c1.hashCode(), c2.hashCode());
+    }
+
+    /**
+     * Confirm that cloning works, and that the clone has its own index.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        IndexedEntityCollection c1 = new IndexedEntityCollection();
+        c1.add(new ChartEntity(new Rectangle2D.Double(1, 2, 3, 4), "T1"));
+        assertNotNull(c1.getEntity(2.0, 3.0));
+        IndexedEntityCollection c2 = CloneUtils.clone(c1);
+        assertNotSame(c1, c2);
+        assertEquals(c1, c2);
+        c1.clear();
+        assertNotEquals(c1, c2);
+        assertNotNull(c2.getEntity(2.0, 3.0));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        IndexedEntityCollection c1 = new IndexedEntityCollection();
+        c1.add(new ChartEntity(new Rectangle2D.Double(1, 2, 3, 4), "T1"));
+        assertNotNull(c1.getEntity(2.0, 3.0));
+        IndexedEntityCollection c2 = TestUtils.serialised(c1);
+        assertEquals(c1, c2);
+        assertEquals("T1", c2.getEntity(2.0, 3.0).getToolTipText());
+    }
+
+}
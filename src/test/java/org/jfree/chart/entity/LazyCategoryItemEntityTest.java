@@ -0,0 +1,98 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------------
+ * LazyCategoryItemEntityTest.java
+ * -------------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.entity;
+
+import java.awt.geom.Rectangle2D;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.labels.StandardCategoryToolTipGenerator;
+import org.jfree.chart.urls.StandardCategoryURLGenerator;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link LazyCategoryItemEntity} class.
+ */
+public class LazyCategoryItemEntityTest {
+
+    /**
+     * The text is generated on demand and matches an eager entity.
+     */
+    @Test
+    public void testGeneratedText() {
+        DefaultCategoryDataset<String, String> d 
+                = new DefaultCategoryDataset<>();
+        d.addValue(1.0, "R1", "C1");
+        d.addValue(2.0, "R2", "C2");
+        Rectangle2D area = new Rectangle2D.Double(1.0, 2.0, 3.0, 4.0);
+        StandardCategoryToolTipGenerator tg 
+                = new StandardCategoryToolTipGenerator();
+        StandardCategoryURLGenerator ug = new StandardCategoryURLGenerator();
+        LazyCategoryItemEntity<String, String> e1 
+                = new LazyCategoryItemEntity<>(area, d, 1, 1, tg, ug);
+        assertEquals("R2", e1.getRowKey());
+        assertEquals("C2", e1.getColumnKey());
+        CategoryItemEntity<String, String> e2 = new CategoryItemEntity<>(area,
+                tg.generateToolTip(d, 1, 1), ug.generateURL(d, 1, 1), d, "R2", 
+                "C2");
+        assertEquals(e2.getToolTipText(), e1.getToolTipText());
+        assertEquals(e2.getURLText(), e1.getURLText());
+        assertEquals(e1, e2);
+        assertEquals(e2, e1);
+    }
+
+    /**
+     * A lazy entity is serialized as a plain entity with the text generated.
+     */
+    @Test
+    public void testSerialization() {
+        DefaultCategoryDataset<String, String> d 
+                = new DefaultCategoryDataset<>();
+        d.addValue(1.0, "R1", "C1");
+        LazyCategoryItemEntity<String, String> e1 
+                = new LazyCategoryItemEntity<>(
+                new Rectangle2D.Double(1.0, 2.0, 3.0, 4.0), d, 0, 0, 
+                new StandardCategoryToolTipGenerator(), null);
+        CategoryItemEntity<String, String> e2 = TestUtils.serialised(e1);
+        assertEquals(CategoryItemEntity.class, e2.getClass());
+        assertEquals(e1.getToolTipText(), e2.getToolTipText());
+        assertEquals(e1, e2);
+    }
+
+}
@@ -0,0 +1,143 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * LazyXYItemEntityTest.java
+ * -------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.entity;
+
+import java.awt.geom.Rectangle2D;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.labels.XYToolTipGenerator;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link LazyXYItemEntity} class.
+ */
+public class LazyXYItemEntityTest {
+
+    /**
+     * The tool tip is generated once, on the first request, and matches the
+     * text an eager entity would have.
+     */
+    @Test
+    public void testToolTipGeneratedOnDemand() {
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>();
+        XYSeries<String> s = new XYSeries<>("S1");
+        s.add(1.0, 2.0);
+        dataset.addSeries(s);
+        AtomicInteger calls = new AtomicInteger();
+        XYToolTipGenerator generator = (d, series, item) -> {
+            calls.incrementAndGet();
+            return "Tip " + d.getYValue(series, item);
+        };
+        Rectangle2D area = new Rectangle2D.Double(1.0, 2.0, 3.0, 4.0);
+        LazyXYItemEntity e1 = new LazyXYItemEntity(area, dataset, 0, 0, 
+                generator, null);
+        assertEquals(0, calls.get());
+        assertEquals("Tip 2.0", e1.getToolTipText());
+        assertEquals("Tip 2.0", e1.getToolTipText());
+        assertEquals(1, calls.get());
+        assertNull(e1.getURLText());
+
+        XYItemEntity e2 = new XYItemEntity(area, dataset, 0, 0, "Tip 2.0", 
+                null);
+        assertEquals(e1, e2);
+        assertEquals(e2, e1);
+        assertEquals(e2.hashCode(), e1.hashCode());
+
+        e1.setToolTipText("Other");
+        assertEquals("Other", e1.getToolTipText());
+    }
+
+    /**
+     * A lazy entity is serialized as a plain entity with the text generated.
+     */
+    @Test
+    public void testSerialization() {
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>();
+        LazyXYItemEntity e1 = new LazyXYItemEntity(
+                new Rectangle2D.Double(1.0, 2.0, 3.0, 4.0), dataset, 1, 9, 
+                (d, series, item) -> series + ":" + item, null);
+        XYItemEntity e2 = TestUtils.serialised(e1);
+        assertEquals(XYItemEntity.class, e2.getClass());
+        assertEquals("1:9", e2.getToolTipText());
+        assertEquals(e1, e2);
+    }
+
+    /**
+     * Drawing a chart with a lazy entity collection gives entities with the 
+     * same text as an eager collection.
+     */
+    @Test
+    public void testDrawChart() {
+        XYSeries<String> s = new XYSeries<>("S1");
+        for (int i = 0; i < 50; i++) {
+            s.add(i, i * i);
+        }
+        JFreeChart chart = ChartFactory.createScatterPlot("Title", "X", "Y", 
+                new XYSeriesCollection<>(s), PlotOrientation.VERTICAL, 
+                false, true, true);
+        ChartRenderingInfo eager = new ChartRenderingInfo();
+        chart.createBufferedImage(400, 300, eager);
+        ChartRenderingInfo lazy = new ChartRenderingInfo();
+        lazy.setLazyEntities(true);
+        assertTrue(lazy.isLazyEntities());
+        chart.createBufferedImage(400, 300, lazy);
+
+        EntityCollection c1 = eager.getEntityCollection();
+        EntityCollection c2 = lazy.getEntityCollection();
+        assertEquals(c1.getEntityCount(), c2.getEntityCount());
+        int lazyCount = 0;
+        for (int i = 0; i < c2.getEntityCount(); i++) {
+            ChartEntity e = c2.getEntity(i);
+            if (e instanceof LazyXYItemEntity) {
+                lazyCount++;
+            }
+            assertEquals(c1.getEntity(i).getToolTipText(), e.getToolTipText());
+            assertEquals(c1.getEntity(i).getURLText(), e.getURLText());
+        }
+        assertEquals(50, lazyCount);
+    }
+
+}
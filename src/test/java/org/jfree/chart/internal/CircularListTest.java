@@ -0,0 +1,147 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * CircularListTest.java
+ * ---------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link CircularList} class.
+ */
+public class CircularListTest {
+
+    /**
+     * Apply the same random sequence of operations to a circular list and an
+     * array list and check that they always agree.
+     */
+    @Test
+    public void testAgainstArrayList() {
+        Random random = new Random(123L);
+        List<Integer> expected = new ArrayList<>();
+        List<Integer> list = new CircularList<>();
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(6);
+            int n = expected.size();
+            if (op == 0 || n == 0) {
+                expected.add(i);
+                list.add(i);
+            }
+            else if (op == 1) {
+                int index = random.nextInt(n + 1);
+                expected.add(index, i);
+                list.add(index, i);
+            }
+            else if (op == 2) {
+                assertEquals(expected.remove(0), list.remove(0));
+            }
+            else if (op == 3) {
+                int index = random.nextInt(n);
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            else if (op == 4) {
+                int from = random.nextInt(n);
+                int to = from + random.nextInt(n - from + 1);
+                expected.subList(from, to).clear();
+                list.subList(from, to).clear();
+            }
+            else {
+                int index = random.nextInt(n);
+                assertEquals(expected.set(index, -i), list.set(index, -i));
+            }
+            assertEquals(expected, list);
+        }
+    }
+
+    /**
+     * Appending and removing the first item keeps the list at a fixed size.
+     */
+    @Test
+    public void testRollingWindow() {
+        CircularList<Integer> list = new CircularList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            if (list.size() > 10) {
+                list.remove(0);
+            }
+        }
+        assertEquals(10, list.size());
+        assertEquals(90, list.get(0));
+        assertEquals(99, list.get(9));
+        assertEquals(5, Collections.binarySearch(list, 95));
+        assertEquals(-1, Collections.binarySearch(list, 3));
+    }
+
+    /**
+     * Check the copy constructor, clear() and index checking.
+     */
+    @Test
+    public void testMisc() {
+        List<String> source = List.of("A", "B", "C");
+        CircularList<String> list = new CircularList<>(source);
+        assertEquals(source, list);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(4, "D"));
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add("D");
+        assertEquals(List.of("D"), list);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        CircularList<String> l1 = new CircularList<>();
+        for (int i = 0; i < 20; i++) {
+            l1.add("Item " + i);
+        }
+        l1.subList(0, 5).clear();
+        CircularList<String> l2 = TestUtils.serialised(l1);
+        assertEquals(l1, l2);
+        l2.add("X");
+        assertEquals("X", l2.get(15));
+    }
+
+}
@@ -0,0 +1,102 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * ListUtilsTest.java
+ * ------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ListUtils} class.
+ */
+public class ListUtilsTest {
+
+    /**
+     * Merging random batches gives the same result as sorting all the items.
+     */
+    @Test
+    public void testMergeSorted() {
+        Random random = new Random(42L);
+        List<Integer> list = new CircularList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int round = 0; round < 50; round++) {
+            List<Integer> batch = new ArrayList<>();
+            int base = random.nextBoolean() ? round * 100 : 0;
+            for (int i = random.nextInt(20); i >= 0; i--) {
+                batch.add(base + random.nextInt(200));
+            }
+            expected.addAll(batch);
+            Collections.sort(expected);
+            int first = ListUtils.mergeSorted(list, batch, true);
+            assertTrue(first >= 0);
+            assertEquals(expected, list);
+        }
+    }
+
+    /**
+     * A batch that follows the list is appended, and duplicates are
+     * rejected without modifying the list.
+     */
+    @Test
+    public void testAppendAndDuplicates() {
+        List<Integer> list = new ArrayList<>(List.of(1, 3, 5));
+        assertEquals(3, ListUtils.mergeSorted(list, 
+                new ArrayList<>(List.of(7, 6)), false));
+        assertEquals(List.of(1, 3, 5, 6, 7), list);
+        assertEquals(2, ListUtils.mergeSorted(list, 
+                new ArrayList<>(List.of(4)), false));
+        assertEquals(List.of(1, 3, 4, 5, 6, 7), list);
+
+        assertEquals(-1, ListUtils.mergeSorted(list, 
+                new ArrayList<>(List.of(2, 5)), false));
+        assertEquals(-1, ListUtils.mergeSorted(list, 
+                new ArrayList<>(List.of(8, 8)), false));
+        assertEquals(-1, ListUtils.mergeSorted(list, 
+                new ArrayList<>(List.of(7)), false));
+        assertEquals(List.of(1, 3, 4, 5, 6, 7), list);
+
+        assertTrue(ListUtils.containsDuplicates(List.of(3, 1), List.of(1)));
+        assertTrue(ListUtils.containsDuplicates(List.of(), List.of(2, 2)));
+        assertFalse(ListUtils.containsDuplicates(List.of(3, 1), List.of(2)));
+    }
+
+}
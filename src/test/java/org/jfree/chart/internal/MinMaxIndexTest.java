@@ -0,0 +1,139 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * MinMaxIndexTest.java
+ * --------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jfree.data.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link MinMaxIndex} class.
+ */
+public class MinMaxIndexTest {
+
+    /**
+     * Returns the range of the non-NaN values from first to last inclusive,
+     * found by iterating.
+     */
+    private static Range iterate(List<Double> values, int first, int last) {
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        for (int i = first; i <= last; i++) {
+            double v = values.get(i);
+            if (!Double.isNaN(v)) {
+                lower = Math.min(lower, v);
+                upper = Math.max(upper, v);
+            }
+        }
+        return lower <= upper ? new Range(lower, upper) : null;
+    }
+
+    /**
+     * Apply a random sequence of changes (mostly appends and removals from
+     * the front, as for a rolling window) and check the query results
+     * against the values found by iterating.
+     */
+    @Test
+    public void testAgainstIteration() {
+        Random random = new Random(42L);
+        List<Double> values = new ArrayList<>();
+        MinMaxIndex index = new MinMaxIndex(values::get, values::size);
+        for (int i = 0; i < 3000; i++) {
+            int op = random.nextInt(10);
+            int n = values.size();
+            if (op < 5 || n == 0) {
+                values.add(random.nextInt(20) == 0 ? Double.NaN
+                        : random.nextGaussian() * 100.0);
+                index.itemAdded(n);
+            }
+            else if (op < 7) {
+                int count = 1 + random.nextInt(Math.min(n, 40));
+                values.subList(0, count).clear();
+                index.itemsRemoved(0, count);
+            }
+            else if (op == 7) {
+                int j = random.nextInt(n);
+                values.set(j, random.nextGaussian() * 1000.0);
+                index.itemUpdated(j);
+            }
+            else if (op == 8 && random.nextInt(20) == 0) {
+                int j = random.nextInt(n);
+                values.add(j, random.nextGaussian());
+                index.itemAdded(j);
+            }
+            else if (random.nextInt(20) == 0) {
+                int j = random.nextInt(n);
+                values.remove(j);
+                index.itemsRemoved(j, 1);
+            }
+            n = values.size();
+            if (n > 0) {
+                int first = random.nextInt(n);
+                int last = first + random.nextInt(n - first);
+                assertEquals(iterate(values, first, last),
+                        index.findRange(first, last));
+                assertEquals(iterate(values, 0, n - 1),
+                        index.findRange(0, n - 1));
+            }
+        }
+    }
+
+    /**
+     * Some checks for special cases.
+     */
+    @Test
+    public void testMisc() {
+        List<Double> values = new ArrayList<>(List.of(Double.NaN, Double.NaN));
+        MinMaxIndex index = new MinMaxIndex(values::get, values::size);
+        assertNull(index.findRange(0, 1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> index.findRange(0, 2));
+        values.add(3.0);
+        index.itemAdded(2);
+        assertEquals(new Range(3.0, 3.0), index.findRange(0, 2));
+        values.clear();
+        index.invalidate();
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> index.findRange(0, 0));
+    }
+
+}
@@ -0,0 +1,186 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * PointRasterTest.java
+ * --------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link PointRaster} class.
+ */
+public class PointRasterTest {
+
+    /**
+     * Points are counted for the pixels they cover, and points that are
+     * outside the area or have NaN coordinates are ignored.
+     */
+    @Test
+    public void testAdd() {
+        PointRaster raster = new PointRaster(
+                new Rectangle2D.Double(10.0, 20.0, 30.0, 40.0), 2, 3);
+        assertTrue(raster.isEmpty());
+        raster.add(15.7, 25.2);
+        raster.add(16.0, 26.0);
+        raster.add(Double.NaN, 30.0);
+        raster.add(100.0, 30.0);
+        assertFalse(raster.isEmpty());
+        assertEquals(1, raster.getCount(15, 25));
+        assertEquals(2, raster.getCount(16, 26));
+        assertEquals(2, raster.getCount(16, 27));
+        assertEquals(1, raster.getCount(17, 28));
+        assertEquals(0, raster.getCount(17, 29));
+        assertEquals(0, raster.getCount(100, 30));
+
+        // a point that overlaps the edge of the area is partly counted
+        raster.add(39.0, 59.0);
+        assertEquals(1, raster.getCount(39, 59));
+        assertEquals(0, raster.getCount(40, 59));
+
+        raster.clear();
+        assertTrue(raster.isEmpty());
+        assertEquals(0, raster.getCount(16, 26));
+    }
+
+    /**
+     * Adding points in parallel gives the same counts as adding them one at
+     * a time.
+     */
+    @Test
+    public void testAddAllParallel() {
+        Random random = new Random(123L);
+        int count = 300000;
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextDouble() * 220.0 - 10.0;
+            ys[i] = random.nextDouble() * 120.0 - 10.0;
+        }
+        xs[7] = Double.NaN;
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 200.0, 100.0);
+        PointRaster r1 = new PointRaster(area, 2, 2);
+        PointRaster r2 = new PointRaster(area, 2, 2);
+        r1.addAll(count, i -> xs[i], i -> ys[i], false);
+        r2.addAll(count, i -> xs[i], i -> ys[i], true);
+        for (int x = 0; x < 200; x++) {
+            for (int y = 0; y < 100; y++) {
+                assertEquals(r1.getCount(x, y), r2.getCount(x, y));
+            }
+        }
+    }
+
+    /**
+     * Drawing the raster gives the same result as filling a rectangle for
+     * each point, including for a translucent color and an alpha composite.
+     */
+    @Test
+    public void testDraw() {
+        Color color = new Color(200, 50, 100, 90);
+        double[][] points = {{5.0, 5.0}, {5.5, 5.5}, {6.0, 6.0}, {6.0, 6.0},
+                {6.0, 6.0}, {20.0, 3.0}};
+        BufferedImage expected = new BufferedImage(30, 20, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = expected.createGraphics();
+        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 
+                0.8f));
+        g2.setPaint(color);
+        for (double[] p : points) {
+            g2.fillRect((int) p[0], (int) p[1], 2, 1);
+        }
+        g2.dispose();
+
+        BufferedImage actual = new BufferedImage(30, 20, 
+                BufferedImage.TYPE_INT_ARGB);
+        g2 = actual.createGraphics();
+        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 
+                0.8f));
+        PointRaster raster = new PointRaster(
+                new Rectangle2D.Double(0.0, 0.0, 30.0, 20.0), 2, 1);
+        for (double[] p : points) {
+            raster.add(p[0], p[1]);
+        }
+        raster.draw(g2, color);
+        assertTrue(raster.isEmpty());
+        g2.dispose();
+
+        for (int x = 0; x < 30; x++) {
+            for (int y = 0; y < 20; y++) {
+                int e = expected.getRGB(x, y);
+                int a = actual.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int d = Math.abs(((e >>> shift) & 0xFF) 
+                            - ((a >>> shift) & 0xFF));
+                    assertTrue(d <= 2, "Pixel " + x + ", " + y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drawing the raster leaves the interpolation hint as it was, including
+     * when no hint was set.
+     */
+    @Test
+    public void testDrawRestoresInterpolationHint() {
+        BufferedImage image = new BufferedImage(30, 20, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        assertNull(g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        PointRaster raster = new PointRaster(
+                new Rectangle2D.Double(0.0, 0.0, 30.0, 20.0), 1, 1);
+        raster.add(5.0, 5.0);
+        raster.draw(g2, Color.RED);
+        assertNull(g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, 
+                RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        raster.add(5.0, 5.0);
+        raster.draw(g2, Color.RED);
+        assertEquals(RenderingHints.VALUE_INTERPOLATION_BICUBIC, 
+                g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        g2.dispose();
+    }
+
+}
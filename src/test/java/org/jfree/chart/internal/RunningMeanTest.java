@@ -0,0 +1,120 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * RunningMeanTest.java
+ * --------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link RunningMean} class.
+ */
+public class RunningMeanTest {
+
+    /**
+     * Values entering and leaving the window.
+     */
+    @Test
+    public void testAddAndRemove() {
+        RunningMean m = new RunningMean();
+        assertEquals(0, m.getCount());
+        assertTrue(Double.isNaN(m.getMean()));
+        m.add(1.0);
+        m.add(2.0);
+        m.add(6.0);
+        assertEquals(3.0, m.getMean(), 1e-12);
+        m.remove(1.0);
+        assertEquals(2, m.getCount());
+        assertEquals(4.0, m.getMean(), 1e-12);
+        m.clear();
+        assertEquals(0, m.getCount());
+    }
+
+    /**
+     * Non-finite values affect the mean only while they are in the window.
+     */
+    @Test
+    public void testNonFiniteValues() {
+        RunningMean m = new RunningMean();
+        m.add(1.0);
+        m.add(Double.NaN);
+        assertTrue(Double.isNaN(m.getMean()));
+        m.remove(Double.NaN);
+        assertEquals(1.0, m.getMean(), 1e-12);
+        m.add(Double.POSITIVE_INFINITY);
+        assertEquals(Double.POSITIVE_INFINITY, m.getMean());
+        m.add(Double.NEGATIVE_INFINITY);
+        assertTrue(Double.isNaN(m.getMean()));
+        m.remove(Double.POSITIVE_INFINITY);
+        assertEquals(Double.NEGATIVE_INFINITY, m.getMean());
+        m.remove(Double.NEGATIVE_INFINITY);
+        assertEquals(1.0, m.getMean(), 1e-12);
+    }
+
+    /**
+     * The rounding error does not build up as values pass through the 
+     * window, including small values that follow a large one.
+     */
+    @Test
+    public void testRoundingError() {
+        RunningMean m = new RunningMean();
+        m.add(1e16);
+        m.add(1.0);
+        m.remove(1e16);
+        assertEquals(1.0, m.getMean());
+
+        m.clear();
+        Random random = new Random(1L);
+        double[] window = new double[10];
+        for (int i = 0; i < 1000000; i++) {
+            double value = 1e8 + random.nextDouble();
+            if (i >= window.length) {
+                m.remove(window[i % window.length]);
+            }
+            window[i % window.length] = value;
+            m.add(value);
+        }
+        double sum = 0.0;
+        for (double value : window) {
+            sum += value - 1e8;
+        }
+        assertEquals(1e8 + sum / window.length, m.getMean(), 1e-7);
+    }
+
+}
@@ -0,0 +1,177 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * SpriteCacheTest.java
+ * --------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.internal;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link SpriteCache} class.
+ */
+public class SpriteCacheTest {
+
+    /**
+     * Creates a graphics target for a new image, with anti-aliasing on.
+     *
+     * @param image  the image.
+     * @param scale  the scale.
+     *
+     * @return The graphics target.
+     */
+    private static Graphics2D createGraphics(BufferedImage image, 
+            double scale) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.scale(scale, scale);
+        return g2;
+    }
+
+    /**
+     * Returns the largest difference between the color channels of two 
+     * images.
+     *
+     * @param a  the first image.
+     * @param b  the second image.
+     *
+     * @return The difference.
+     */
+    private static int maxChannelDifference(BufferedImage a, 
+            BufferedImage b) {
+        int result = 0;
+        for (int x = 0; x < a.getWidth(); x++) {
+            for (int y = 0; y < a.getHeight(); y++) {
+                int p = a.getRGB(x, y);
+                int q = b.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int d = Math.abs(((p >> shift) & 0xFF) 
+                            - ((q >> shift) & 0xFF));
+                    result = Math.max(result, d);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Shapes drawn from sprites at whole and quarter pixel positions match
+     * the shapes drawn directly, at scale 1 and 2.
+     */
+    @Test
+    public void testDraw() {
+        Shape shape = new Ellipse2D.Double(-3.0, -3.0, 6.0, 6.0);
+        BasicStroke stroke = new BasicStroke(1.0f);
+        for (double scale : new double[] {1.0, 2.0}) {
+            SpriteCache cache = new SpriteCache(10);
+            int size = (int) (60 * scale);
+            BufferedImage expected = new BufferedImage(size, size, 
+                    BufferedImage.TYPE_INT_ARGB);
+            BufferedImage actual = new BufferedImage(size, size, 
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g1 = createGraphics(expected, scale);
+            Graphics2D g2 = createGraphics(actual, scale);
+            for (int i = 0; i < 5; i++) {
+                double x = 10.0 + i * 10.0 + i / (4.0 * scale);
+                double y = 10.0 + i * 9.0 + i / (2.0 * scale);
+                Shape s = ShapeUtils.createTranslatedShape(shape, x, y);
+                g1.setPaint(Color.RED);
+                g1.fill(s);
+                g1.setPaint(Color.BLUE);
+                g1.setStroke(stroke);
+                g1.draw(s);
+                assertTrue(cache.draw(g2, shape, x, y, Color.RED, Color.BLUE,
+                        stroke));
+            }
+            g1.dispose();
+            g2.dispose();
+            assertEquals(1, cache.getSize());
+            assertTrue(maxChannelDifference(expected, actual) <= 2);
+        }
+    }
+
+    /**
+     * Paints that are not colors and rotated output are not supported.
+     */
+    @Test
+    public void testUnsupported() {
+        SpriteCache cache = new SpriteCache(10);
+        Shape shape = new Rectangle2D.Double(-2.0, -2.0, 4.0, 4.0);
+        BufferedImage image = new BufferedImage(20, 20, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        assertFalse(cache.draw(g2, shape, 5.0, 5.0, new GradientPaint(0f, 0f,
+                Color.RED, 10f, 10f, Color.BLUE), null, null));
+        assertFalse(cache.draw(g2, shape, 5.0, 5.0, null, Color.RED, null));
+        g2.rotate(0.5);
+        assertFalse(cache.draw(g2, shape, 5.0, 5.0, Color.RED, null, null));
+        g2.dispose();
+        assertEquals(0, cache.getSize());
+    }
+
+    /**
+     * The least recently used sprites are dropped when the cache is full.
+     */
+    @Test
+    public void testMaxSize() {
+        SpriteCache cache = new SpriteCache(2);
+        BufferedImage image = new BufferedImage(20, 20, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Shape shape = new Rectangle2D.Double(-2.0, -2.0, 4.0, 4.0);
+        assertTrue(cache.draw(g2, shape, 5.0, 5.0, Color.RED, null, null));
+        assertTrue(cache.draw(g2, shape, 5.0, 5.0, Color.BLUE, null, null));
+        assertTrue(cache.draw(g2, shape, 5.0, 5.0, Color.RED, null, null));
+        assertEquals(2, cache.getSize());
+        assertTrue(cache.draw(g2, shape, 5.0, 5.0, Color.GREEN, null, null));
+        assertEquals(2, cache.getSize());
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        g2.dispose();
+    }
+
+}
@@ -46,6 +46,7 @@ import java.awt.Stroke;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EventListener;
 import java.util.List;
@@ -62,10 +63,14 @@ import org.jfree.chart.axis.AxisSpace;
 import org.jfree.chart.axis.CategoryAnchor;
 import org.jfree.chart.axis.CategoryAxis;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.event.CancellationToken;
+import org.jfree.chart.event.ChartProgressEventType;
 import org.jfree.chart.event.MarkerChangeListener;
 import org.jfree.chart.renderer.category.AreaRenderer;
 import org.jfree.chart.renderer.category.BarRenderer;
 import org.jfree.chart.renderer.category.CategoryItemRenderer;
+import org.jfree.chart.renderer.category.CategoryItemRendererState;
 import org.jfree.chart.renderer.category.DefaultCategoryItemRenderer;
 import org.jfree.chart.renderer.category.LineAndShapeRenderer;
 import org.jfree.chart.api.Layer;
@@ -1263,4 +1268,47 @@ public class CategoryPlotTest {
                 yMarker1));
     }
 
+    /**
+     * Drawing stops after the column in which the cancellation token is
+     * cancelled.
+     */
+    @Test
+    public void testCancelDrawing() {
+        DefaultCategoryDataset<String, String> dataset 
+                = new DefaultCategoryDataset<>();
+        for (int c = 0; c < 20; c++) {
+            dataset.addValue(c, "R1", "C" + c);
+            dataset.addValue(c + 1, "R2", "C" + c);
+        }
+        int[] drawn = new int[1];
+        BarRenderer renderer = new BarRenderer() {
+            @Override
+            public void drawItem(Graphics2D g2, 
+                    CategoryItemRendererState state, Rectangle2D dataArea, 
+                    CategoryPlot plot, CategoryAxis domainAxis, 
+                    ValueAxis rangeAxis, CategoryDataset dataset, int row,
+                    int column, int pass) {
+                drawn[0]++;
+                if (column == 4) {
+                    CancellationToken.fromHints(g2).cancel();
+                }
+            }
+        };
+        CategoryPlot<String, String> plot = new CategoryPlot<>(dataset, 
+                new CategoryAxis("C"), new NumberAxis("V"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        List<ChartProgressEventType> types = new ArrayList<>();
+        chart.addProgressListener(e -> types.add(e.getType()));
+
+        BufferedImage image = new BufferedImage(300, 200, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), null, null);
+        g2.dispose();
+        // columns 0 to 4, both rows
+        assertEquals(10, drawn[0]);
+        assertEquals(List.of(ChartProgressEventType.DRAWING_STARTED,
+                ChartProgressEventType.DRAWING_CANCELLED), types);
+    }
+
 }
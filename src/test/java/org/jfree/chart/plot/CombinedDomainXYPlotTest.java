@@ -43,11 +43,13 @@ import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.annotations.XYTextAnnotation;
 import org.jfree.chart.axis.AxisLocation;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.ChartChangeEvent;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.renderer.xy.StandardXYItemRenderer;
@@ -160,6 +162,48 @@ public class CombinedDomainXYPlotTest implements ChartChangeListener {
         assertTrue(this.events.isEmpty());
     }
 
+    /**
+     * Drawing the subplots concurrently gives the same image and the same
+     * rendering info as drawing them one after another.
+     */
+    @Test
+    public void testParallelRendering() {
+        BufferedImage[] images = new BufferedImage[2];
+        ChartRenderingInfo[] infos = new ChartRenderingInfo[2];
+        for (int i = 0; i < 2; i++) {
+            CombinedDomainXYPlot<String> plot = createPlot();
+            plot.setParallelRendering(i == 1);
+            JFreeChart chart = new JFreeChart(plot);
+            images[i] = new BufferedImage(300, 400, 
+                    BufferedImage.TYPE_INT_ARGB);
+            infos[i] = new ChartRenderingInfo();
+            Graphics2D g2 = images[i].createGraphics();
+            chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 400), null, 
+                    infos[i]);
+            g2.dispose();
+        }
+        assertTrue(XYPlotTest.maxChannelDifference(images[0], images[1]) 
+                <= 2);
+
+        PlotRenderingInfo p0 = infos[0].getPlotInfo();
+        PlotRenderingInfo p1 = infos[1].getPlotInfo();
+        assertEquals(2, p1.getSubplotCount());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(p0.getSubplotInfo(i).getDataArea(), 
+                    p1.getSubplotInfo(i).getDataArea());
+            assertSame(infos[1], p1.getSubplotInfo(i).getOwner());
+        }
+        EntityCollection e0 = infos[0].getEntityCollection();
+        EntityCollection e1 = infos[1].getEntityCollection();
+        assertEquals(e0.getEntityCount(), e1.getEntityCount());
+        for (int i = 0; i < e0.getEntityCount(); i++) {
+            assertEquals(e0.getEntity(i).getClass(), 
+                    e1.getEntity(i).getClass());
+            assertEquals(e0.getEntity(i).getArea().getBounds2D(), 
+                    e1.getEntity(i).getArea().getBounds2D());
+        }
+    }
+
     /**
      * Creates a sample dataset.
      *
@@ -39,8 +39,11 @@ package org.jfree.chart.plot;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.awt.GraphicsDevice;
 import java.awt.Stroke;
+import java.awt.geom.Rectangle2D;
 
+import org.jfree.chart.DeviceGraphics2D;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.axis.NumberAxis;
@@ -119,6 +122,16 @@ public class FastScatterPlotTest {
         plot2.setRangePannable(true);
         assertEquals(plot1, plot2);
 
+        plot1.setParallelRendering(true);
+        assertNotEquals(plot1, plot2);
+        plot2.setParallelRendering(true);
+        assertEquals(plot1, plot2);
+
+        plot1.setRasterRendering(true);
+        assertNotEquals(plot1, plot2);
+        plot2.setRasterRendering(true);
+        assertEquals(plot1, plot2);
+
     }
 
     /**
@@ -212,6 +225,35 @@ public class FastScatterPlotTest {
         }
     }
 
+    /**
+     * The points are drawn as an image only when raster rendering is 
+     * enabled and the target is a raster device, otherwise each point is
+     * filled.
+     */
+    @Test
+    public void testRasterRendering() {
+        FastScatterPlot plot = new FastScatterPlot(createData(), 
+                new NumberAxis("X"), new NumberAxis("Y"));
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 300.0, 200.0);
+        DeviceGraphics2D g2 = new DeviceGraphics2D(300, 200, 
+                GraphicsDevice.TYPE_IMAGE_BUFFER);
+        plot.render(g2, area, null, null);
+        assertEquals(1000, g2.getFillCount());
+        assertEquals(0, g2.getImageCount());
+
+        plot.setRasterRendering(true);
+        g2 = new DeviceGraphics2D(300, 200, GraphicsDevice.TYPE_IMAGE_BUFFER);
+        plot.render(g2, area, null, null);
+        assertEquals(0, g2.getFillCount());
+        assertEquals(1, g2.getImageCount());
+
+        // a printer gets a fill for each point
+        g2 = new DeviceGraphics2D(300, 200, GraphicsDevice.TYPE_PRINTER);
+        plot.render(g2, area, null, null);
+        assertEquals(1000, g2.getFillCount());
+        assertEquals(0, g2.getImageCount());
+    }
+
     /**
      * Populates the data array with random values.
      *
@@ -42,15 +42,21 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
 import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
 import java.awt.Stroke;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EventListener;
 import java.util.List;
 
 import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.ChartLayer;
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.DeviceGraphics2D;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.legend.LegendItem;
 import org.jfree.chart.legend.LegendItemCollection;
@@ -59,13 +65,19 @@ import org.jfree.chart.annotations.XYTextAnnotation;
 import org.jfree.chart.axis.AxisLocation;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.date.MonthConstants;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.event.CancellationToken;
+import org.jfree.chart.event.ChartProgressEvent;
+import org.jfree.chart.event.ChartProgressEventType;
 import org.jfree.chart.event.MarkerChangeListener;
 import org.jfree.chart.labels.StandardXYToolTipGenerator;
 import org.jfree.chart.renderer.xy.DefaultXYItemRenderer;
 import org.jfree.chart.renderer.xy.StandardXYItemRenderer;
 import org.jfree.chart.renderer.xy.XYBarRenderer;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.chart.api.Layer;
 import org.jfree.chart.api.RectangleInsets;
@@ -409,6 +421,11 @@ public class XYPlotTest {
         plot2.setShadowGenerator(null);
         assertEquals(plot1, plot2);
 
+        plot1.setParallelRendering(true);
+        assertNotEquals(plot1, plot2);
+        plot2.setParallelRendering(true);
+        assertEquals(plot1, plot2);
+
         LegendItemCollection lic1 = new LegendItemCollection();
         lic1.add(new LegendItem("XYZ", Color.RED));
         plot1.setFixedLegendItems(lic1);
@@ -1415,4 +1432,281 @@ public class XYPlotTest {
         assertEquals(new Range(1.0, 6.0), plot.getDataRange(xAxis));
         assertEquals(new Range(2.0, 10.0), plot.getDataRange(yAxis)); // only y-values for items in the x-range        
     }    
+
+    /**
+     * Drawing the background, data and overlay layers separately and 
+     * combining them gives the same image as drawing the whole chart, and
+     * the data layer contains nothing outside the data area.
+     */
+    @Test
+    public void testDrawLayers() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 20; i++) {
+            s1.add(i, i % 7);
+        }
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                new XYSeriesCollection<>(s1));
+        XYPlot<?> plot = (XYPlot<?>) chart.getPlot();
+        plot.addRangeMarker(new ValueMarker(3.0), Layer.FOREGROUND);
+        plot.addAnnotation(new XYTextAnnotation("A", 5.0, 5.0));
+        
+        BufferedImage expected = new BufferedImage(300, 200, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = expected.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), null, null);
+        g2.dispose();
+
+        BufferedImage actual = new BufferedImage(300, 200, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D ag2 = actual.createGraphics();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage dataLayer = null;
+        for (ChartLayer layer : ChartLayer.values()) {
+            BufferedImage image = new BufferedImage(300, 200, 
+                    BufferedImage.TYPE_INT_ARGB);
+            g2 = image.createGraphics();
+            g2.setRenderingHint(ChartHints.KEY_CHART_LAYER, layer);
+            chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), null, 
+                    info);
+            g2.dispose();
+            ag2.drawImage(image, 0, 0, null);
+            if (layer == ChartLayer.DATA) {
+                dataLayer = image;
+            }
+        }
+        ag2.dispose();
+
+        int differences = 0;
+        for (int x = 0; x < 300; x++) {
+            for (int y = 0; y < 200; y++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    differences++;
+                }
+            }
+        }
+        // allow for rounding when antialiased edges are combined
+        assertTrue(differences < 300, differences + " pixels differ");
+
+        Rectangle2D dataArea = info.getPlotInfo().getDataArea();
+        assertFalse(dataArea.isEmpty());
+        for (int x = 0; x < 300; x++) {
+            for (int y = 0; y < 200; y++) {
+                if (!dataArea.contains(x + 0.5, y + 0.5)) {
+                    assertEquals(0, dataLayer.getRGB(x, y) >>> 24);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drawing stops when the cancellation token is cancelled part way 
+     * through the items, and the chart reports the cancellation.
+     */
+    @Test
+    public void testCancelDrawing() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        XYSeries<String> s2 = new XYSeries<>("S2");
+        for (int i = 0; i < 50; i++) {
+            s1.add(i, i % 7);
+            s2.add(i, i % 5);
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>();
+        dataset.addSeries(s1);
+        dataset.addSeries(s2);
+        int[] drawn = new int[1];
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer() {
+            @Override
+            public void drawItem(Graphics2D g2, XYItemRendererState state,
+                    Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+                    ValueAxis domainAxis, ValueAxis rangeAxis, 
+                    XYDataset dataset, int series, int item, 
+                    CrosshairState crosshairState, int pass) {
+                drawn[0]++;
+                if (drawn[0] == 10) {
+                    CancellationToken.fromHints(g2).cancel();
+                }
+            }
+        };
+        XYPlot<String> plot = new XYPlot<>(dataset, new NumberAxis("X"), 
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        List<ChartProgressEvent> events = new ArrayList<>();
+        chart.addProgressListener(events::add);
+
+        BufferedImage image = new BufferedImage(300, 200, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), null, null);
+        assertEquals(10, drawn[0]);
+        assertEquals(2, events.size());
+        assertEquals(ChartProgressEventType.DRAWING_STARTED, 
+                events.get(0).getType());
+        assertEquals(ChartProgressEventType.DRAWING_CANCELLED, 
+                events.get(1).getType());
+        assertTrue(events.get(0).getCancellationToken().isCancelled());
+        // the token created by the chart is removed after drawing
+        assertNull(CancellationToken.fromHints(g2));
+
+        // a listener can cancel the drawing before the plot is drawn
+        events.clear();
+        drawn[0] = 0;
+        chart.addProgressListener(e -> {
+            if (e.getType() == ChartProgressEventType.DRAWING_STARTED) {
+                e.getCancellationToken().cancel();
+            }
+        });
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), null, null);
+        assertEquals(0, drawn[0]);
+        assertEquals(ChartProgressEventType.DRAWING_CANCELLED, 
+                events.get(1).getType());
+        g2.dispose();
+    }
+
+    /**
+     * The progress events and crosshair updates made while drawing are run
+     * by the executor in the {@code KEY_UPDATE_EXECUTOR} hint.
+     */
+    @Test
+    public void testUpdateExecutor() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        XYPlot<String> plot = new XYPlot<>(new XYSeriesCollection<>(s1), 
+                new NumberAxis("X"), new NumberAxis("Y"), 
+                new XYLineAndShapeRenderer());
+        plot.setDomainCrosshairLockedOnData(false);
+        plot.setRangeCrosshairLockedOnData(false);
+        JFreeChart chart = new JFreeChart(plot);
+        List<ChartProgressEvent> events = new ArrayList<>();
+        chart.addProgressListener(events::add);
+
+        List<Runnable> tasks = new ArrayList<>();
+        BufferedImage image = new BufferedImage(300, 200, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_UPDATE_EXECUTOR, 
+                (java.util.concurrent.Executor) tasks::add);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), 
+                new Point2D.Double(150, 100), null);
+        g2.dispose();
+        assertTrue(events.isEmpty());
+        assertEquals(0.0, plot.getDomainCrosshairValue());
+        assertEquals(0.0, plot.getRangeCrosshairValue());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(2, events.size());
+        assertEquals(ChartProgressEventType.DRAWING_FINISHED, 
+                events.get(1).getType());
+        assertNotEquals(0.0, plot.getDomainCrosshairValue());
+        assertNotEquals(0.0, plot.getRangeCrosshairValue());
+    }
+
+    /**
+     * Creates a chart with three datasets that overlap, each with its own
+     * renderer.
+     *
+     * @param parallel  render the datasets concurrently?
+     *
+     * @return The chart.
+     */
+    private static JFreeChart createParallelChart(boolean parallel) {
+        XYPlot<String> plot = new XYPlot<>();
+        plot.setDomainAxis(new NumberAxis("X"));
+        plot.setRangeAxis(new NumberAxis("Y"));
+        plot.setForegroundAlpha(0.7f);
+        for (int d = 0; d < 3; d++) {
+            XYSeries<String> s1 = new XYSeries<>("S" + d);
+            for (int i = 0; i < 40; i++) {
+                s1.add(i, (i * (d + 3)) % 11);
+            }
+            plot.setDataset(d, new XYSeriesCollection<>(s1));
+            plot.setRenderer(d, new XYLineAndShapeRenderer());
+        }
+        plot.setParallelRendering(parallel);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.removeLegend();
+        return chart;
+    }
+
+    /**
+     * Returns the largest difference between the colour components of 
+     * corresponding pixels in two images of the same size.
+     *
+     * @param image1  the first image.
+     * @param image2  the second image.
+     *
+     * @return The largest difference.
+     */
+    static int maxChannelDifference(BufferedImage image1, 
+            BufferedImage image2) {
+        int result = 0;
+        for (int x = 0; x < image1.getWidth(); x++) {
+            for (int y = 0; y < image1.getHeight(); y++) {
+                int rgb1 = image1.getRGB(x, y);
+                int rgb2 = image2.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int d = Math.abs(((rgb1 >>> shift) & 0xFF) 
+                            - ((rgb2 >>> shift) & 0xFF));
+                    result = Math.max(result, d);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rendering the datasets concurrently gives the same image and the same
+     * entities (in the same order) as rendering them one after another.
+     */
+    @Test
+    public void testParallelRendering() {
+        BufferedImage[] images = new BufferedImage[2];
+        ChartRenderingInfo[] infos = new ChartRenderingInfo[2];
+        for (int i = 0; i < 2; i++) {
+            JFreeChart chart = createParallelChart(i == 1);
+            images[i] = new BufferedImage(300, 200, 
+                    BufferedImage.TYPE_INT_ARGB);
+            infos[i] = new ChartRenderingInfo();
+            Graphics2D g2 = images[i].createGraphics();
+            chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), null, 
+                    infos[i]);
+            g2.dispose();
+        }
+        // allow for rounding when translucent layers are combined
+        assertTrue(maxChannelDifference(images[0], images[1]) <= 2);
+
+        EntityCollection e0 = infos[0].getEntityCollection();
+        EntityCollection e1 = infos[1].getEntityCollection();
+        assertEquals(e0.getEntityCount(), e1.getEntityCount());
+        for (int i = 0; i < e0.getEntityCount(); i++) {
+            assertEquals(e0.getEntity(i).getClass(), 
+                    e1.getEntity(i).getClass());
+            assertEquals(e0.getEntity(i).getArea().getBounds2D(), 
+                    e1.getEntity(i).getArea().getBounds2D());
+        }
+    }
+
+    /**
+     * The datasets are only rendered concurrently (as images) on the screen
+     * and on image buffers, any other device gets sequential rendering.
+     */
+    @Test
+    public void testParallelRenderingDevices() {
+        JFreeChart chart = createParallelChart(true);
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 300, 200);
+        DeviceGraphics2D g2 = new DeviceGraphics2D(300, 200, 
+                GraphicsDevice.TYPE_IMAGE_BUFFER);
+        chart.draw(g2, area);
+        assertTrue(g2.getImageCount() > 0);
+
+        g2 = new DeviceGraphics2D(300, 200, GraphicsDevice.TYPE_PRINTER);
+        chart.draw(g2, area);
+        assertEquals(0, g2.getImageCount());
+
+        // a device type that isn't known to be a raster device
+        g2 = new DeviceGraphics2D(300, 200, 99);
+        chart.draw(g2, area);
+        assertEquals(0, g2.getImageCount());
+    }
+
 }
@@ -37,9 +37,17 @@
 package org.jfree.chart.renderer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.awt.geom.Rectangle2D;
+
+import org.jfree.chart.api.RectangleEdge;
+import org.jfree.chart.axis.NumberAxis;
 import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetUtils;
 import org.jfree.data.xy.DefaultXYDataset;
+import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.jupiter.api.Test;
@@ -384,4 +392,40 @@ public class RendererUtilsTest {
         assertEquals(2, bounds[1]);
     }
 
+    /**
+     * Some checks for the aggregateItemsByColumn() method.
+     */
+    @Test
+    public void testAggregateItemsByColumn() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 10000; i++) {
+            s1.add(i, i == 4321 ? -50.0 : Math.sin(i / 10.0), false);
+        }
+        XYSeries<String> s2 = new XYSeries<>("S2");
+        s2.add(1.0, 2.0);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        dataset.addSeries(s2);
+        NumberAxis axis = new NumberAxis("X");
+        axis.setRange(0.0, 9999.0);
+        Rectangle2D area = new Rectangle2D.Double(10.0, 10.0, 100.0, 50.0);
+
+        XYDataset<String> view = RendererUtils.aggregateItemsByColumn(dataset,
+                0, 0, 9999, axis, area, RectangleEdge.BOTTOM);
+        int count = view.getItemCount(0);
+        assertTrue(count <= 4 * 101, "count = " + count);
+        assertEquals(0.0, view.getXValue(0, 0));
+        assertEquals(9999.0, view.getXValue(0, count - 1));
+        for (int i = 1; i < count; i++) {
+            assertTrue(view.getXValue(0, i) > view.getXValue(0, i - 1));
+        }
+        assertEquals(DatasetUtils.findRangeBounds(dataset),
+                DatasetUtils.findRangeBounds(view));
+        assertEquals(1, view.getItemCount(1));
+        assertEquals(2.0, view.getYValue(1, 0));
+
+        // no aggregation when there are fewer items than pixel columns
+        assertSame(dataset, RendererUtils.aggregateItemsByColumn(dataset, 0,
+                0, 50, axis, area, RectangleEdge.BOTTOM));
+    }
+
 }
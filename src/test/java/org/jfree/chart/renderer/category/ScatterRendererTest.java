@@ -91,6 +91,11 @@ public class ScatterRendererTest {
         assertNotEquals(r1, r2);
         r2.setUseSeriesOffset(false);
         assertEquals(r1, r2);
+
+        r1.setUseShapeSprites(true);
+        assertNotEquals(r1, r2);
+        r2.setUseShapeSprites(true);
+        assertEquals(r1, r2);
     }
 
     /**
@@ -0,0 +1,317 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * XYDensityRendererTest.java
+ * --------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link XYDensityRenderer} class.
+ */
+public class XYDensityRendererTest {
+
+    /**
+     * Check that the equals() method distinguishes all fields.
+     */
+    @Test
+    public void testEquals() {
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        XYDensityRenderer r2 = new XYDensityRenderer();
+        assertEquals(r1, r2);
+
+        r1.setPaintScale(new LookupPaintScale(0.0, 10.0, Color.RED));
+        assertNotEquals(r1, r2);
+        r2.setPaintScale(new LookupPaintScale(0.0, 10.0, Color.RED));
+        assertEquals(r1, r2);
+
+        r1.setCellSize(5.0);
+        assertNotEquals(r1, r2);
+        r2.setCellSize(5.0);
+        assertEquals(r1, r2);
+
+        r1.setCellShape(DensityCellShape.HEXAGON);
+        assertNotEquals(r1, r2);
+        r2.setCellShape(DensityCellShape.HEXAGON);
+        assertEquals(r1, r2);
+
+        r1.setParallelRendering(true);
+        assertNotEquals(r1, r2);
+        r2.setParallelRendering(true);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        LookupPaintScale scale = new LookupPaintScale(0.0, 10.0, Color.RED);
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        r1.setPaintScale(scale);
+        XYDensityRenderer r2 = CloneUtils.clone(r1);
+        assertNotSame(r1, r2);
+        assertSame(r1.getClass(), r2.getClass());
+        assertEquals(r1, r2);
+
+        // the paint scale is not shared
+        scale.add(1.0, Color.BLUE);
+        assertNotEquals(r1, r2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        r1.setCellShape(DensityCellShape.HEXAGON);
+        XYDensityRenderer r2 = TestUtils.serialised(r1);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Creates a chart for a dataset with the axis ranges fixed at 0 to 100.
+     *
+     * @param dataset  the dataset.
+     * @param renderer  the renderer.
+     *
+     * @return The chart.
+     */
+    private static JFreeChart createChart(XYSeriesCollection<String> dataset, 
+            XYDensityRenderer renderer) {
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 100.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 100.0);
+        XYPlot<String> plot = new XYPlot<>(dataset, xAxis, yAxis, renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.removeLegend();
+        return chart;
+    }
+
+    /**
+     * Creates a dataset with two series of pseudo-random points, some of 
+     * them outside the range 0 to 100.
+     *
+     * @return The dataset.
+     */
+    private static XYSeriesCollection<String> createDataset() {
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>();
+        for (int s = 0; s < 2; s++) {
+            XYSeries<String> series = new XYSeries<>("S" + s, false);
+            for (int i = 0; i < 5000; i++) {
+                double x = (i * 37 + s * 11) % 120 - 10.0;
+                double y = (i * i * 13 + s * 7) % 110 - 5.0;
+                series.add(x, y, false);
+            }
+            dataset.addSeries(series);
+        }
+        return dataset;
+    }
+
+    /**
+     * Draws a chart onto an image.
+     *
+     * @param chart  the chart.
+     * @param info  the rendering info ({@code null} permitted).
+     *
+     * @return The image.
+     */
+    private static BufferedImage draw(JFreeChart chart, 
+            ChartRenderingInfo info) {
+        BufferedImage image = new BufferedImage(300, 250, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 250), info);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Returns the number of items in the dataset that are inside the axis 
+     * ranges.
+     *
+     * @param dataset  the dataset.
+     *
+     * @return The count.
+     */
+    private static int countVisible(XYSeriesCollection<String> dataset) {
+        int result = 0;
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            for (int i = 0; i < dataset.getItemCount(s); i++) {
+                double x = dataset.getXValue(s, i);
+                double y = dataset.getYValue(s, i);
+                if (x >= 0.0 && x <= 100.0 && y >= 0.0 && y <= 100.0) {
+                    result++;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every visible item is counted once, for both cell shapes and 
+     * orientations, and counting in parallel gives the same counts.
+     */
+    @Test
+    public void testCounts() {
+        XYSeriesCollection<String> dataset = createDataset();
+        int visible = countVisible(dataset);
+        for (DensityCellShape shape : DensityCellShape.values()) {
+            for (PlotOrientation orientation : PlotOrientation.values()) {
+                XYDensityRenderer r1 = new XYDensityRenderer();
+                r1.setCellShape(shape);
+                JFreeChart chart = createChart(dataset, r1);
+                ((XYPlot<?>) chart.getPlot()).setOrientation(orientation);
+                draw(chart, null);
+                assertEquals(visible, Arrays.stream(r1.getCounts()).sum());
+
+                XYDensityRenderer r2 = new XYDensityRenderer();
+                r2.setCellShape(shape);
+                r2.setParallelRendering(true);
+                chart = createChart(dataset, r2);
+                ((XYPlot<?>) chart.getPlot()).setOrientation(orientation);
+                draw(chart, null);
+                assertArrayEquals(r1.getCounts(), r2.getCounts());
+            }
+        }
+    }
+
+    /**
+     * A single item fills the cell containing it with the color for a 
+     * count of 1.
+     */
+    @Test
+    public void testCellPaint() {
+        for (DensityCellShape shape : DensityCellShape.values()) {
+            XYSeries<String> series = new XYSeries<>("S1");
+            series.add(40.0, 60.0);
+            XYSeriesCollection<String> dataset = new XYSeriesCollection<>();
+            dataset.addSeries(series);
+            LookupPaintScale scale = new LookupPaintScale(0.0, 10.0, 
+                    Color.BLUE);
+            scale.add(1.0, Color.RED);
+            scale.add(2.0, Color.GREEN);
+            XYDensityRenderer renderer = new XYDensityRenderer();
+            renderer.setPaintScale(scale);
+            renderer.setCellShape(shape);
+            JFreeChart chart = createChart(dataset, renderer);
+            ChartRenderingInfo info = new ChartRenderingInfo();
+            BufferedImage image = draw(chart, info);
+            Rectangle2D area = info.getPlotInfo().getDataArea();
+            int x = (int) (area.getMinX() + area.getWidth() * 0.4);
+            int y = (int) (area.getMaxY() - area.getHeight() * 0.6);
+            assertEquals(Color.RED.getRGB(), image.getRGB(x, y));
+            assertEquals(1, Arrays.stream(renderer.getCounts()).sum());
+
+            series.add(40.0, 60.0);
+            image = draw(chart, info);
+            assertEquals(Color.GREEN.getRGB(), image.getRGB(x, y));
+        }
+    }
+
+    /**
+     * The counts are reused when the chart is drawn again without changes, 
+     * and calculated again when the dataset or an axis range changes.
+     */
+    @Test
+    public void testCountsCache() {
+        XYSeriesCollection<String> dataset = createDataset();
+        XYDensityRenderer renderer = new XYDensityRenderer();
+        JFreeChart chart = createChart(dataset, renderer);
+        draw(chart, null);
+        int[] counts = renderer.getCounts();
+        draw(chart, null);
+        assertSame(counts, renderer.getCounts());
+
+        dataset.getSeries(0).add(50.0, 50.0);
+        draw(chart, null);
+        assertNotSame(counts, renderer.getCounts());
+        assertEquals(countVisible(dataset), 
+                Arrays.stream(renderer.getCounts()).sum());
+        counts = renderer.getCounts();
+
+        XYPlot<?> plot = (XYPlot<?>) chart.getPlot();
+        plot.getDomainAxis().setRange(0.0, 50.0);
+        draw(chart, null);
+        assertNotSame(counts, renderer.getCounts());
+        counts = renderer.getCounts();
+
+        renderer.setSeriesVisible(1, false);
+        draw(chart, null);
+        assertNotSame(counts, renderer.getCounts());
+    }
+
+    /**
+     * The renderer does not register itself with the dataset, the plot 
+     * passes on the change events.  The counts for a concurrent dataset 
+     * (drawn from a new snapshot each time) are not kept.
+     */
+    @Test
+    public void testCountsCacheListeners() {
+        XYSeriesCollection<String> dataset = createDataset();
+        XYDensityRenderer renderer = new XYDensityRenderer();
+        JFreeChart chart = createChart(dataset, renderer);
+        draw(chart, null);
+        assertFalse(dataset.hasListener(renderer));
+
+        dataset.setConcurrent(true);
+        draw(chart, null);
+        int[] counts = renderer.getCounts();
+        draw(chart, null);
+        assertNotSame(counts, renderer.getCounts());
+        assertArrayEquals(counts, renderer.getCounts());
+    }
+
+}
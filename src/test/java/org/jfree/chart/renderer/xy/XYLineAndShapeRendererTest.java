@@ -36,17 +36,27 @@
 
 package org.jfree.chart.renderer.xy;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
 import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.Stroke;
 import java.awt.geom.Ellipse2D;
 
 import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 
 import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.legend.LegendItem;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.entity.ChartEntity;
+import org.jfree.chart.entity.XYItemEntity;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.urls.TimeSeriesURLGenerator;
@@ -130,6 +140,21 @@ public class XYLineAndShapeRendererTest {
         assertNotEquals(r1, r2);
         r2.setDrawSeriesLineAsPath(true);
         assertEquals(r1, r2);
+
+        r1.setAggregateItemsByColumn(true);
+        assertNotEquals(r1, r2);
+        r2.setAggregateItemsByColumn(true);
+        assertEquals(r1, r2);
+
+        r1.setDrawSeriesLineAsPolyline(true);
+        assertNotEquals(r1, r2);
+        r2.setDrawSeriesLineAsPolyline(true);
+        assertEquals(r1, r2);
+
+        r1.setUseShapeSprites(true);
+        assertNotEquals(r1, r2);
+        r2.setUseShapeSprites(true);
+        assertEquals(r1, r2);
     }
 
     /**
@@ -295,4 +320,312 @@ public class XYLineAndShapeRendererTest {
         assertEquals(2, li.getSeriesIndex());
     }
 
+    /**
+     * When items are aggregated by pixel column, far fewer items are drawn
+     * (here measured by the number of entities) for a dense series.
+     */
+    @Test
+    public void testDrawWithAggregateItemsByColumn() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 20000; i++) {
+            s1.add(i, Math.sin(i / 50.0), false);
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        XYLineAndShapeRenderer renderer
+                = (XYLineAndShapeRenderer) ((XYPlot) chart.getPlot()).getRenderer();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.createBufferedImage(300, 200, info);
+        assertEquals(20000, info.getEntityCollection().getEntityCount()
+                - countNonItemEntities(info));
+
+        renderer.setAggregateItemsByColumn(true);
+        info = new ChartRenderingInfo();
+        chart.createBufferedImage(300, 200, info);
+        int count = info.getEntityCollection().getEntityCount()
+                - countNonItemEntities(info);
+        assertTrue(count > 0 && count <= 4 * 300, "count = " + count);
+    }
+
+    /**
+     * With items aggregated by pixel column, drawing with an anchor point
+     * (which updates the crosshairs) works, and the entities refer to the 
+     * items in the plot's dataset.
+     */
+    @Test
+    public void testDrawAggregatedWithAnchor() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 20000; i++) {
+            s1.add(i, Math.sin(i / 50.0), false);
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        XYPlot<String> plot = (XYPlot<String>) chart.getPlot();
+        plot.setDomainCrosshairVisible(true);
+        plot.setRangeCrosshairVisible(true);
+        XYLineAndShapeRenderer renderer 
+                = (XYLineAndShapeRenderer) plot.getRenderer();
+        renderer.setAggregateItemsByColumn(true);
+        BufferedImage image = new BufferedImage(300, 200, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), 
+                new Point2D.Double(150, 100), info);
+        g2.dispose();
+        assertTrue(plot.getDomainCrosshairValue() > 0.0);
+
+        int maxItem = 0;
+        for (ChartEntity entity : info.getEntityCollection().getEntities()) {
+            if (entity instanceof XYItemEntity) {
+                XYItemEntity xyEntity = (XYItemEntity) entity;
+                assertSame(dataset, xyEntity.getDataset());
+                maxItem = Math.max(maxItem, xyEntity.getItem());
+            }
+        }
+        assertEquals(19999, maxItem);
+    }
+
+    /**
+     * With items aggregated by pixel column, the per-item settings are 
+     * looked up with the indices of the items in the plot's dataset, the 
+     * same indices that the entities record.
+     */
+    @Test
+    public void testAggregatedItemSettingsUseSourceIndices() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 20000; i++) {
+            s1.add(i, Math.sin(i / 50.0), false);
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        XYPlot<String> plot = (XYPlot<String>) chart.getPlot();
+        int[] maxPaintItem = new int[1];
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer() {
+            @Override
+            public boolean getItemVisible(int series, int item) {
+                return item % 2 == 0;
+            }
+            @Override
+            public Paint getItemPaint(int row, int column) {
+                maxPaintItem[0] = Math.max(maxPaintItem[0], column);
+                return super.getItemPaint(row, column);
+            }
+        };
+        renderer.setAggregateItemsByColumn(true);
+        plot.setRenderer(renderer);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.createBufferedImage(300, 200, info);
+
+        int count = 0;
+        for (ChartEntity entity : info.getEntityCollection().getEntities()) {
+            if (entity instanceof XYItemEntity) {
+                assertEquals(0, ((XYItemEntity) entity).getItem() % 2);
+                count++;
+            }
+        }
+        assertTrue(count > 0 && count <= 4 * 300, "count = " + count);
+        assertTrue(maxPaintItem[0] > 4 * 300, "item = " + maxPaintItem[0]);
+    }
+
+    /**
+     * Drawing each series as a polyline gives (almost) the same image as 
+     * drawing a line per item, including the gaps for missing values and the
+     * clipping of lines that cross the edge of the data area.
+     */
+    @Test
+    public void testDrawSeriesLineAsPolyline() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 5000; i++) {
+            double y = (i >= 2000 && i < 2500) ? Double.NaN 
+                    : Math.sin(i / 300.0) * 1.5 + (i % 7) / 50.0;
+            s1.add(i, y, false);
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        for (PlotOrientation orientation : PlotOrientation.values()) {
+            JFreeChart chart = ChartFactory.createXYLineChart(null, "X", "Y",
+                    dataset, orientation, false, false, false);
+            chart.setAntiAlias(false);
+            XYPlot<?> plot = (XYPlot<?>) chart.getPlot();
+            plot.getRangeAxis().setRange(-1.0, 1.0);
+            XYLineAndShapeRenderer renderer 
+                    = (XYLineAndShapeRenderer) plot.getRenderer();
+            renderer.setSeriesPaint(0, Color.RED);
+            BufferedImage expected = chart.createBufferedImage(400, 300);
+            renderer.setDrawSeriesLineAsPolyline(true);
+            ChartRenderingInfo info = new ChartRenderingInfo();
+            BufferedImage actual = chart.createBufferedImage(400, 300, info);
+
+            Rectangle2D area = info.getPlotInfo().getDataArea();
+            int linePixels = 0;
+            int differences = 0;
+            int gapPixels = 0;
+            for (int x = (int) area.getMinX(); x < area.getMaxX(); x++) {
+                for (int y = (int) area.getMinY(); y < area.getMaxY(); y++) {
+                    boolean e = isLinePixel(expected, x, y);
+                    boolean a = isLinePixel(actual, x, y);
+                    if (e) {
+                        linePixels++;
+                    }
+                    // allow for rounding to whole pixels
+                    if (e && !isNearLinePixel(actual, x, y) 
+                            || a && !isNearLinePixel(expected, x, y)) {
+                        differences++;
+                    }
+                    double d = plot.getDomainAxis().java2DToValue(
+                            orientation == PlotOrientation.VERTICAL ? x : y,
+                            area, plot.getDomainAxisEdge());
+                    if (a && d > 2010 && d < 2490) {
+                        gapPixels++;
+                    }
+                }
+            }
+            assertTrue(linePixels > 500);
+            assertTrue(differences < linePixels / 100, "differences = " 
+                    + differences + ", line pixels = " + linePixels);
+            assertEquals(0, gapPixels);
+        }
+    }
+
+    /**
+     * Drawing the item shapes from cached images gives (almost) the same 
+     * image and the same entities as drawing the shapes directly.
+     */
+    @Test
+    public void testDrawWithShapeSprites() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 200; i++) {
+            s1.add(i, Math.sin(i / 20.0));
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        JFreeChart chart = ChartFactory.createScatterPlot(null, "X", "Y",
+                dataset);
+        XYPlot<?> plot = (XYPlot<?>) chart.getPlot();
+        XYLineAndShapeRenderer renderer 
+                = (XYLineAndShapeRenderer) plot.getRenderer();
+        renderer.setSeriesPaint(0, Color.RED);
+        ChartRenderingInfo info1 = new ChartRenderingInfo();
+        BufferedImage expected = chart.createBufferedImage(400, 300, info1);
+        renderer.setUseShapeSprites(true);
+        ChartRenderingInfo info2 = new ChartRenderingInfo();
+        BufferedImage actual = chart.createBufferedImage(400, 300, info2);
+
+        assertEquals(info1.getEntityCollection().getEntityCount(), 
+                info2.getEntityCollection().getEntityCount());
+        int linePixels = 0;
+        int differences = 0;
+        for (int x = 0; x < 400; x++) {
+            for (int y = 0; y < 300; y++) {
+                boolean e = isLinePixel(expected, x, y);
+                if (e) {
+                    linePixels++;
+                }
+                if (e != isLinePixel(actual, x, y)) {
+                    differences++;
+                }
+            }
+        }
+        assertTrue(linePixels > 1000);
+        assertTrue(differences < linePixels / 50, "differences = " 
+                + differences + ", pixels = " + linePixels);
+    }
+
+    /**
+     * Items whose shapes are outside the data area are not drawn from
+     * sprites, as they are not drawn as shapes.
+     */
+    @Test
+    public void testShapeSpritesCulled() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        int inside = 0;
+        int nearlyInside = 0;
+        for (int i = 0; i < 200; i++) {
+            double y = Math.sin(i / 20.0);
+            s1.add(i, y);
+            inside += y >= 0.0 ? 1 : 0;
+            nearlyInside += y >= -0.05 ? 1 : 0;
+        }
+        int[] stamps = new int[1];
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(false,
+                true) {
+            @Override
+            protected boolean drawShapeSprite(Graphics2D g2, Shape shape, 
+                    double x, double y, Paint fillPaint, Paint outlinePaint,
+                    Stroke outlineStroke) {
+                stamps[0]++;
+                return super.drawShapeSprite(g2, shape, x, y, fillPaint, 
+                        outlinePaint, outlineStroke);
+            }
+        };
+        renderer.setUseShapeSprites(true);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 1.0);
+        XYPlot<String> plot = new XYPlot<>(new XYSeriesCollection<>(s1), 
+                new NumberAxis("X"), yAxis, renderer);
+        new JFreeChart(plot).createBufferedImage(400, 300);
+        assertTrue(stamps[0] >= inside);
+        assertTrue(stamps[0] <= nearlyInside);
+    }
+
+    /**
+     * Returns {@code true} if a pixel is (mostly) red.
+     *
+     * @param image  the image.
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     *
+     * @return A boolean.
+     */
+    private static boolean isLinePixel(BufferedImage image, int x, int y) {
+        int rgb = image.getRGB(x, y);
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+        return r > 200 && g < 120 && b < 120;
+    }
+
+    /**
+     * Returns {@code true} if a pixel or one of its neighbours is (mostly)
+     * red.
+     *
+     * @param image  the image.
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     *
+     * @return A boolean.
+     */
+    private static boolean isNearLinePixel(BufferedImage image, int x, 
+            int y) {
+        for (int i = Math.max(0, x - 1); 
+                i <= Math.min(image.getWidth() - 1, x + 1); i++) {
+            for (int j = Math.max(0, y - 1); 
+                    j <= Math.min(image.getHeight() - 1, y + 1); j++) {
+                if (isLinePixel(image, i, j)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of entities that are not for data items.
+     *
+     * @param info  the rendering info.
+     *
+     * @return The entity count.
+     */
+    private static int countNonItemEntities(ChartRenderingInfo info) {
+        int result = 0;
+        for (Object entity : info.getEntityCollection().getEntities()) {
+            if (!(entity instanceof XYItemEntity)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
 }
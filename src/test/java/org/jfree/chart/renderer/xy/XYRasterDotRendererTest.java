@@ -0,0 +1,168 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * XYRasterDotRendererTest.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link XYRasterDotRenderer} class.
+ */
+public class XYRasterDotRendererTest {
+
+    /**
+     * Check that the equals() method distinguishes all fields.
+     */
+    @Test
+    public void testEquals() {
+        XYRasterDotRenderer r1 = new XYRasterDotRenderer();
+        XYRasterDotRenderer r2 = new XYRasterDotRenderer();
+        assertEquals(r1, r2);
+        assertNotEquals(r1, new XYDotRenderer());
+
+        r1.setParallelRendering(true);
+        assertNotEquals(r1, r2);
+        r2.setParallelRendering(true);
+        assertEquals(r1, r2);
+
+        r1.setDotWidth(3);
+        assertNotEquals(r1, r2);
+        r2.setDotWidth(3);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        XYRasterDotRenderer r1 = new XYRasterDotRenderer();
+        r1.setParallelRendering(true);
+        XYRasterDotRenderer r2 = CloneUtils.clone(r1);
+        assertNotSame(r1, r2);
+        assertSame(r1.getClass(), r2.getClass());
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        XYRasterDotRenderer r1 = new XYRasterDotRenderer();
+        r1.setParallelRendering(true);
+        XYRasterDotRenderer r2 = TestUtils.serialised(r1);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Draws a chart with the specified renderer.
+     *
+     * @param renderer  the renderer.
+     * @param orientation  the plot orientation.
+     *
+     * @return The image.
+     */
+    private static BufferedImage draw(XYDotRenderer renderer, 
+            PlotOrientation orientation) {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        XYSeries<String> s2 = new XYSeries<>("S2");
+        for (int i = 0; i < 2000; i++) {
+            s1.add(i % 97, (i * 31) % 89);
+            s2.add((i * 7) % 101, i % 83);
+        }
+        s1.add(5.0, null);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>();
+        dataset.addSeries(s1);
+        dataset.addSeries(s2);
+        renderer.setDotWidth(2);
+        renderer.setDotHeight(3);
+        renderer.setSeriesPaint(0, new Color(255, 0, 0, 100));
+        renderer.setSeriesPaint(1, Color.BLUE);
+        XYPlot<String> plot = new XYPlot<>(dataset, new NumberAxis("X"), 
+                new NumberAxis("Y"), renderer);
+        plot.setOrientation(orientation);
+        plot.setForegroundAlpha(0.8f);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(300, 200, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200));
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * The renderer draws the same image as {@link XYDotRenderer}.
+     */
+    @Test
+    public void testDrawMatchesXYDotRenderer() {
+        for (PlotOrientation orientation : new PlotOrientation[] {
+                PlotOrientation.VERTICAL, PlotOrientation.HORIZONTAL}) {
+            BufferedImage expected = draw(new XYDotRenderer(), orientation);
+            XYRasterDotRenderer renderer = new XYRasterDotRenderer();
+            renderer.setParallelRendering(true);
+            BufferedImage actual = draw(renderer, orientation);
+            for (int x = 0; x < 300; x++) {
+                for (int y = 0; y < 200; y++) {
+                    int e = expected.getRGB(x, y);
+                    int a = actual.getRGB(x, y);
+                    for (int shift = 0; shift < 32; shift += 8) {
+                        int d = Math.abs(((e >>> shift) & 0xFF) 
+                                - ((a >>> shift) & 0xFF));
+                        assertTrue(d <= 2, "Pixel " + x + ", " + y);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -95,6 +95,11 @@ public class XYShapeRendererTest {
         r2.setGuideLinePaint(Color.RED);
         assertEquals(r1, r2);
 
+        r1.setUseShapeSprites(true);
+        assertNotEquals(r1, r2);
+        r2.setUseShapeSprites(true);
+        assertEquals(r1, r2);
+
     }
 
     /**
@@ -37,19 +37,25 @@
 package org.jfree.chart.swing;
 
 import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.event.ChartChangeEvent;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.title.TextTitle;
 import org.jfree.data.xy.DefaultXYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.swing.SwingUtilities;
 import javax.swing.event.CaretListener;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.EventListener;
@@ -90,6 +96,18 @@ public class ChartPanelTest implements ChartChangeListener, ChartMouseListener {
         assertNull(panel.getChart());
     }
 
+    /**
+     * Lazy entities are opt-in, a new panel generates the entity text 
+     * eagerly.
+     */
+    @Test
+    public void testLazyEntitiesOff() {
+        ChartPanel panel = new ChartPanel(null);
+        assertFalse(panel.getChartRenderingInfo().isLazyEntities());
+        panel.getChartRenderingInfo().setLazyEntities(true);
+        assertTrue(panel.getChartRenderingInfo().isLazyEntities());
+    }
+
     /**
      * Test that it is possible to set the panel's chart to null.
      */
@@ -355,5 +373,111 @@ public class ChartPanelTest implements ChartChangeListener, ChartMouseListener {
         assertEquals(Color.MAGENTA, readPanel.getZoomFillPaint());
         assertEquals(Color.CYAN, readPanel.getZoomOutlinePaint());
     }
+
+    /**
+     * A text title that counts the number of times it is drawn.
+     */
+    static class CountingTitle extends TextTitle {
+        
+        /** The number of times the title has been drawn. */
+        int drawCount;
+
+        /**
+         * Creates a new title.
+         *
+         * @param text  the title text.
+         */
+        CountingTitle(String text) {
+            super(text);
+        }
+
+        @Override
+        public Object draw(Graphics2D g2, Rectangle2D area, Object params) {
+            this.drawCount++;
+            return super.draw(g2, area, params);
+        }
+    }
+
+    /**
+     * With a layered buffer, a dataset change that does not change the axis
+     * ranges does not redraw the titles, and a title change does.
+     */
+    @Test
+    public void testLayeredBuffer() {
+        DefaultXYDataset<String> dataset = new DefaultXYDataset<>();
+        dataset.addSeries("S1", new double[][] {{1.0, 2.0}, {3.0, 4.0}});
+        JFreeChart chart = ChartFactory.createXYLineChart(null, "X", "Y",
+                dataset);
+        CountingTitle title = new CountingTitle("Title");
+        chart.setTitle(title);
+        XYPlot<?> plot = (XYPlot<?>) chart.getPlot();
+        plot.getDomainAxis().setRange(0.0, 10.0);
+        plot.getRangeAxis().setRange(0.0, 10.0);
+        ChartPanel panel = new ChartPanel(chart, 400, 300, 300, 200, 1024, 768,
+                true, false, false, false, false, false, true);
+        panel.setLayeredBuffer(true);
+        assertTrue(panel.isLayeredBuffer());
+        panel.setSize(400, 300);
+        BufferedImage image = new BufferedImage(400, 300, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        panel.paint(g2);
+        assertEquals(1, title.drawCount);
+        int entityCount = panel.getChartRenderingInfo().getEntityCollection()
+                .getEntityCount();
+
+        dataset.addSeries("S1", new double[][] {{1.0, 2.0}, {5.0, 6.0}});
+        panel.paint(g2);
+        assertEquals(1, title.drawCount);
+        assertEquals(entityCount, panel.getChartRenderingInfo()
+                .getEntityCollection().getEntityCount());
+
+        title.setText("New Title");
+        panel.paint(g2);
+        assertEquals(2, title.drawCount);
+        g2.dispose();
+    }
+
+    /**
+     * With asynchronous rendering (and a dataset that is safe to read while
+     * it is updated) the frame and rendering info are replaced when the 
+     * worker thread completes.
+     */
+    @Test
+    public void testAsyncRendering() throws Exception {
+        XYSeries<String> series = new XYSeries<>("S1");
+        series.add(1.0, 3.0);
+        series.add(2.0, 4.0);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(series);
+        dataset.setConcurrent(true);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        ChartPanel panel = new ChartPanel(chart, 400, 300, 300, 200, 1024, 768,
+                true, false, false, false, false, false, true);
+        panel.setAsyncRendering(true);
+        assertTrue(panel.isAsyncRendering());
+        panel.setSize(400, 300);
+        ChartRenderingInfo initialInfo = panel.getChartRenderingInfo();
+        BufferedImage image = new BufferedImage(400, 300, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        SwingUtilities.invokeAndWait(() -> panel.paint(g2));
+
+        ChartRenderingInfo[] info = new ChartRenderingInfo[1];
+        long deadline = System.currentTimeMillis() + 10000L;
+        do {
+            Thread.sleep(10L);
+            SwingUtilities.invokeAndWait(
+                    () -> info[0] = panel.getChartRenderingInfo());
+        } while (info[0] == initialInfo 
+                && System.currentTimeMillis() < deadline);
+        assertNotSame(initialInfo, info[0]);
+        assertTrue(info[0].getEntityCollection().getEntityCount() > 0);
+
+        SwingUtilities.invokeAndWait(() -> panel.paint(g2));
+        g2.dispose();
+        assertNotEquals(0, image.getRGB(200, 150));
+    }
+
 }
 
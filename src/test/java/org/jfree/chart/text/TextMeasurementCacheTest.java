@@ -0,0 +1,182 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * TextMeasurementCacheTest.java
+ * -----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.text;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link TextMeasurementCache} class.
+ */
+public class TextMeasurementCacheTest {
+
+    /** A graphics target. */
+    private Graphics2D g2;
+
+    /**
+     * Creates the graphics target.
+     */
+    @BeforeEach
+    public void setUp() {
+        BufferedImage image = new BufferedImage(10, 10, 
+                BufferedImage.TYPE_INT_ARGB);
+        this.g2 = image.createGraphics();
+    }
+
+    /**
+     * Disposes the graphics target.
+     */
+    @AfterEach
+    public void tearDown() {
+        this.g2.dispose();
+    }
+
+    /**
+     * The bounds match the uncached bounds and lookups are counted.
+     */
+    @Test
+    public void testGetTextBounds() {
+        TextMeasurementCache cache = new TextMeasurementCache(10);
+        Font font = new Font("Dialog", Font.PLAIN, 12);
+        Rectangle2D expected = TextUtils.getTextBounds("1,234.5", this.g2, 
+                this.g2.getFontMetrics(font));
+        assertEquals(expected, cache.getTextBounds("1,234.5", font, this.g2));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        Rectangle2D r = cache.getTextBounds("1,234.5", font, this.g2);
+        assertEquals(expected, r);
+        assertEquals(1, cache.getHitCount());
+
+        // the result is a copy
+        r.setRect(0.0, 0.0, 1.0, 1.0);
+        assertEquals(expected, cache.getTextBounds("1,234.5", font, this.g2));
+
+        // a different font is a different key
+        Font bold = font.deriveFont(Font.BOLD);
+        cache.getTextBounds("1,234.5", bold, this.g2);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getSize());
+    }
+
+    /**
+     * The widths match the uncached widths.
+     */
+    @Test
+    public void testGetStringWidth() {
+        TextMeasurementCache cache = new TextMeasurementCache(10);
+        Font font = new Font("Dialog", Font.PLAIN, 12);
+        int expected = this.g2.getFontMetrics(font).stringWidth("ABC");
+        assertEquals(expected, cache.getStringWidth("ABC", font, this.g2));
+        assertEquals(expected, cache.getStringWidth("ABC", font, this.g2));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    /**
+     * The lines of a cached text block match those of an uncached block.
+     */
+    @Test
+    public void testCreateTextBlock() {
+        TextMeasurementCache cache = new TextMeasurementCache(10);
+        Font font = new Font("Dialog", Font.PLAIN, 12);
+        this.g2.setFont(font);
+        String text = "The quick brown fox jumps over the lazy dog.";
+        TextBlock expected = TextUtils.createTextBlock(text, font, Color.RED, 
+                60.0f, 3, new G2TextMeasurer(this.g2));
+        TextBlock b1 = cache.createTextBlock(text, font, Color.RED, 60.0f, 3, 
+                this.g2);
+        TextBlock b2 = cache.createTextBlock(text, font, Color.RED, 60.0f, 3, 
+                this.g2);
+        assertEquals(expected, b1);
+        assertEquals(expected, b2);
+        assertNotSame(b1, b2);
+        assertEquals(1, cache.getHitCount());
+
+        // a different width is a different key
+        TextBlock b3 = cache.createTextBlock(text, font, Color.RED, 500.0f, 3, 
+                this.g2);
+        assertEquals(2, cache.getMissCount());
+        List<TextLine> lines = b3.getLines();
+        assertTrue(lines.size() < expected.getLines().size());
+    }
+
+    /**
+     * The least recently used results are dropped when the cache is full.
+     */
+    @Test
+    public void testEviction() {
+        TextMeasurementCache cache = new TextMeasurementCache(2);
+        Font font = new Font("Dialog", Font.PLAIN, 12);
+        cache.getStringWidth("A", font, this.g2);
+        cache.getStringWidth("B", font, this.g2);
+        cache.getStringWidth("A", font, this.g2);
+        cache.getStringWidth("C", font, this.g2);  // drops "B"
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        cache.getStringWidth("A", font, this.g2);
+        assertEquals(2, cache.getHitCount());
+        cache.getStringWidth("B", font, this.g2);
+        assertEquals(4, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    /**
+     * A cache must hold at least one result.
+     */
+    @Test
+    public void testConstructor() {
+        assertThrows(IllegalArgumentException.class, 
+                () -> new TextMeasurementCache(0));
+        assertNotNull(TextMeasurementCache.getSharedInstance());
+    }
+
+}
@@ -0,0 +1,185 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * ChangeCoalescerTest.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import javax.swing.SwingUtilities;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ChangeCoalescer} class, used by datasets and series
+ * that have a notification interval set.
+ */
+public class ChangeCoalescerTest {
+
+    /**
+     * Waits until the events queued on the event dispatch thread by the 
+     * coalescer have been delivered.
+     *
+     * The timer can fire late on a busy machine, so this keeps waiting 
+     * (for up to five seconds) until the expected events have arrived.
+     *
+     * @param millis  the notification interval.
+     * @param delivered  returns {@code true} once the expected events have
+     *     been delivered.
+     */
+    private static void waitForDelivery(long millis, BooleanSupplier delivered)
+            throws Exception {
+        Thread.sleep(millis + 50L);
+        long deadline = System.currentTimeMillis() + 5000L;
+        SwingUtilities.invokeAndWait(() -> {});
+        while (!delivered.getAsBoolean() 
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+            SwingUtilities.invokeAndWait(() -> {});
+        }
+    }
+
+    /**
+     * Returns the total number of changes reported by a list of merged 
+     * events.
+     *
+     * @param events  the events.
+     *
+     * @return The total.
+     */
+    private static int changeCount(List<DatasetChangeEvent> events) {
+        int total = 0;
+        for (DatasetChangeEvent event : events) {
+            total += ((MergedDatasetChangeEvent) event).getChangeCount();
+        }
+        return total;
+    }
+
+    /**
+     * Many changes to the series in a collection are delivered as a single
+     * merged event naming the series that changed.
+     */
+    @Test
+    public void testMergedDatasetEvents() throws Exception {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>();
+        dataset.addSeries(s1);
+        dataset.setNotificationInterval(100L);
+        List<DatasetChangeEvent> events = new ArrayList<>();
+        dataset.addChangeListener(events::add);
+        for (int i = 0; i < 500; i++) {
+            s1.add(i, i);
+        }
+        waitForDelivery(100L, () -> changeCount(events) == 500);
+        // the first change may be delivered at once, the rest are merged
+        assertTrue(events.size() <= 2);
+        assertEquals(500, changeCount(events));
+        MergedDatasetChangeEvent event = (MergedDatasetChangeEvent) 
+                events.get(events.size() - 1);
+        assertSame(dataset, event.getDataset());
+        assertEquals(Set.of("S1"), event.getSeriesKeys());
+
+        // removing a series may affect the whole dataset
+        events.clear();
+        dataset.removeSeries(s1);
+        waitForDelivery(100L, () -> !events.isEmpty());
+        assertEquals(1, events.size());
+        assertNull(((MergedDatasetChangeEvent) events.get(0)).getSeriesKeys());
+    }
+
+    /**
+     * The notify flag still suppresses events, and an interval of zero
+     * delivers each change as it happens.
+     */
+    @Test
+    public void testNotifyAndZeroInterval() throws Exception {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        List<DatasetChangeEvent> events = new ArrayList<>();
+        dataset.addChangeListener(events::add);
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        assertEquals(2, events.size());
+        assertFalse(events.get(0) instanceof MergedDatasetChangeEvent);
+
+        events.clear();
+        dataset.setNotificationInterval(20L);
+        dataset.setNotify(false);
+        s1.add(3.0, 3.0);
+        waitForDelivery(20L, () -> true);
+        assertTrue(events.isEmpty());
+        assertThrows(IllegalArgumentException.class, 
+                () -> dataset.setNotificationInterval(-1L));
+    }
+
+    /**
+     * Series changes are merged too.
+     */
+    @Test
+    public void testMergedSeriesEvents() throws Exception {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.setNotificationInterval(50L);
+        List<SeriesChangeEvent> events = new ArrayList<>();
+        s1.addChangeListener(events::add);
+        for (int i = 0; i < 100; i++) {
+            s1.add(i, i);
+        }
+        waitForDelivery(50L, () -> !events.isEmpty());
+        assertTrue(events.size() <= 2);
+        assertSame(s1, events.get(0).getSource());
+    }
+
+    /**
+     * The notification interval is serialized.
+     */
+    @Test
+    public void testSerialization() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.setNotificationInterval(40L);
+        XYSeriesCollection<String> d1 = new XYSeriesCollection<>(s1);
+        d1.setNotificationInterval(30L);
+        XYSeriesCollection<String> d2 = TestUtils.serialised(d1);
+        assertEquals(30L, d2.getNotificationInterval());
+        assertEquals(40L, d2.getSeries(0).getNotificationInterval());
+    }
+
+}
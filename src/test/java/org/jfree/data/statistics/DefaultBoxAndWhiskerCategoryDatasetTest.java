@@ -37,6 +37,7 @@
 package org.jfree.data.statistics;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.internal.CloneUtils;
@@ -267,4 +268,71 @@ public class DefaultBoxAndWhiskerCategoryDatasetTest {
         assertEquals(new Range(8.5, 9.5), data.getRangeBounds(true));
     }
 
+    /**
+     * Observations are summarised per cell and the items are calculated 
+     * from them.
+     */
+    @Test
+    public void testAddObservations() throws CloneNotSupportedException {
+        DefaultBoxAndWhiskerCategoryDataset<String, String> d
+                = new DefaultBoxAndWhiskerCategoryDataset<>();
+        d.addObservations(new double[] {1.0, 2.0, 3.0}, "R1", "C1");
+        d.addObservation(4.0, "R1", "C1");
+        d.addObservation(5.0, "R1", "C2");
+        BoxAndWhiskerItem expected = BoxAndWhiskerCalculator
+                .calculateBoxAndWhiskerStatistics(List.of(1.0, 2.0, 3.0, 4.0));
+        assertEquals(expected, d.getItem(0, 0));
+        assertEquals(2.5, d.getMeanValue("R1", "C1").doubleValue(), EPSILON);
+        assertEquals(5.0, d.getMedianValue("R1", "C2").doubleValue(), 
+                EPSILON);
+        assertEquals(new Range(1.0, 5.0), d.getRangeBounds(false));
+
+        // merge a sketch
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(7.0);
+        d.addObservations(sketch, "R1", "C2");
+        assertEquals(6.0, d.getMeanValue("R1", "C2").doubleValue(), EPSILON);
+
+        // adding an item replaces the observations for the cell
+        d.add(List.of(10.0), "R1", "C1");
+        d.addObservation(20.0, "R1", "C1");
+        assertEquals(20.0, d.getMeanValue("R1", "C1").doubleValue(), 
+                EPSILON);
+
+        // the clone has its own observations
+        DefaultBoxAndWhiskerCategoryDataset<String, String> d2
+                = (DefaultBoxAndWhiskerCategoryDataset) d.clone();
+        d2.addObservation(30.0, "R1", "C1");
+        assertEquals(20.0, d.getMeanValue("R1", "C1").doubleValue(), 
+                EPSILON);
+        assertEquals(25.0, d2.getMeanValue("R1", "C1").doubleValue(), 
+                EPSILON);
+
+        // removing a column removes the observations
+        d.removeColumn("C1");
+        d.addObservation(2.0, "R1", "C1");
+        assertEquals(2.0, d.getMeanValue("R1", "C1").doubleValue(), EPSILON);
+    }
+
+    /**
+     * Empty and NaN-only observations give an item with no values, which 
+     * doesn't change the range bounds.
+     */
+    @Test
+    public void testAddEmptyObservations() {
+        DefaultBoxAndWhiskerCategoryDataset<String, String> d
+                = new DefaultBoxAndWhiskerCategoryDataset<>();
+        d.addObservations(new QuantileSketch(), "R1", "C1");
+        d.addObservations(new double[] {Double.NaN}, "R1", "C2");
+        assertTrue(Double.isNaN(d.getMeanValue("R1", "C1").doubleValue()));
+        assertTrue(Double.isNaN(d.getMaxOutlier("R1", "C2").doubleValue()));
+        assertTrue(Double.isNaN(d.getRangeLowerBound(false)));
+
+        d.addObservations(new double[] {1.0, 2.0, 3.0}, "R1", "C3");
+        assertEquals(new Range(1.0, 3.0), d.getRangeBounds(false));
+        d.addObservations(new double[] {Double.NaN}, "R2", "C1");
+        d.addObservations(new double[] {4.0}, "R1", "C1");
+        assertEquals(new Range(1.0, 4.0), d.getRangeBounds(false));
+    }
+
 }
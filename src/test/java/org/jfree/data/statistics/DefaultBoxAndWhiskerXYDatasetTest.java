@@ -173,4 +173,78 @@ public class DefaultBoxAndWhiskerXYDatasetTest {
         assertEquals(new Range(5.0, 7.5), d1.getRangeBounds(true));
     }
 
+    /**
+     * Observations for the same date are summarised by one item.
+     */
+    @Test
+    public void testAddObservations() throws CloneNotSupportedException {
+        DefaultBoxAndWhiskerXYDataset<String> d 
+                = new DefaultBoxAndWhiskerXYDataset<>("Series");
+        d.addObservations(new Date(1L), new double[] {1.0, 2.0, 3.0});
+        d.addObservation(new Date(2L), 10.0);
+        d.addObservation(new Date(1L), 4.0);
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(2.5, d.getMeanValue(0, 0).doubleValue(), EPSILON);
+        assertEquals(10.0, d.getMeanValue(0, 1).doubleValue(), EPSILON);
+        assertEquals(new Range(1.0, 10.0), d.getRangeBounds(false));
+
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(20.0);
+        d.addObservations(new Date(2L), sketch);
+        assertEquals(15.0, d.getMeanValue(0, 1).doubleValue(), EPSILON);
+        assertEquals(new Range(1.0, 20.0), d.getRangeBounds(false));
+
+        // the clone has its own observations
+        DefaultBoxAndWhiskerXYDataset<String> d2 
+                = (DefaultBoxAndWhiskerXYDataset) d.clone();
+        d2.addObservation(new Date(2L), 30.0);
+        assertEquals(15.0, d.getMeanValue(0, 1).doubleValue(), EPSILON);
+        assertEquals(20.0, d2.getMeanValue(0, 1).doubleValue(), EPSILON);
+    }
+
+    /**
+     * Observations for a date that holds an item added directly replace 
+     * that item.
+     */
+    @Test
+    public void testAddObservationsReplacesItem() {
+        DefaultBoxAndWhiskerXYDataset<String> d 
+                = new DefaultBoxAndWhiskerXYDataset<>("Series");
+        d.add(new Date(1L), new BoxAndWhiskerItem(1.0, 2.0, 3.0, 4.0, 
+                -5.0, 6.0, 7.0, 8.0, new ArrayList<>()));
+        d.add(new Date(2L), new BoxAndWhiskerItem(1.0, 2.0, 3.0, 4.0, 
+                0.0, 6.0, 7.0, 8.0, new ArrayList<>()));
+        d.addObservations(new Date(1L), new double[] {1.0, 2.0, 3.0});
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(2.0, d.getMeanValue(0, 0).doubleValue(), EPSILON);
+        assertEquals(new Range(0.0, 6.0), d.getRangeBounds(false));
+        d.addObservation(new Date(1L), 10.0);
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(4.0, d.getMeanValue(0, 0).doubleValue(), EPSILON);
+        assertEquals(new Range(0.0, 10.0), d.getRangeBounds(false));
+    }
+
+    /**
+     * Empty and NaN-only observations give an item with no values, which 
+     * doesn't change the range bounds.
+     */
+    @Test
+    public void testAddEmptyObservations() {
+        DefaultBoxAndWhiskerXYDataset<String> d 
+                = new DefaultBoxAndWhiskerXYDataset<>("Series");
+        d.addObservations(new Date(1L), new QuantileSketch());
+        d.addObservations(new Date(2L), new double[] {Double.NaN});
+        assertEquals(2, d.getItemCount(0));
+        assertTrue(Double.isNaN(d.getMeanValue(0, 0).doubleValue()));
+        assertTrue(Double.isNaN(d.getMaxRegularValue(0, 1).doubleValue()));
+        assertNull(d.getRangeBounds(false));
+
+        d.addObservations(new Date(2L), new double[] {1.0, 2.0, 3.0});
+        assertEquals(new Range(1.0, 3.0), d.getRangeBounds(false));
+        d.addObservations(new Date(3L), new double[] {Double.NaN});
+        d.addObservations(new Date(1L), new double[] {4.0});
+        assertEquals(3, d.getItemCount(0));
+        assertEquals(new Range(1.0, 4.0), d.getRangeBounds(false));
+    }
+
 }
@@ -0,0 +1,160 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * LinearRegressionTest.java
+ * -------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.function.LineFunction2D;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link LinearRegression} class.
+ */
+public class LinearRegressionTest {
+
+    private static final double EPSILON = 1.0E-9;
+
+    /**
+     * The fit matches the result from {@link Regression}.
+     */
+    @Test
+    public void testMatchesRegression() {
+        double[][] data = new double[50][2];
+        LinearRegression r = new LinearRegression();
+        assertTrue(Double.isNaN(r.getSlope()));
+        for (int i = 0; i < data.length; i++) {
+            data[i][0] = i;
+            data[i][1] = 2.0 + 0.5 * i + Math.sin(i);
+            r.add(data[i][0], data[i][1]);
+        }
+        r.add(Double.NaN, 1.0);
+        double[] expected = Regression.getOLSRegression(data);
+        assertEquals(50, r.getItemCount());
+        assertEquals(expected[0], r.getIntercept(), EPSILON);
+        assertEquals(expected[1], r.getSlope(), EPSILON);
+        assertEquals(expected[0] + expected[1] * 10.0, r.getValue(10.0), 
+                EPSILON);
+        assertEquals(new LineFunction2D(r.getIntercept(), r.getSlope()), 
+                r.toFunction());
+    }
+
+    /**
+     * Large x-values (such as times in milliseconds) do not lose accuracy.
+     */
+    @Test
+    public void testLargeXValues() {
+        LinearRegression r = new LinearRegression();
+        for (int i = 0; i < 1000; i++) {
+            r.add(1.6E12 + i * 1000.0, 3.0 + 0.002 * i);
+        }
+        assertEquals(0.000002, r.getSlope(), 1.0E-15);
+        assertEquals(1.0, r.getRSquare(), EPSILON);
+        assertEquals(3.0, r.getValue(1.6E12), EPSILON);
+    }
+
+    /**
+     * Merging accumulators for chunks of the data gives the same fit as 
+     * accumulating all the data, and adding a series incrementally gives the
+     * same fit as adding it all at once.
+     */
+    @Test
+    public void testMergeAndIncrementalAdd() {
+        XYSeries<String> s = new XYSeries<>("S");
+        LinearRegression all = new LinearRegression();
+        LinearRegression[] chunks = new LinearRegression[4];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new LinearRegression();
+        }
+        for (int i = 0; i < 100; i++) {
+            double y = 1.0 - 0.25 * i + Math.cos(i);
+            all.add(i, y);
+            chunks[i % 4].add(i, y);
+            s.add(i, y);
+        }
+        LinearRegression merged = new LinearRegression();
+        for (LinearRegression chunk : chunks) {
+            merged.merge(chunk);
+        }
+        assertEquals(all.getItemCount(), merged.getItemCount());
+        assertEquals(all.getIntercept(), merged.getIntercept(), EPSILON);
+        assertEquals(all.getSlope(), merged.getSlope(), EPSILON);
+        assertEquals(all.getRSquare(), merged.getRSquare(), EPSILON);
+
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>();
+        XYSeries<String> growing = new XYSeries<>("G");
+        dataset.addSeries(growing);
+        LinearRegression live = new LinearRegression();
+        int done = 0;
+        for (int i = 0; i < 100; i++) {
+            growing.add(s.getDataItem(i));
+            if (i % 10 == 9) {
+                live.add(dataset, 0, done);
+                done = growing.getItemCount();
+            }
+        }
+        assertEquals(100, live.getItemCount());
+        assertEquals(all.getSlope(), live.getSlope(), EPSILON);
+        assertThrows(IllegalArgumentException.class, 
+                () -> live.add(dataset, 0, 101));
+
+        live.clear();
+        assertEquals(0, live.getItemCount());
+        assertTrue(Double.isNaN(live.getValue(1.0)));
+    }
+
+    /**
+     * Check cloning and serialization.
+     */
+    @Test
+    public void testCloneAndSerialization() throws CloneNotSupportedException {
+        LinearRegression r1 = new LinearRegression();
+        r1.add(1.0, 2.0);
+        r1.add(2.0, 5.0);
+        LinearRegression r2 = CloneUtils.clone(r1);
+        r2.add(3.0, 3.0);
+        assertEquals(2, r1.getItemCount());
+        assertEquals(3.0, r1.getSlope(), EPSILON);
+        LinearRegression r3 = TestUtils.serialised(r1);
+        assertEquals(3.0, r3.getSlope(), EPSILON);
+        assertEquals(-1.0, r3.getIntercept(), EPSILON);
+    }
+
+}
@@ -0,0 +1,165 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * PolynomialRegressionTest.java
+ * -----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.function.PolynomialFunction2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link PolynomialRegression} class.
+ */
+public class PolynomialRegressionTest {
+
+    private static final double EPSILON = 1.0E-9;
+
+    /**
+     * Values on an exact quadratic are fitted exactly.
+     */
+    @Test
+    public void testExactFit() {
+        PolynomialRegression r = new PolynomialRegression(2);
+        assertEquals(2, r.getOrder());
+        r.add(0.0, 1.0);
+        r.add(1.0, 6.0);
+        assertTrue(Double.isNaN(r.getCoefficients()[0]));
+        for (int i = 2; i < 10; i++) {
+            r.add(i, 1.0 + 2.0 * i + 3.0 * i * i);
+        }
+        r.add(5.0, Double.NaN);
+        assertEquals(10, r.getItemCount());
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0}, r.getCoefficients(),
+                EPSILON);
+        assertEquals(1.0, r.getRSquare(), EPSILON);
+        assertEquals(1.0 + 2.0 * 2.5 + 3.0 * 2.5 * 2.5, r.getValue(2.5), 
+                EPSILON);
+        PolynomialFunction2D f = r.toFunction();
+        assertEquals(r.getValue(-3.0), f.getValue(-3.0), EPSILON);
+
+        // the live function follows new values
+        for (int i = 0; i < 10; i++) {
+            r.add(i, 1.0 + 2.0 * i + 3.0 * i * i + 100.0);
+        }
+        assertEquals(51.0, r.getCoefficients()[0], EPSILON);
+        assertEquals(51.0, r.getValue(0.0), EPSILON);
+        assertEquals(1.0, f.getValue(0.0), EPSILON);
+    }
+
+    /**
+     * Merging accumulators gives the same fit as accumulating all the data.
+     */
+    @Test
+    public void testMerge() {
+        PolynomialRegression all = new PolynomialRegression(3);
+        PolynomialRegression r1 = new PolynomialRegression(3);
+        PolynomialRegression r2 = new PolynomialRegression(3);
+        for (int i = 0; i < 50; i++) {
+            double x = i * 0.2;
+            double y = 1.0 - x + 0.3 * x * x * x + Math.sin(i);
+            all.add(x, y);
+            (i % 2 == 0 ? r1 : r2).add(x, y);
+        }
+        r1.merge(r2);
+        assertArrayEquals(all.getCoefficients(), r1.getCoefficients(), 
+                EPSILON);
+        assertEquals(all.getRSquare(), r1.getRSquare(), EPSILON);
+        assertThrows(IllegalArgumentException.class, 
+                () -> r1.merge(new PolynomialRegression(2)));
+        assertThrows(IllegalArgumentException.class, 
+                () -> new PolynomialRegression(0));
+        r1.clear();
+        assertEquals(0, r1.getItemCount());
+    }
+
+    /**
+     * Large offsets in x (such as millisecond dates) and y do not change 
+     * the fit.
+     */
+    @Test
+    public void testLargeOffsets() {
+        PolynomialRegression r = new PolynomialRegression(2);
+        PolynomialRegression ry = new PolynomialRegression(2);
+        PolynomialRegression rx = new PolynomialRegression(2);
+        PolynomialRegression rx1 = new PolynomialRegression(2);
+        for (int i = 0; i < 1000; i++) {
+            double y = 0.01 * i + 0.5 * Math.sin(i);
+            r.add(i, y);
+            ry.add(i, 1.0E8 + y);
+            (i < 300 ? rx : rx1).add(1.6E12 + i * 60000.0, y);
+        }
+        rx.merge(rx1);
+        double[] a = r.getCoefficients();
+        assertTrue(r.getRSquare() > 0.95);
+
+        double[] ay = ry.getCoefficients();
+        assertEquals(a[0] + 1.0E8, ay[0], 1.0E-6);
+        assertEquals(a[1], ay[1], 1.0E-12);
+        assertEquals(a[2], ay[2], 1.0E-14);
+        assertEquals(r.getRSquare(), ry.getRSquare(), 1.0E-9);
+
+        assertEquals(r.getRSquare(), rx.getRSquare(), 1.0E-9);
+        assertEquals(a[2] / (60000.0 * 60000.0), rx.getCoefficients()[2], 
+                1.0E-22);
+        for (int i = 0; i < 1000; i += 100) {
+            assertEquals(r.getValue(i), rx.getValue(1.6E12 + i * 60000.0), 
+                    1.0E-9);
+        }
+    }
+
+    /**
+     * Check cloning and serialization.
+     */
+    @Test
+    public void testCloneAndSerialization() throws CloneNotSupportedException {
+        PolynomialRegression r1 = new PolynomialRegression(1);
+        r1.add(1.0, 2.0);
+        r1.add(2.0, 5.0);
+        PolynomialRegression r2 = CloneUtils.clone(r1);
+        r2.add(3.0, 3.0);
+        assertEquals(2, r1.getItemCount());
+        assertArrayEquals(new double[] {-1.0, 3.0}, r1.getCoefficients(), 
+                EPSILON);
+        PolynomialRegression r3 = TestUtils.serialised(r1);
+        assertArrayEquals(new double[] {-1.0, 3.0}, r3.getCoefficients(), 
+                EPSILON);
+        assertEquals(1, r3.getOrder());
+    }
+
+}
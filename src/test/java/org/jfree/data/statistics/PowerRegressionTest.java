@@ -0,0 +1,116 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * PowerRegressionTest.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.function.PowerFunction2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link PowerRegression} class.
+ */
+public class PowerRegressionTest {
+
+    private static final double EPSILON = 1.0E-9;
+
+    /**
+     * The fit matches the result from {@link Regression}, and values with no
+     * logarithm are ignored.
+     */
+    @Test
+    public void testMatchesRegression() {
+        double[][] data = new double[30][2];
+        PowerRegression r = new PowerRegression();
+        for (int i = 0; i < data.length; i++) {
+            data[i][0] = i + 1.0;
+            data[i][1] = 3.0 * Math.pow(i + 1.0, 1.5) + Math.sin(i);
+            r.add(data[i][0], data[i][1]);
+        }
+        r.add(0.0, 1.0);
+        r.add(1.0, -1.0);
+        r.add(Double.NaN, 1.0);
+        double[] expected = Regression.getPowerRegression(data);
+        assertEquals(30, r.getItemCount());
+        assertEquals(expected[0], r.getA(), EPSILON);
+        assertEquals(expected[1], r.getB(), EPSILON);
+        assertEquals(expected[0] * Math.pow(5.0, expected[1]), r.getValue(5.0),
+                EPSILON);
+        assertEquals(new PowerFunction2D(r.getA(), r.getB()), r.toFunction());
+    }
+
+    /**
+     * Merging accumulators gives the same fit as accumulating all the data.
+     */
+    @Test
+    public void testMerge() {
+        PowerRegression all = new PowerRegression();
+        PowerRegression r1 = new PowerRegression();
+        PowerRegression r2 = new PowerRegression();
+        for (int i = 1; i <= 40; i++) {
+            double y = 0.5 * Math.pow(i, -0.7) * (1.0 + 0.1 * Math.cos(i));
+            all.add(i, y);
+            (i < 25 ? r1 : r2).add(i, y);
+        }
+        r1.merge(r2);
+        assertEquals(all.getItemCount(), r1.getItemCount());
+        assertEquals(all.getA(), r1.getA(), EPSILON);
+        assertEquals(all.getB(), r1.getB(), EPSILON);
+        r1.clear();
+        assertEquals(0, r1.getItemCount());
+    }
+
+    /**
+     * Check cloning and serialization.
+     */
+    @Test
+    public void testCloneAndSerialization() throws CloneNotSupportedException {
+        PowerRegression r1 = new PowerRegression();
+        r1.add(1.0, 2.0);
+        r1.add(2.0, 8.0);
+        PowerRegression r2 = CloneUtils.clone(r1);
+        r2.add(3.0, 3.0);
+        assertEquals(2, r1.getItemCount());
+        assertEquals(2.0, r1.getA(), EPSILON);
+        assertEquals(2.0, r1.getB(), EPSILON);
+        PowerRegression r3 = TestUtils.serialised(r1);
+        assertEquals(2.0, r3.getB(), EPSILON);
+    }
+
+}
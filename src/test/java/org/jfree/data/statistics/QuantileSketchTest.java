@@ -0,0 +1,228 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * QuantileSketchTest.java
+ * -----------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link QuantileSketch} class.
+ */
+public class QuantileSketchTest {
+
+    /**
+     * Returns an array of normally distributed values.
+     *
+     * @param count  the number of values.
+     * @param seed  the random seed.
+     *
+     * @return The values.
+     */
+    private static double[] createValues(int count, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = 100.0 + 10.0 * random.nextGaussian();
+        }
+        return values;
+    }
+
+    /**
+     * Returns the rank (as a fraction of the number of values) of a value
+     * in a sorted array.
+     *
+     * @param sorted  the values in ascending order.
+     * @param value  the value.
+     *
+     * @return The rank.
+     */
+    private static double rank(double[] sorted, double value) {
+        int i = Arrays.binarySearch(sorted, value);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return (double) i / sorted.length;
+    }
+
+    /**
+     * The quantile estimates have a small rank error.
+     */
+    @Test
+    public void testQuantiles() {
+        double[] values = createValues(200000, 1L);
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.addAll(values);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertEquals(200000, sketch.getCount());
+        assertEquals(sorted[0], sketch.getMin());
+        assertEquals(sorted[sorted.length - 1], sketch.getMax());
+        assertEquals(sorted[0], sketch.getQuantile(0.0));
+        assertEquals(sorted[sorted.length - 1], sketch.getQuantile(1.0));
+        for (double q : new double[] {0.001, 0.01, 0.25, 0.5, 0.75, 0.99, 
+                0.999}) {
+            double error = Math.abs(rank(sorted, sketch.getQuantile(q)) - q);
+            assertTrue(error < 0.005, "q = " + q + ", error = " + error);
+        }
+        assertThrows(IllegalArgumentException.class, 
+                () -> sketch.getQuantile(1.5));
+        assertTrue(Double.isNaN(new QuantileSketch().getQuantile(0.5)));
+    }
+
+    /**
+     * For a small number of values, the statistics are exactly those found
+     * by the {@link BoxAndWhiskerCalculator}.
+     */
+    @Test
+    public void testBoxAndWhiskerItemExact() {
+        double[] values = {1.0, 4.0, 2.0, 3.0, 50.0, -30.0, 2.5, Double.NaN};
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.addAll(values);
+        assertEquals(7, sketch.getCount());
+        List<Double> list = new ArrayList<>();
+        for (double v : values) {
+            list.add(v);
+        }
+        assertEquals(BoxAndWhiskerCalculator.calculateBoxAndWhiskerStatistics(
+                list), sketch.getBoxAndWhiskerItem());
+    }
+
+    /**
+     * For a large number of values, the statistics are close to the exact
+     * statistics.
+     */
+    @Test
+    public void testBoxAndWhiskerItem() {
+        double[] values = createValues(50000, 2L);
+        values[0] = 1000.0;  // an outlier
+        values[1] = -500.0;  // another outlier
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.addAll(values);
+        List<Double> list = new ArrayList<>();
+        for (double v : values) {
+            list.add(v);
+        }
+        BoxAndWhiskerItem exact = BoxAndWhiskerCalculator
+                .calculateBoxAndWhiskerStatistics(list);
+        BoxAndWhiskerItem item = sketch.getBoxAndWhiskerItem();
+        assertEquals(exact.getMean().doubleValue(), 
+                item.getMean().doubleValue(), 1e-9);
+        assertEquals(exact.getMedian().doubleValue(), 
+                item.getMedian().doubleValue(), 0.1);
+        assertEquals(exact.getQ1().doubleValue(), 
+                item.getQ1().doubleValue(), 0.1);
+        assertEquals(exact.getQ3().doubleValue(), 
+                item.getQ3().doubleValue(), 0.1);
+        assertEquals(exact.getMinRegularValue().doubleValue(), 
+                item.getMinRegularValue().doubleValue(), 0.5);
+        assertEquals(exact.getMaxRegularValue().doubleValue(), 
+                item.getMaxRegularValue().doubleValue(), 0.5);
+        assertTrue(item.getOutliers().contains(1000.0));
+        assertTrue(item.getOutliers().contains(-500.0));
+        // at most the tail size outliers are reported at each end, and the
+        // most extreme ones are reported
+        assertEquals(2 * QuantileSketch.DEFAULT_TAIL_SIZE, 
+                item.getOutliers().size());
+        assertTrue(exact.getOutliers().containsAll(item.getOutliers()));
+    }
+
+    /**
+     * Merging sketches gives estimates close to those of a single sketch.
+     */
+    @Test
+    public void testMerge() {
+        double[] values = createValues(100000, 3L);
+        QuantileSketch s1 = new QuantileSketch();
+        QuantileSketch s2 = new QuantileSketch();
+        QuantileSketch all = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            (i % 3 == 0 ? s1 : s2).add(values[i]);
+            all.add(values[i]);
+        }
+        s1.merge(s2);
+        assertEquals(all.getCount(), s1.getCount());
+        assertEquals(all.getMin(), s1.getMin());
+        assertEquals(all.getMax(), s1.getMax());
+        assertEquals(all.getMean(), s1.getMean(), 1e-9);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[] {0.01, 0.25, 0.5, 0.75, 0.99}) {
+            double error = Math.abs(rank(sorted, s1.getQuantile(q)) - q);
+            assertTrue(error < 0.005, "q = " + q + ", error = " + error);
+        }
+        assertEquals(all.getBoxAndWhiskerItem().getOutliers(), 
+                s1.getBoxAndWhiskerItem().getOutliers());
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        QuantileSketch s1 = new QuantileSketch();
+        s1.addAll(createValues(1000, 4L));
+        QuantileSketch s2 = CloneUtils.clone(s1);
+        assertNotSame(s1, s2);
+        assertEquals(s1.getQuantile(0.3), s2.getQuantile(0.3));
+        s2.add(1000.0);
+        assertEquals(1000, s1.getCount());
+        assertEquals(1001, s2.getCount());
+    }
+
+    /**
+     * Serialize an instance, restore it, and check the estimates.
+     */
+    @Test
+    public void testSerialization() {
+        QuantileSketch s1 = new QuantileSketch(50.0, 10);
+        s1.addAll(createValues(1000, 5L));
+        QuantileSketch s2 = TestUtils.serialised(s1);
+        assertEquals(50.0, s2.getCompression());
+        assertEquals(10, s2.getTailSize());
+        assertEquals(s1.getQuantile(0.7), s2.getQuantile(0.7));
+        assertEquals(s1.getBoxAndWhiskerItem(), s2.getBoxAndWhiskerItem());
+    }
+
+}
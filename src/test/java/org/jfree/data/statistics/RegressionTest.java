@@ -37,6 +37,7 @@
 package org.jfree.data.statistics;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
@@ -176,6 +177,58 @@ public class RegressionTest {
 
     }
 
+    /**
+     * Checks the results of a polynomial regression (NaN values are 
+     * ignored).
+     */
+    @Test
+    public void testPolynomialRegression() {
+        XYSeries<String> series = new XYSeries<>("Test");
+        for (int i = 0; i < 20; i++) {
+            double x = i * 0.5;
+            series.add(x, 1.0 - 2.0 * x + 0.5 * x * x + Math.sin(3 * i));
+        }
+        series.add(3.3, Double.NaN);
+        XYDataset<String> ds = new XYSeriesCollection<>(series);
+
+        double[] result = Regression.getPolynomialRegression(ds, 0, 2);
+        assertEquals(4, result.length);
+        assertEquals(1.0368325607, result[0], 0.0000001);
+        assertEquals(-2.0272115582, result[1], 0.0000001);
+        assertEquals(0.5033523557, result[2], 0.0000001);
+        assertEquals(0.9929353643, result[3], 0.0000001);
+
+        result = Regression.getPolynomialRegression(ds, 0, 3);
+        assertEquals(0.9921308322, result[0], 0.0000001);
+        assertEquals(-1.9622887176, result[1], 0.0000001);
+        assertEquals(0.4858222661, result[2], 0.0000001);
+        assertEquals(0.0012301817, result[3], 0.0000001);
+        assertEquals(0.9929420943, result[4], 0.0000001);
+    }
+
+    /**
+     * A large offset in the y-values only changes the intercept.
+     */
+    @Test
+    public void testPolynomialRegressionWithOffset() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        XYSeries<String> s2 = new XYSeries<>("S2");
+        for (int i = 0; i < 1000; i++) {
+            double y = 0.01 * i + 0.5 * Math.sin(i);
+            s1.add(i, y);
+            s2.add(i, 1.0E8 + y);
+        }
+        XYSeriesCollection<String> ds = new XYSeriesCollection<>(s1);
+        ds.addSeries(s2);
+        double[] r1 = Regression.getPolynomialRegression(ds, 0, 2);
+        double[] r2 = Regression.getPolynomialRegression(ds, 1, 2);
+        assertEquals(r1[0] + 1.0E8, r2[0], 1.0E-6);
+        assertEquals(r1[1], r2[1], 1.0E-12);
+        assertEquals(r1[2], r2[2], 1.0E-14);
+        assertEquals(r1[3], r2[3], 1.0E-9);
+        assertTrue(r2[3] > 0.95);
+    }
+
     /**
      * Creates and returns a sample dataset.
      * <P>
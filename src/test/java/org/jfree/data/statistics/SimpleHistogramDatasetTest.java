@@ -36,6 +36,8 @@
 
 package org.jfree.data.statistics;
 
+import java.util.Random;
+
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.internal.CloneUtils;
 import org.junit.jupiter.api.Test;
@@ -118,4 +120,158 @@ public class SimpleHistogramDatasetTest {
         assertEquals(0, d1.getItemCount(0));
     }
 
+    /**
+     * Returns the bin index for a value by checking every bin.
+     *
+     * @param d  the dataset.
+     * @param value  the value.
+     *
+     * @return The bin index (or -1).
+     */
+    private static int linearSearch(SimpleHistogramDataset<String> d,
+            double value) {
+        for (int i = 0; i < d.getItemCount(0); i++) {
+            SimpleHistogramBin bin = new SimpleHistogramBin(
+                    d.getStartXValue(0, i), d.getEndXValue(0, i), true, false);
+            if (bin.accepts(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Observations are placed in the correct bins, for both uniform and 
+     * non-uniform bins, including values on the bin boundaries.
+     */
+    @Test
+    public void testBinPlacement() {
+        // uniform bins [i/10, (i+1)/10) with a gap-free layout
+        SimpleHistogramDataset<String> d1 = new SimpleHistogramDataset<>("D1");
+        d1.setAdjustForBinSize(false);
+        for (int i = 0; i < 100; i++) {
+            d1.addBin(new SimpleHistogramBin(i / 10.0, (i + 1) / 10.0, true, 
+                    false));
+        }
+        // non-uniform bins [i^2, (i+1)^2) added in reverse order
+        SimpleHistogramDataset<String> d2 = new SimpleHistogramDataset<>("D2");
+        d2.setAdjustForBinSize(false);
+        for (int i = 49; i >= 0; i--) {
+            d2.addBin(new SimpleHistogramBin(i * i, (i + 1) * (i + 1), true, 
+                    false));
+        }
+        Random random = new Random(42);
+        for (int k = 0; k < 2000; k++) {
+            double v1 = k < 1000 ? random.nextDouble() * 10.0 
+                    : (k - 1000) / 100.0;
+            int expected = linearSearch(d1, v1);
+            double before = d1.getYValue(0, expected);
+            d1.addObservation(v1);
+            assertEquals(before + 1.0, d1.getYValue(0, expected), v1 + "");
+
+            double v2 = k < 1000 ? random.nextDouble() * 2500.0 : k - 1000;
+            expected = linearSearch(d2, v2);
+            before = d2.getYValue(0, expected);
+            d2.addObservation(v2);
+            assertEquals(before + 1.0, d2.getYValue(0, expected), v2 + "");
+        }
+        assertThrows(RuntimeException.class, () -> d1.addObservation(10.0));
+        assertThrows(RuntimeException.class, () -> d1.addObservation(-0.01));
+        assertThrows(RuntimeException.class, 
+                () -> d1.addObservation(Double.NaN));
+        assertThrows(RuntimeException.class, () -> d2.addObservation(2500.0));
+    }
+
+    /**
+     * A value on a boundary goes to the bin that includes the boundary, and
+     * values in a gap between bins are rejected.
+     */
+    @Test
+    public void testBoundaries() {
+        SimpleHistogramDataset<String> d = new SimpleHistogramDataset<>("D");
+        d.setAdjustForBinSize(false);
+        d.addBin(new SimpleHistogramBin(0.0, 1.0, true, true));
+        d.addBin(new SimpleHistogramBin(1.0, 2.0, false, true));
+        d.addBin(new SimpleHistogramBin(3.0, 4.0, true, true));
+        d.addObservation(1.0);
+        d.addObservation(2.0);
+        d.addObservation(3.0);
+        assertEquals(1.0, d.getYValue(0, 0), EPSILON);
+        assertEquals(1.0, d.getYValue(0, 1), EPSILON);
+        assertEquals(1.0, d.getYValue(0, 2), EPSILON);
+        assertThrows(RuntimeException.class, () -> d.addObservation(2.5));
+    }
+
+    /**
+     * Adding many observations (sequentially or in parallel) gives the same
+     * counts as adding them one at a time, fires a single event and adds 
+     * nothing if any value has no bin.
+     */
+    @Test
+    public void testAddObservations() {
+        SimpleHistogramDataset<String> d1 = new SimpleHistogramDataset<>("D1");
+        d1.setAdjustForBinSize(false);
+        SimpleHistogramDataset<String> d2 = new SimpleHistogramDataset<>("D2");
+        d2.setAdjustForBinSize(false);
+        SimpleHistogramDataset<String> d3 = new SimpleHistogramDataset<>("D3");
+        d3.setAdjustForBinSize(false);
+        for (int i = 0; i < 1000; i++) {
+            d1.addBin(new SimpleHistogramBin(i, i + 1, true, false));
+            d2.addBin(new SimpleHistogramBin(i, i + 1, true, false));
+            d3.addBin(new SimpleHistogramBin(i, i + 1, true, false));
+        }
+        Random random = new Random(7);
+        double[] values = new double[300000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1000.0;
+        }
+        int[] events = new int[1];
+        d2.addChangeListener(event -> events[0]++);
+        d2.addObservations(values);
+        assertEquals(1, events[0]);
+        d3.addChangeListener(event -> events[0]++);
+        d3.addObservationsParallel(values);
+        assertEquals(2, events[0]);
+        for (double v : values) {
+            d1.addObservation(v, false);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(d1.getYValue(0, i), d2.getYValue(0, i), EPSILON);
+            assertEquals(d1.getYValue(0, i), d3.getYValue(0, i), EPSILON);
+        }
+
+        double[] bad = {1.0, 2.0, 1000.5};
+        assertThrows(RuntimeException.class, () -> d2.addObservations(bad));
+        assertThrows(RuntimeException.class, 
+                () -> d3.addObservationsParallel(bad));
+        assertEquals(d1.getYValue(0, 1), d2.getYValue(0, 1), EPSILON);
+        assertEquals(d1.getYValue(0, 1), d3.getYValue(0, 1), EPSILON);
+        assertEquals(2, events[0]);
+    }
+
+    /**
+     * Bins can be added after observations, and the bin lookup still works
+     * for clones and serialized copies.
+     */
+    @Test
+    public void testAddBinAfterObservations() 
+            throws CloneNotSupportedException {
+        SimpleHistogramDataset<String> d1 = new SimpleHistogramDataset<>("D1");
+        d1.setAdjustForBinSize(false);
+        d1.addBin(new SimpleHistogramBin(0.0, 1.0, true, false));
+        d1.addObservation(0.5);
+        d1.addBin(new SimpleHistogramBin(1.0, 2.0, true, false));
+        d1.addObservation(1.5);
+        assertEquals(1.0, d1.getYValue(0, 1), EPSILON);
+
+        SimpleHistogramDataset<String> d2 = CloneUtils.clone(d1);
+        d2.addObservation(1.5);
+        assertEquals(2.0, d2.getYValue(0, 1), EPSILON);
+        assertEquals(1.0, d1.getYValue(0, 1), EPSILON);
+
+        SimpleHistogramDataset<String> d3 = TestUtils.serialised(d1);
+        d3.addObservations(new double[] {0.1, 0.2});
+        assertEquals(3.0, d3.getYValue(0, 0), EPSILON);
+    }
+
 }
@@ -41,9 +41,12 @@
 
 package org.jfree.data.statistics;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -434,4 +437,152 @@ public class StatisticsTest {
         assertTrue(Double.isNaN(Statistics.getStdDev(new Double[]{1.0})));
     }
 
+    /**
+     * The mean for an array of doubles, with and without NaN values, and
+     * for a buffer.
+     */
+    @Test
+    public void testCalculateMean_DoubleArray() {
+        assertTrue(Double.isNaN(Statistics.calculateMeanOf(new double[0])));
+        double[] values = {1.0, 2.0, Double.NaN, 6.0};
+        assertTrue(Double.isNaN(Statistics.calculateMeanOf(values)));
+        assertEquals(3.0, Statistics.calculateMeanOf(values, false), EPSILON);
+        assertEquals(3.0, Statistics.calculateMeanParallel(values, false), 
+                EPSILON);
+
+        DoubleBuffer buffer = DoubleBuffer.wrap(values);
+        buffer.position(3);
+        assertEquals(6.0, Statistics.calculateMeanOf(buffer, false), EPSILON);
+        assertEquals(3, buffer.position());
+        buffer.position(0);
+        assertEquals(3.0, Statistics.calculateMeanOf(buffer, false), EPSILON);
+
+        assertThrows(IllegalArgumentException.class, 
+                () -> Statistics.calculateMeanOf(null));
+    }
+
+    /**
+     * A large array with a big offset: the textbook one-pass formulas lose
+     * all precision here, the blocked calculation should not.
+     */
+    @Test
+    public void testLargeArrayWithOffset() {
+        int n = 300000;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            // +/- 1.0 around 1.0E9, 0.1 repeating every 3 values
+            values[i] = 1.0E9 + (i % 2 == 0 ? 1.0 : -1.0) + (i % 3) * 0.1;
+        }
+        // exact mean of the deviations is 0.1 (the alternating part cancels)
+        double mean = 1.0E9 + 0.1;
+        assertEquals(mean, Statistics.calculateMeanOf(values), 1.0E-6);
+        assertEquals(mean, Statistics.calculateMeanParallel(values, true), 
+                1.0E-6);
+
+        double sum = 0.0;
+        for (double v : values) {
+            double d = (v - 1.0E9) - 0.1;
+            sum += d * d;
+        }
+        double expected = Math.sqrt(sum / (n - 1));
+        assertEquals(expected, Statistics.getStdDevOf(values), 1.0E-6);
+        assertEquals(expected, Statistics.getStdDevParallel(values), 1.0E-6);
+        assertEquals(expected, 
+                Statistics.getStdDevOf(DoubleBuffer.wrap(values)), 1.0E-6);
+    }
+
+    /**
+     * The double array functions give the same results as the 
+     * {@code Number} array functions.
+     */
+    @Test
+    public void testDoubleArrayMatchesNumberArray() {
+        double[] x = new double[100];
+        double[] y = new double[100];
+        Number[] xn = new Number[100];
+        Number[] yn = new Number[100];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+            y[i] = 3.0 + 2.0 * i + Math.sin(i);
+            xn[i] = x[i];
+            yn[i] = y[i];
+        }
+        assertEquals(Statistics.calculateMean(yn), 
+                Statistics.calculateMeanOf(y), EPSILON);
+        assertEquals(Statistics.getStdDev(yn), Statistics.getStdDevOf(y), 
+                EPSILON);
+        assertArrayEquals(Statistics.getLinearFit(xn, yn), 
+                Statistics.getLinearFitOf(x, y), EPSILON);
+        assertArrayEquals(Statistics.getLinearFitOf(x, y), 
+                Statistics.getLinearFitParallel(x, y), EPSILON);
+        assertEquals(Statistics.getSlope(xn, yn), Statistics.getSlopeOf(x, y),
+                EPSILON);
+        assertEquals(Statistics.getCorrelation(xn, yn), 
+                Statistics.getCorrelationOf(x, y), EPSILON);
+        assertEquals(Statistics.getCorrelationOf(x, y), 
+                Statistics.getCorrelationParallel(x, y), EPSILON);
+        assertThrows(IllegalArgumentException.class, 
+                () -> Statistics.getLinearFitOf(x, new double[] {}));
+    }
+
+    /**
+     * The moving average uses a running sum but gives the same results as
+     * averaging each window.
+     */
+    @Test
+    public void testMovingAverage() {
+        double[] x = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+        double[] y = {2.0, 4.0, 6.0, 8.0, 10.0, 12.0};
+        double[][] ma = Statistics.getMovingAverageOf(x, y, 3);
+        assertEquals(3, ma.length);
+        assertArrayEquals(new double[] {4.0, 4.0}, ma[0], EPSILON);
+        assertArrayEquals(new double[] {5.0, 6.0}, ma[1], EPSILON);
+        assertArrayEquals(new double[] {6.0, 8.0}, ma[2], EPSILON);
+
+        Number[] xn = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+        Number[] yn = {2.0, 4.0, 6.0, 8.0, 10.0, 12.0};
+        double[][] man = Statistics.getMovingAverage(xn, yn, 3);
+        for (int i = 0; i < ma.length; i++) {
+            assertArrayEquals(ma[i], man[i], EPSILON);
+        }
+        assertThrows(IllegalArgumentException.class, 
+                () -> Statistics.getMovingAverageOf(x, y, 7));
+    }
+
+    /**
+     * Infinite values, and sums that overflow, give the same results as 
+     * the plain sums.
+     */
+    @Test
+    public void testInfiniteValues() {
+        assertEquals(Double.POSITIVE_INFINITY, 
+                Statistics.calculateMean(new Number[] {
+                Double.POSITIVE_INFINITY, 1.0}), EPSILON);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                Statistics.calculateMeanOf(new double[] {1.0E308, 1.0E308}),
+                EPSILON);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                Statistics.getStdDev(new Number[] {1.0E308, 1.0E308}),
+                EPSILON);
+
+        // an infinite value in a later block
+        double[] values = new double[5000];
+        values[4000] = Double.NEGATIVE_INFINITY;
+        assertEquals(Double.NEGATIVE_INFINITY, 
+                Statistics.calculateMeanOf(values), EPSILON);
+    }
+
+    /**
+     * The linear fit and slope do not accept {@code null} values.
+     */
+    @Test
+    public void testLinearFitNullValue() {
+        Number[] x = {1.0, 2.0, null};
+        Number[] y = {1.0, 2.0, 3.0};
+        assertThrows(NullPointerException.class, 
+                () -> Statistics.getLinearFit(x, y));
+        assertThrows(NullPointerException.class, 
+                () -> Statistics.getSlope(y, x));
+    }
+
 }
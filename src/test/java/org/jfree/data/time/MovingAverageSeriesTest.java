@@ -0,0 +1,200 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * MovingAverageSeriesTest.java
+ * ----------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link MovingAverageSeries} class.
+ */
+public class MovingAverageSeriesTest {
+
+    /**
+     * Checks that a live moving average series has the same items as the 
+     * moving average calculated from scratch.
+     *
+     * @param expected  the expected items.
+     * @param actual  the live series.
+     */
+    private static void assertSameAverages(TimeSeries<String> expected,
+            TimeSeries<String> actual) {
+        assertEquals(expected.getItemCount(), actual.getItemCount());
+        for (int i = 0; i < expected.getItemCount(); i++) {
+            assertEquals(expected.getTimePeriod(i), actual.getTimePeriod(i));
+            Number e = expected.getValue(i);
+            Number a = actual.getValue(i);
+            if (e == null) {
+                assertNull(a);
+            }
+            else {
+                assertEquals(e.doubleValue(), a.doubleValue(), 1e-9);
+            }
+        }
+    }
+
+    /**
+     * The averages are kept up to date as items are appended to the source.
+     */
+    @Test
+    public void testAppend() {
+        TimeSeries<String> source = new TimeSeries<>("S");
+        MovingAverageSeries<String> ma = new MovingAverageSeries<>(source, 
+                "MA", 5, 3);
+        assertEquals(0, ma.getItemCount());
+        Random random = new Random(7L);
+        Day day = new Day(1, 1, 2022);
+        int[] events = new int[1];
+        ma.addChangeListener(e -> events[0]++);
+        for (int i = 0; i < 200; i++) {
+            // leave some gaps and null values in the source
+            day = (Day) day.next();
+            if (random.nextInt(4) == 0) {
+                day = (Day) day.next();
+            }
+            source.add(day, random.nextInt(10) == 0 ? null 
+                    : random.nextDouble());
+            if (i % 17 == 0) {
+                assertSameAverages(MovingAverage.createMovingAverage(source, 
+                        "MA", 5, 3), ma);
+            }
+        }
+        assertSameAverages(MovingAverage.createMovingAverage(source, "MA", 5, 
+                3), ma);
+        assertEquals(200, events[0]);
+    }
+
+    /**
+     * Items removed from the front of the source are removed from the 
+     * average series and the averaging window.
+     */
+    @Test
+    public void testMaximumItemCount() {
+        TimeSeries<String> source = new TimeSeries<>("S");
+        source.setMaximumItemCount(3);
+        MovingAverageSeries<String> ma = new MovingAverageSeries<>(source, 
+                "MA", 4, 0);
+        Day day = new Day(1, 1, 2022);
+        for (int i = 1; i <= 6; i++) {
+            source.add(day, i);
+            day = (Day) day.next();
+        }
+        assertEquals(3, ma.getItemCount());
+        assertEquals(new Day(4, 1, 2022), ma.getTimePeriod(0));
+        // the window for 6 January holds 4, 5 and 6 (3 was removed)
+        assertEquals(5.0, ma.getValue(2).doubleValue(), 1e-9);
+    }
+
+    /**
+     * Other changes to the source cause the averages to be recalculated.
+     */
+    @Test
+    public void testUpdateAndInsert() {
+        TimeSeries<String> source = new TimeSeries<>("S");
+        for (int i = 1; i <= 10; i++) {
+            source.add(new Day(i * 2, 1, 2022), i);
+        }
+        MovingAverageSeries<String> ma = new MovingAverageSeries<>(source, 
+                "MA", 3, 0);
+        source.update(4, 100.0);
+        assertSameAverages(MovingAverage.createMovingAverage(source, "MA", 3, 
+                0), ma);
+        source.add(new Day(7, 1, 2022), 50.0);
+        assertSameAverages(MovingAverage.createMovingAverage(source, "MA", 3, 
+                0), ma);
+        source.delete(new Day(10, 1, 2022));
+        assertSameAverages(MovingAverage.createMovingAverage(source, "MA", 3, 
+                0), ma);
+        source.clear();
+        assertEquals(0, ma.getItemCount());
+        source.add(new Day(1, 2, 2022), 1.0);
+        assertEquals(1, ma.getItemCount());
+    }
+
+    /**
+     * Confirm that cloning works, and that the clone is not registered with
+     * the source.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        TimeSeries<String> source = new TimeSeries<>("S");
+        source.add(new Day(1, 1, 2022), 1.0);
+        MovingAverageSeries<String> ma1 = new MovingAverageSeries<>(source, 
+                "MA", 3, 0);
+        MovingAverageSeries<String> ma2 = CloneUtils.clone(ma1);
+        assertNotSame(ma1, ma2);
+        assertEquals(ma1, ma2);
+        source.add(new Day(2, 1, 2022), 3.0);
+        assertEquals(2, ma1.getItemCount());
+        assertEquals(1, ma2.getItemCount());
+    }
+
+    /**
+     * A disposed series no longer follows the source.
+     */
+    @Test
+    public void testDispose() {
+        TimeSeries<String> source = new TimeSeries<>("S");
+        source.add(new Day(1, 1, 2022), 1.0);
+        MovingAverageSeries<String> ma = new MovingAverageSeries<>(source, 
+                "MA", 3, 0);
+        ma.dispose();
+        source.add(new Day(2, 1, 2022), 3.0);
+        assertEquals(1, ma.getItemCount());
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        TimeSeries<String> source = new TimeSeries<>("S");
+        source.add(new Day(1, 1, 2022), 1.0);
+        MovingAverageSeries<String> ma1 = new MovingAverageSeries<>(source, 
+                "MA", 3, 0);
+        MovingAverageSeries<String> ma2 = TestUtils.serialised(ma1);
+        assertEquals(ma1, ma2);
+        ma2.getSource().add(new Day(2, 1, 2022), 3.0);
+        assertEquals(2, ma2.getItemCount());
+    }
+
+}
@@ -38,7 +38,10 @@ package org.jfree.data.time;
 
 import org.jfree.chart.date.MonthConstants;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -76,6 +79,68 @@ public class MovingAverageTest {
         assertEquals(12.5, value, EPSILON);
     }
 
+    /**
+     * A value of NaN only affects the averages while it is in the window,
+     * and the average is null when the window has no values.
+     */
+    @Test
+    public void testNaNAndNull() {
+        TimeSeries<String> source = new TimeSeries<>("S");
+        source.add(new Day(1, MonthConstants.MARCH, 2022), 1.0);
+        source.add(new Day(2, MonthConstants.MARCH, 2022), Double.NaN);
+        source.add(new Day(3, MonthConstants.MARCH, 2022), 3.0);
+        source.add(new Day(4, MonthConstants.MARCH, 2022), 5.0);
+        source.add(new Day(5, MonthConstants.MARCH, 2022), null);
+        source.add(new Day(6, MonthConstants.MARCH, 2022), null);
+        source.add(new Day(9, MonthConstants.MARCH, 2022), 7.0);
+        TimeSeries<String> ma = MovingAverage.createMovingAverage(source, 
+                "MA", 2, 0);
+        assertEquals(7, ma.getItemCount());
+        assertEquals(1.0, ma.getValue(0).doubleValue(), EPSILON);
+        assertEquals(Double.NaN, ma.getValue(1).doubleValue());
+        assertEquals(Double.NaN, ma.getValue(2).doubleValue());
+        assertEquals(4.0, ma.getValue(3).doubleValue(), EPSILON);
+        assertEquals(5.0, ma.getValue(4).doubleValue(), EPSILON);
+        assertNull(ma.getValue(5));
+        assertEquals(7.0, ma.getValue(6).doubleValue(), EPSILON);
+    }
+
+    /**
+     * A test for the values calculated from an XY dataset, with the x-values
+     * in ascending order and in no particular order.
+     */
+    @Test
+    public void testXYDataset() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.add(1.0, 2.0);
+        s1.add(2.0, 4.0);
+        s1.add(2.5, 6.0);
+        s1.add(5.0, 8.0);
+        s1.add(6.0, null);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        XYSeries ma = MovingAverage.createMovingAverage(dataset, 0, "MA", 
+                2.0, 1.0);
+        assertEquals(4, ma.getItemCount());
+        assertEquals(2.0, ma.getX(0).doubleValue(), EPSILON);
+        assertEquals(3.0, ma.getY(0).doubleValue(), EPSILON);
+        assertEquals(4.0, ma.getY(1).doubleValue(), EPSILON);
+        assertEquals(8.0, ma.getY(2).doubleValue(), EPSILON);
+        assertEquals(8.0, ma.getY(3).doubleValue(), EPSILON);
+
+        XYSeries<String> s2 = new XYSeries<>("S2", false);
+        s2.add(1.0, 2.0);
+        s2.add(4.0, 4.0);
+        s2.add(3.0, 6.0);
+        s2.add(3.5, 8.0);
+        dataset = new XYSeriesCollection<>(s2);
+        ma = MovingAverage.createMovingAverage(dataset, 0, "MA", 2.0, 0.0);
+        assertEquals(4, ma.getItemCount());
+        assertEquals(2.0, ma.getY(0).doubleValue(), EPSILON);
+        assertEquals(5.0, ma.getY(1).doubleValue(), EPSILON);
+        assertEquals(6.0, ma.getY(2).doubleValue(), EPSILON);
+        assertEquals(4.0, ma.getY(3).doubleValue(), EPSILON);
+    }
+
     /**
      * Creates a sample series.
      *
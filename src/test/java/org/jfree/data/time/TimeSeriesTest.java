@@ -36,8 +36,11 @@
 
 package org.jfree.data.time;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -1151,4 +1154,131 @@ public class TimeSeriesTest implements SeriesChangeListener {
                 ts.findValueRange(range, TimePeriodAnchor.END, tzone));
 
     }
+    /**
+     * The findValueRange(Range, TimePeriodAnchor, Calendar) method gives the
+     * same result as iterating over the items, as items are added, updated
+     * and aged out of the series.
+     */
+    @Test
+    public void testFindValueRangeRollingWindow() {
+        Calendar calendar = Calendar.getInstance(
+                TimeZone.getTimeZone("Europe/London"), Locale.UK);
+        TimeSeries<String> ts = new TimeSeries<>("S");
+        ts.setMaximumItemAge(100);
+        Day day = new Day(1, 1, 2020);
+        for (int i = 0; i < 400; i++) {
+            ts.add(day, i % 13 == 0 ? null : Math.sin(i / 9.0) * i);
+            if (i % 17 == 0) {
+                ts.update(ts.getItemCount() / 2, -i);
+            }
+            long first = ts.getTimePeriod(0).getFirstMillisecond(calendar);
+            long last = day.getLastMillisecond(calendar);
+            Range xRange = new Range(first + (last - first) / 3.0, last);
+            double lower = Double.POSITIVE_INFINITY;
+            double upper = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < ts.getItemCount(); j++) {
+                long x = ts.getTimePeriod(j).getMillisecond(
+                        TimePeriodAnchor.MIDDLE, calendar);
+                Number y = ts.getValue(j);
+                if (xRange.contains(x) && y != null) {
+                    lower = Math.min(lower, y.doubleValue());
+                    upper = Math.max(upper, y.doubleValue());
+                }
+            }
+            assertEquals(new Range(lower, upper), ts.findValueRange(xRange,
+                    TimePeriodAnchor.MIDDLE, calendar));
+            day = (Day) day.next();
+        }
+    }
+
+    /**
+     * Adding a batch gives the same result as adding the items one at a 
+     * time, with a single change event.
+     */
+    @Test
+    public void testAddAll() {
+        TimeSeries<String> s1 = new TimeSeries<>("S");
+        TimeSeries<String> s2 = new TimeSeries<>("S");
+        s1.setMaximumItemCount(25);
+        s2.setMaximumItemCount(25);
+        s1.add(new Year(2005), 5.0);
+        s2.add(new Year(2005), 5.0);
+        List<TimeSeriesDataItem> batch = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            int year = (i % 3 == 0) ? 2000 - i : 2010 + i;
+            TimeSeriesDataItem item = new TimeSeriesDataItem(new Year(year), 
+                    i * 1.5);
+            batch.add(item);
+            s1.add(item);
+        }
+        s2.findValueRange(new Range(0.0, Long.MAX_VALUE), 
+                TimePeriodAnchor.START, Calendar.getInstance());
+        s2.addChangeListener(this);
+        this.gotSeriesChangeEvent = false;
+        s2.addAll(batch, true);
+        assertTrue(this.gotSeriesChangeEvent);
+        assertEquals(s1, s2);
+        assertEquals(s1.getMinY(), s2.getMinY());
+        assertEquals(s1.getMaxY(), s2.getMaxY());
+        Range range = new Range(0.0, Long.MAX_VALUE);
+        assertEquals(s1.findValueRange(range, TimePeriodAnchor.START, 
+                Calendar.getInstance()), s2.findValueRange(range, 
+                TimePeriodAnchor.START, Calendar.getInstance()));
+
+        // duplicates are rejected without changing the series
+        assertThrows(SeriesException.class, () -> s2.addAll(List.of(
+                new TimeSeriesDataItem(new Year(3000), 1.0),
+                new TimeSeriesDataItem(new Year(2039), 1.0)), true));
+        assertEquals(s1, s2);
+        assertThrows(SeriesException.class, () -> s2.addAll(List.of(
+                new TimeSeriesDataItem(new Day(1, 1, 3000), 1.0)), true));
+    }
+
+    /**
+     * Values can be added as arrays of times and values.
+     */
+    @Test
+    public void testAddAllMillis() {
+        TimeSeries<String> s1 = new TimeSeries<>("S");
+        s1.addAll(new long[] {3000L, 1000L, 2000L}, 
+                new double[] {3.0, 1.0, 2.0});
+        assertEquals(3, s1.getItemCount());
+        assertEquals(Millisecond.class, s1.getTimePeriodClass());
+        assertEquals(1000L, s1.getTimePeriod(0).getFirstMillisecond());
+        assertEquals(3.0, s1.getValue(2));
+        assertThrows(SeriesException.class, () -> s1.addAll(
+                new long[] {2000L}, new double[] {9.0}));
+    }
+
+    /**
+     * Values can be added as arrays of times and values to series with 
+     * fixed millisecond and day time periods.
+     */
+    @Test
+    public void testAddAllMillisPeriodTypes() {
+        TimeSeries<String> s1 = new TimeSeries<>("S");
+        s1.add(new FixedMillisecond(500L), 0.5);
+        s1.addAll(new long[] {3000L, 1000L, 2000L}, 
+                new double[] {3.0, 1.0, 2.0});
+        assertEquals(4, s1.getItemCount());
+        assertEquals(new FixedMillisecond(2000L), s1.getTimePeriod(2));
+        assertEquals(3.0, s1.getValue(3));
+
+        TimeSeries<String> s2 = new TimeSeries<>("S");
+        Day day = new Day(1, 1, 2020);
+        s2.add(day, 1.0);
+        long start = day.getLastMillisecond() + 1L;
+        long[] millis = new long[10];
+        double[] values = new double[10];
+        for (int i = 0; i < 10; i++) {
+            millis[i] = start + i * 24L * 60L * 60L * 1000L + 1000L;
+            values[i] = i;
+        }
+        s2.addAll(millis, values);
+        assertEquals(11, s2.getItemCount());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new Day(new Date(millis[i])), s2.getTimePeriod(i + 1));
+        }
+    }
+
 }
@@ -36,12 +36,15 @@
 
 package org.jfree.data.time.ohlc;
 
+import java.util.List;
+
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.internal.CloneUtils;
 
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesChangeListener;
 import org.jfree.data.general.SeriesException;
+import org.jfree.data.time.Month;
 import org.jfree.data.time.Year;
 import org.junit.jupiter.api.Test;
 
@@ -249,4 +252,25 @@ public class OHLCSeriesTest implements SeriesChangeListener {
         assertTrue(s1.isEmpty());
     }
 
+    /**
+     * Adding a batch sorts the items and sends a single change event.
+     */
+    @Test
+    public void testAddAll() {
+        OHLCSeries<String> s1 = new OHLCSeries<>("S");
+        s1.add(new Year(2007), 2.0, 4.0, 1.0, 3.0);
+        s1.addChangeListener(this);
+        this.lastEvent = null;
+        s1.addAll(List.of(new OHLCItem(new Year(2008), 3.0, 5.0, 2.0, 4.0),
+                new OHLCItem(new Year(2006), 1.0, 3.0, 0.0, 2.0)));
+        assertNotNull(this.lastEvent);
+        assertEquals(3, s1.getItemCount());
+        assertEquals(new Year(2006), s1.getPeriod(0));
+        assertEquals(new Year(2008), s1.getPeriod(2));
+        assertThrows(SeriesException.class, () -> s1.addAll(List.of(
+                new OHLCItem(new Year(2007), 1.0, 1.0, 1.0, 1.0))));
+        assertThrows(IllegalArgumentException.class, () -> s1.addAll(List.of(
+                new OHLCItem(new Month(1, 2009), 1.0, 1.0, 1.0, 1.0))));
+    }
+
 }
@@ -0,0 +1,298 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * ColumnarXYSeriesTest.java
+ * --------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.SeriesException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ColumnarXYSeries} class.
+ */
+public class ColumnarXYSeriesTest {
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        ColumnarXYSeries<String> s1 = new ColumnarXYSeries<>("Series");
+        s1.add(1.0, 1.1);
+        ColumnarXYSeries<String> s2 = new ColumnarXYSeries<>("Series");
+        s2.add(1.0, 1.1);
+        assertEquals(s1, s2);
+        assertEquals(s2, s1);
+        assertEquals(s1.hashCode(), s2.hashCode());
+
+        s1.add(2.0, 2.2);
+        assertNotEquals(s1, s2);
+        s2.add(2.0, 2.2);
+        assertEquals(s1, s2);
+
+        s1.setMaximumItemCount(5);
+        assertNotEquals(s1, s2);
+        s2.setMaximumItemCount(5);
+        assertEquals(s1, s2);
+    }
+
+    /**
+     * Confirm that cloning works and that the clone is independent.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        ColumnarXYSeries<String> s1 = new ColumnarXYSeries<>("S1");
+        s1.add(1.0, 100.0);
+        s1.add(2.0, null);
+        s1.add(3.0, 200.0);
+        ColumnarXYSeries<String> s2 = CloneUtils.clone(s1);
+        assertNotSame(s1, s2);
+        assertSame(s1.getClass(), s2.getClass());
+        assertEquals(s1, s2);
+
+        s2.add(4.0, 300.0);
+        assertNotEquals(s1, s2);
+        s1.add(4.0, 300.0);
+        assertEquals(s1, s2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        ColumnarXYSeries<String> s1 = new ColumnarXYSeries<>("Series");
+        s1.add(1.0, 1.1);
+        s1.add(2.0, null);
+        ColumnarXYSeries<String> s2 = TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+    }
+
+    /**
+     * Items are kept in x-order, with duplicates added after existing items
+     * with the same x-value.
+     */
+    @Test
+    public void testAddSorted() {
+        ColumnarXYSeries<String> s = new ColumnarXYSeries<>("S", true, true, 0);
+        s.add(5.0, 5.0);
+        s.add(1.0, 1.0);
+        s.add(3.0, 3.0);
+        s.add(3.0, 33.0);
+        assertEquals(4, s.getItemCount());
+        assertEquals(1.0, s.getXValue(0));
+        assertEquals(3.0, s.getYValue(1));
+        assertEquals(33.0, s.getYValue(2));
+        assertEquals(5.0, s.getXValue(3));
+        assertEquals(1.0, s.getMinX());
+        assertEquals(5.0, s.getMaxX());
+        assertEquals(33.0, s.getMaxY());
+        assertEquals(0, s.indexOf(1.0));
+        assertTrue(s.indexOf(2.0) < 0);
+    }
+
+    /**
+     * Duplicate x-values are rejected when the flag is not set.
+     */
+    @Test
+    public void testNoDuplicates() {
+        ColumnarXYSeries<String> s1 = new ColumnarXYSeries<>("S", true, false);
+        s1.add(1.0, 1.0);
+        assertThrows(SeriesException.class, () -> s1.add(1.0, 2.0));
+        ColumnarXYSeries<String> s2 = new ColumnarXYSeries<>("S", false, false);
+        s2.add(2.0, 1.0);
+        s2.add(1.0, 1.0);
+        assertEquals(2.0, s2.getXValue(0));
+        assertThrows(SeriesException.class, () -> s2.add(2.0, 2.0));
+    }
+
+    /**
+     * Null y-values are stored as NaN and reported as null.
+     */
+    @Test
+    public void testNullY() {
+        ColumnarXYSeries<String> s = new ColumnarXYSeries<>("S");
+        s.add(1.0, null);
+        assertNull(s.getY(0));
+        assertTrue(Double.isNaN(s.getYValue(0)));
+        assertTrue(Double.isNaN(s.getMinY()));
+        s.updateByIndex(0, 4.0);
+        assertEquals(4.0, s.getY(0));
+        assertEquals(4.0, s.getMinY());
+    }
+
+    /**
+     * The oldest items are dropped when the maximum item count is reached.
+     */
+    @Test
+    public void testMaximumItemCount() {
+        ColumnarXYSeries<String> s = new ColumnarXYSeries<>("S");
+        s.setMaximumItemCount(2);
+        s.add(1.0, 10.0);
+        s.add(2.0, 20.0);
+        s.add(3.0, 5.0);
+        assertEquals(2, s.getItemCount());
+        assertEquals(2.0, s.getXValue(0));
+        assertEquals(2.0, s.getMinX());
+        assertEquals(5.0, s.getMinY());
+        assertEquals(20.0, s.getMaxY());
+
+        s.setMaximumItemCount(1);
+        assertEquals(1, s.getItemCount());
+        assertEquals(3.0, s.getXValue(0));
+        assertEquals(5.0, s.getMaxY());
+    }
+
+    /**
+     * A long run of appends to a series with a maximum item count (the
+     * arrays are compacted or grown as required).
+     */
+    @Test
+    public void testRollingWindow() {
+        ColumnarXYSeries<String> s = new ColumnarXYSeries<>("S", true, true, 4);
+        s.setMaximumItemCount(100);
+        for (int i = 0; i < 1000; i++) {
+            s.add(i, -i);
+        }
+        assertEquals(100, s.getItemCount());
+        assertEquals(900.0, s.getXValue(0));
+        assertEquals(999.0, s.getXValue(99));
+        assertEquals(900.0, s.getMinX());
+        assertEquals(-999.0, s.getMinY());
+        assertEquals(-900.0, s.getMaxY());
+        assertEquals(50, s.indexOf(950.0));
+        s.add(950.5, 1.0);
+        assertEquals(950.5, s.getXValue(50));
+        assertEquals(901.0, s.getXValue(0));
+    }
+
+    /**
+     * Some checks for the remove, delete and addOrUpdate methods.
+     */
+    @Test
+    public void testRemoveAndUpdate() {
+        ColumnarXYSeries<String> s = new ColumnarXYSeries<>("S", true, false);
+        for (int i = 0; i < 5; i++) {
+            s.add(i, i * 10.0);
+        }
+        XYDataItem removed = s.remove(4);
+        assertEquals(new XYDataItem(4.0, 40.0), removed);
+        assertEquals(30.0, s.getMaxY());
+        s.delete(0, 1);
+        assertEquals(2, s.getItemCount());
+        assertEquals(2.0, s.getMinX());
+
+        XYDataItem old = s.addOrUpdate(3.0, 99.0);
+        assertEquals(new XYDataItem(3.0, 30.0), old);
+        assertEquals(99.0, s.getMaxY());
+        assertNull(s.addOrUpdate(2.5, 1.0));
+        assertEquals(2.5, s.getXValue(1));
+        assertEquals(3, s.getItemCount());
+
+        s.clear();
+        assertEquals(0, s.getItemCount());
+        assertTrue(Double.isNaN(s.getMaxX()));
+    }
+
+    /**
+     * The series can be used in an {@link XYSeriesCollection}.
+     */
+    @Test
+    public void testInCollection() {
+        ColumnarXYSeries<String> s = new ColumnarXYSeries<>("S");
+        s.add(1.0, 3.0);
+        s.add(2.0, -1.0);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s);
+        assertEquals(2.0, dataset.getXValue(0, 1));
+        assertEquals(-1.0, dataset.getYValue(0, 1));
+        assertEquals(new Range(-1.0, 3.0),
+                DatasetUtils.findRangeBounds(dataset));
+        assertEquals(new Range(1.0, 2.0),
+                DatasetUtils.findDomainBounds(dataset, false));
+    }
+
+    /**
+     * Adding a batch gives the same result as adding the items one at a 
+     * time in an {@link XYSeries}.
+     */
+    @Test
+    public void testAddAll() {
+        Random random = new Random(11L);
+        XYSeries<String> s1 = new XYSeries<>("S");
+        ColumnarXYSeries<String> s2 = new ColumnarXYSeries<>("S", true, true,
+                4);
+        s1.setMaximumItemCount(120);
+        s2.setMaximumItemCount(120);
+        for (int round = 0; round < 6; round++) {
+            double[] x = new double[50];
+            double[] y = new double[50];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = (round % 2 == 0) ? round * 100 + i 
+                        : random.nextInt(600);
+                y[i] = random.nextDouble();
+                s1.add(x[i], y[i]);
+            }
+            s2.addAll(x, y);
+            assertEquals(s1.getItemCount(), s2.getItemCount());
+            for (int i = 0; i < s1.getItemCount(); i++) {
+                assertEquals(s1.getXValue(i), s2.getXValue(i));
+                assertEquals(s1.getYValue(i), s2.getYValue(i));
+            }
+            assertEquals(s1.getMinY(), s2.getMinY());
+            assertEquals(s1.getMaxY(), s2.getMaxY());
+            assertEquals(s1.getMaxX(), s2.getMaxX());
+            assertEquals(s1.findValueRange(new Range(50.0, 250.0)),
+                    s2.findValueRange(new Range(50.0, 250.0)));
+        }
+
+        ColumnarXYSeries<String> s3 = new ColumnarXYSeries<>("S", true, 
+                false);
+        s3.add(2.0, 2.0);
+        assertThrows(SeriesException.class, () -> s3.addAll(
+                new double[] {3.0, 2.0}, new double[] {1.0, 1.0}));
+        assertEquals(1, s3.getItemCount());
+    }
+
+}
@@ -0,0 +1,192 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * DecimatedXYDatasetTest.java
+ * ---------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link DecimatedXYDataset} class.
+ */
+public class DecimatedXYDatasetTest {
+
+    /**
+     * Creates a dataset with one series of 10,000 items with y = sin(x / 100),
+     * plus one spike.
+     *
+     * @return The dataset.
+     */
+    private static XYSeriesCollection<String> createSource() {
+        XYSeries<String> series = new XYSeries<>("S1");
+        for (int i = 0; i < 10000; i++) {
+            series.add(i, i == 5000 ? 100.0 : Math.sin(i / 100.0), false);
+        }
+        return new XYSeriesCollection<>(series);
+    }
+
+    /**
+     * The M4 method keeps the first, last, minimum and maximum items.
+     */
+    @Test
+    public void testM4() {
+        XYSeriesCollection<String> source = createSource();
+        DecimatedXYDataset<String> d = new DecimatedXYDataset<>(source,
+                DecimationMethod.M4, 400);
+        int count = d.getItemCount(0);
+        assertTrue(count <= 400);
+        assertTrue(count >= 200);
+        assertEquals(0.0, d.getXValue(0, 0));
+        assertEquals(9999.0, d.getXValue(0, count - 1));
+        assertEquals(DatasetUtils.findRangeBounds(source),
+                DatasetUtils.findRangeBounds(d));
+        for (int i = 1; i < count; i++) {
+            assertTrue(d.getSourceItem(0, i) > d.getSourceItem(0, i - 1));
+            assertEquals(source.getYValue(0, d.getSourceItem(0, i)),
+                    d.getYValue(0, i));
+        }
+    }
+
+    /**
+     * The LTTB method returns exactly the target number of items and keeps
+     * the spike.
+     */
+    @Test
+    public void testLTTB() {
+        XYSeriesCollection<String> source = createSource();
+        DecimatedXYDataset<String> d = new DecimatedXYDataset<>(source,
+                DecimationMethod.LTTB, 100);
+        assertEquals(100, d.getItemCount(0));
+        assertEquals(0.0, d.getXValue(0, 0));
+        assertEquals(9999.0, d.getXValue(0, 99));
+        assertEquals(100.0, DatasetUtils.findMaximumRangeValue(d));
+    }
+
+    /**
+     * Only the items in the x-range (and one on each side) are considered,
+     * and the view is updated when the source changes.
+     */
+    @Test
+    public void testXRangeAndSourceChanges() {
+        XYSeriesCollection<String> source = createSource();
+        DecimatedXYDataset<String> d = new DecimatedXYDataset<>(source,
+                DecimationMethod.M4, 400);
+        d.setXRange(new Range(100.5, 199.5));
+        assertEquals(101, d.getItemCount(0));
+        assertEquals(100.0, d.getXValue(0, 0));
+        assertEquals(200.0, d.getXValue(0, 100));
+
+        d.setXRange(new Range(2000.0, 8000.0));
+        assertEquals(100.0, DatasetUtils.findMaximumRangeValue(d));
+
+        source.getSeries(0).updateByIndex(5000, 0.0);
+        assertEquals(1.0, DatasetUtils.findMaximumRangeValue(d).doubleValue(),
+                0.001);
+
+        d.setXRange(null);
+        assertEquals(0.0, d.getXValue(0, 0));
+        source.getSeries(0).clear();
+        assertEquals(0, d.getItemCount(0));
+    }
+
+    /**
+     * Switching between cached levels (by x-range and target item count)
+     * returns the items for the current level.
+     */
+    @Test
+    public void testSwitchLevels() {
+        XYSeriesCollection<String> source = createSource();
+        DecimatedXYDataset<String> d = new DecimatedXYDataset<>(source,
+                DecimationMethod.M4, 400);
+        d.setXRange(new Range(100.5, 199.5));
+        assertEquals(101, d.getItemCount(0));
+        d.setXRange(new Range(100.5, 149.5));
+        assertEquals(51, d.getItemCount(0));
+        d.setXRange(new Range(100.5, 199.5));
+        assertEquals(101, d.getItemCount(0));
+        d.setTargetItemCount(40);
+        assertTrue(d.getItemCount(0) <= 40);
+        d.setTargetItemCount(400);
+        assertEquals(101, d.getItemCount(0));
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        DecimatedXYDataset<String> d1 = new DecimatedXYDataset<>(
+                createSource(), DecimationMethod.M4, 400);
+        DecimatedXYDataset<String> d2 = new DecimatedXYDataset<>(
+                createSource(), DecimationMethod.M4, 400);
+        assertEquals(d1, d2);
+        assertEquals(d1.hashCode(), d2.hashCode());
+
+        d1.setMethod(DecimationMethod.LTTB);
+        assertNotEquals(d1, d2);
+        d2.setMethod(DecimationMethod.LTTB);
+        assertEquals(d1, d2);
+
+        d1.setTargetItemCount(100);
+        assertNotEquals(d1, d2);
+        d2.setTargetItemCount(100);
+        assertEquals(d1, d2);
+
+        d1.setXRange(new Range(1.0, 2.0));
+        assertNotEquals(d1, d2);
+        d2.setXRange(new Range(1.0, 2.0));
+        assertEquals(d1, d2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        DecimatedXYDataset<String> d1 = new DecimatedXYDataset<>(
+                createSource(), DecimationMethod.M4, 40);
+        DecimatedXYDataset<String> d2 = TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+        assertEquals(d1.getItemCount(0), d2.getItemCount(0));
+        ((XYSeriesCollection<String>) d2.getSource()).getSeries(0).clear();
+        assertEquals(0, d2.getItemCount(0));
+    }
+
+}
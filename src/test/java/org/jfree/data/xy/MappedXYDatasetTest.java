@@ -0,0 +1,201 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * MappedXYDatasetTest.java
+ * ------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link MappedXYDataset} class.
+ */
+public class MappedXYDatasetTest {
+
+    /**
+     * Writes a series file with y = (x - 50)^2 for x = 0, 1, ..., count - 1.
+     *
+     * @param count  the item count.
+     *
+     * @return The file.
+     */
+    private static Path createFile(int count) throws IOException {
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = i;
+            y[i] = (i - 50.0) * (i - 50.0);
+        }
+        Path file = createTempFile();
+        MappedXYDataset.writeSeriesFile(file, x, y);
+        return file;
+    }
+
+    /**
+     * Creates an empty temporary file that is deleted when the VM exits.
+     *
+     * @return The file.
+     */
+    private static Path createTempFile() throws IOException {
+        Path file = Files.createTempFile("MappedXYDatasetTest", ".bin");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Values are read back from the mapped file, including across the
+     * boundaries between mapped regions.
+     */
+    @Test
+    public void testValues() throws IOException {
+        MappedXYDataset<String> d = new MappedXYDataset<>(4);
+        d.addSeries("S1", createFile(100));
+        assertEquals(1, d.getSeriesCount());
+        assertEquals("S1", d.getSeriesKey(0));
+        assertEquals(100, d.getItemCount(0));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, d.getXValue(0, i));
+            assertEquals((i - 50.0) * (i - 50.0), d.getYValue(0, i));
+        }
+        assertEquals(DomainOrder.ASCENDING, d.getDomainOrder());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> d.getXValue(0, 100));
+    }
+
+    /**
+     * The bounds are available without iterating and match the values found
+     * by iterating.
+     */
+    @Test
+    public void testBounds() throws IOException {
+        MappedXYDataset<String> d = new MappedXYDataset<>(5);
+        d.addSeries("S1", createFile(100));
+        assertEquals(new Range(0.0, 99.0), d.getDomainBounds(false));
+        assertEquals(new Range(0.0, 2500.0), d.getRangeBounds(false));
+        assertEquals(DatasetUtils.iterateDomainBounds(d, false),
+                d.getDomainBounds(false));
+
+        List<String> keys = List.of("S1");
+        assertEquals(new Range(0.0, 2500.0),
+                d.getRangeBounds(keys, new Range(-10.0, 200.0), false));
+        assertEquals(new Range(100.0, 400.0),
+                d.getRangeBounds(keys, new Range(60.0, 70.0), false));
+        assertEquals(DatasetUtils.iterateToFindRangeBounds(d, keys,
+                new Range(60.5, 70.5), false),
+                d.getRangeBounds(keys, new Range(60.5, 70.5), false));
+        assertNull(d.getRangeBounds(keys, new Range(200.0, 300.0), false));
+
+        d.setIntervalWidth(2.0);
+        assertEquals(new Range(-1.0, 100.0), d.getDomainBounds(keys, true));
+    }
+
+    /**
+     * The y-bounds for x-windows spanning many index blocks match the 
+     * bounds found by iterating.
+     */
+    @Test
+    public void testRangeBoundsForLargeSeries() throws IOException {
+        int count = 20000;
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = i;
+            y[i] = i % 7 == 0 ? Double.NaN : Math.sin(i * 0.01) * i;
+        }
+        Path file = createTempFile();
+        MappedXYDataset.writeSeriesFile(file, x, y);
+        MappedXYDataset<String> d = new MappedXYDataset<>(12);
+        d.addSeries("S1", file);
+        List<String> keys = List.of("S1");
+        Range[] windows = {new Range(0.0, 19998.0), new Range(10.5, 15000.2),
+                new Range(1023.0, 1024.0), new Range(3000.0, 9000.0),
+                new Range(-5.0, 2048.0)};
+        for (Range window : windows) {
+            assertEquals(DatasetUtils.iterateToFindRangeBounds(d, keys,
+                    window, false), d.getRangeBounds(keys, window, false));
+        }
+    }
+
+    /**
+     * Files with a bad header are rejected.
+     */
+    @Test
+    public void testBadFile() throws IOException {
+        Path file = createTempFile();
+        Files.write(file, new byte[] {1, 2, 3, 4});
+        MappedXYDataset<String> d = new MappedXYDataset<>();
+        assertThrows(IOException.class, () -> d.addSeries("S1", file));
+        assertThrows(IllegalArgumentException.class,
+                () -> MappedXYDataset.writeSeriesFile(file,
+                        new double[] {2.0, 1.0}, new double[] {1.0, 1.0}));
+    }
+
+    /**
+     * Check the equals and clone methods and serialization (which maps the
+     * file again).
+     */
+    @Test
+    public void testEqualsCloneAndSerialization() throws Exception {
+        Path file = createFile(10);
+        MappedXYDataset<String> d1 = new MappedXYDataset<>();
+        d1.addSeries("S1", file);
+        MappedXYDataset<String> d2 = new MappedXYDataset<>();
+        assertNotEquals(d1, d2);
+        d2.addSeries("S1", file);
+        assertEquals(d1, d2);
+        assertEquals(d1.hashCode(), d2.hashCode());
+
+        MappedXYDataset<String> d3 = CloneUtils.clone(d1);
+        assertEquals(d1, d3);
+        d3.removeSeries("S1");
+        assertEquals(1, d1.getSeriesCount());
+
+        MappedXYDataset<String> d4 = TestUtils.serialised(d1);
+        assertEquals(d1, d4);
+        assertEquals(1681.0, d4.getYValue(0, 9));
+    }
+
+}
@@ -291,4 +291,19 @@ public class XIntervalSeriesTest implements SeriesChangeListener {
         assertEquals(4.0, s1.getXHighValue(1), EPSILON);
     }
 
+    /**
+     * Adding a batch sorts the items.
+     */
+    @Test
+    public void testAddAll() {
+        XIntervalSeries<String> s1 = new XIntervalSeries<>("S");
+        s1.add(2.0, 1.5, 2.5, 2.0);
+        s1.addAll(new double[] {3.0, 1.0}, new double[] {2.5, 0.5},
+                new double[] {3.5, 1.5}, new double[] {30.0, 10.0});
+        assertEquals(3, s1.getItemCount());
+        assertEquals(1.0, s1.getX(0));
+        assertEquals(0.5, s1.getXLowValue(0));
+        assertEquals(30.0, s1.getYValue(2));
+    }
+
 }
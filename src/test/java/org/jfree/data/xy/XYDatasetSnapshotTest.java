@@ -0,0 +1,360 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2022, by David Gilbert and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * XYDatasetSnapshotTest.java
+ * --------------------------
+ * (C) Copyright 2022, by David Gilbert and Contributors.
+ *
+ * Original Author:  David Gilbert;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.time.Millisecond;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link XYDatasetSnapshot} class and the snapshot support in
+ * {@link XYSeriesCollection} and {@link TimeSeriesCollection}.
+ */
+public class XYDatasetSnapshotTest {
+
+    /**
+     * A snapshot holds the values at the time it was created.
+     */
+    @Test
+    public void testSnapshot() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.add(1.0, 10.0);
+        s1.add(2.0, null);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        dataset.setIntervalWidth(0.5);
+        XYDatasetSnapshot<String> snapshot = dataset.createSnapshot();
+        s1.add(3.0, 30.0);
+        assertSame(dataset, snapshot.getSource());
+        assertEquals(1, snapshot.getSeriesCount());
+        assertEquals("S1", snapshot.getSeriesKey(0));
+        assertEquals(2, snapshot.getItemCount(0));
+        assertEquals(2.0, snapshot.getXValue(0, 1));
+        assertEquals(0.75, snapshot.getStartXValue(0, 0));
+        assertEquals(1.25, snapshot.getEndXValue(0, 0));
+        assertEquals(10.0, snapshot.getY(0, 0));
+        assertNull(snapshot.getY(0, 1));
+        assertEquals(DomainOrder.ASCENDING, snapshot.getDomainOrder());
+    }
+
+    /**
+     * Snapshots of a time series collection use the x-position anchor.
+     */
+    @Test
+    public void testTimeSeriesSnapshot() {
+        TimeSeries<String> s1 = new TimeSeries<>("S1");
+        Millisecond ms = new Millisecond();
+        s1.add(ms, 1.0);
+        TimeSeriesCollection<String> dataset = new TimeSeriesCollection<>(s1);
+        XYDatasetSnapshot<String> snapshot = dataset.createSnapshot();
+        assertEquals(ms.getFirstMillisecond(), snapshot.getXValue(0, 0));
+        assertEquals(1.0, snapshot.getYValue(0, 0));
+
+        TimeSeriesCollection<String> dataset2 = new TimeSeriesCollection<>(
+                s1);
+        assertEquals(dataset, dataset2);
+        dataset.setConcurrent(true);
+        assertTrue(dataset.isConcurrent());
+        assertNotEquals(dataset, dataset2);
+    }
+
+    /**
+     * Snapshots taken while another thread appends to the series are always
+     * consistent.
+     */
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.setMaximumItemCount(500);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        dataset.setConcurrent(true);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            int i = 0;
+            while (running.get()) {
+                s1.add(i, i, false);
+                i++;
+            }
+        });
+        writer.start();
+        try {
+            for (int round = 0; round < 200; round++) {
+                XYDatasetSnapshot<String> snapshot = dataset.createSnapshot();
+                int n = snapshot.getItemCount(0);
+                assertTrue(n <= 500);
+                for (int i = 1; i < n; i++) {
+                    assertEquals(snapshot.getXValue(0, i - 1) + 1.0,
+                            snapshot.getXValue(0, i));
+                }
+            }
+        }
+        finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    /**
+     * A chart can be drawn while another thread updates the dataset.
+     */
+    @Test
+    public void testDrawWhileUpdating() throws Exception {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.setMaximumItemCount(1000);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        dataset.setConcurrent(true);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        XYPlot<String> plot = (XYPlot<String>) chart.getPlot();
+        assertEquals(0, plot.indexOf(dataset.createSnapshot()));
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            int i = 0;
+            while (running.get()) {
+                s1.add(i, Math.sin(i / 10.0), false);
+                i++;
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                BufferedImage image = chart.createBufferedImage(300, 200);
+                assertNotNull(image);
+            }
+        }
+        finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    /**
+     * The axes are auto-ranged from the snapshot that is rendered, not from 
+     * data added to the live dataset after the snapshot was taken.
+     */
+    @Test
+    public void testAutoRangeFromSnapshot() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.add(1.0, 10.0);
+        s1.add(2.0, 20.0);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1) {
+            @Override
+            public XYDatasetSnapshot<String> createSnapshot() {
+                XYDatasetSnapshot<String> result = super.createSnapshot();
+                // an update from another thread, just after the snapshot
+                s1.add(3.0, 1000.0);
+                return result;
+            }
+        };
+        dataset.setConcurrent(true);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        XYPlot<String> plot = (XYPlot<String>) chart.getPlot();
+        chart.createBufferedImage(300, 200);
+        assertTrue(plot.getRangeAxis().getUpperBound() < 1000.0);
+        assertTrue(plot.getDomainAxis().getUpperBound() < 3.0);
+    }
+
+    /**
+     * Drawing passes that share the {@code KEY_DATASET_SNAPSHOTS} map (the
+     * layers of one frame) draw the same snapshot and the same axis ranges,
+     * even if the dataset changes between the passes.
+     */
+    @Test
+    public void testSharedSnapshots() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        s1.add(1.0, 10.0);
+        s1.add(2.0, 20.0);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        dataset.setConcurrent(true);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        XYPlot<String> plot = (XYPlot<String>) chart.getPlot();
+        BufferedImage image = new BufferedImage(300, 200, 
+                BufferedImage.TYPE_INT_ARGB);
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 300, 200);
+        Map<Object, Object> snapshots = new IdentityHashMap<>();
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_DATASET_SNAPSHOTS, snapshots);
+        chart.draw(g2, area);
+        Range range = plot.getRangeAxis().getRange();
+        assertEquals(1, snapshots.size());
+
+        // an update from another thread between two layers of a frame
+        s1.add(3.0, 1000.0);
+        chart.draw(g2, area);
+        assertEquals(range, plot.getRangeAxis().getRange());
+        assertEquals(1, snapshots.size());
+
+        // the next frame takes a new snapshot
+        g2.setRenderingHint(ChartHints.KEY_DATASET_SNAPSHOTS, 
+                new IdentityHashMap<>());
+        chart.draw(g2, area);
+        g2.dispose();
+        assertTrue(plot.getRangeAxis().getUpperBound() >= 1000.0);
+    }
+
+    /**
+     * Series can be added and removed while snapshots are taken.
+     */
+    @Test
+    public void testAddRemoveSeriesWhileSnapshotting() throws Exception {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        for (int i = 0; i < 100; i++) {
+            s1.add(i, i);
+        }
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            int i = 0;
+            while (running.get()) {
+                XYSeries<String> s = new XYSeries<>("S" + (i + 2));
+                s.add(i, i);
+                dataset.addSeries(s);
+                dataset.removeSeries(s);
+                i++;
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                XYDatasetSnapshot<String> snapshot = dataset.createSnapshot();
+                assertEquals("S1", snapshot.getSeriesKey(0));
+                assertEquals(100, snapshot.getItemCount(0));
+            }
+        }
+        finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    /**
+     * Starts one thread per series that adds items to the series, with the
+     * dataset displayed in a chart, and waits for the threads to finish.
+     * Each change event updates the plot, which reads the ranges of all 
+     * the series, so the threads must not hold a series lock while the 
+     * listeners are notified.
+     *
+     * @param producers  the tasks that add the items.
+     */
+    private static void runProducers(Runnable... producers) {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Thread[] threads = new Thread[producers.length];
+            for (int i = 0; i < producers.length; i++) {
+                threads[i] = new Thread(producers[i]);
+                threads[i].setDaemon(true);
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        });
+    }
+
+    /**
+     * Two threads can add items to two series of a collection that is
+     * displayed in a chart.
+     */
+    @Test
+    public void testMultipleProducers() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        XYSeries<String> s2 = new ColumnarXYSeries<>("S2");
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        dataset.addSeries(s2);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        runProducers(() -> {
+            for (int i = 0; i < 2000; i++) {
+                s1.add(i, i);
+            }
+        }, () -> {
+            for (int i = 0; i < 2000; i++) {
+                s2.addOrUpdate(i, -i);
+            }
+        });
+        assertEquals(2000, s1.getItemCount());
+        assertEquals(2000, s2.getItemCount());
+        XYPlot<String> plot = (XYPlot<String>) chart.getPlot();
+        assertTrue(plot.getRangeAxis().getRange().contains(-1999.0));
+    }
+
+    /**
+     * Two threads can add items to two time series of a collection that is
+     * displayed in a chart.
+     */
+    @Test
+    public void testMultipleTimeSeriesProducers() {
+        TimeSeries<String> s1 = new TimeSeries<>("S1");
+        TimeSeries<String> s2 = new TimeSeries<>("S2");
+        TimeSeriesCollection<String> dataset = new TimeSeriesCollection<>(s1);
+        dataset.addSeries(s2);
+        ChartFactory.createTimeSeriesChart("Title", "X", "Y", dataset);
+        runProducers(() -> {
+            Millisecond t = new Millisecond();
+            for (int i = 0; i < 2000; i++) {
+                s1.add(t, i);
+                t = (Millisecond) t.next();
+            }
+        }, () -> {
+            Millisecond t = new Millisecond();
+            for (int i = 0; i < 2000; i++) {
+                s2.addOrUpdate(t, -i);
+                t = (Millisecond) t.next();
+            }
+        });
+        assertEquals(2000, s1.getItemCount());
+        assertEquals(2000, s2.getItemCount());
+    }
+
+}
@@ -36,8 +36,15 @@
 
 package org.jfree.data.xy;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.internal.CloneUtils;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
 import org.junit.jupiter.api.Test;
 
@@ -760,4 +767,100 @@ public class XYSeriesTest {
         assertEquals(2.0, s1.getMaxY(), EPSILON);
     }
 
+    /**
+     * Some checks for the findValueRange(Range) method.
+     */
+    @Test
+    public void testFindValueRange() {
+        XYSeries<String> s1 = new XYSeries<>("S1");
+        assertNull(s1.findValueRange(new Range(0.0, 10.0)));
+        for (int i = 0; i < 200; i++) {
+            s1.add(i, Math.sin(i / 10.0) * i);
+        }
+        s1.add(50.0, null);
+        double y10 = Math.sin(1.0) * 10.0;
+        assertEquals(new Range(y10, y10),
+                s1.findValueRange(new Range(10.0, 10.0)));
+        assertEquals(new Range(0.0, 0.0),
+                s1.findValueRange(new Range(-5.0, 0.5)));
+        assertNull(s1.findValueRange(new Range(250.0, 300.0)));
+
+        // a rolling window, with the index kept up to date
+        s1.setMaximumItemCount(150);
+        XYSeriesCollection<String> dataset = new XYSeriesCollection<>(s1);
+        List<String> keys = List.of("S1");
+        for (int i = 200; i < 500; i++) {
+            s1.add(i, Math.cos(i / 7.0) * i);
+            if (i % 37 == 0) {
+                s1.updateByIndex(i % 150, -i * 2.0);
+            }
+            Range xRange = new Range(i - 120.5, i - 10.0);
+            assertEquals(DatasetUtils.iterateToFindRangeBounds(dataset, keys,
+                    xRange, true), dataset.getRangeBounds(keys, xRange, true));
+        }
+
+        // an unsorted series is handled by iteration
+        XYSeries<String> s2 = new XYSeries<>("S2", false);
+        s2.add(5.0, 1.0);
+        s2.add(1.0, 3.0);
+        s2.add(3.0, 2.0);
+        assertEquals(new Range(1.0, 2.0),
+                s2.findValueRange(new Range(2.0, 6.0)));
+    }
+
+    /**
+     * Adding a batch gives the same result as adding the items one at a 
+     * time, with a single change event.
+     */
+    @Test
+    public void testAddAll() {
+        Random random = new Random(7L);
+        XYSeries<String> s1 = new XYSeries<>("S");
+        XYSeries<String> s2 = new XYSeries<>("S");
+        s1.setMaximumItemCount(150);
+        s2.setMaximumItemCount(150);
+        List<SeriesChangeEvent> events = new ArrayList<>();
+        s2.addChangeListener(events::add);
+        for (int round = 0; round < 5; round++) {
+            double[] x = new double[40];
+            double[] y = new double[40];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = (round % 2 == 0) ? round * 100 + i 
+                        : random.nextInt(500);
+                y[i] = random.nextDouble();
+                s1.add(x[i], y[i]);
+            }
+            s2.findValueRange(new Range(0.0, 1000.0));
+            s2.addAll(x, y);
+            assertEquals(round + 1, events.size());
+            assertEquals(s1.getItems(), s2.getItems());
+            assertEquals(s1.getMinY(), s2.getMinY());
+            assertEquals(s1.getMaxY(), s2.getMaxY());
+            assertEquals(s1.getMinX(), s2.getMinX());
+            assertEquals(s1.findValueRange(new Range(100.0, 300.0)),
+                    s2.findValueRange(new Range(100.0, 300.0)));
+        }
+    }
+
+    /**
+     * A batch containing a duplicate x-value is rejected without changing 
+     * the series.
+     */
+    @Test
+    public void testAddAllDuplicates() {
+        XYSeries<String> s1 = new XYSeries<>("S", true, false);
+        s1.add(2.0, 2.0);
+        assertThrows(SeriesException.class, () -> s1.addAll(
+                new double[] {1.0, 2.0}, new double[] {1.0, 1.0}));
+        assertEquals(1, s1.getItemCount());
+        XYSeries<String> s2 = new XYSeries<>("S", false, false);
+        s2.addAll(new double[] {3.0, 1.0}, new double[] {1.0, 1.0});
+        assertEquals(3.0, s2.getX(0));
+        assertThrows(SeriesException.class, () -> s2.addAll(
+                new double[] {2.0, 1.0}, new double[] {1.0, 1.0}));
+        assertEquals(2, s2.getItemCount());
+        assertThrows(IllegalArgumentException.class, () -> s2.addAll(
+                new double[] {5.0}, new double[0]));
+    }
+
 }
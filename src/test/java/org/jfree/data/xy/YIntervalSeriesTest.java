@@ -268,4 +268,25 @@ public class YIntervalSeriesTest implements SeriesChangeListener {
         assertTrue(s1.isEmpty());
     }
 
+    /**
+     * Adding a batch sorts the items and sends a single change event.
+     */
+    @Test
+    public void testAddAll() {
+        YIntervalSeries<String> s1 = new YIntervalSeries<>("S");
+        s1.add(2.0, 2.0, 1.0, 3.0);
+        s1.addChangeListener(this);
+        s1.setMaximumItemCount(3);
+        this.lastEvent = null;
+        s1.addAll(new double[] {4.0, 1.0, 3.0}, new double[] {4.0, 1.0, 3.0},
+                new double[] {3.0, 0.0, 2.0}, new double[] {5.0, 2.0, 4.0});
+        assertNotNull(this.lastEvent);
+        assertEquals(3, s1.getItemCount());
+        assertEquals(2.0, s1.getX(0));
+        assertEquals(4.0, s1.getX(2));
+        assertEquals(2.0, s1.getYLowValue(1));
+        assertThrows(IllegalArgumentException.class, () -> s1.addAll(
+                new double[1], new double[1], new double[1], new double[2]));
+    }
+
 }